@@ -32,6 +32,7 @@ public class FastFuture<T> {
     private volatile boolean done = false;
     private volatile Consumer<OnComplete> forXOf;
     private volatile Consumer<OnComplete> essential;
+    private volatile Consumer<OnComplete> tracking;
     @Getter
     private volatile boolean completedExceptionally = false;
     private final AtomicReference result = new AtomicReference(
@@ -327,6 +328,7 @@ public class FastFuture<T> {
         exception.set(UNSET);
         this.forXOf = null;
         this.essential = null;
+        this.tracking = null;
         this.count.set(0);
         this.max.set(0);
         this.completedExceptionally = false;
@@ -344,6 +346,17 @@ public class FastFuture<T> {
         }
     }
 
+    /**
+     * Called at least once on complete, reserved for the lazy collectors that track how many futures are active
+     *
+     */
+    public void tracking(final Consumer<OnComplete> fn) {
+        this.tracking = fn; //set - could also be called on a separate thread
+        if (done) { //can be called again
+            fn.accept(buildOnComplete());
+        }
+    }
+
     /**
      * Called at least once on complete
      *
@@ -364,6 +377,9 @@ public class FastFuture<T> {
         if (this.essential != null)
             this.essential.accept(buildOnComplete());
 
+        if (this.tracking != null)
+            this.tracking.accept(buildOnComplete());
+
     }
 
     private OnComplete buildOnComplete() {
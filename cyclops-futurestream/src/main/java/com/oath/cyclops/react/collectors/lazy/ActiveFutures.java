@@ -0,0 +1,138 @@
+package com.oath.cyclops.react.collectors.lazy;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.oath.cyclops.internal.react.async.future.FastFuture;
+import com.oath.cyclops.internal.react.exceptions.FilteredExecutionPathException;
+
+/**
+ * The futures a lazy collector has accepted but not yet handed on. Completions are counted as they happen (rather
+ * than by scanning the active futures), so accepting a future is O(1) and the collector only blocks while the number
+ * of incomplete futures exceeds MaxActive.
+ *
+ * add, release and await are called by the single collecting thread only.
+ *
+ * @param <T> Result type
+ */
+final class ActiveFutures<T> implements Iterable<FastFuture<T>> {
+
+    private final ArrayDeque<FastFuture<T>> active = new ArrayDeque<>();
+    private final AtomicLong completed = new AtomicLong(0);
+    private long accepted = 0;
+    private volatile long awaiting = Long.MAX_VALUE;
+    private volatile Thread waiter;
+
+    void add(final FastFuture<T> future, final MaxActive maxActive) {
+        accepted++;
+        active.add(future);
+        future.tracking(new Completion(maxActive, maxActive.tracksLatency() ? System.nanoTime() : 0L));
+    }
+
+    /**
+     * @return Number of accepted futures that have not yet completed
+     */
+    long inFlight() {
+        return accepted - completed.get();
+    }
+
+    /**
+     * If more than maxActive futures are in flight, block until no more than reduceTo are
+     */
+    void await(final MaxActive maxActive) {
+        if (inFlight() <= maxActive.getMaxActive())
+            return;
+        final long target = accepted - maxActive.getReduceTo();
+        waiter = Thread.currentThread();
+        awaiting = target;
+        while (completed.get() < target) {
+            LockSupport.park(this);
+        }
+        awaiting = Long.MAX_VALUE;
+        waiter = null;
+    }
+
+    /**
+     * Hand completed futures from the front of the active queue to the supplied Consumer. Futures that complete out
+     * of order are removed by a compacting pass once the queue holds more than twice the limit, as at most limit
+     * entries can still be incomplete the cost of that pass is amortised over the futures it removes.
+     */
+    void release(final MaxActive maxActive, final Consumer<FastFuture<T>> done) {
+        while (!active.isEmpty() && active.peekFirst().isDone()) {
+            done.accept(active.pollFirst());
+        }
+        if (active.size() > 2 * (maxActive.getMaxActive() + 1)) {
+            final Iterator<FastFuture<T>> it = active.iterator();
+            while (it.hasNext()) {
+                final FastFuture<T> next = it.next();
+                if (next.isDone()) {
+                    it.remove();
+                    done.accept(next);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return active.size();
+    }
+
+    boolean isEmpty() {
+        return active.isEmpty();
+    }
+
+    FastFuture[] toArray() {
+        return active.toArray(new FastFuture[0]);
+    }
+
+    void clear() {
+        active.clear();
+    }
+
+    @Override
+    public Iterator<FastFuture<T>> iterator() {
+        return active.iterator();
+    }
+
+    private void completed() {
+        if (completed.incrementAndGet() >= awaiting) {
+            final Thread toWake = waiter;
+            if (toWake != null)
+                LockSupport.unpark(toWake);
+        }
+    }
+
+    /*
+     * Completion listener for a single future, FastFuture listeners may be called more than once
+     */
+    private final class Completion extends AtomicBoolean implements Consumer<FastFuture.OnComplete> {
+        private static final long serialVersionUID = 1L;
+        private final MaxActive maxActive;
+        private final long start;
+
+        Completion(final MaxActive maxActive, final long start) {
+            this.maxActive = maxActive;
+            this.start = start;
+        }
+
+        @Override
+        public void accept(final FastFuture.OnComplete event) {
+            if (!compareAndSet(false, true))
+                return;
+            if (maxActive.tracksLatency())
+                maxActive.onComplete(System.nanoTime() - start, failed(event));
+            completed();
+        }
+
+        private boolean failed(final FastFuture.OnComplete event) {
+            if (!event.exceptionally || event.exception == null)
+                return false;
+            return !(event.exception instanceof FilteredExecutionPathException)
+                && !(event.exception.getCause() instanceof FilteredExecutionPathException);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.oath.cyclops.react.collectors.lazy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A MaxActive whose limit adapts to the latency of completed tasks, rather than being fixed up front.
+ *
+ * <pre>
+ * {@code
+ *  new LazyReact().withMaxActive(AdaptiveMaxActive.vegas(10, 1, 1000))
+ *                 .fromIterable(urls)
+ *                 .map(this::load)
+ *                 .forEach(this::save);
+ * }
+ * </pre>
+ *
+ * The limit is shared by every Stream that uses this instance, so a single AdaptiveMaxActive should be used per
+ * downstream resource.
+ */
+public class AdaptiveMaxActive extends MaxActive {
+
+    private final int min;
+    private final int max;
+    private final Algorithm algorithm;
+    private volatile double limit;
+
+    private AdaptiveMaxActive(final int initial, final int min, final int max, final Algorithm algorithm) {
+        super(max, min);
+        if (min < 1 || max < min)
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max but were min " + min + " max " + max);
+        this.min = min;
+        this.max = max;
+        this.algorithm = algorithm;
+        this.limit = clamp(initial);
+    }
+
+    /**
+     * Additive increase / multiplicative decrease : the limit grows by one for each limit's worth of tasks that
+     * complete within the timeout, and is cut by 10% whenever a task fails or exceeds it.
+     *
+     * @param initial Starting limit
+     * @param min Lowest limit
+     * @param max Highest limit
+     * @param timeout Latency above which a task is treated as a sign of overload
+     * @param unit TimeUnit for the timeout
+     * @return AIMD MaxActive
+     */
+    public static AdaptiveMaxActive aimd(final int initial, final int min, final int max, final long timeout, final TimeUnit unit) {
+        return new AdaptiveMaxActive(initial, min, max, new Aimd(unit.toNanos(timeout)));
+    }
+
+    /**
+     * TCP Vegas style : the lowest latency seen is taken as the latency with no queueing, once per window (a limit's
+     * worth of completed tasks) the mean latency of the window is used to estimate how many tasks are queued
+     * downstream. The limit grows while that queue is small and shrinks as it builds up or tasks fail.
+     *
+     * @param initial Starting limit
+     * @param min Lowest limit
+     * @param max Highest limit
+     * @return Vegas MaxActive
+     */
+    public static AdaptiveMaxActive vegas(final int initial, final int min, final int max) {
+        return new AdaptiveMaxActive(initial, min, max, new Vegas());
+    }
+
+    /**
+     * @return Current limit on active tasks
+     */
+    @Override
+    public int getMaxActive() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Number of active tasks to reduce to once the limit has been exceeded (90% of the current limit)
+     */
+    @Override
+    public int getReduceTo() {
+        final int current = getMaxActive();
+        return Math.max(1, current - Math.max(1, current / 10));
+    }
+
+    @Override
+    public synchronized void onComplete(final long latencyNanos, final boolean failed) {
+        limit = clamp(algorithm.update(limit, latencyNanos, failed));
+    }
+
+    @Override
+    boolean tracksLatency() {
+        return true;
+    }
+
+    private double clamp(final double next) {
+        return Math.max(min, Math.min(max, next));
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveMaxActive(" + algorithm.getClass().getSimpleName() + ", limit=" + getMaxActive() + ", min=" + min + ", max=" + max + ")";
+    }
+
+    /*
+     * Calculates the next limit, called while holding the AdaptiveMaxActive lock
+     */
+    private interface Algorithm {
+        double update(double limit, long latencyNanos, boolean failed);
+    }
+
+    private static final class Aimd implements Algorithm {
+        private final long timeoutNanos;
+
+        Aimd(final long timeoutNanos) {
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public double update(final double limit, final long latencyNanos, final boolean failed) {
+            if (failed || latencyNanos > timeoutNanos)
+                return limit * 0.9;
+            return limit + 1.0 / limit;
+        }
+    }
+
+    private static final class Vegas implements Algorithm {
+        private static final int PROBE_WINDOWS = 100;
+
+        private long noLoadNanos = Long.MAX_VALUE;
+        private long windowNanos;
+        private int windowCount;
+        private boolean windowFailed;
+        private int windows;
+
+        @Override
+        public double update(final double limit, final long latencyNanos, final boolean failed) {
+            windowNanos += latencyNanos;
+            windowFailed |= failed;
+            noLoadNanos = Math.min(noLoadNanos, Math.max(1, latencyNanos));
+            if (++windowCount < limit)
+                return limit;
+
+            final double mean = Math.max(1, windowNanos / windowCount);
+            final boolean dropped = windowFailed;
+            windowNanos = 0;
+            windowCount = 0;
+            windowFailed = false;
+            final double queued = limit * (1 - noLoadNanos / mean);
+            if (++windows % PROBE_WINDOWS == 0)
+                noLoadNanos = (long) mean; //let the no load estimate rise if the downstream has slowed for good
+
+            final double step = Math.max(1, Math.log10(limit));
+            if (dropped || queued >= 6 * step)
+                return limit - step;
+            if (queued <= 3 * step)
+                return limit + step;
+            return limit;
+        }
+    }
+}
@@ -2,12 +2,9 @@ package com.oath.cyclops.react.collectors.lazy;
 
 import com.oath.cyclops.internal.react.async.future.FastFuture;
 import com.oath.cyclops.types.futurestream.BlockingStream;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +14,7 @@ import lombok.experimental.Wither;
 
 /**
  * This class allows a Batch of completable futures to be processed before collecting their results, to increase
- * parallelism.
+ * parallelism. Completions are counted as they happen, so accepting a future does not rescan the active futures.
  *
  * @author johnmcclean
  *
@@ -29,7 +26,8 @@ import lombok.experimental.Wither;
 public class BatchingCollector<T> implements LazyResultConsumer<T> {
 
   private final Collection<FastFuture<T>> results;
-  private final List<FastFuture<T>> active = new ArrayList<>();
+  private final ActiveFutures<T> active = new ActiveFutures<>();
+  private final Consumer<FastFuture<T>> toResults = this::addResult;
   @Getter
   private final MaxActive maxActive;
   @Getter
@@ -50,29 +48,14 @@ public class BatchingCollector<T> implements LazyResultConsumer<T> {
   @Override
   public void accept(final FastFuture<T> t) {
 
-    active.add(t);
+    active.add(t, maxActive);
+    active.await(maxActive);
+    active.release(maxActive, toResults);
 
-    if (active.size() > maxActive.getMaxActive()) {
-
-      while (active.size() > maxActive.getReduceTo()) {
-
-        final List<FastFuture<T>> toRemove = active.stream()
-          .filter(cf -> cf.isDone())
-          .collect(Collectors.toList());
-        active.removeAll(toRemove);
-        results.addAll(toRemove);
-        if (active.size() > maxActive.getReduceTo()) {
-          final CompletableFuture promise = new CompletableFuture();
-          FastFuture.xOf(active.size() - maxActive.getReduceTo(), () -> {
-            promise.complete(true);
-          } , active.toArray(new FastFuture[0]));
-
-          promise.join();
-        }
-
-      }
-    }
+  }
 
+  private void addResult(final FastFuture<T> t) {
+    results.add(t);
   }
 
   /* (non-Javadoc)
@@ -80,12 +63,10 @@ public class BatchingCollector<T> implements LazyResultConsumer<T> {
    */
   @Override
   public void block(final Function<FastFuture<T>, T> safeJoin) {
-    if (active.size() == 0)
+    if (active.isEmpty())
       return;
-    active.stream()
-      .peek(f -> safeJoin.apply(f))
-      .forEach(a -> {
-      });
+    for (final FastFuture<T> next : active)
+      safeJoin.apply(next);
 
   }
 
@@ -103,7 +84,8 @@ public class BatchingCollector<T> implements LazyResultConsumer<T> {
    */
   @Override
   public Collection<FastFuture<T>> getAllResults() {
-    results.addAll(active);
+    for (final FastFuture<T> next : active)
+      results.add(next);
     active.clear();
     return results;
   }
@@ -2,10 +2,8 @@ package com.oath.cyclops.react.collectors.lazy;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import com.oath.cyclops.internal.react.async.future.FastFuture;
 
@@ -15,7 +13,8 @@ import lombok.experimental.Wither;
 
 /**
  * A collector that periodically joins active completablefutures
- * but does not store the results
+ * but does not store the results. Completions are counted as they happen, so accepting a future does not rescan
+ * the active futures.
  *
  * @author johnmcclean
  *
@@ -24,7 +23,8 @@ import lombok.experimental.Wither;
 @AllArgsConstructor
 public class EmptyCollector<T> implements LazyResultConsumer<T> {
 
-  private final List<FastFuture<T>> active = new ArrayList<>();
+  private final ActiveFutures<T> active = new ActiveFutures<>();
+  private final Consumer<FastFuture<T>> handleExceptions = this::handleExceptions;
   @Getter
   private final MaxActive maxActive;
   @Getter
@@ -42,32 +42,16 @@ public class EmptyCollector<T> implements LazyResultConsumer<T> {
   @Override
   public void accept(final FastFuture<T> t) {
 
-    active.add(t);
-
-    if (active.size() > maxActive.getMaxActive()) {
-
-      while (active.size() > maxActive.getReduceTo()) {
-
-        final List<FastFuture> toRemove = active.stream()
-          .filter(cf -> cf.isDone())
-          .peek(this::handleExceptions)
-          .collect(Collectors.toList());
-
-        active.removeAll(toRemove);
-        if (active.size() > maxActive.getReduceTo()) {
-          final CompletableFuture promise = new CompletableFuture();
-          FastFuture.xOf(active.size() - maxActive.getReduceTo(), () -> promise.complete(true), active.toArray(new FastFuture[0]));
-
-          promise.join();
-        }
-
-      }
+    active.add(t, maxActive);
+    if (active.size() > maxActive.getMaxActive()) { //only surface errors once the limit is reached, as before
+      active.await(maxActive);
+      active.release(maxActive, handleExceptions);
     }
 
   }
 
   public void add(final FastFuture<T> t) {
-    active.add(t);
+    active.add(t, maxActive);
   }
 
   private void handleExceptions(final FastFuture cf) {
@@ -87,12 +71,10 @@ public class EmptyCollector<T> implements LazyResultConsumer<T> {
   @Override
   public void block(final Function<FastFuture<T>, T> safeJoin) {
 
-    if (active.size() == 0)
+    if (active.isEmpty())
       return;
-    active.stream()
-      .peek(cf -> safeJoin.apply(cf))
-      .forEach(a -> {
-      });
+    for (final FastFuture<T> next : active)
+      safeJoin.apply(next);
 
   }
 
@@ -100,26 +82,22 @@ public class EmptyCollector<T> implements LazyResultConsumer<T> {
 
   public void afterResults(Runnable r){
 
-      if (active.size() > 0) {
+      if (!active.isEmpty()) {
           FastFuture.allOf(()->{
-              active.stream()
-                  .filter(cf -> cf.isDone())
-                  .peek(this::handleExceptions)
-                  .collect(Collectors.toList());
+              for (final FastFuture<T> next : active) {
+                  if (next.isDone())
+                      handleExceptions(next);
+              }
               r.run();
-          }, active.toArray(new FastFuture[0]));
+          }, active.toArray());
       }else{
-          active.stream()
-              .filter(cf -> cf.isDone())
-              .peek(this::handleExceptions)
-              .collect(Collectors.toList());
           r.run();
       }
   }
     @Override
     public Collection<FastFuture<T>> getResults() {
-        active.stream()
-            .forEach(cf -> safeJoin.apply(cf));
+        for (final FastFuture<T> next : active)
+            safeJoin.apply(next);
         active.clear();
         return new ArrayList<>();
     }
@@ -135,7 +113,7 @@ public class EmptyCollector<T> implements LazyResultConsumer<T> {
   }
 
   public boolean hasCapacity(final int i) {
-    return maxActive.getMaxActive() + i > active.size();
+    return maxActive.getMaxActive() + i > active.inFlight();
   }
 
 }
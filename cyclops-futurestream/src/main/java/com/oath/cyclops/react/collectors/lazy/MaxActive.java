@@ -24,4 +24,20 @@ public class MaxActive {
     public static final MaxActive SEQUENTIAL = new MaxActive(
                                                              10, 1);
 
+    /**
+     * Called by the lazy collectors as each active task completes, a fixed MaxActive ignores it
+     *
+     * @param latencyNanos Time from the task being handed to the collector until it completed
+     * @param failed true if the task completed with an error
+     */
+    public void onComplete(final long latencyNanos, final boolean failed) {
+    }
+
+    /**
+     * @return true if the collectors should measure task latency and report it via {@link #onComplete(long, boolean)}
+     */
+    boolean tracksLatency() {
+        return false;
+    }
+
 }
@@ -31,6 +31,7 @@ import com.oath.cyclops.internal.react.stream.InfiniteClosingSpliteratorFromSupp
 import com.oath.cyclops.internal.react.stream.ReactBuilder;
 import com.oath.cyclops.react.ThreadPools;
 import com.oath.cyclops.react.async.subscription.Subscription;
+import com.oath.cyclops.react.collectors.lazy.AdaptiveMaxActive;
 import com.oath.cyclops.react.collectors.lazy.MaxActive;
 import cyclops.function.Cacheable;
 
@@ -366,6 +367,29 @@ public class LazyReact implements ReactBuilder {
         return withAutoOptimize(false);
     }
 
+    /**
+     * Adapt the number of active tasks to the latency of completed tasks, starting at 10 and kept between 1 and 1000
+     * (see {@link AdaptiveMaxActive#vegas(int, int, int)}). For AIMD, or other limits, use withMaxActive with an
+     * {@link AdaptiveMaxActive}.
+     *
+     * <pre>
+     * {@code
+     *  LazyReact react = new LazyReact().adaptiveMaxActive();
+     *
+     *  react.fromIterable(urls)
+     *       .map(this::load)
+     *       .forEach(this::save);
+     * }
+     * </pre>
+     *
+     * The limit is shared by all Streams created by the returned builder.
+     *
+     * @return LazyReact that adapts the number of active tasks
+     */
+    public LazyReact adaptiveMaxActive() {
+        return withMaxActive(AdaptiveMaxActive.vegas(10, 1, 1000));
+    }
+
     /**
      * Start any created Streams in asyncrhonous mode - that is tasks will be submited to an Executor to be run.
      *
@@ -10,6 +10,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import cyclops.futurestream.LazyReact;
+import cyclops.reactive.ReactiveSeq;
 import com.oath.cyclops.async.QueueFactories;
 import cyclops.futurestream.SimpleReact;
 import org.junit.Before;
@@ -522,6 +525,120 @@ public class QueueTest {
 
 	}
 
+	@Test
+	public void offerAllAddsInOrder(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		assertTrue(q.offerAll(Arrays.asList(1,2,null,4)));
+		assertTrue(q.offerBatch(new Integer[]{5,6}));
+		q.close();
+		assertThat(q.stream().toList(),equalTo(Arrays.asList(1,2,null,4,5,6)));
+	}
+	@Test
+	public void offerAllStopsWhenBoundedQueueTimesOut(){
+		Queue<Integer> q = new Queue<Integer>(new LinkedBlockingQueue<>(2)).withOfferTimeout(1)
+		                                                                   .withOfferTimeUnit(TimeUnit.MILLISECONDS);
+		assertFalse(q.offerAll(Arrays.asList(1,2,3,4)));
+		assertThat(q.size(),equalTo(2));
+	}
+	@Test(expected=Queue.ClosedQueueException.class)
+	public void offerAllToClosedQueue(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		q.close();
+		q.offerAll(Arrays.asList(1,2));
+	}
+	@Test
+	public void drainToTakesAvailableData(){
+		for(Queue<Integer> q : Arrays.asList(QueueFactories.<Integer>unboundedQueue().build(),
+		                                     QueueFactories.<Integer>unboundedNonBlockingQueue().build(),
+		                                     QueueFactories.<Integer>boundedNonBlockingQueue(16).build())) {
+			q.offerAll(Arrays.asList(1, 2, 3, 4, 5));
+			List<Integer> batch = new ArrayList<>();
+			assertThat(q.drainTo(batch::add, 3), equalTo(3));
+			assertThat(batch, equalTo(Arrays.asList(1, 2, 3)));
+			assertThat(q.drainTo(batch::add, 10), equalTo(2));
+			assertThat(batch, equalTo(Arrays.asList(1, 2, 3, 4, 5)));
+		}
+	}
+	@Test
+	public void drainToWaitsForData(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		new Thread(()->{
+			sleep(50);
+			q.offerAll(Arrays.asList(1,2));
+		}).start();
+		List<Integer> batch = new ArrayList<>();
+		int drained = q.drainTo(batch::add, 10);
+		assertThat(batch.subList(0,drained),equalTo(Arrays.asList(1,2).subList(0,drained)));
+	}
+	@Test(expected=Queue.ClosedQueueException.class)
+	public void drainToClosedQueue(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		q.add(1);
+		q.close();
+		assertThat(q.drainTo(i->{}, 10),equalTo(1));
+		q.drainTo(i->{}, 10);
+	}
+	@Test
+	public void batchedStream(){
+		Queue<Integer> q = QueueFactories.<Integer>boundedQueue(100).build();
+		new Thread(()->{
+			for(int i=0;i<100;i++)
+				q.offerAll(ReactiveSeq.range(i*100,(i+1)*100).toList());
+			q.close();
+		}).start();
+		assertThat(q.stream(64).toList(),equalTo(ReactiveSeq.range(0,10_000).toList()));
+	}
+	@Test
+	public void batchedStreamDeliversDataBeforeError(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		q.add(1);
+		q.add(2);
+		q.addError(new IllegalStateException("boom"));
+		q.close();
+		List<Integer> result = new ArrayList<>();
+		try {
+			q.stream(10).forEach(result::add);
+		}catch(IllegalStateException e){
+			assertThat(e.getMessage(),equalTo("boom"));
+		}
+		assertThat(result,equalTo(Arrays.asList(1,2)));
+	}
+	@Test
+	public void closeWakesEveryBlockedStream() throws InterruptedException{
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		AtomicInteger completed = new AtomicInteger(0);
+		List<Thread> consumers = new ArrayList<>();
+		for(int i=0;i<8;i++){
+			Thread t = new Thread(()->{
+				q.stream().forEach(e->{});
+				completed.incrementAndGet();
+			});
+			t.start();
+			consumers.add(t);
+		}
+		q.offerAll(ReactiveSeq.range(0,1000).toList());
+		sleep(50);
+		q.close();
+		for(Thread t : consumers)
+			t.join(5000);
+		assertThat(completed.get(),equalTo(8));
+	}
+	@Test
+	public void closeWithoutStreamsAddsNothing(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedQueue().build();
+		q.add(1);
+		q.close();
+		assertThat(q.size(),equalTo(1));
+		assertThat(q.jdkStream().parallel().collect(Collectors.toList()),equalTo(Arrays.asList(1)));
+	}
+	@Test
+	public void closedNonBlockingQueueDrainsInLinearTime(){
+		Queue<Integer> q = QueueFactories.<Integer>unboundedNonBlockingQueue().build();
+		q.offerAll(ReactiveSeq.range(0,200_000).toList());
+		q.close();
+		assertThat(q.jdkStream().count(),equalTo(200_000L));
+	}
+
 	boolean called = false;
 	@Test
 	public void stackOverflowQuestion() {
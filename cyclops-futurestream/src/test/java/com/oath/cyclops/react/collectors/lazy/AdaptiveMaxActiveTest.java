@@ -0,0 +1,60 @@
+package com.oath.cyclops.react.collectors.lazy;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveMaxActiveTest {
+
+	@Test
+	public void aimdGrowsWhileFast() {
+		AdaptiveMaxActive max = AdaptiveMaxActive.aimd(10,1,100,10,TimeUnit.MILLISECONDS);
+		for(int i=0;i<1000;i++)
+			max.onComplete(TimeUnit.MILLISECONDS.toNanos(1),false);
+		assertThat(max.getMaxActive(),greaterThan(10));
+		assertThat(max.getReduceTo(),lessThan(max.getMaxActive()));
+	}
+	@Test
+	public void aimdBacksOffOnTimeoutsAndFailures() {
+		AdaptiveMaxActive max = AdaptiveMaxActive.aimd(50,1,100,10,TimeUnit.MILLISECONDS);
+		max.onComplete(TimeUnit.MILLISECONDS.toNanos(20),false);
+		assertThat(max.getMaxActive(),is(45));
+		max.onComplete(TimeUnit.MILLISECONDS.toNanos(1),true);
+		assertThat(max.getMaxActive(),is(40));
+	}
+	@Test
+	public void limitsAreRespected() {
+		AdaptiveMaxActive max = AdaptiveMaxActive.aimd(5,2,6,10,TimeUnit.MILLISECONDS);
+		for(int i=0;i<1000;i++)
+			max.onComplete(1,false);
+		assertThat(max.getMaxActive(),is(6));
+		for(int i=0;i<1000;i++)
+			max.onComplete(1,true);
+		assertThat(max.getMaxActive(),is(2));
+		assertThat(max.getReduceTo(),is(1));
+	}
+	@Test
+	public void vegasGrowsWithoutQueueing() {
+		AdaptiveMaxActive max = AdaptiveMaxActive.vegas(10,1,1000);
+		for(int i=0;i<10_000;i++)
+			max.onComplete(TimeUnit.MILLISECONDS.toNanos(5),false);
+		assertThat(max.getMaxActive(),greaterThan(100));
+	}
+	@Test
+	public void vegasShrinksAsLatencyRises() {
+		AdaptiveMaxActive max = AdaptiveMaxActive.vegas(100,1,1000);
+		max.onComplete(TimeUnit.MILLISECONDS.toNanos(5),false);
+		for(int i=0;i<1000;i++)
+			max.onComplete(TimeUnit.MILLISECONDS.toNanos(50),false);
+		assertThat(max.getMaxActive(),lessThan(100));
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void invalidLimits() {
+		AdaptiveMaxActive.vegas(10,5,4);
+	}
+}
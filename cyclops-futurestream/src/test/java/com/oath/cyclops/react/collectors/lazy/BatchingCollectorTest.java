@@ -1,16 +1,18 @@
 package com.oath.cyclops.react.collectors.lazy;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.oath.cyclops.internal.react.async.future.FastFuture;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.BDDMockito;
-import org.mockito.Mockito;
 
 import cyclops.futurestream.LazyReact;
 
@@ -28,66 +30,94 @@ public class BatchingCollectorTest {
 		}
 	}
 	@Test
-	public void testAcceptMock() {
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
+	public void testAcceptCompleted() {
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			collector.accept(FastFuture.completedFuture(10l));
 		}
-		Mockito.verify(cf, Mockito.atLeastOnce()).isDone();
+		assertThat(collector.getResults().size(),equalTo(1000));
+		assertThat(collector.getAllResults().size(),equalTo(1000));
 	}
 	@Test
-	public void testAcceptMock495() {
+	public void testAccept495() {
 		collector = new BatchingCollector(new MaxActive(500,5), LazyReact.sequentialBuilder().of(1)).withResults(new ArrayList<>());
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
-		for(int i=0;i<1000;i++){
-			collector.accept(cf);
-		}
-		Mockito.verify(cf, Mockito.times(501)).isDone();
-	}
-	@Test
-	public void testAcceptMock50() {
-		collector = new BatchingCollector(new MaxActive(500,450), LazyReact.sequentialBuilder().of(1)).withResults(new ArrayList<>());
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			collector.accept(FastFuture.completedFuture(10l));
 		}
-		Mockito.verify(cf, Mockito.times(501)).isDone();
+		assertThat(collector.getAllResults().size(),equalTo(1000));
 	}
 
 	@Test
 	public void testBuilder() {
 		collector = BatchingCollector.builder().blocking(LazyReact.sequentialBuilder().of(1)).maxActive(new MaxActive(2,1)).results(new ArrayList<>()).build();
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			collector.accept(FastFuture.completedFuture(10l));
 		}
-		Mockito.verify(cf, Mockito.times(999)).isDone();
+		assertThat(collector.getAllResults().size(),equalTo(1000));
 	}
 
 	@Test
 	public void testWithMaxActive() {
 		collector = collector.withMaxActive(new MaxActive(10000,5));
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
+		List<FastFuture> futures = new ArrayList<>();
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			FastFuture f = new FastFuture();
+			futures.add(f);
+			collector.accept(f);
 		}
-		Mockito.verify(cf, Mockito.times(0)).isDone();
+		assertThat(collector.getResults().size(),equalTo(0));
+		futures.forEach(f->f.set(10l));
+		assertThat(collector.getAllResults().size(),equalTo(1000));
 	}
 
 	@Test
 	public void testBatchingCollectorMaxActive() {
 		collector = new BatchingCollector(new MaxActive(10,5), LazyReact.sequentialBuilder().of(1)).withResults(new HashSet<>());
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			collector.accept(FastFuture.completedFuture(10l));
+		}
+		assertThat(collector.getAllResults().size(),equalTo(1000));
+	}
+
+	@Test
+	public void testBlocksUntilReducedTo() throws InterruptedException {
+		collector = new BatchingCollector(new MaxActive(10,5), LazyReact.sequentialBuilder().of(1)).withResults(new ArrayList<>());
+		FastFuture[] futures = new FastFuture[11];
+		for(int i=0;i<futures.length;i++)
+			futures[i] = new FastFuture();
+		AtomicInteger accepted = new AtomicInteger(0);
+		CountDownLatch finished = new CountDownLatch(1);
+		Thread t = new Thread(()->{
+			for(FastFuture f : futures){
+				collector.accept(f);
+				accepted.incrementAndGet();
+			}
+			finished.countDown();
+		});
+		t.start();
+		while(accepted.get()<10)
+			Thread.sleep(1);
+		Thread.sleep(50);
+		assertThat(accepted.get(),equalTo(10));
+
+		for(int i=0;i<5;i++)
+			futures[i].set(10l);
+		Thread.sleep(50);
+		assertThat(accepted.get(),equalTo(10));
+
+		futures[5].set(10l);
+		assertThat(finished.await(5, TimeUnit.SECONDS),equalTo(true));
+		assertThat(accepted.get(),equalTo(11));
+	}
+
+	@Test
+	public void testAdaptiveMaxActive() {
+		AdaptiveMaxActive adaptive = AdaptiveMaxActive.aimd(2,1,100,1,TimeUnit.MINUTES);
+		collector = new BatchingCollector(adaptive, LazyReact.sequentialBuilder().of(1)).withResults(new ArrayList<>());
+		for(int i=0;i<1000;i++){
+			collector.accept(FastFuture.completedFuture(10l));
 		}
-		Mockito.verify(cf, Mockito.times(990)).isDone();
+		assertThat(collector.getAllResults().size(),equalTo(1000));
+		assertThat(adaptive.getMaxActive()>2,equalTo(true));
 	}
 
 
@@ -1,20 +1,18 @@
 package com.oath.cyclops.react.collectors.lazy;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.oath.cyclops.internal.react.async.future.FastFuture;
 import com.oath.cyclops.react.collectors.lazy.EmptyCollector;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.BDDMockito;
-import org.mockito.Mockito;
 
 public class EmptyCollectorTest {
 
@@ -30,33 +28,41 @@ public class EmptyCollectorTest {
 		}
 	}
 	@Test
-	public void testAcceptMock() {
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
+	public void testAcceptCompleted() {
+		collector = new EmptyCollector<>(new MaxActive(500,5),cf -> cf.join());
 		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+			collector.accept(FastFuture.completedFuture(10l));
 		}
-		Mockito.verify(cf, Mockito.atLeastOnce()).isDone();
+		assertTrue(collector.hasCapacity(0));
+		assertTrue(collector.getResults().isEmpty());
 	}
 	@Test
-	public void testAcceptMock495() {
-		collector = new EmptyCollector<>(new MaxActive(500,5),cf -> cf.join());
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
-		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+	public void testHasCapacity() {
+		collector = new EmptyCollector<>(new MaxActive(500,450),cf -> cf.join());
+		List<FastFuture> futures = new ArrayList<>();
+		for(int i=0;i<500;i++){
+			FastFuture f = new FastFuture();
+			futures.add(f);
+			collector.accept(f);
 		}
-		Mockito.verify(cf, Mockito.times(501)).isDone();
+		assertFalse(collector.hasCapacity(0));
+		assertTrue(collector.hasCapacity(1));
+		futures.forEach(f->f.set(10l));
+		assertTrue(collector.hasCapacity(0));
 	}
 	@Test
-	public void testAcceptMock50() {
-		collector = new EmptyCollector<>(new MaxActive(500,450),cf -> cf.join());
-		FastFuture cf = Mockito.mock(FastFuture.class);
-		BDDMockito.given(cf.isDone()).willReturn(true);
-		for(int i=0;i<1000;i++){
-			collector.accept(cf);
+	public void testFailuresJoined() {
+		AtomicInteger joined = new AtomicInteger(0);
+		collector = new EmptyCollector<>(new MaxActive(2,1),cf -> {
+			joined.incrementAndGet();
+			return null;
+		});
+		for(int i=0;i<10;i++){
+			collector.accept(i%2==0 ? FastFuture.completedFuture(10l) : FastFuture.failedFuture(new RuntimeException()));
 		}
-		Mockito.verify(cf, Mockito.times(501)).isDone();
+		assertThat(joined.get(),is(4)); //the last failure is still within MaxActive
+		collector.afterResults(()->{});
+		assertThat(joined.get(),is(5));
 	}
 
 	@Test
@@ -0,0 +1,170 @@
+package com.oath.cyclops.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.oath.cyclops.util.ExceptionSoftener;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reads and writes of top level JSON arrays.
+ *
+ * Reading surfaces the elements of an array as a lazily parsed ReactiveSeq, each element is only parsed (with the
+ * mapper's deserializers for the element type) as it is pulled from the Stream and the input is closed once the end of
+ * the array has been reached (or parsing fails). Writing serializes each element as it is pulled from the source.
+ *
+ * <pre>
+ * {@code
+ *  ObjectMapper mapper = new ObjectMapper().registerModule(new CyclopsModule());
+ *
+ *  ReactiveSeq<Order> orders = JsonStreams.readArray(mapper, in, Order.class);
+ *  JsonStreams.writeArray(mapper, out, orders.filter(Order::isOpen));
+ * }
+ * </pre>
+ */
+public final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    public static <T> ReactiveSeq<T> readArray(ObjectMapper mapper, InputStream in, Class<T> type) {
+        return readArray(mapper, in, mapper.constructType(type));
+    }
+
+    public static <T> ReactiveSeq<T> readArray(ObjectMapper mapper, InputStream in, JavaType type) {
+        try {
+            return readArray(mapper.readerFor(type), mapper.getFactory().createParser(in));
+        } catch (IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    public static <T> ReactiveSeq<T> readArray(ObjectMapper mapper, Reader in, Class<T> type) {
+        return readArray(mapper, in, mapper.constructType(type));
+    }
+
+    public static <T> ReactiveSeq<T> readArray(ObjectMapper mapper, Reader in, JavaType type) {
+        try {
+            return readArray(mapper.readerFor(type), mapper.getFactory().createParser(in));
+        } catch (IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    /**
+     * @param reader Reader for the element type
+     * @param parser Parser positioned before (or at) the start of a JSON array
+     * @return Lazily parsed elements of the array, the parser is closed once the end of the array is reached or
+     * parsing fails
+     */
+    public static <T> ReactiveSeq<T> readArray(ObjectReader reader, JsonParser parser) {
+        return ReactiveSeq.fromIterator(new ArrayIterator<>(reader, parser));
+    }
+
+    public static void writeArray(ObjectMapper mapper, OutputStream out, Iterable<?> values) {
+        try {
+            writeArray(writer(mapper).writeValuesAsArray(out), values);
+        } catch (IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    public static void writeArray(ObjectMapper mapper, Writer out, Iterable<?> values) {
+        try {
+            writeArray(writer(mapper).writeValuesAsArray(out), values);
+        } catch (IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    /*
+     * Flushing is left to the generator's buffer (and close), rather than after each element
+     */
+    private static ObjectWriter writer(ObjectMapper mapper) {
+        return mapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static void writeArray(SequenceWriter writer, Iterable<?> values) throws IOException {
+        try (SequenceWriter w = writer) {
+            for (Object next : values) {
+                w.write(next);
+            }
+        }
+    }
+
+    private static final class ArrayIterator<T> implements Iterator<T> {
+        private final ObjectReader reader;
+        private final JsonParser parser;
+        private boolean started;
+        private boolean ready;
+        private boolean done;
+
+        private ArrayIterator(ObjectReader reader, JsonParser parser) {
+            this.reader = reader;
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (ready)
+                return true;
+            if (done)
+                return false;
+            try {
+                if (!started) {
+                    started = true;
+                    JsonToken first = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+                    if (first != JsonToken.START_ARRAY)
+                        throw MismatchedInputException.from(parser, ReactiveSeq.class,
+                                                            "Expected a JSON array but found " + first);
+                }
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    close();
+                    return false;
+                }
+                ready = true;
+                return true;
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+            try {
+                return reader.readValue(parser);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
+
+        private void close() {
+            done = true;
+            try {
+                parser.close();
+            } catch (IOException e) {
+                //already failed or complete
+            }
+        }
+    }
+}
@@ -81,7 +81,7 @@ public class CyclopsDeserializers  extends Deserializers.Base {
       return new TupleDeserializer(raw);
     }
     if (PersistentMap.class.isAssignableFrom(type.getRawClass())) {
-      return new PersistentMapDeserializer(raw);
+      return new PersistentMapDeserializer(raw,type);
     }
     return super.findBeanDeserializer(type, config, beanDesc);
   }
@@ -138,7 +138,7 @@ public class CyclopsDeserializers  extends Deserializers.Base {
           return new TupleDeserializer(raw);
       }
       if (PersistentMap.class.isAssignableFrom(type.getRawClass())) {
-          return new PersistentMapDeserializer(raw);
+          return new PersistentMapDeserializer(raw,type);
       }
         return super.findReferenceDeserializer(type, config, bean, typeDeserializer, jsonDeserializer);
   }
@@ -0,0 +1,189 @@
+package com.oath.cyclops.jackson.deserializers;
+
+import com.oath.cyclops.types.traversable.IterableX;
+import com.oath.cyclops.util.ExceptionSoftener;
+import cyclops.companion.Streamable;
+import cyclops.data.Bag;
+import cyclops.data.BankersQueue;
+import cyclops.data.HashSet;
+import cyclops.data.IntMap;
+import cyclops.data.LazySeq;
+import cyclops.data.LazyString;
+import cyclops.data.Seq;
+import cyclops.data.TreeSet;
+import cyclops.data.TrieSet;
+import cyclops.data.Vector;
+import cyclops.reactive.ReactiveSeq;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * Accumulates elements into a cyclops collection as they are deserialized. The sink for a collection type is resolved
+ * once (when the deserializer is contextualized), types with a transient builder (or no bulk construction to gain
+ * from) are written to directly, the remainder are read into a single array buffer that is handed to the target type
+ * uncopied.
+ */
+interface ElementSink {
+
+    void add(Object value);
+
+    IterableX<?> result();
+
+    static Supplier<ElementSink> forType(Class<?> type) {
+        if (Vector.class.isAssignableFrom(type))
+            return () -> of(Vector.builder(), Vector.Builder::add, Vector.Builder::persistent);
+        if (IntMap.class.isAssignableFrom(type))
+            return () -> of(IntMap.builder(), IntMap.Builder::add, IntMap.Builder::persistent);
+        if (HashSet.class.isAssignableFrom(type))
+            return () -> of(HashSet.transientOf(), HashSet.Builder::add, HashSet.Builder::persistent);
+        if (BankersQueue.class.isAssignableFrom(type))
+            return () -> new Persistent<>(BankersQueue.empty(), BankersQueue::enqueue);
+        if (TrieSet.class.isAssignableFrom(type))
+            return () -> new Persistent<>(TrieSet.empty(), TrieSet::plus);
+        if (TreeSet.class.isAssignableFrom(type))
+            return () -> new Persistent<>(TreeSet.empty((Comparator) Comparator.naturalOrder()), TreeSet::plus);
+        if (LazyString.class.isAssignableFrom(type))
+            return () -> of(new StringBuilder(), (b, c) -> b.append((char) (Character) c), LazyString::of);
+        if (Seq.class.isAssignableFrom(type))
+            return () -> new Buffered(Buffer::toSeq);
+        if (LazySeq.class.isAssignableFrom(type))
+            return () -> new Buffered(LazySeq::fromIterable);
+        if (ReactiveSeq.class.isAssignableFrom(type))
+            return () -> new Buffered(ReactiveSeq::fromIterable);
+        if (Streamable.class.isAssignableFrom(type))
+            return () -> new Buffered(Streamable::fromIterable);
+        if (Bag.class.isAssignableFrom(type))
+            return () -> new Buffered(Bag::fromIterable);
+        MethodHandle fromIterable = Stream.of(type.getMethods())
+                                          .filter(method -> "fromIterable".equals(method.getName()))
+                                          .filter(method -> method.getParameterCount() == 1)
+                                          .findFirst()
+                                          .map(ElementSink::unreflect)
+                                          .orElse(null);
+        if (fromIterable == null)
+            return () -> new Buffered(b -> null);
+        return () -> new Buffered(b -> invoke(fromIterable, b));
+    }
+
+    static <B> ElementSink of(B builder, BiConsumer<? super B, Object> add,
+                              Function<? super B, ? extends IterableX<?>> build) {
+        return new ElementSink() {
+            @Override
+            public void add(Object value) {
+                add.accept(builder, value);
+            }
+
+            @Override
+            public IterableX<?> result() {
+                return build.apply(builder);
+            }
+        };
+    }
+
+    static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup()
+                                .unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    static IterableX<?> invoke(MethodHandle fromIterable, Iterable<?> values) {
+        try {
+            return (IterableX<?>) fromIterable.invoke(values);
+        } catch (Throwable e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    /*
+     * For persistent types without a transient builder, elements are added one at a time via the type's own plus /
+     * enqueue (O(1) for BankersQueue, a path copy per element for TrieSet and TreeSet), which is how their fromIterable
+     * builds them too, without first buffering the elements
+     */
+    final class Persistent<C extends IterableX<?>> implements ElementSink {
+        private C collection;
+        private final BiFunction<C, Object, ? extends C> append;
+
+        Persistent(C empty, BiFunction<C, Object, ? extends C> append) {
+            this.collection = empty;
+            this.append = append;
+        }
+
+        @Override
+        public void add(Object value) {
+            collection = append.apply(collection, value);
+        }
+
+        @Override
+        public IterableX<?> result() {
+            return collection;
+        }
+    }
+
+    final class Buffered implements ElementSink {
+        private final Buffer buffer = new Buffer();
+        private final Function<? super Buffer, ? extends IterableX<?>> build;
+
+        Buffered(Function<? super Buffer, ? extends IterableX<?>> build) {
+            this.build = build;
+        }
+
+        @Override
+        public void add(Object value) {
+            buffer.append(value);
+        }
+
+        @Override
+        public IterableX<?> result() {
+            return build.apply(buffer);
+        }
+    }
+
+    /*
+     * Growable array, exposed as a List view so that collections that copy from a Collection / RandomAccess List (e.g.
+     * LazySeq chunking) read straight from the array
+     */
+    final class Buffer extends AbstractList<Object> implements RandomAccess {
+        private Object[] elements = new Object[16];
+        private int size;
+
+        void append(Object value) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, size * 2);
+            elements[size++] = value;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index >= size)
+                throw new IndexOutOfBoundsException("" + index);
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        Seq<Object> toSeq() {
+            Seq<Object> result = Seq.empty();
+            for (int i = size - 1; i >= 0; i--) {
+                result = result.prepend(elements[i]);
+            }
+            return result;
+        }
+    }
+}
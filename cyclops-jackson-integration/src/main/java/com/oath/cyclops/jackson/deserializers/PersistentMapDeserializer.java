@@ -2,76 +2,171 @@ package com.oath.cyclops.jackson.deserializers;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.oath.cyclops.types.persistent.PersistentMap;
 import com.oath.cyclops.util.ExceptionSoftener;
 import cyclops.data.HashMap;
+import cyclops.data.LinkedMap;
 import cyclops.data.TreeMap;
+import cyclops.data.TrieMap;
 
 import java.io.IOException;
-import java.lang.invoke.CallSite;
-import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-
-public class PersistentMapDeserializer extends StdDeserializer<PersistentMap<?,?>> {
+/**
+ * Deserializes JSON objects into cyclops persistent maps. Keys and values are read with the deserializers for the
+ * map's declared key and value types, and each entry is put into the target map (via its transient builder where
+ * there is one) as it is read, rather than via an intermediate java.util.Map.
+ */
+public class PersistentMapDeserializer extends StdDeserializer<PersistentMap<?,?>> implements ContextualDeserializer {
+  private static final Map<Class<?>,Supplier<EntrySink>> sinks = new ConcurrentHashMap<>();
 
   private final Class<?> mapType;
+  private final JavaType type;
+  private final KeyDeserializer keyDeserializer;
+  private final JsonDeserializer<Object> valueDeserializer;
+  private final Supplier<EntrySink> sink;
 
   public PersistentMapDeserializer(Class<?> vc) {
+    this(vc,null,null,null);
+  }
+  public PersistentMapDeserializer(Class<?> vc, JavaType type) {
+    this(vc,type,null,null);
+  }
+  private PersistentMapDeserializer(Class<?> vc, JavaType type, KeyDeserializer keyDeserializer, JsonDeserializer<Object> valueDeserializer) {
     super(vc);
     this.mapType = vc;
+    this.type = type;
+    this.keyDeserializer = keyDeserializer;
+    this.valueDeserializer = valueDeserializer;
+    this.sink = sinks.computeIfAbsent(vc, PersistentMapDeserializer::sinkFor);
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+    JavaType keyType = type == null ? TypeFactory.unknownType() : type.containedTypeOrUnknown(0);
+    JavaType valueType = type == null ? TypeFactory.unknownType() : type.containedTypeOrUnknown(1);
+    KeyDeserializer keys = keyDeserializer != null ? keyDeserializer : ctxt.findKeyDeserializer(keyType, property);
+    JsonDeserializer<Object> values = valueDeserializer != null ? valueDeserializer : ctxt.findContextualValueDeserializer(valueType, property);
+    return new PersistentMapDeserializer(mapType,type,keys,values);
   }
 
   @Override
   public PersistentMap<?, ?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-    JsonDeserializer deser = ctxt.findRootValueDeserializer(ctxt.getTypeFactory().constructRawMapType(Map.class));
+    JsonToken t = p.currentToken();
+    if (t == JsonToken.START_OBJECT) {
+      t = p.nextToken();
+    } else if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+      return (PersistentMap<?,?>)ctxt.handleUnexpectedToken(handledType(),p);
+    }
+    EntrySink entries = sink.get();
+    for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+      Object key = keyDeserializer.deserializeKey(p.currentName(), ctxt);
+      Object value = p.nextToken() == JsonToken.VALUE_NULL ? null : valueDeserializer.deserialize(p, ctxt);
+      entries.put(key, value);
+    }
+    return entries.result();
 
-    Object o = deser.deserialize(p, ctxt);
-    if(HashMap.class.isAssignableFrom(mapType))
-      return HashMap.fromMap((Map)o);
-    if(TreeMap.class.isAssignableFrom(mapType))
-      return TreeMap.fromMap((Comparator)Comparator.naturalOrder(),(Map)o);
+  }
+
+  /*
+   * Accumulates entries into a persistent map as they are deserialized
+   */
+  interface EntrySink {
+    void put(Object key, Object value);
+
+    PersistentMap<?,?> result();
+  }
 
-   /** if(TrieMap.class.isAssignableFrom(mapType))
-      return TrieMap.fromMap((Map)o);
+  private static Supplier<EntrySink> sinkFor(Class<?> mapType) {
+    if(HashMap.class.isAssignableFrom(mapType)) {
+      return () -> {
+        HashMap.Builder<Object,Object> builder = HashMap.transientOf();
+        return sink(builder::put, builder::persistent);
+      };
+    }
+    if(TreeMap.class.isAssignableFrom(mapType))
+      return () -> new Persistent(TreeMap.empty((Comparator)Comparator.naturalOrder()));
     if(LinkedMap.class.isAssignableFrom(mapType))
-      return LinkedMap.fromMap((Map)o);
-    **/
-    Optional<Method> m = streamMethod.computeIfAbsent(mapType, c-> Stream.of(c.getMethods())
+      return () -> new Persistent(LinkedMap.empty());
+    if(TrieMap.class.isAssignableFrom(mapType))
+      return () -> new Persistent(TrieMap.empty());
+
+    Optional<MethodHandle> fromMap = Stream.of(mapType.getMethods())
       .filter(method -> "fromMap".equals(method.getName()))
       .filter(method -> method.getParameterCount()==1)
       .filter(method -> method.getParameterTypes()[0].isAssignableFrom(Map.class)).findFirst()
-      .map(m2->{ m2.setAccessible(true); return m2;}));
-    PersistentMap<?,?> x = m.map(mt -> (PersistentMap)new  Invoker().executeMethod(o, mt, mapType)).orElse(null);
+      .map(PersistentMapDeserializer::unreflect);
+    return () -> {
+      Map<Object,Object> map = new LinkedHashMap<>();
+      return sink(map::put, () -> fromMap.map(mh -> invoke(mh, map)).orElse(null));
+    };
+  }
 
-    return x;
+  private static EntrySink sink(BiConsumer<Object,Object> put, Supplier<? extends PersistentMap<?,?>> result) {
+    return new EntrySink() {
+      @Override
+      public void put(Object key, Object value) {
+        put.accept(key, value);
+      }
 
-  }
-  private static final Map<Class,Optional<Method>> streamMethod = new ConcurrentHashMap<>();
-  private static final Map<Method,CallSite> callSites = new ConcurrentHashMap<>();
-  static class Invoker{
-    private Object executeMethod(Object t, Method m, Class z) {
-      try {
-        return callSites.computeIfAbsent(m, (m2) ->  {
-          try {
-            return new ConstantCallSite(MethodHandles.publicLookup().unreflect(m2));
-          } catch (Exception e) {
-            throw ExceptionSoftener.throwSoftenedException(e);
-          }
-        }).dynamicInvoker().invoke((Object[])t);
-
-      } catch (Throwable e) {
-        throw ExceptionSoftener.throwSoftenedException(e);
+      @Override
+      public PersistentMap<?, ?> result() {
+        return result.get();
       }
+    };
+  }
+
+  private static final class Persistent implements EntrySink {
+    private PersistentMap<Object,Object> map;
+
+    private Persistent(PersistentMap<Object,Object> empty) {
+      this.map = empty;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+      map = map.put(key, value);
+    }
+
+    @Override
+    public PersistentMap<?, ?> result() {
+      return map;
+    }
+  }
+
+  private static MethodHandle unreflect(Method method) {
+    try {
+      return MethodHandles.publicLookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw ExceptionSoftener.throwSoftenedException(e);
+    }
+  }
+
+  private static PersistentMap<?,?> invoke(MethodHandle fromMap, Map<Object,Object> map) {
+    try {
+      return (PersistentMap<?,?>)fromMap.invoke(map);
+    } catch (Throwable e) {
+      throw ExceptionSoftener.throwSoftenedException(e);
     }
   }
 }
@@ -3,9 +3,14 @@ package com.oath.cyclops.jackson.serializers;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
 
 import java.io.IOException;
 
+/**
+ * Writes each element as it is iterated (lazy collections and ReactiveSeqs are not materialized), element serializers
+ * are looked up once per element class
+ */
 public class IterableXSerializer extends JsonSerializer<Iterable<?>>{
 
   @Override
@@ -14,9 +19,19 @@ public class IterableXSerializer extends JsonSerializer<Iterable<?>>{
       gen.writeNull();
       return;
     }
-    gen.writeStartArray();
+    gen.writeStartArray(value);
+    PropertySerializerMap elementSerializers = PropertySerializerMap.emptyForProperties();
     for(Object o : value) {
-      JsonSerializer<Object> ser = serializers.findTypedValueSerializer(o.getClass(),true,null);
+      if(o==null) {
+        serializers.defaultSerializeNull(gen);
+        continue;
+      }
+      Class<?> c = o.getClass();
+      JsonSerializer<Object> ser = elementSerializers.serializerFor(c);
+      if(ser==null) {
+        ser = serializers.findTypedValueSerializer(c, true, null);
+        elementSerializers = elementSerializers.newWith(c, ser);
+      }
       ser.serialize(o, gen, serializers);
     }
     gen.writeEndArray();
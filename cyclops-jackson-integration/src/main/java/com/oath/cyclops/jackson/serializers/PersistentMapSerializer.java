@@ -3,20 +3,16 @@ package com.oath.cyclops.jackson.serializers;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.type.MapType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.oath.cyclops.matching.Sealed2;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
 import com.oath.cyclops.types.persistent.PersistentMap;
-import com.oath.cyclops.util.ExceptionSoftener;
 import cyclops.data.tuple.Tuple2;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.Setter;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * Writes each entry as a field of a JSON object as the map is iterated (without copying into a java.util.Map), key and
+ * value serializers are looked up once per key / value class
+ */
 public class PersistentMapSerializer extends JsonSerializer<PersistentMap<?,?>> {
 
   private static final long serialVersionUID = 1L;
@@ -25,18 +21,37 @@ public class PersistentMapSerializer extends JsonSerializer<PersistentMap<?,?>>
 
   @Override
   public void serialize(PersistentMap<?, ?> value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-
-    if(value.iterator().hasNext()) {
-      Tuple2<?,?> keyAndValue = value.iterator().next();
-      MapType type = TypeFactory.defaultInstance().constructMapType(Map.class, keyAndValue._1().getClass(),
-        keyAndValue._2().getClass());
-      serializers.findTypedValueSerializer(type,true,null)
-        .serialize(value.mapView(),gen,serializers);
-    }
-    else{
-      serializers.findValueSerializer(Map.class)
-        .serialize(new HashMap<>(),gen,serializers);
+    gen.writeStartObject(value);
+    PropertySerializerMap keySerializers = PropertySerializerMap.emptyForProperties();
+    PropertySerializerMap valueSerializers = PropertySerializerMap.emptyForProperties();
+    for(Tuple2<?,?> entry : value) {
+      Object key = entry._1();
+      if(key==null) {
+        serializers.findNullKeySerializer(serializers.constructType(Object.class), null)
+                   .serialize(null, gen, serializers);
+      } else {
+        Class<?> c = key.getClass();
+        JsonSerializer<Object> ser = keySerializers.serializerFor(c);
+        if(ser==null) {
+          ser = serializers.findKeySerializer(c, null);
+          keySerializers = keySerializers.newWith(c, ser);
+        }
+        ser.serialize(key, gen, serializers);
+      }
+      Object v = entry._2();
+      if(v==null) {
+        serializers.defaultSerializeNull(gen);
+        continue;
+      }
+      Class<?> c = v.getClass();
+      JsonSerializer<Object> ser = valueSerializers.serializerFor(c);
+      if(ser==null) {
+        ser = serializers.findTypedValueSerializer(c, true, null);
+        valueSerializers = valueSerializers.newWith(c, ser);
+      }
+      ser.serialize(v, gen, serializers);
     }
+    gen.writeEndObject();
 
 
   }
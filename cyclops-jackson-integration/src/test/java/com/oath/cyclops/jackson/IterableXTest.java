@@ -1,12 +1,20 @@
 package com.oath.cyclops.jackson;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import cyclops.data.BankersQueue;
+import cyclops.data.Bag;
+import cyclops.data.HashSet;
 import cyclops.data.LazySeq;
+import cyclops.data.LazyString;
+import cyclops.data.TreeSet;
 import cyclops.data.Seq;
 import cyclops.data.Vector;
 import cyclops.reactive.ReactiveSeq;
 import cyclops.reactive.collections.mutable.ListX;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
@@ -41,6 +49,48 @@ public class IterableXTest {
     ReactiveSeq<Integer> s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(ReactiveSeq.of(1,2,3)),ReactiveSeq.class);
     assertThat(s.toList(),equalTo(ReactiveSeq.of(1,2,3).toList()));
   }
-
+  @Test
+  public void bankersQueue(){
+    BankersQueue<Integer> s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(BankersQueue.of(1,2,3)),BankersQueue.class);
+    assertThat(s,equalTo(BankersQueue.of(1,2,3)));
+  }
+  @Test
+  public void hashSet(){
+    HashSet<Integer> s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(HashSet.of(1,2,3)),HashSet.class);
+    assertThat(s,equalTo(HashSet.of(1,2,3)));
+  }
+  @Test
+  public void treeSet(){
+    TreeSet<Integer> s = JacksonUtil.convertFromJson("[3,1,2]",TreeSet.class);
+    assertThat(s.toList(),equalTo(Arrays.asList(1,2,3)));
+  }
+  @Test
+  public void bag(){
+    Bag<Integer> s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(Bag.of(1,1,2)),Bag.class);
+    assertThat(s,equalTo(Bag.of(1,1,2)));
+  }
+  @Test
+  public void lazyString(){
+    System.out.println(JacksonUtil.serializeToJson(LazyString.of("hello")));
+    LazyString s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(LazyString.of("hello")),LazyString.class);
+    assertThat(s.toString(),equalTo("hello"));
+  }
+  @Test
+  public void nulls(){
+    assertThat(JacksonUtil.serializeToJson(Vector.of(1,null,3)),equalTo("[1,null,3]"));
+    Vector<Integer> s = JacksonUtil.convertFromJson("[1,null,3]",Vector.class);
+    assertThat(s,equalTo(Vector.of(1,null,3)));
+  }
+  @Test
+  public void typedElements(){
+    Vector<Seq<Long>> s = JacksonUtil.convertFromJson("[[1,2],[3]]",new TypeReference<Vector<Seq<Long>>>(){});
+    assertThat(s,equalTo(Vector.of(Seq.of(1l,2l),Seq.of(3l))));
+  }
+  @Test
+  public void largeVector(){
+    Vector<Integer> v = Vector.range(0,5000);
+    Vector<Integer> s = JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(v),new TypeReference<Vector<Integer>>(){});
+    assertThat(s,equalTo(v));
+  }
 
 }
@@ -0,0 +1,96 @@
+package com.oath.cyclops.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import cyclops.data.HashMap;
+import cyclops.data.Vector;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class JsonStreamsTest {
+
+  static class TrackingInput extends ByteArrayInputStream {
+    AtomicInteger read = new AtomicInteger(0);
+    AtomicBoolean closed = new AtomicBoolean(false);
+    TrackingInput(String json){
+      super(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      //hand the parser one byte at a time, so laziness is observable
+      int r = super.read(b, off, Math.min(len,1));
+      if(r>0)
+        read.addAndGet(r);
+      return r;
+    }
+
+    @Override
+    public void close() {
+      closed.set(true);
+    }
+  }
+
+  @Test
+  public void readArray(){
+    ReactiveSeq<Integer> s = JsonStreams.readArray(JacksonUtil.getMapper(),new StringReader("[1,2,3]"),Integer.class);
+    assertThat(s.toList(),equalTo(Arrays.asList(1,2,3)));
+  }
+  @Test
+  public void readEmptyArray(){
+    assertThat(JsonStreams.readArray(JacksonUtil.getMapper(),new StringReader("[]"),Integer.class).toList(),
+               equalTo(Arrays.asList()));
+  }
+  @Test
+  public void readTypedElements(){
+    ReactiveSeq<HashMap<String,Vector<Integer>>> s = JsonStreams.readArray(JacksonUtil.getMapper(),
+                                                                          new StringReader("[{\"a\":[1]},{\"b\":[2,3]}]"),
+                                                                          JacksonUtil.getMapper().getTypeFactory()
+                                                                                     .constructType(new TypeReference<HashMap<String,Vector<Integer>>>(){}));
+    assertThat(s.toList(),equalTo(Arrays.asList(HashMap.of("a",Vector.of(1)),HashMap.of("b",Vector.of(2,3)))));
+  }
+  @Test
+  public void readIsLazy(){
+    TrackingInput in = new TrackingInput("[1,2,3,4,5,6,7,8,9,10]");
+    ReactiveSeq<Integer> s = JsonStreams.readArray(JacksonUtil.getMapper(),in,Integer.class);
+    assertThat(s.limit(2).toList(),equalTo(Arrays.asList(1,2)));
+    assertThat(in.read.get()<10,equalTo(true));
+    assertThat(in.closed.get(),equalTo(false));
+  }
+  @Test
+  public void closedAtEndOfArray(){
+    TrackingInput in = new TrackingInput("[1,2]");
+    assertThat(JsonStreams.readArray(JacksonUtil.getMapper(),in,Integer.class).count(),equalTo(2l));
+    assertThat(in.closed.get(),equalTo(true));
+  }
+  @Test(expected = com.fasterxml.jackson.databind.exc.MismatchedInputException.class)
+  public void notAnArray(){
+    InputStream in = new ByteArrayInputStream("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+    JsonStreams.readArray(JacksonUtil.getMapper(),in,Integer.class).toList();
+  }
+  @Test
+  public void writeArray(){
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JsonStreams.writeArray(JacksonUtil.getMapper(),out,ReactiveSeq.of(HashMap.of("a",Vector.of(1)),null));
+    assertThat(new String(out.toByteArray(),StandardCharsets.UTF_8),equalTo("[{\"a\":[1]},null]"));
+  }
+  @Test
+  public void roundTrip(){
+    StringWriter out = new StringWriter();
+    JsonStreams.writeArray(JacksonUtil.getMapper(),out,ReactiveSeq.range(0,1000));
+    assertThat(JsonStreams.readArray(JacksonUtil.getMapper(),new StringReader(out.toString()),Integer.class).toList(),
+               equalTo(ReactiveSeq.range(0,1000).toList()));
+  }
+}
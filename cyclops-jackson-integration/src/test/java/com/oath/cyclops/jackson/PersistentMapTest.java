@@ -1,6 +1,11 @@
 package com.oath.cyclops.jackson;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import cyclops.data.HashMap;
+import cyclops.data.TreeMap;
+import cyclops.data.TrieMap;
+import cyclops.data.Vector;
+import cyclops.data.tuple.Tuple;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -15,4 +20,26 @@ public class PersistentMapTest {
 
     assertThat(JacksonUtil.convertFromJson(JacksonUtil.serializeToJson(HashMap.of("a",10)),HashMap.class),equalTo(HashMap.of("a",10)));
   }
+  @Test
+  public void typedKeysAndValues(){
+    HashMap<Integer,Vector<Long>> map = JacksonUtil.convertFromJson("{\"1\":[10,20],\"2\":[]}",
+                                                                    new TypeReference<HashMap<Integer,Vector<Long>>>(){});
+    assertThat(map,equalTo(HashMap.of(1,Vector.of(10l,20l),2,Vector.empty())));
+  }
+  @Test
+  public void nullValues(){
+    assertThat(JacksonUtil.serializeToJson(HashMap.of("a",null)),equalTo("{\"a\":null}"));
+    assertThat(JacksonUtil.convertFromJson("{\"a\":null}",HashMap.class),equalTo(HashMap.of("a",null)));
+  }
+  @Test
+  public void treeMap(){
+    TreeMap<String,Integer> map = JacksonUtil.convertFromJson("{\"b\":2,\"a\":1}",new TypeReference<TreeMap<String,Integer>>(){});
+    assertThat(map.stream().toList(),equalTo(Vector.of(Tuple.tuple("a",1),Tuple.tuple("b",2)).toList()));
+  }
+  @Test
+  public void trieMap(){
+    String json = JacksonUtil.serializeToJson(TrieMap.of("a",10));
+    assertThat(json,equalTo("{\"a\":10}"));
+    assertThat(JacksonUtil.convertFromJson(json,TrieMap.class),equalTo(TrieMap.of("a",10)));
+  }
 }
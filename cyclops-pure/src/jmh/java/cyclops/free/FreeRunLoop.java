@@ -0,0 +1,141 @@
+package cyclops.free;
+
+import com.oath.cyclops.hkt.DataWitness.supplier;
+import cyclops.companion.Monoids;
+import cyclops.control.Either;
+import cyclops.control.Reader;
+import cyclops.control.ReaderWriterState;
+import cyclops.control.State;
+import cyclops.data.tuple.Tuple;
+import cyclops.kinds.SupplierKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 1M step programs, e.g. gradle :cyclops-pure:jmh -PjmhInclude='.*FreeRunLoop.*' -PjmhProfilers=gc
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class FreeRunLoop {
+
+    static final int STEPS = 1_000_000;
+
+    Free<supplier, Integer> leftNested;
+    State<Integer, Integer> state;
+    Reader<Integer, Integer> reader;
+    ReaderWriterState<Integer, Integer, Integer, Integer> rws;
+
+    @Setup
+    public void before() {
+        leftNested = Free.done(0);
+        state = State.constant(0);
+        reader = in -> 0;
+        rws = ReaderWriterState.rws((r, s) -> Tuple.tuple(0, s, 0), Monoids.intSum);
+        for (int i = 0; i < STEPS; i++) {
+            leftNested = leftNested.flatMap(x -> Free.done(x + 1));
+            state = state.flatMap(x -> State.state(s -> Tuple.tuple(s + 1, x + 1)));
+            reader = reader.flatMap(x -> in -> x + in);
+            rws = rws.flatMap(x -> ReaderWriterState.rws((r, s) -> Tuple.tuple(1, s + r, x + 1), Monoids.intSum));
+        }
+    }
+
+    static Free<supplier, Integer> countDown(int n) {
+        return n == 0 ? Free.done(0) : SupplierKind.suspend(() -> countDown(n - 1))
+                                                   .map(x -> x + 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void freeLeftNested(Blackhole bh) {
+        bh.consume(SupplierKind.run(leftNested));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void freeSuspended(Blackhole bh) {
+        bh.consume(SupplierKind.run(countDown(STEPS)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void stateFlatMap(Blackhole bh) {
+        bh.consume(state.run(0));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void stateTailRec(Blackhole bh) {
+        bh.consume(State.tailRec(0, i -> State.<Integer, Either<Integer, Integer>>transition(s -> s + 1,
+                                                                                            i < STEPS ? Either.left(i + 1) : Either.right(i)))
+                        .run(0));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void readerFlatMap(Blackhole bh) {
+        bh.consume(reader.apply(1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void rwsFlatMap(Blackhole bh) {
+        bh.consume(rws.run(1, 0));
+    }
+}
@@ -0,0 +1,32 @@
+package cyclops.control;
+
+import com.oath.cyclops.hkt.DataWitness.supplier;
+import cyclops.free.Free;
+import cyclops.kinds.SupplierKind;
+
+import java.util.function.Function;
+
+/*
+ * A Reader built by map / flatMap, applied by running its Free program (rather than by nesting function calls)
+ */
+final class FreeReader<T, R> implements Reader<T, R> {
+
+    private final Function<? super T, ? extends Free<supplier, R>> program;
+
+    FreeReader(Function<? super T, ? extends Free<supplier, R>> program) {
+        this.program = program;
+    }
+
+    @Override
+    public R apply(T in) {
+        return SupplierKind.run(program.apply(in));
+    }
+
+    /*
+     * Deferred, so the program for each link in a chain of Readers is only built once the run loop reaches it
+     */
+    @Override
+    public Free<supplier, R> free(T in) {
+        return Free.<supplier, T>done(in).flatMap(program);
+    }
+}
@@ -7,6 +7,8 @@ import com.oath.cyclops.hkt.Higher;
 import com.oath.cyclops.types.functor.Transformable;
 import cyclops.function.*;
 import com.oath.cyclops.hkt.DataWitness.reader;
+import com.oath.cyclops.hkt.DataWitness.supplier;
+import cyclops.free.Free;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
 
@@ -54,7 +56,7 @@ public interface Reader<T, R> extends Function1<T, R>, Transformable<R>, Higher<
      */
     @Override
     default <R1> Reader<T, R1> mapFn(final Function<? super R, ? extends R1> f2) {
-        return this.andThen(f2);
+        return new FreeReader<T, R1>(in -> free(in).map(f2));
     }
 
     @Override
@@ -69,7 +71,18 @@ public interface Reader<T, R> extends Function1<T, R>, Transformable<R>, Higher<
      * @return Transformed Reader
      */
     default <R1> Reader<T, R1> flatMap(final Function<? super R, ? extends Reader<T, R1>> f) {
-        return a -> f.apply(apply(a)).apply(a);
+        return new FreeReader<T, R1>(in -> free(in).flatMap(r -> f.apply(r).free(in)));
+    }
+
+    /**
+     * Apply this Reader as a Free program, Readers built by map / flatMap are run step by step by Free's run loop so
+     * that long chains of operations run in constant stack space
+     *
+     * @param in Input to this Reader
+     * @return Free program that applies this Reader to the input
+     */
+    default Free<supplier, R> free(T in) {
+        return Free.done(apply(in));
     }
 
 
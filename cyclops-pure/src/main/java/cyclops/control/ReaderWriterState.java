@@ -66,21 +66,25 @@ public final class ReaderWriterState<R,W,S,T> implements Higher4<rws,R,W,S,T>{
     public <R2> ReaderWriterState<R,W,S,R2> mapState(Function<Tuple3<W,S,T>, Tuple3<W,S, R2>> fn) {
         return suspended((r,s) -> runState.apply(r,s).map(t3 -> fn.apply(t3)),monoid);
     }
+    /*
+     * Defer building the program for a reader & state until Free's run loop reaches it, so long chains are built and
+     * run one step at a time in constant stack space
+     */
     private static <R,W,S,T> ReaderWriterState<R,W,S,T> suspended(BiFunction<? super R, ? super S, Free<supplier,Tuple3<W,S, T>>> runF,
                                                                   Monoid<W> monoid) {
 
-        return new ReaderWriterState<R, W, S, T>(monoid,(R r ,S s) -> SupplierKind.suspend(SupplierKind.λK(()->runF.apply(r,s))));
+        return new ReaderWriterState<R, W, S, T>(monoid,(R r ,S s) -> Free.<supplier,S>done(s).flatMap(s1->runF.apply(r,s1)));
 
     }
 
     public <R2> ReaderWriterState<R,W,S,R2> flatMap(Function<? super T,? extends  ReaderWriterState<R,W,S,R2>> f) {
 
         return suspended((r,s) -> runState.apply(r, s)
-                .flatMap(result -> Free.done(f.apply(result._3())
-                                              .run(r, result._2())
-                                              .transform((w2,s2,r2)-> tuple(monoid.apply(w2,result._1()),s2,r2)
-
-                ))),monoid);
+                .flatMap(result -> {
+                    ReaderWriterState<R,W,S,R2> next = f.apply(result._3());
+                    return next.runState.apply(r, result._2())
+                                        .map(t3-> tuple(monoid.apply(t3._1(),result._1()),t3._2(),t3._3()));
+                }),monoid);
     }
 
 
@@ -46,14 +46,22 @@ public final class State<S, T> implements Higher2<state,S,T> {
         return mapState(t -> Tuple.tuple(t._1(), mapper.apply(t._2())));
     }
     public <R> State<S, R> mapState(Function<Tuple2<S,T>, Tuple2<S, R>> fn) {
-        return suspended(s -> runState.apply(s).map(t -> fn.apply(t)));
+        return deferred(s -> runState.apply(s).map(t -> fn.apply(t)));
     }
-    private static <S, T> State<S, T> suspended(Function1<? super S, Free<supplier,Tuple2<S, T>>> runF) {
-        return new State<>(s -> SupplierKind.suspend(SupplierKind.λK(()->runF.apply(s))));
+
+    /*
+     * Defer building the program for a state until Free's run loop reaches it, so long chains of State operations are
+     * built and run one step at a time in constant stack space (without suspending through a Supplier per step)
+     */
+    private static <S, T> State<S, T> deferred(Function1<? super S, ? extends Free<supplier,Tuple2<S, T>>> runF) {
+        return new State<>(s -> Free.<supplier,S>done(s).flatMap(runF));
     }
 
     public <R> State<S, R> flatMap(Function<? super T,? extends  State<S, R>> f) {
-        return suspended(s -> runState.apply(s).flatMap(t -> Free.done(f.apply(t._2()).run(t._1()))));
+        return deferred(s -> runState.apply(s).flatMap(t -> {
+            State<S, R> next = f.apply(t._2());
+            return next.runState.apply(t._1());
+        }));
     }
     public static <S, T> State<S, T> constant(T constant) {
         return state(s -> Tuple.tuple(s, constant));
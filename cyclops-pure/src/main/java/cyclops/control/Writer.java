@@ -186,6 +186,27 @@ public final class Writer<W, T> implements Transformable<T>, Iterable<T>,Higher2
 
     }
 
+    /**
+     * Run a recursive Writer computation in a loop, combining the output written at each step
+     *
+     * @param monoid Monoid used to combine the output
+     * @param initial Initial input
+     * @param fn Step function, returns a left to continue or a right with the result
+     * @return Writer with the final result and the combined output of every step
+     */
+    public static <W, T, R> Writer<W, R> tailRec(Monoid<W> monoid, T initial, Function<? super T, ? extends Writer<W, ? extends Either<T, R>>> fn) {
+        W written = monoid.zero();
+        T next = initial;
+        for (;;) {
+            Writer<W, ? extends Either<T, R>> step = fn.apply(next);
+            written = monoid.apply(written, step.value._2());
+            Either<T, R> result = step.value._1();
+            if (result.isRight())
+                return writer(result.orElse(null), written, monoid);
+            next = result.leftOrElse(null);
+        }
+    }
+
     public static <W, T> Writer<W, T> writer(T value, Monoid<W> combiner) {
         return new Writer<W,T>(Tuple.tuple(value, combiner.zero()), combiner);
     }
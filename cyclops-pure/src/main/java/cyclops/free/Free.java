@@ -5,7 +5,6 @@ import com.oath.cyclops.hkt.Higher;
 import cyclops.data.tuple.*;
 import com.oath.cyclops.hkt.Higher2;
 import cyclops.control.Either;
-import cyclops.control.LazyEither3;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
 import cyclops.function.Function5;
@@ -15,6 +14,7 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
+import java.util.Arrays;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -397,13 +397,34 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
     }
 
 
+    /**
+     * Run this program to completion, using the supplied function to step through each suspension.
+     *
+     * Binds are interpreted in a loop against an explicit continuation stack, so programs of any depth (left or right
+     * associated) run in constant stack space and each bind is visited once. As with {@link #resume(Functor)}, any
+     * continuations still pending are mapped into each suspension before the step function is applied to it, so the
+     * Free returned by the step function is the remainder of the program (e.g. returning Free.done ends the program
+     * with that value).
+     *
+     * @param fn Interpreter for a single suspension
+     * @param functor Functor for F
+     * @return Result of the program
+     */
     public final T go(final Function<? super Higher<F, Free<F, T>>,? extends Free<F,T>> fn, final Functor<F> functor){
-        Free<F,T> toUse = this;
+        final Function<Object, Free<F, ?>> step = (Function) fn;
+        Continuations<F> stack = new Continuations<>();
+        Free<F, ?> current = this;
         for(;;) {
-            Either<Higher<F, Free<F, T>>, T> xor = (Either)toUse.resume(functor);
-            if (xor.isRight())
-                return xor.orElse(null);
-            toUse =  fn.apply(xor.leftOrElse(null));
+            if (current instanceof FlatMapped) {
+                current = stack.push((FlatMapped<F, ?, ?>) current);
+            } else if (current instanceof Pure) {
+                Object value = ((Pure<F, ?>) current).value;
+                if (stack.isEmpty())
+                    return (T) value;
+                current = stack.pop().apply(value);
+            } else {
+                current = step.apply(stack.reattach(functor, ((Suspend<F, ?>) current).suspended));
+            }
         }
     }
 
@@ -531,17 +552,134 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
         return Tuple.tuple(free1.resume(functor,decoder1),free2.resume(functor,decoder2));
 
     }
+    /**
+     * Step this program up to its next suspension.
+     *
+     * Binds up to that point are interpreted in a loop against an explicit continuation stack (as in {@link #go}), any
+     * continuations still pending are mapped into the suspension.
+     *
+     * @param functor Functor for F
+     * @return Either the next suspension (left) or the result of the program (right)
+     */
     public final Either<Higher<F, Free<F, T>>, T> resume(final Functor<F> functor) {
-        return resumeInternal( functor).fold(Either::left, Either::right, t->null);
-
+        Continuations<F> stack = new Continuations<>();
+        Free<F, ?> current = this;
+        for(;;) {
+            if (current instanceof FlatMapped) {
+                current = stack.push((FlatMapped<F, ?, ?>) current);
+            } else if (current instanceof Pure) {
+                Object value = ((Pure<F, ?>) current).value;
+                if (stack.isEmpty())
+                    return Either.right((T) value);
+                current = stack.pop().apply(value);
+            } else {
+                return Either.left((Higher) stack.reattach(functor, ((Suspend<F, ?>) current).suspended));
+            }
+        }
     }
-   abstract <T1, U> LazyEither3<Higher<F, Free<F, T>>, T, Free<F, T>> resumeInternal(final Functor<F> functor);
 
     public final <R> Free<F, R> map(final Function<? super T, ? extends R> mapper) {
         return flatMap(t -> new Pure<>(mapper.apply(t)));
     }
 
-    private static class Pure<F, T> extends Free<F, T>{
+    /*
+     * Stack of the continuations (bind functions) still to be applied by the run loop. New binds are pushed onto a
+     * mutable array, below which sits a chain of frozen segments. Reattaching the stack to a suspension freezes it in
+     * place (rather than rebuilding the remaining binds), and when the run loop reaches a frozen segment with nothing
+     * else pending it resumes from that segment directly, so stepping through a suspension does not copy the stack.
+     */
+    private static final class Continuations<F> {
+        private Function<Object, Free<F, ?>>[] fns;
+        private int size;
+        private Frozen<F> frozen;
+        private int frozenSize;
+
+        /*
+         * Push the continuation of a bind, returning the program it is bound to
+         */
+        Free<F, ?> push(FlatMapped<F, ?, ?> bind) {
+            if (bind.fn instanceof Frozen && isEmpty()) {
+                Frozen<F> resumed = (Frozen<F>) bind.fn;
+                frozen = resumed;
+                frozenSize = resumed.size;
+                return bind.free;
+            }
+            if (fns == null)
+                fns = new Function[16];
+            else if (size == fns.length)
+                fns = Arrays.copyOf(fns, size * 2);
+            fns[size++] = (Function) bind.fn;
+            return bind.free;
+        }
+
+        Function<Object, Free<F, ?>> pop() {
+            if (size > 0) {
+                Function<Object, Free<F, ?>> fn = fns[--size];
+                fns[size] = null;
+                return fn;
+            }
+            Function<Object, Free<F, ?>> fn = frozen.fns[--frozenSize];
+            if (frozenSize == 0) {
+                frozenSize = frozen.belowSize;
+                frozen = frozen.below;
+            }
+            return fn;
+        }
+
+        boolean isEmpty() {
+            return size == 0 && frozen == null;
+        }
+
+        /*
+         * Map the pending continuations into the suspension, leaving this stack empty
+         */
+        <T> Higher<F, Free<F, T>> reattach(Functor<F> functor, Higher<F, ? extends Free<F, ?>> suspended) {
+            if (isEmpty())
+                return (Higher) suspended;
+            Frozen<F> pending = size > 0 ? new Frozen<>(fns, size, frozen, frozenSize)
+                                         : new Frozen<>(frozen.fns, frozenSize, frozen.below, frozen.belowSize);
+            fns = null;
+            size = 0;
+            frozen = null;
+            frozenSize = 0;
+            return functor.map_(suspended, next -> new FlatMapped<F, Object, T>((Free) next, (Function) pending));
+        }
+    }
+
+    /*
+     * Immutable segment of a continuation stack, applied as a single bind. Outside of the run loop it rebuilds the
+     * binds it holds, innermost first.
+     */
+    private static final class Frozen<F> implements Function<Object, Free<F, ?>> {
+        private final Function<Object, Free<F, ?>>[] fns;
+        private final int size;
+        private final Frozen<F> below;
+        private final int belowSize;
+
+        Frozen(Function<Object, Free<F, ?>>[] fns, int size, Frozen<F> below, int belowSize) {
+            this.fns = fns;
+            this.size = size;
+            this.below = below;
+            this.belowSize = belowSize;
+        }
+
+        @Override
+        public Free<F, ?> apply(Object value) {
+            Free<F, ?> program = new Pure<>(value);
+            Frozen<F> segment = this;
+            int remaining = size;
+            while (segment != null) {
+                for (int i = remaining - 1; i >= 0; i--) {
+                    program = new FlatMapped<>(program, segment.fns[i]);
+                }
+                remaining = segment.belowSize;
+                segment = segment.below;
+            }
+            return program;
+        }
+    }
+
+    private static final class Pure<F, T> extends Free<F, T>{
 
         private final T value;
 
@@ -554,9 +692,6 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
                           Function<? super FlatMapped<F,?, T>,? extends R> flatMapped){
             return done.apply(this);
         }
-        <T1, U> LazyEither3<Higher<F, Free<F, T>>, T, Free<F, T>> resumeInternal(final Functor<F> functor){
-            return LazyEither3.left2(value);
-        }
         @Override
         public <R> Free<F, R> flatMap(Function<? super T, ? extends Free<F, ? extends R>> f) {
             return new FlatMapped<>(this, f);
@@ -575,15 +710,16 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
                           Function<? super FlatMapped<F,?, T>,? extends R> flatMapped){
             return suspend.apply(this);
         }
-        <T1, U> LazyEither3<Higher<F, Free<F, T>>, T, Free<F, T>> resumeInternal(final Functor<F> functor){
-            return LazyEither3.left1(suspended);
-        }
         @Override
         public <R> Free<F, R> flatMap(Function<? super T,? extends Free<F, ? extends R>> f) {
             return new FlatMapped<>(this, f);
         }
     }
 
+    /*
+     * Binds are left as constructed (no re-association on flatMap), the run loop unwinds left nested chains onto its
+     * continuation stack in a single pass
+     */
     private static final class FlatMapped<F, IN, T> extends Free<F, T>{
         private final Free<F, IN> free;
         private final Function<? super IN, ? extends Free<F, ? extends T>> fn;
@@ -593,9 +729,6 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
             this.fn = fn;
         }
 
-        private Function<IN,  Free<F, T>> narrowFn(){
-            return (Function<IN,  Free<F, T>>)fn;
-        }
         @Override
         public <R> R fold(Function<? super Pure<F, T>, ? extends R> done,
                           Function<? super Suspend<F, T>, ? extends R> suspend,
@@ -604,24 +737,8 @@ public abstract class Free<F, T> implements Higher2<free,F,T> {
         }
         @Override
         public <R> Free<F, R> flatMap(final Function<? super T,? extends Free<F, ? extends R>> g) {
-            return new FlatMapped<F, IN, R>(free, aa -> new FlatMapped<F,T, R>(narrowFn().apply(aa), g));
-        }
-        <T1, U> LazyEither3<Higher<F, Free<F, T>>, T, Free<F, T>> resumeInternal(final Functor<F> functor){
-            return   resumeNestedFree(functor).flatMap(cur->cur.resumeInternal(functor));
-        }
-        private  <U> LazyEither3<Higher<F, Free<F, T>>, T, Free<F, T>> resumeNestedFree(Functor<F> functor){
-            Function<IN, Free<F, T>> f = narrowFn();
-            return free.fold(pure-> LazyEither3.right(f.apply(pure.value)),
-                    s-> LazyEither3.left1(functor.map(o -> o.flatMap(f), s.suspended)),
-                    fm->{
-                        final FlatMapped<F, U, IN> flatMapped2 = (FlatMapped<F, U, IN>)fm;
-                        return LazyEither3.right(flatMapped2.free.flatMap(o ->
-                                flatMapped2.fn.apply(o).flatMap(fn)));
-                    });
-
+            return new FlatMapped<>(this, g);
         }
-
-
     }
 
     public static <F,T> Free<F,T> narrowK(Higher<Higher<free, F>, T> ds){
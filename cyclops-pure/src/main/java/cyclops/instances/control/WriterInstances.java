@@ -136,17 +136,7 @@ public class WriterInstances {
 
       @Override
       public <T, R> Higher<Higher<writer, W>, R> tailRec(T initial, Function<? super T, ? extends Higher<Higher<writer, W>, ? extends Either<T, R>>> fn) {
-          Writer<W,? extends Either<T, R>> next[] = new Writer[1];
-          next[0] = Writer.writer(Either.left(initial),monoid);
-
-          boolean cont = true;
-          do {
-              cont = next[0].fold((p, __) -> p._1().fold(s -> {
-                  next[0] = narrowK(fn.apply(s));
-                  return true;
-              }, pr -> false));
-          } while (cont);
-          return next[0].map(x->x.orElse(null));
+          return widen(Writer.tailRec(monoid, initial, t -> narrowK(fn.apply(t))));
       }
 
       @Override
@@ -220,17 +210,7 @@ public class WriterInstances {
     return new MonadRec<Higher<writer, W>>() {
       @Override
       public <T, R> Higher<Higher<writer, W>, R> tailRec(T initial, Function<? super T, ? extends Higher<Higher<writer, W>, ? extends Either<T, R>>> fn) {
-        Writer<W,? extends Either<T, R>> next[] = new Writer[1];
-        next[0] = Writer.writer(Either.left(initial),monoid);
-
-        boolean cont = true;
-        do {
-          cont = next[0].fold((p, __) -> p._1().fold(s -> {
-            next[0] = narrowK(fn.apply(s));
-            return true;
-          }, pr -> false));
-        } while (cont);
-        return next[0].map(x->x.orElse(null));
+        return widen(Writer.tailRec(monoid, initial, t -> narrowK(fn.apply(t))));
       }
     };
   }
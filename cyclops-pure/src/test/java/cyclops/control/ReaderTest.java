@@ -0,0 +1,33 @@
+package cyclops.control;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ReaderTest {
+
+    @Test
+    public void mapAndFlatMap(){
+        Reader<Integer,Integer> reader = Reader.of((Integer i)->i*2)
+                                               .map(i->i+1)
+                                               .flatMap(i->in->i+in);
+        assertThat(reader.apply(10),equalTo(31));
+    }
+    @Test
+    public void longFlatMapChain(){
+        Reader<Integer,Integer> reader = in->0;
+        for(int i=0;i<1_000_000;i++){
+            reader = reader.flatMap(x->in->x+in);
+        }
+        assertThat(reader.apply(2),equalTo(2_000_000));
+    }
+    @Test
+    public void longMapChain(){
+        Reader<String,Integer> reader = String::length;
+        for(int i=0;i<1_000_000;i++){
+            reader = reader.map(x->x+1);
+        }
+        assertThat(reader.apply("hello"),equalTo(1_000_005));
+    }
+}
@@ -18,4 +18,13 @@ public class ReaderWriterStateTest {
         assertThat(mapped.run("hello","world"),equalTo(Tuple.tuple(10, "world", 2)));
     }
 
+    @Test
+    public void longFlatMapChain(){
+        ReaderWriterState<Integer,Integer,Integer,Integer> rws = ReaderWriterState.rws((r, s)->Tuple.tuple(0,s,0), Monoids.intSum);
+        for(int i=0;i<1_000_000;i++){
+            rws = rws.flatMap(x->ReaderWriterState.rws((r, s)->Tuple.tuple(1,s+r,x+1), Monoids.intSum));
+        }
+        assertThat(rws.run(2,0),equalTo(Tuple.tuple(1_000_000, 2_000_000, 1_000_000)));
+    }
+
 }
\ No newline at end of file
@@ -35,6 +35,29 @@ public class StateTest {
         assertThat(state.run("hello"),equalTo(Tuple.tuple("hello",20)));
     }
 
+    @Test
+    public void longFlatMapChain(){
+        State<Integer,Integer> state = State.constant(0);
+        for(int i=0;i<1_000_000;i++){
+            state = state.flatMap(x->State.state(s->Tuple.tuple(s+1,x+2)));
+        }
+        assertThat(state.run(0),equalTo(Tuple.tuple(1_000_000,2_000_000)));
+    }
+    @Test
+    public void longMapChain(){
+        State<String,Integer> state = State.constant(0);
+        for(int i=0;i<1_000_000;i++){
+            state = state.map(x->x+1);
+        }
+        assertThat(state.eval("hello"),equalTo(1_000_000));
+    }
+    @Test
+    public void tailRec(){
+        State<Long,Integer> state = State.tailRec(0, i -> State.<Long,Either<Integer,Integer>>transition(s->s+i,
+                                                                                           i < 1_000_000 ? Either.left(i+1) : Either.right(i)));
+        assertThat(state.run(0l),equalTo(Tuple.tuple(500000500000l,1_000_000)));
+    }
+
 
 
 }
\ No newline at end of file
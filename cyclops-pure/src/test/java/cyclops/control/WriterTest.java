@@ -0,0 +1,25 @@
+package cyclops.control;
+
+import cyclops.companion.Monoids;
+import cyclops.data.tuple.Tuple;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class WriterTest {
+
+    @Test
+    public void flatMapCombinesOutput(){
+        Writer<Integer,Integer> writer = Writer.writer(1, 10, Monoids.intSum)
+                                               .flatMap(i->Writer.writer(i+1, 5, Monoids.intSum));
+        assertThat(writer.getValue(),equalTo(Tuple.tuple(2,15)));
+    }
+    @Test
+    public void tailRecCombinesOutput(){
+        Writer<Integer,Integer> writer = Writer.tailRec(Monoids.intSum, 0,
+                                                        i -> Writer.writer(i < 1_000_000 ? Either.<Integer,Integer>left(i+1) : Either.<Integer,Integer>right(i),
+                                                                           1, Monoids.intSum));
+        assertThat(writer.getValue(),equalTo(Tuple.tuple(1_000_000,1_000_001)));
+    }
+}
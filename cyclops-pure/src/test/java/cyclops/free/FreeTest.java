@@ -9,6 +9,7 @@ import static cyclops.kinds.SupplierKind.λK;
 import cyclops.control.Either;
 import com.oath.cyclops.hkt.DataWitness.supplier;
 import cyclops.data.tuple.Tuple2;
+import cyclops.instances.jdk.SupplierInstances;
 import cyclops.kinds.SupplierKind;
 import org.junit.Test;
 
@@ -49,6 +50,73 @@ public final class FreeTest {
         System.out.println("Taken "  +(System.currentTimeMillis()-time));
     }
 
+    @Test
+    public void leftNestedBindsAreStackSafe(){
+        Free<supplier, Integer> program = Free.done(0);
+        for(int i=0;i<1_000_000;i++){
+            program = program.flatMap(x->Free.done(x+1));
+        }
+        assertThat(SupplierKind.run(program),equalTo(1_000_000));
+    }
+
+    static Free<supplier, Integer> countDown(int n){
+        return n == 0 ? Free.done(0) : SupplierKind.suspend(λK(()->countDown(n-1)))
+                                                   .map(x->x+1);
+    }
+    @Test
+    public void suspendedRecursionIsStackSafe(){
+        assertThat(SupplierKind.run(countDown(1_000_000)),equalTo(1_000_000));
+    }
+
+    @Test
+    public void resumeKeepsPendingBinds(){
+        Free<supplier, Integer> program = SupplierKind.suspend(λK(()->Free.done(10)));
+        for(int i=0;i<100_000;i++){
+            program = program.map(x->x+1);
+        }
+        SupplierKind<Free<supplier, Integer>> suspended = (SupplierKind<Free<supplier, Integer>>)program.resume(SupplierInstances.functor)
+                                                                                                       .leftOrElse(null);
+        assertThat(suspended.get().resume(SupplierInstances.functor).orElse(null),equalTo(100_010));
+    }
+
+    @Test
+    public void goEndsProgramOnTerminalStep(){
+        StringBuilder out = new StringBuilder();
+        Free<µ, String> program = output('A').flatMap(a->done())
+                                             .flatMap(b->output('B'))
+                                             .map(x->"end");
+        String result = program.go(step->CharToy.narrowK(step)
+                                                .match()
+                                                .fold(o->o.visit((c,next)->{
+                                                          out.append(c);
+                                                          return next;
+                                                      }),
+                                                      bell->bell.visit(next->next),
+                                                      done->Free.done("stopped")),
+                                   CharToy.functor);
+        assertThat(result,equalTo("stopped"));
+        assertThat(out.toString(),equalTo("A"));
+    }
+
+    @Test
+    public void goRunsPendingBindsAfterEachStep(){
+        StringBuilder out = new StringBuilder();
+        Free<µ, String> program = output('A').flatMap(a->bell())
+                                             .flatMap(b->output('B'))
+                                             .map(x->"end");
+        String result = program.go(step->CharToy.narrowK(step)
+                                                .match()
+                                                .fold(o->o.visit((c,next)->{
+                                                          out.append(c);
+                                                          return next;
+                                                      }),
+                                                      bell->bell.visit(next->next),
+                                                      done->Free.done("stopped")),
+                                   CharToy.functor);
+        assertThat(result,equalTo("end"));
+        assertThat(out.toString(),equalTo("AB"));
+    }
+
     @Test
     public void interpreter(){
         String expected = "emitted A\n" +
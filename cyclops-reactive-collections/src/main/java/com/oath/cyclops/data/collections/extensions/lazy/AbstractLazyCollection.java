@@ -1,5 +1,7 @@
 package com.oath.cyclops.data.collections.extensions.lazy;
 
+import com.oath.cyclops.async.wait.IdleSignal;
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.data.collections.extensions.standard.LazyCollectionX;
 import com.oath.cyclops.types.foldable.Evaluation;
 import com.oath.cyclops.util.ExceptionSoftener;
@@ -12,7 +14,6 @@ import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
@@ -33,6 +34,7 @@ public abstract class AbstractLazyCollection<T, C extends Collection<T>> impleme
     private final Evaluation strict;
     final AtomicBoolean updating = new AtomicBoolean(false);
     final AtomicReference<Throwable> error = new AtomicReference<>(null);
+    final IdleSignal updated = new IdleSignal();
 
 
     private final Function<ReactiveSeq<C>,C> fn;
@@ -80,11 +82,11 @@ public abstract class AbstractLazyCollection<T, C extends Collection<T>> impleme
 
                 }finally{
                     updating.set(false); //finished updating
+                    updated.signal();
                 }
             }
-            while(updating.get()){ //Check if another thread updating
-                LockSupport.parkNanos(0l); //spin until updating thread completes
-            }
+            if(updating.get()) //Check if another thread updating
+                updated.await(()->!updating.get(), WaitStrategy.global()); //wait until updating thread completes
             if(error.get()!=null) //if updating thread failed, throw error
                 throw ExceptionSoftener.throwSoftenedException(error.get());
 
@@ -0,0 +1,74 @@
+package cyclops.async;
+
+import com.oath.cyclops.async.QueueFactories;
+import com.oath.cyclops.async.adapters.Queue;
+import cyclops.reactive.ReactiveSeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A producer thread hands size elements to a consuming Stream one at a time, or in batches of 1000 via offerAll and
+ * stream(1000).
+ */
+@State(Scope.Benchmark)
+public class QueueBatch {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"blocking", "nonBlocking"})
+    public String queue;
+
+    List<List<Integer>> batches;
+
+    @Setup
+    public void setup() {
+        batches = ReactiveSeq.range(0, size).grouped(1000).map(s -> s.toList()).toList();
+    }
+
+    private Queue<Integer> queue() {
+        return queue.equals("blocking") ? QueueFactories.<Integer>boundedQueue(10_000).build()
+                                        : QueueFactories.<Integer>boundedNonBlockingQueue(10_000).build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void perElement(Blackhole bh) throws InterruptedException {
+        Queue<Integer> q = queue();
+        Thread producer = new Thread(() -> {
+            for (List<Integer> batch : batches) {
+                for (Integer next : batch)
+                    q.offer(next);
+            }
+            q.close();
+        });
+        producer.start();
+        q.stream().forEach(bh::consume);
+        producer.join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void batched(Blackhole bh) throws InterruptedException {
+        Queue<Integer> q = queue();
+        Thread producer = new Thread(() -> {
+            for (List<Integer> batch : batches)
+                q.offerAll(batch);
+            q.close();
+        });
+        producer.start();
+        q.stream(1000).forEach(bh::consume);
+        producer.join();
+    }
+}
@@ -0,0 +1,50 @@
+package cyclops.data;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Shared benchmark state : the collection size and the keys 0 until size in a fixed, shuffled order, subclasses
+ * build the collections under test from them.
+ * Per operation benchmarks (get / put / remove) cycle through the keys with {@link #next()} so that
+ * successive invocations do not hit the same path through the collection.
+ */
+@State(Scope.Benchmark)
+public abstract class Keys {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    public Integer[] keys;
+    int index;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = i;
+        Random random = new Random(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        build();
+    }
+
+    /**
+     * Build the collections under test from {@link #keys}
+     */
+    protected abstract void build();
+
+    public Integer next() {
+        if (++index == size)
+            index = 0;
+        return keys[index];
+    }
+}
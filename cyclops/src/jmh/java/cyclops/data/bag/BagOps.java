@@ -0,0 +1,206 @@
+package cyclops.data.bag;
+
+import cyclops.data.Bag;
+import cyclops.data.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcollections.HashTreePBag;
+import org.pcollections.PBag;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bag against pcollections HashTreePBag and a JDK HashMap of counts (vavr 0.9 has no multiset). Each key is
+ * added twice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BagOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        Bag<Integer> bag;
+        Bag<Integer> copy;
+
+        @Override
+        protected void build() {
+            bag = cyclopsBag(keys);
+            copy = cyclopsBag(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends Keys {
+        PBag<Integer> bag;
+        PBag<Integer> copy;
+
+        @Override
+        protected void build() {
+            bag = pcollectionsBag(keys);
+            copy = pcollectionsBag(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        Map<Integer, Integer> bag;
+        Map<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            bag = jdkBag(keys);
+            copy = jdkBag(keys);
+        }
+    }
+
+    static Bag<Integer> cyclopsBag(Integer[] keys) {
+        Bag<Integer> bag = Bag.empty();
+        for (Integer key : keys)
+            bag = bag.plus(key).plus(key);
+        return bag;
+    }
+
+    static PBag<Integer> pcollectionsBag(Integer[] keys) {
+        PBag<Integer> bag = HashTreePBag.empty();
+        for (Integer key : keys)
+            bag = bag.plus(key).plus(key);
+        return bag;
+    }
+
+    static Map<Integer, Integer> jdkBag(Integer[] keys) {
+        Map<Integer, Integer> bag = new HashMap<>();
+        for (Integer key : keys)
+            bag.merge(key, 2, Integer::sum);
+        return bag;
+    }
+
+    @Benchmark
+    public int cyclopsGet(Cyclops s) {
+        return s.bag.instances(s.next());
+    }
+
+    @Benchmark
+    public boolean pcollectionsGet(PCollections s) {
+        return s.bag.contains(s.next());
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.bag.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.bag.plus(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsPut(PCollections s) {
+        return s.bag.plus(s.next());
+    }
+
+    @Benchmark
+    public Object jdkPut(Jdk s) {
+        Integer key = s.next();
+        s.bag.merge(key, 1, Integer::sum);
+        return s.bag.merge(key, -1, Integer::sum);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.bag.removeValue(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsRemove(PCollections s) {
+        return s.bag.minus(s.next());
+    }
+
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        Integer key = s.next();
+        s.bag.merge(key, -1, Integer::sum);
+        return s.bag.merge(key, 1, Integer::sum);
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Integer next : s.bag)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long pcollectionsIterate(PCollections s) {
+        long sum = 0;
+        for (Integer next : s.bag)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> next : s.bag.entrySet())
+            sum += (long) next.getKey() * next.getValue();
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsBag(s.keys);
+    }
+
+    @Benchmark
+    public Object pcollectionsBuild(PCollections s) {
+        return pcollectionsBag(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkBag(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.bag.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean pcollectionsEquals(PCollections s) {
+        return s.bag.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean jdkEquals(Jdk s) {
+        return s.bag.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.bag.hashCode();
+    }
+
+    @Benchmark
+    public int pcollectionsHashCode(PCollections s) {
+        return s.bag.hashCode();
+    }
+
+    @Benchmark
+    public int jdkHashCode(Jdk s) {
+        return s.bag.hashCode();
+    }
+}
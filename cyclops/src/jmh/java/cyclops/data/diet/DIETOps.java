@@ -0,0 +1,169 @@
+package cyclops.data.diet;
+
+import cyclops.data.DIET;
+import cyclops.data.Keys;
+import cyclops.data.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DIET against the vavr and JDK sorted sets. Each key k is stored as the value 3 * k, so the tree holds one
+ * interval per key (the worst case for a DIET).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DIETOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        DIET<Integer> diet;
+
+        @Override
+        protected void build() {
+            diet = cyclopsDiet(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.TreeSet<Integer> set;
+
+        @Override
+        protected void build() {
+            set = vavrSet(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        TreeSet<Integer> set;
+
+        @Override
+        protected void build() {
+            set = jdkSet(keys);
+        }
+    }
+
+    static DIET<Integer> cyclopsDiet(Integer[] keys) {
+        DIET<Integer> diet = DIET.empty();
+        for (Integer key : keys)
+            diet = diet.add(Range.range(key * 3, key * 3));
+        return diet;
+    }
+
+    static io.vavr.collection.TreeSet<Integer> vavrSet(Integer[] keys) {
+        io.vavr.collection.TreeSet<Integer> set = io.vavr.collection.TreeSet.empty();
+        for (Integer key : keys)
+            set = set.add(key * 3);
+        return set;
+    }
+
+    static TreeSet<Integer> jdkSet(Integer[] keys) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (Integer key : keys)
+            set.add(key * 3);
+        return set;
+    }
+
+    @Benchmark
+    public boolean cyclopsContains(Cyclops s) {
+        return s.diet.contains(s.next() * 3);
+    }
+
+    @Benchmark
+    public boolean vavrContains(Vavr s) {
+        return s.set.contains(s.next() * 3);
+    }
+
+    @Benchmark
+    public boolean jdkContains(Jdk s) {
+        return s.set.contains(s.next() * 3);
+    }
+
+    @Benchmark
+    public Object cyclopsAdd(Cyclops s) {
+        int value = s.next() * 3 + 1;
+        return s.diet.add(Range.range(value, value));
+    }
+
+    @Benchmark
+    public Object vavrAdd(Vavr s) {
+        return s.set.add(s.next() * 3 + 1);
+    }
+
+    @Benchmark
+    public Object jdkAdd(Jdk s) {
+        int value = s.next() * 3 + 1;
+        s.set.add(value);
+        return s.set.remove(value);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.diet.remove(s.next() * 3);
+    }
+
+    @Benchmark
+    public Object vavrRemove(Vavr s) {
+        return s.set.remove(s.next() * 3);
+    }
+
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        int value = s.next() * 3;
+        s.set.remove(value);
+        return s.set.add(value);
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Integer next : s.diet)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (Integer next : s.set)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Integer next : s.set)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsDiet(s.keys);
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrSet(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkSet(s.keys);
+    }
+}
@@ -0,0 +1,289 @@
+package cyclops.data.hashmap;
+
+import cyclops.data.HashMap;
+import cyclops.data.Keys;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        HashMap<Integer, Integer> map;
+        HashMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = cyclopsMap(keys);
+            copy = cyclopsMap(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.HashMap<Integer, Integer> map;
+        io.vavr.collection.HashMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = vavrMap(keys);
+            copy = vavrMap(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends Keys {
+        PMap<Integer, Integer> map;
+        PMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = pcollectionsMap(keys);
+            copy = pcollectionsMap(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        java.util.HashMap<Integer, Integer> map;
+        java.util.HashMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = jdkMap(keys);
+            copy = jdkMap(keys);
+        }
+    }
+
+    static HashMap<Integer, Integer> cyclopsMap(Integer[] keys) {
+        HashMap<Integer, Integer> map = HashMap.empty();
+        for (Integer key : keys)
+            map = map.put(key, key);
+        return map;
+    }
+
+    static io.vavr.collection.HashMap<Integer, Integer> vavrMap(Integer[] keys) {
+        io.vavr.collection.HashMap<Integer, Integer> map = io.vavr.collection.HashMap.empty();
+        for (Integer key : keys)
+            map = map.put(key, key);
+        return map;
+    }
+
+    static PMap<Integer, Integer> pcollectionsMap(Integer[] keys) {
+        PMap<Integer, Integer> map = HashTreePMap.empty();
+        for (Integer key : keys)
+            map = map.plus(key, key);
+        return map;
+    }
+
+    static java.util.HashMap<Integer, Integer> jdkMap(Integer[] keys) {
+        java.util.HashMap<Integer, Integer> map = new java.util.HashMap<>();
+        for (Integer key : keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.map.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer vavrGet(Vavr s) {
+        return s.map.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer pcollectionsGet(PCollections s) {
+        return s.map.get(s.next());
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.map.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object vavrPut(Vavr s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object pcollectionsPut(PCollections s) {
+        return s.map.plus(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object jdkPut(Jdk s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.map.remove(s.next());
+    }
+
+    @Benchmark
+    public Object vavrRemove(Vavr s) {
+        return s.map.remove(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsRemove(PCollections s) {
+        return s.map.minus(s.next());
+    }
+
+    /**
+     * The JDK map is mutable, the removed entry is put back to keep the size constant
+     */
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        Integer key = s.next();
+        Integer value = s.map.remove(key);
+        s.map.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Tuple2<Integer, Integer> next : s.map)
+            sum += next._2();
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (io.vavr.Tuple2<Integer, Integer> next : s.map)
+            sum += next._2;
+        return sum;
+    }
+
+    @Benchmark
+    public long pcollectionsIterate(PCollections s) {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> next : s.map.entrySet())
+            sum += next.getValue();
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> next : s.map.entrySet())
+            sum += next.getValue();
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsMap(s.keys);
+    }
+
+    @Benchmark
+    public Object cyclopsBuildTransient(Cyclops s) {
+        HashMap.Builder<Integer, Integer> builder = HashMap.transientOf();
+        for (Integer key : s.keys)
+            builder.put(key, key);
+        return builder.persistent();
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrMap(s.keys);
+    }
+
+    @Benchmark
+    public Object pcollectionsBuild(PCollections s) {
+        return pcollectionsMap(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkMap(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean vavrEquals(Vavr s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean pcollectionsEquals(PCollections s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean jdkEquals(Jdk s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int vavrHashCode(Vavr s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int pcollectionsHashCode(PCollections s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int jdkHashCode(Jdk s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public Object cyclopsUnion(Cyclops s) {
+        return s.map.union(s.copy);
+    }
+
+    @Benchmark
+    public Object vavrMerge(Vavr s) {
+        return s.map.merge(s.copy);
+    }
+
+    @Benchmark
+    public Object pcollectionsPlusAll(PCollections s) {
+        return s.map.plusAll(s.copy);
+    }
+
+    @Benchmark
+    public Object cyclopsIntersect(Cyclops s) {
+        return s.map.intersect(s.copy);
+    }
+}
@@ -0,0 +1,271 @@
+package cyclops.data.intmap;
+
+import cyclops.data.IntMap;
+import cyclops.data.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcollections.PVector;
+import org.pcollections.TreePVector;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexed access by position, against vavr Vector, pcollections TreePVector and the JDK ArrayList
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IntMapOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        IntMap<Integer> list;
+        IntMap<Integer> copy;
+
+        @Override
+        protected void build() {
+            list = cyclopsList(keys);
+            copy = cyclopsList(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.Vector<Integer> list;
+        io.vavr.collection.Vector<Integer> copy;
+
+        @Override
+        protected void build() {
+            list = vavrList(keys);
+            copy = vavrList(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends Keys {
+        PVector<Integer> list;
+        PVector<Integer> copy;
+
+        @Override
+        protected void build() {
+            list = pcollectionsList(keys);
+            copy = pcollectionsList(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        ArrayList<Integer> list;
+        ArrayList<Integer> copy;
+
+        @Override
+        protected void build() {
+            list = jdkList(keys);
+            copy = jdkList(keys);
+        }
+    }
+
+    static IntMap<Integer> cyclopsList(Integer[] keys) {
+        IntMap<Integer> list = IntMap.empty();
+        for (Integer key : keys)
+            list = list.plus(key);
+        return list;
+    }
+
+    static io.vavr.collection.Vector<Integer> vavrList(Integer[] keys) {
+        io.vavr.collection.Vector<Integer> list = io.vavr.collection.Vector.empty();
+        for (Integer key : keys)
+            list = list.append(key);
+        return list;
+    }
+
+    static PVector<Integer> pcollectionsList(Integer[] keys) {
+        PVector<Integer> list = TreePVector.empty();
+        for (Integer key : keys)
+            list = list.plus(key);
+        return list;
+    }
+
+    static ArrayList<Integer> jdkList(Integer[] keys) {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer key : keys)
+            list.add(key);
+        return list;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.list.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer vavrGet(Vavr s) {
+        return s.list.get(s.next());
+    }
+
+    @Benchmark
+    public Integer pcollectionsGet(PCollections s) {
+        return s.list.get(s.next());
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.list.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.list.updateAt(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object vavrPut(Vavr s) {
+        return s.list.update(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object pcollectionsPut(PCollections s) {
+        return s.list.with(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object jdkPut(Jdk s) {
+        return s.list.set(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.list.removeAt(s.next());
+    }
+
+    @Benchmark
+    public Object vavrRemove(Vavr s) {
+        return s.list.removeAt(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsRemove(PCollections s) {
+        return s.list.minus((int) s.next());
+    }
+
+    /**
+     * The JDK list is mutable, the removed element is inserted back to keep the size constant
+     */
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        int index = s.next();
+        Integer value = s.list.remove(index);
+        s.list.add(index, value);
+        return value;
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Integer next : s.list)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (Integer next : s.list)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long pcollectionsIterate(PCollections s) {
+        long sum = 0;
+        for (Integer next : s.list)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Integer next : s.list)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsList(s.keys);
+    }
+
+    @Benchmark
+    public Object cyclopsBuildTransient(Cyclops s) {
+        IntMap.Builder<Integer> builder = IntMap.builder();
+        for (Integer key : s.keys)
+            builder.add(key);
+        return builder.persistent();
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrList(s.keys);
+    }
+
+    @Benchmark
+    public Object pcollectionsBuild(PCollections s) {
+        return pcollectionsList(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkList(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.list.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean vavrEquals(Vavr s) {
+        return s.list.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean pcollectionsEquals(PCollections s) {
+        return s.list.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean jdkEquals(Jdk s) {
+        return s.list.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.list.hashCode();
+    }
+
+    @Benchmark
+    public int vavrHashCode(Vavr s) {
+        return s.list.hashCode();
+    }
+
+    @Benchmark
+    public int pcollectionsHashCode(PCollections s) {
+        return s.list.hashCode();
+    }
+
+    @Benchmark
+    public int jdkHashCode(Jdk s) {
+        return s.list.hashCode();
+    }
+}
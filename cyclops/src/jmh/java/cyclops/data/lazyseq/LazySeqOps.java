@@ -0,0 +1,274 @@
+package cyclops.data.lazyseq;
+
+import cyclops.data.Keys;
+import cyclops.data.LazySeq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcollections.ConsPStack;
+import org.pcollections.PStack;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LazySeq against vavr Stream, pcollections ConsPStack and the JDK LinkedList. Collections are fully evaluated
+ * during setup, build benchmarks force evaluation via size()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LazySeqOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        LazySeq<Integer> seq;
+        LazySeq<Integer> copy;
+
+        @Override
+        protected void build() {
+            seq = cyclopsSeq(keys);
+            copy = cyclopsSeq(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.Stream<Integer> seq;
+        io.vavr.collection.Stream<Integer> copy;
+
+        @Override
+        protected void build() {
+            seq = vavrSeq(keys);
+            copy = vavrSeq(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends Keys {
+        PStack<Integer> seq;
+        PStack<Integer> copy;
+
+        @Override
+        protected void build() {
+            seq = pcollectionsSeq(keys);
+            copy = pcollectionsSeq(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        LinkedList<Integer> seq;
+        LinkedList<Integer> copy;
+
+        @Override
+        protected void build() {
+            seq = jdkSeq(keys);
+            copy = jdkSeq(keys);
+        }
+    }
+
+    static LazySeq<Integer> cyclopsSeq(Integer[] keys) {
+        LazySeq<Integer> seq = LazySeq.of(keys);
+        seq.size();
+        return seq;
+    }
+
+    static io.vavr.collection.Stream<Integer> vavrSeq(Integer[] keys) {
+        io.vavr.collection.Stream<Integer> seq = io.vavr.collection.Stream.of(keys);
+        seq.size();
+        return seq;
+    }
+
+    static PStack<Integer> pcollectionsSeq(Integer[] keys) {
+        PStack<Integer> seq = ConsPStack.empty();
+        for (int i = keys.length - 1; i >= 0; i--)
+            seq = seq.plus(keys[i]);
+        return seq;
+    }
+
+    static LinkedList<Integer> jdkSeq(Integer[] keys) {
+        LinkedList<Integer> seq = new LinkedList<>();
+        for (Integer key : keys)
+            seq.add(key);
+        return seq;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.seq.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer vavrGet(Vavr s) {
+        return s.seq.get(s.next());
+    }
+
+    @Benchmark
+    public Integer pcollectionsGet(PCollections s) {
+        return s.seq.get(s.next());
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.seq.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPrepend(Cyclops s) {
+        return s.seq.prepend(s.next());
+    }
+
+    @Benchmark
+    public Object vavrPrepend(Vavr s) {
+        return s.seq.prepend(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsPrepend(PCollections s) {
+        return s.seq.plus(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.seq.updateAt(s.next(), -1).size();
+    }
+
+    @Benchmark
+    public Object vavrPut(Vavr s) {
+        return s.seq.update(s.next(), -1).size();
+    }
+
+    @Benchmark
+    public Object pcollectionsPut(PCollections s) {
+        return s.seq.with(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object jdkPut(Jdk s) {
+        return s.seq.set(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.seq.removeAt(s.next()).size();
+    }
+
+    @Benchmark
+    public Object vavrRemove(Vavr s) {
+        return s.seq.removeAt(s.next()).size();
+    }
+
+    @Benchmark
+    public Object pcollectionsRemove(PCollections s) {
+        return s.seq.minus((int) s.next());
+    }
+
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        int index = s.next();
+        Integer value = s.seq.remove(index);
+        s.seq.add(index, value);
+        return value;
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Integer next : s.seq)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (Integer next : s.seq)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long pcollectionsIterate(PCollections s) {
+        long sum = 0;
+        for (Integer next : s.seq)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Integer next : s.seq)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsSeq(s.keys);
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrSeq(s.keys);
+    }
+
+    @Benchmark
+    public Object pcollectionsBuild(PCollections s) {
+        return pcollectionsSeq(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkSeq(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.seq.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean vavrEquals(Vavr s) {
+        return s.seq.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean pcollectionsEquals(PCollections s) {
+        return s.seq.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean jdkEquals(Jdk s) {
+        return s.seq.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.seq.hashCode();
+    }
+
+    @Benchmark
+    public int vavrHashCode(Vavr s) {
+        return s.seq.hashCode();
+    }
+
+    @Benchmark
+    public int pcollectionsHashCode(PCollections s) {
+        return s.seq.hashCode();
+    }
+
+    @Benchmark
+    public int jdkHashCode(Jdk s) {
+        return s.seq.hashCode();
+    }
+}
@@ -0,0 +1,142 @@
+package cyclops.data.longmap;
+
+import cyclops.data.HashMap;
+import cyclops.data.Keys;
+import cyclops.data.LongMap;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sparse 64 bit keys (the shuffled indices spread over the long range), LongMap against a HashMap of boxed Longs,
+ * vavr's TreeMap and the JDK TreeMap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LongMapOps {
+
+    static long spread(int key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        LongMap<Integer> map;
+        HashMap<Long, Integer> hashMap;
+
+        @Override
+        protected void build() {
+            LongMap<Integer> longMap = LongMap.empty();
+            HashMap.Builder<Long, Integer> builder = HashMap.transientOf();
+            for (Integer key : keys) {
+                longMap = longMap.put(spread(key), key);
+                builder.put(spread(key), key);
+            }
+            map = longMap;
+            hashMap = builder.persistent();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.TreeMap<Long, Integer> map;
+
+        @Override
+        protected void build() {
+            io.vavr.collection.TreeMap<Long, Integer> treeMap = io.vavr.collection.TreeMap.empty();
+            for (Integer key : keys)
+                treeMap = treeMap.put(spread(key), key);
+            map = treeMap;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        java.util.TreeMap<Long, Integer> map = new java.util.TreeMap<>();
+
+        @Override
+        protected void build() {
+            for (Integer key : keys)
+                map.put(spread(key), key);
+        }
+    }
+
+    @Benchmark
+    public Object cyclopsGet(Cyclops s) {
+        return s.map.getOrElseGet(spread(s.next()), () -> null);
+    }
+
+    @Benchmark
+    public Integer cyclopsHashMapGet(Cyclops s) {
+        return s.hashMap.getOrElse(spread(s.next()), null);
+    }
+
+    @Benchmark
+    public Object vavrGet(Vavr s) {
+        return s.map.getOrElse(spread(s.next()), null);
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.map.get(spread(s.next()));
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.map.put(spread(s.next()), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsHashMapPut(Cyclops s) {
+        return s.hashMap.put(spread(s.next()), -1);
+    }
+
+    @Benchmark
+    public Object vavrPut(Vavr s) {
+        return s.map.put(spread(s.next()), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsCeiling(Cyclops s) {
+        return s.map.ceiling(spread(s.next()) + 1);
+    }
+
+    @Benchmark
+    public Object jdkCeiling(Jdk s) {
+        return s.map.ceilingEntry(spread(s.next()) + 1);
+    }
+
+    @Benchmark
+    public int cyclopsSubMap(Cyclops s) {
+        long from = spread(s.next());
+        return s.map.subMap(from, from + (Long.MAX_VALUE >>> 4)).size();
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Tuple2<Long, Integer> next : s.map)
+            sum += next._2();
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Integer next : s.map.values())
+            sum += next;
+        return sum;
+    }
+}
@@ -0,0 +1,239 @@
+package cyclops.data.queue;
+
+import cyclops.data.BankersQueue;
+import cyclops.data.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcollections.AmortizedPQueue;
+import org.pcollections.PQueue;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BankersQueue against vavr Queue, pcollections AmortizedPQueue and the JDK ArrayDeque. The cycle benchmarks
+ * keep the queue they produce, so that the amortised cost of moving the back list to the front is included.
+ * AmortizedPQueue and ArrayDeque use identity equality, so have no equals / hashCode baselines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class QueueOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        BankersQueue<Integer> queue;
+        BankersQueue<Integer> copy;
+
+        @Override
+        protected void build() {
+            queue = cyclopsQueue(keys);
+            copy = cyclopsQueue(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.Queue<Integer> queue;
+        io.vavr.collection.Queue<Integer> copy;
+
+        @Override
+        protected void build() {
+            queue = vavrQueue(keys);
+            copy = vavrQueue(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends Keys {
+        PQueue<Integer> queue;
+
+        @Override
+        protected void build() {
+            queue = pcollectionsQueue(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        ArrayDeque<Integer> queue;
+
+        @Override
+        protected void build() {
+            queue = jdkQueue(keys);
+        }
+    }
+
+    static BankersQueue<Integer> cyclopsQueue(Integer[] keys) {
+        BankersQueue<Integer> queue = BankersQueue.empty();
+        for (Integer key : keys)
+            queue = queue.enqueue(key);
+        return queue;
+    }
+
+    static io.vavr.collection.Queue<Integer> vavrQueue(Integer[] keys) {
+        io.vavr.collection.Queue<Integer> queue = io.vavr.collection.Queue.empty();
+        for (Integer key : keys)
+            queue = queue.enqueue(key);
+        return queue;
+    }
+
+    static PQueue<Integer> pcollectionsQueue(Integer[] keys) {
+        PQueue<Integer> queue = AmortizedPQueue.empty();
+        for (Integer key : keys)
+            queue = queue.plus(key);
+        return queue;
+    }
+
+    static ArrayDeque<Integer> jdkQueue(Integer[] keys) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Integer key : keys)
+            queue.offer(key);
+        return queue;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.queue.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer vavrGet(Vavr s) {
+        return s.queue.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsEnqueue(Cyclops s) {
+        return s.queue.enqueue(s.next());
+    }
+
+    @Benchmark
+    public Object vavrEnqueue(Vavr s) {
+        return s.queue.enqueue(s.next());
+    }
+
+    @Benchmark
+    public Object pcollectionsEnqueue(PCollections s) {
+        return s.queue.plus(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsDequeue(Cyclops s) {
+        return s.queue.dequeue(null);
+    }
+
+    @Benchmark
+    public Object vavrDequeue(Vavr s) {
+        return s.queue.dequeue();
+    }
+
+    @Benchmark
+    public Object pcollectionsDequeue(PCollections s) {
+        return s.queue.minus();
+    }
+
+    @Benchmark
+    public Object cyclopsCycle(Cyclops s) {
+        s.queue = s.queue.enqueue(s.next()).dequeue(null)._2();
+        return s.queue;
+    }
+
+    @Benchmark
+    public Object vavrCycle(Vavr s) {
+        s.queue = s.queue.enqueue(s.next()).dequeue()._2;
+        return s.queue;
+    }
+
+    @Benchmark
+    public Object pcollectionsCycle(PCollections s) {
+        s.queue = s.queue.plus(s.next()).minus();
+        return s.queue;
+    }
+
+    @Benchmark
+    public Object jdkCycle(Jdk s) {
+        s.queue.offer(s.next());
+        return s.queue.poll();
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Integer next : s.queue)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (Integer next : s.queue)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long pcollectionsIterate(PCollections s) {
+        long sum = 0;
+        for (Integer next : s.queue)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Integer next : s.queue)
+            sum += next;
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsQueue(s.keys);
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrQueue(s.keys);
+    }
+
+    @Benchmark
+    public Object pcollectionsBuild(PCollections s) {
+        return pcollectionsQueue(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkQueue(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.queue.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean vavrEquals(Vavr s) {
+        return s.queue.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.queue.hashCode();
+    }
+
+    @Benchmark
+    public int vavrHashCode(Vavr s) {
+        return s.queue.hashCode();
+    }
+}
@@ -0,0 +1,257 @@
+package cyclops.data.treemap;
+
+import cyclops.data.Keys;
+import cyclops.data.TreeMap;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorted map operations against vavr and the JDK, pcollections 3.1 has no sorted map
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeMapOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        TreeMap<Integer, Integer> map;
+        TreeMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = cyclopsMap(keys);
+            copy = cyclopsMap(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends Keys {
+        io.vavr.collection.TreeMap<Integer, Integer> map;
+        io.vavr.collection.TreeMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = vavrMap(keys);
+            copy = vavrMap(keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends Keys {
+        java.util.TreeMap<Integer, Integer> map;
+        java.util.TreeMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = jdkMap(keys);
+            copy = jdkMap(keys);
+        }
+    }
+
+    static TreeMap<Integer, Integer> cyclopsMap(Integer[] keys) {
+        TreeMap<Integer, Integer> map = TreeMap.empty(Comparator.<Integer>naturalOrder());
+        for (Integer key : keys)
+            map = map.put(key, key);
+        return map;
+    }
+
+    static io.vavr.collection.TreeMap<Integer, Integer> vavrMap(Integer[] keys) {
+        io.vavr.collection.TreeMap<Integer, Integer> map = io.vavr.collection.TreeMap.empty();
+        for (Integer key : keys)
+            map = map.put(key, key);
+        return map;
+    }
+
+    static java.util.TreeMap<Integer, Integer> jdkMap(Integer[] keys) {
+        java.util.TreeMap<Integer, Integer> map = new java.util.TreeMap<>();
+        for (Integer key : keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.map.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer vavrGet(Vavr s) {
+        return s.map.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Integer jdkGet(Jdk s) {
+        return s.map.get(s.next());
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object vavrPut(Vavr s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object jdkPut(Jdk s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.map.remove(s.next());
+    }
+
+    @Benchmark
+    public Object vavrRemove(Vavr s) {
+        return s.map.remove(s.next());
+    }
+
+    /**
+     * The JDK map is mutable, the removed entry is put back to keep the size constant
+     */
+    @Benchmark
+    public Object jdkRemove(Jdk s) {
+        Integer key = s.next();
+        Integer value = s.map.remove(key);
+        s.map.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Tuple2<Integer, Integer> next : s.map)
+            sum += next._2();
+        return sum;
+    }
+
+    @Benchmark
+    public long vavrIterate(Vavr s) {
+        long sum = 0;
+        for (io.vavr.Tuple2<Integer, Integer> next : s.map)
+            sum += next._2;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkIterate(Jdk s) {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> next : s.map.entrySet())
+            sum += next.getValue();
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsMap(s.keys);
+    }
+
+    @Benchmark
+    public Object vavrBuild(Vavr s) {
+        return vavrMap(s.keys);
+    }
+
+    @Benchmark
+    public Object jdkBuild(Jdk s) {
+        return jdkMap(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean vavrEquals(Vavr s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public boolean jdkEquals(Jdk s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int vavrHashCode(Vavr s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int jdkHashCode(Jdk s) {
+        return s.map.hashCode();
+    }
+
+    @Benchmark
+    public int cyclopsSize(Cyclops s) {
+        return s.map.size();
+    }
+
+    @Benchmark
+    public int vavrSize(Vavr s) {
+        return s.map.size();
+    }
+
+    @Benchmark
+    public int jdkSize(Jdk s) {
+        return s.map.size();
+    }
+
+    @Benchmark
+    public Object cyclopsFloor(Cyclops s) {
+        return s.map.floor(s.next() - 1);
+    }
+
+    @Benchmark
+    public Object jdkFloor(Jdk s) {
+        return s.map.floorEntry(s.next() - 1);
+    }
+
+    @Benchmark
+    public Object cyclopsGetAt(Cyclops s) {
+        return s.map.getAt(s.map.rank(s.next()));
+    }
+
+    /**
+     * vavr has no range views on its sorted map, the range is filtered out of the full map
+     */
+    @Benchmark
+    public int cyclopsSubMap(Cyclops s) {
+        Integer from = s.next();
+        return s.map.subMap(from, from + 1000).size();
+    }
+
+    @Benchmark
+    public int vavrSubMap(Vavr s) {
+        Integer from = s.next();
+        return s.map.dropUntil(t -> t._1 >= from).takeWhile(t -> t._1 < from + 1000).size();
+    }
+
+    @Benchmark
+    public int jdkSubMap(Jdk s) {
+        Integer from = s.next();
+        return s.map.subMap(from, from + 1000).size();
+    }
+}
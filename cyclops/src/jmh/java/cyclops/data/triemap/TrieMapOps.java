@@ -0,0 +1,85 @@
+package cyclops.data.triemap;
+
+import cyclops.data.Keys;
+import cyclops.data.TrieMap;
+import cyclops.data.tuple.Tuple2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrieMap operations, the vavr, pcollections and JDK hash map baselines are in HashMapOps
+ * (run both with -PjmhInclude='.*(HashMap|TrieMap)Ops.*')
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TrieMapOps {
+
+    @State(Scope.Benchmark)
+    public static class Cyclops extends Keys {
+        TrieMap<Integer, Integer> map;
+        TrieMap<Integer, Integer> copy;
+
+        @Override
+        protected void build() {
+            map = cyclopsMap(keys);
+            copy = cyclopsMap(keys);
+        }
+    }
+
+    static TrieMap<Integer, Integer> cyclopsMap(Integer[] keys) {
+        TrieMap<Integer, Integer> map = TrieMap.empty();
+        for (Integer key : keys)
+            map = map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Integer cyclopsGet(Cyclops s) {
+        return s.map.getOrElse(s.next(), null);
+    }
+
+    @Benchmark
+    public Object cyclopsPut(Cyclops s) {
+        return s.map.put(s.next(), -1);
+    }
+
+    @Benchmark
+    public Object cyclopsRemove(Cyclops s) {
+        return s.map.remove(s.next());
+    }
+
+    @Benchmark
+    public long cyclopsIterate(Cyclops s) {
+        long sum = 0;
+        for (Tuple2<Integer, Integer> next : s.map)
+            sum += next._2();
+        return sum;
+    }
+
+    @Benchmark
+    public Object cyclopsBuild(Cyclops s) {
+        return cyclopsMap(s.keys);
+    }
+
+    @Benchmark
+    public boolean cyclopsEquals(Cyclops s) {
+        return s.map.equals(s.copy);
+    }
+
+    @Benchmark
+    public int cyclopsHashCode(Cyclops s) {
+        return s.map.hashCode();
+    }
+}
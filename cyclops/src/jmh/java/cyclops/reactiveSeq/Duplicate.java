@@ -0,0 +1,74 @@
+package cyclops.reactiveSeq;
+
+import cyclops.data.tuple.Tuple2;
+import cyclops.data.tuple.Tuple3;
+import cyclops.reactive.ReactiveSeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies are drained one after the other so every element is buffered for the lagging copies, the worst case for
+ * duplicate / triplicate. Deque compares against a buffer per copy.
+ */
+@State(Scope.Benchmark)
+public class Duplicate {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public void duplicate(Blackhole bh) {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, size).duplicate();
+        copies._1().forEach(bh::consume);
+        copies._2().forEach(bh::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public void duplicateDeque(Blackhole bh) {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, size)
+                                                                               .duplicate(LinkedList::new);
+        copies._1().forEach(bh::consume);
+        copies._2().forEach(bh::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public void triplicate(Blackhole bh) {
+        Tuple3<ReactiveSeq<Integer>, ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, size)
+                                                                                                     .triplicate();
+        copies._1().forEach(bh::consume);
+        copies._2().forEach(bh::consume);
+        copies._3().forEach(bh::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public void triplicateDeque(Blackhole bh) {
+        Tuple3<ReactiveSeq<Integer>, ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, size)
+                                                                                                     .triplicate(LinkedList::new);
+        copies._1().forEach(bh::consume);
+        copies._2().forEach(bh::consume);
+        copies._3().forEach(bh::consume);
+    }
+}
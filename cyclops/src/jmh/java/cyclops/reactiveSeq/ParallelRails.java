@@ -0,0 +1,88 @@
+package cyclops.reactiveSeq;
+
+import cyclops.reactive.ReactiveSeq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+public class ParallelRails {
+
+    ExecutorService ex;
+    ForkJoinPool fj;
+
+    @Setup
+    public void setup() {
+        ex = Executors.newFixedThreadPool(4);
+        fj = new ForkJoinPool(4);
+    }
+
+    @TearDown
+    public void teardown() {
+        ex.shutdownNow();
+        fj.shutdownNow();
+    }
+
+    static int work(int i) {
+        int r = i;
+        for (int k = 0; k < 100; k++)
+            r = r * 31 + k;
+        return r;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void jdkParallel(Blackhole bh) {
+        ReactiveSeq.range(0, 100_000)
+                   .parallel(fj, s -> s.map(ParallelRails::work))
+                   .forEach(bh::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void railsUnordered(Blackhole bh) {
+        ReactiveSeq.range(0, 100_000)
+                   .parallel(4, ex)
+                   .map(ParallelRails::work)
+                   .sequential()
+                   .forEach(bh::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(
+        iterations = 10
+    )
+    @Measurement(
+        iterations = 10
+    )
+    @Fork(1)
+    public void railsOrdered(Blackhole bh) {
+        ReactiveSeq.range(0, 100_000)
+                   .parallel(4, ex)
+                   .map(ParallelRails::work)
+                   .sequentialOrdered()
+                   .forEach(bh::consume);
+    }
+}
@@ -263,13 +263,18 @@ public interface AdaptersModule {
         @Override
         public int drainTo(final Collection c) {
 
-            return 0;
+            return drainTo(c, Integer.MAX_VALUE);
         }
 
         @Override
         public int drainTo(final Collection c, final int maxElements) {
-
-            return 0;
+            int drained = 0;
+            Object next;
+            while (drained < maxElements && (next = queue.poll()) != null) {
+                c.add(next);
+                drained++;
+            }
+            return drained;
         }
 
     }
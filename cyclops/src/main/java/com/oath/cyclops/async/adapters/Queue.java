@@ -7,6 +7,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -72,7 +73,10 @@ import lombok.experimental.Wither;
  * }
  * </pre>
  *
- *
+ * Producers that emit in batches can hand a batch over with {@link #offerAll(Collection)} or {@link #offerBatch(Object[])},
+ * and consumers can take whatever is available in one call with {@link #drainTo(Consumer, int)} or
+ * {@link #stream(int)}. Closing the Queue sets a single closed flag, connected Streams finish once they have drained
+ * the remaining data.
  *
  * @author johnmcclean, thomas kountis
  *
@@ -183,6 +187,30 @@ public class Queue<T> implements Adapter<T> {
         listeningStreams.incrementAndGet(); //assumes all Streams that ever connected, remain connected
         return ReactiveSeq.fromStream(closingStream(this::get, new AlwaysContinue()));
     }
+
+    /**
+     * Sequential Infinite (until Queue is closed) Stream of data from this Queue that takes data in chunks of up to
+     * batchSize elements, waiting only when the Queue is empty (see {@link #drainTo(Consumer, int)}).
+     *
+     * Elements taken into a chunk belong to this Stream, if it is abandoned early (e.g. via limit) the rest of its current
+     * chunk is not returned to the Queue. Use {@link #stream()} where several partially consumed Streams share a Queue.
+     *
+     * <pre>
+     * {@code
+     *   queue.stream(1024)
+     *        .forEach(this::process);
+     * }
+     * </pre>
+     *
+     * @param batchSize Maximum number of elements to take from the Queue at a time
+     * @return Stream of data from this Queue
+     */
+    public ReactiveSeq<T> stream(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        listeningStreams.incrementAndGet(); //assumes all Streams that ever connected, remain connected
+        return ReactiveSeq.fromStream(closingStream(new BatchReader<>(this, batchSize), new AlwaysContinue()));
+    }
     /**
      * Return a standard (unextended) JDK Stream connected to this Queue
      * To disconnect cleanly close the queue
@@ -193,20 +221,12 @@ public class Queue<T> implements Adapter<T> {
      *  }
      * </pre>
      *
-     * @param closeScalingFactor Scaling factor for Queue closed messages to propagate to connected parallel Streams.
-     *              Scaling Factor may need to be high to reach all connect parallel threads.
+     * @param closeScalingFactor No longer used, closing the Queue reaches every connected parallel thread
      *
      * @return Java 8 Stream connnected to this Queue
      */
     public Stream<T> jdkStream(int closeScalingFactor){
-        int cores = Runtime.getRuntime().availableProcessors();
-        String par = System.getProperty("java.util.concurrent.ForkJoinPool.common.parallelism");
-        int connected = par !=null ? Integer.valueOf(par) : cores;
-        int update = 0;
-        do{
-            update = listeningStreams.get()+ connected*closeScalingFactor;
-        }while(!listeningStreams.compareAndSet(listeningStreams.get(), update));
-
+        listeningStreams.incrementAndGet(); //assumes all Streams that ever connected, remain connected
         return closingStream(this::get, new AlwaysContinue());
     }
 
@@ -219,12 +239,11 @@ public class Queue<T> implements Adapter<T> {
      *        use queue.stream().parallel() to convert to a parallel Stream
      *  }
      * </pre>
-     * @see Queue#jdkStream(int) for an alternative that sends more poision pills for use with parallel Streams.
-     *
      * @return Java 8 Stream connnected to this Queue
      */
     public Stream<T> jdkStream() {
-       return jdkStream(2);
+        listeningStreams.incrementAndGet(); //assumes all Streams that ever connected, remain connected
+        return closingStream(this::get, new AlwaysContinue());
     }
 
     public Stream<T> jdkStream(final Continueable s){
@@ -362,71 +381,75 @@ public class Queue<T> implements Adapter<T> {
 
     private T ensureOpen(final long timeout, final TimeUnit timeUnit) {
 
-        if (!open && queue.size() == 0)
+        if (!open && queue.isEmpty())
             throw new ClosedQueueException();
 
-        final SimpleTimer timer = new SimpleTimer();
-        try {
+        T data = ensureClear(queue.poll());
+        if (data != null)
+            return taken(data);
 
-            final long timeoutNanos = timeUnit.toNanos(timeout);
-            T data = null;
-            try {
-
-                if (this.continuationStrategy != null) {
+        try {
 
-                    final SimpleTimer streamTimer = new SimpleTimer();
-                    try {
-                        while (open && (data = ensureClear(queue.poll())) == null) {
+            if (this.continuationStrategy != null) {
 
-                            final SimpleTimer contTimer = new SimpleTimer();
+                final SimpleTimer timer = new SimpleTimer();
+                final long timeoutNanos = timeUnit.toNanos(timeout);
+                while (open && (data = ensureClear(queue.poll())) == null) {
 
-                            this.continuationStrategy.handleContinuation();
+                    this.continuationStrategy.handleContinuation();
 
-                            if (timeout != -1)
-                                handleTimeout(timer, timeoutNanos);
+                    if (timeout != -1)
+                        handleTimeout(timer, timeoutNanos);
 
-                        }
-                        if (data != null)
-                            return (T) nillSafe(ensureNotPoisonPill(ensureClear(data)));
-                    }finally{
-                     }
                 }
-                if (!open && queue.size() == 0)
-                    throw new ClosedQueueException();
+                if (data != null)
+                    return (T) nillSafe(ensureNotPoisonPill(ensureClear(data)));
+            }
+            if (!open && queue.isEmpty())
+                throw new ClosedQueueException();
 
-                if (timeout == -1) {
-                    if (this.sub != null && this.sub.timeLimit() > -1) {
-                        data = ensureClear(consumerWait.take(() -> queue.poll(sub.timeLimit(), TimeUnit.NANOSECONDS)));
-                        if (data == null)
-                            throw new QueueTimeoutException();
-                    } else {
-                        SimpleTimer takeTimer = new SimpleTimer();
-                        data = ensureClear(consumerWait.take(() -> queue.take()));
-                        if (data == null)
-                            throw new QueueTimeoutException();
-
-                    }
+            if (!open) {
+                //closed Queues are drained without blocking, the last element may have been taken by another consumer
+                data = ensureClear(queue.poll());
+                if (data == null)
+                    throw new ClosedQueueException();
+            } else if (timeout == -1) {
+                if (this.sub != null && this.sub.timeLimit() > -1) {
+                    data = ensureClear(consumerWait.take(() -> queue.poll(sub.timeLimit(), TimeUnit.NANOSECONDS)));
+                    if (data == null)
+                        throw new QueueTimeoutException();
                 } else {
-
-                    data = ensureClear(consumerWait.take(() -> queue.poll(timeout, timeUnit)));
+                    data = ensureClear(consumerWait.take(() -> queue.take()));
                     if (data == null)
                         throw new QueueTimeoutException();
 
                 }
-            } catch (final InterruptedException e) {
-                Thread.currentThread()
-                        .interrupt();
-                throw ExceptionSoftener.throwSoftenedException(e);
-            }
+            } else {
 
-            ensureNotPoisonPill(data);
-            if (sizeSignal != null)
-                this.sizeSignal.set(queue.size());
+                data = ensureClear(consumerWait.take(() -> queue.poll(timeout, timeUnit)));
+                if (data == null)
+                    throw new QueueTimeoutException();
 
-            return (T) nillSafe(data);
-        }finally{
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw ExceptionSoftener.throwSoftenedException(e);
         }
 
+        return taken(data);
+
+    }
+
+    private T taken(final T data) {
+        ensureNotPoisonPill(data);
+        signalSize();
+        return (T) nillSafe(data);
+    }
+
+    private void signalSize() {
+        if (sizeSignal != null)
+            this.sizeSignal.set(queue.size());
     }
 
     private void handleTimeout(final SimpleTimer timer, final long timeout) {
@@ -450,6 +473,10 @@ public class Queue<T> implements Adapter<T> {
 
     private T ensureNotPoisonPill(final T data) {
         if (data instanceof PoisonPill) {
+            if (data == POISON_PILL && !open) {
+                //pass the closing signal on to the next consumer blocked on this Queue
+                queue.offer(data);
+            }
             throw new ClosedQueueException();
         }
 
@@ -533,10 +560,8 @@ public class Queue<T> implements Adapter<T> {
 
         try {
             final boolean result = queue.add((T) nullSafe(data));
-            if (result) {
-                if (sizeSignal != null)
-                    this.sizeSignal.set(queue.size());
-            }
+            if (result)
+                signalSize();
             return result;
 
         } catch (final IllegalStateException e) {
@@ -577,10 +602,47 @@ public class Queue<T> implements Adapter<T> {
         }
 
         try {
-            final boolean result = producerWait.offer(() -> this.queue.offer((T) nullSafe(data), this.offerTimeout, this.offerTimeUnit));
+            final boolean result = offerOne((T) nullSafe(data));
+            signalSize();
+            return result;
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
 
-            if (sizeSignal != null)
-                this.sizeSignal.set(queue.size());
+    }
+
+    /**
+     * Offer a batch of data to this Queue, in order. The size Signal (if any) is updated once for the whole batch.
+     *
+     * If the queue is a bounded queue and is full it will block until space comes available or until
+     * offer time out is reached, in which case the remaining elements are not added.
+     *
+     * <pre>
+     * {@code
+     *   queue.offerAll(Arrays.asList(1,2,3));
+     * }
+     * </pre>
+     *
+     * @param data Data to add
+     * @return true if all elements were added
+     */
+    public boolean offerAll(final Collection<? extends T> data) {
+
+        if (!open) {
+            throw new ClosedQueueException();
+        }
+
+        try {
+            boolean result = true;
+            for (final T next : data) {
+                if (!offerOne((T) nullSafe(next))) {
+                    result = false;
+                    break;
+                }
+            }
+            signalSize();
             return result;
         } catch (final InterruptedException e) {
             Thread.currentThread()
@@ -590,6 +652,69 @@ public class Queue<T> implements Adapter<T> {
 
     }
 
+    /**
+     * Offer a batch of data to this Queue, in order. The size Signal (if any) is updated once for the whole batch.
+     *
+     * @see Queue#offerAll(Collection)
+     * @param data Data to add
+     * @return true if all elements were added
+     */
+    public boolean offerBatch(final T[] data) {
+        return offerAll(Arrays.asList(data));
+    }
+
+    /**
+     * Tries a non-blocking offer first, so the producer WaitStrategy (and the Offerable it is passed) is only
+     * involved when the backing Queue is full
+     */
+    private boolean offerOne(final T data) throws InterruptedException {
+        return queue.offer(data) || producerWait.offer(() -> this.queue.offer(data, this.offerTimeout, this.offerTimeUnit));
+    }
+
+    /**
+     * Wait for data as {@link #get()} does, then pass it and up to max - 1 further elements that are already
+     * available to the consumer, without waiting for more.
+     *
+     * <pre>
+     * {@code
+     *   List<Integer> batch = new ArrayList<>();
+     *   queue.drainTo(batch::add, 1000);
+     * }
+     * </pre>
+     *
+     * @param consumer Receives the data taken from this Queue
+     * @param max Maximum number of elements to take
+     * @return Number of elements passed to the consumer
+     * @throws ClosedQueueException if the Queue is closed and has no more data
+     * @throws QueueTimeoutException if no data arrived within the Queue timeout
+     */
+    public int drainTo(final Consumer<? super T> consumer, final int max) {
+        if (max < 1)
+            throw new IllegalArgumentException("Max must be positive, was " + max);
+
+        consumer.accept(get());
+        int drained = 1;
+        T next;
+        while (drained < max && (next = queue.poll()) != null) {
+            if (next == CLEAR_PILL) {
+                queue.clear();
+                break;
+            }
+            if (next instanceof PoisonPill) {
+                //leave it for the next read, which closes the Stream once this batch has been processed
+                queue.offer(next);
+                break;
+            }
+            if (next instanceof Error) {
+                throw (Error) next;
+            }
+            consumer.accept(nillSafe(next));
+            drained++;
+        }
+        signalSize();
+        return drained;
+    }
+
     private boolean timeout(final SimpleTimer timer) {
 
         if (timer.getElapsedNanoseconds() >= offerTimeUnit.toNanos(this.offerTimeout))
@@ -615,10 +740,9 @@ public class Queue<T> implements Adapter<T> {
 
     /**
      * Close this Queue
-     * Poison Pills are used to communicate closure to connected Streams
-     * A Poison Pill is added per connected Stream to the Queue
-     * If a BlockingQueue is backing this async.Queue it will block until
-     * able to add to the Queue.
+     * Connected Streams drain the remaining data and then complete. A single Poison Pill is added to the Queue
+     * (if any Stream has connected) to wake consumers blocked on an empty Queue, each consumer that takes it passes
+     * it on to the next.
      *
      * @return true if closed
      */
@@ -626,13 +750,12 @@ public class Queue<T> implements Adapter<T> {
     public boolean close() {
         this.open = false;
 
-        for (int i = 0; i < listeningStreams.get(); i++) {
+        if (listeningStreams.get() > 0) {
            try{
               this.queue.offer((T) POISON_PILL);
            }catch(Exception e){
 
            }
-
         }
 
         return true;
@@ -704,15 +827,12 @@ public class Queue<T> implements Adapter<T> {
         Queue<T> queue;
 
         public boolean notEmpty() {
-            return queue.queue.size() != 0;
+            return !queue.queue.isEmpty();
         }
 
         @Getter
         private volatile T last = null;
 
-        private int size() {
-            return queue.queue.size();
-        }
 
         public T next() {
 
@@ -728,7 +848,7 @@ public class Queue<T> implements Adapter<T> {
         public Collection<T> drainToOrBlock() {
 
             final Collection<T> result = new ArrayList<>();
-            if (size() > 0)
+            if (notEmpty())
                 queue.queue.drainTo(result);
             else {
                 try {
@@ -748,6 +868,50 @@ public class Queue<T> implements Adapter<T> {
         }
     }
 
+    /**
+     * Supplies a single sequential Stream with data taken from the Queue in chunks. An Error reached part way through a
+     * chunk is held back until the data before it has been supplied.
+     */
+    static final class BatchReader<T> implements Supplier<T> {
+        private final Queue<T> queue;
+        private final Object[] buffer;
+        private int next;
+        private int filled;
+        private RuntimeException pending;
+
+        BatchReader(final Queue<T> queue, final int batchSize) {
+            this.queue = queue;
+            this.buffer = new Object[batchSize];
+        }
+
+        @Override
+        public T get() {
+            if (next == filled) {
+                next = 0;
+                filled = 0;
+                if (pending != null) {
+                    final RuntimeException e = pending;
+                    pending = null;
+                    throw e;
+                }
+                try {
+                    queue.drainTo(this::buffer, buffer.length);
+                } catch (final Error e) {
+                    if (filled == 0)
+                        throw e;
+                    pending = e;
+                }
+            }
+            final T result = (T) buffer[next];
+            buffer[next++] = null;
+            return result;
+        }
+
+        private void buffer(final T data) {
+            buffer[filled++] = data;
+        }
+    }
+
     public int size() {
         return queue.size();
     }
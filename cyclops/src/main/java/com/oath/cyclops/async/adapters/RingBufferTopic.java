@@ -0,0 +1,378 @@
+package com.oath.cyclops.async.adapters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+import com.oath.cyclops.async.QueueFactories;
+import com.oath.cyclops.async.wait.WaitStrategy;
+import com.oath.cyclops.react.async.subscription.Continueable;
+import com.oath.cyclops.types.futurestream.Continuation;
+import cyclops.reactive.ReactiveSeq;
+
+/**
+ * A Topic backed by a single pre-allocated ring buffer. Each message is written once, and every subscribing Stream
+ * reads it via its own sequence into the buffer (rather than each subscriber having a Queue containing a copy of
+ * every message).
+ *
+ * When the buffer is full the {@link OverflowPolicy} determines what happens to new messages : BLOCK waits for the
+ * slowest subscriber to catch up, DROP rejects the message (offer returns false) and OVERWRITE replaces the oldest
+ * message, subscribers that have been lapped skip forward to the oldest message still available.
+ *
+ * <pre>
+ * {@code
+ *  RingBufferTopic<Integer> topic = new RingBufferTopic<>(1024, OverflowPolicy.BLOCK);
+ *  ReactiveSeq<Integer> s1 = topic.stream();
+ *  ReactiveSeq<Integer> s2 = topic.stream();
+ *
+ *  topic.offer(1);
+ *  topic.close();
+ * }
+ * </pre>
+ *
+ * As with {@link Topic} messages offered before the first Stream subscribes are retained for that first Stream, later
+ * subscribers receive messages offered after they subscribe. Continuations and size Signals apply per subscriber, as
+ * they would to each subscriber's Queue in a Topic, a subscriber's size being the number of messages it has yet to read.
+ *
+ * @param <T> Data type for the Topic
+ */
+public class RingBufferTopic<T> extends Topic<T> {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, OVERWRITE
+    }
+
+    private static final long WRITING = Long.MIN_VALUE;
+    private static final Sequence[] NO_SUBSCRIBERS = new Sequence[0];
+
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray published;
+    private final int capacity;
+    private final int mask;
+    private final OverflowPolicy policy;
+    private final WaitStrategy<?> waitStrategy;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicReference<Sequence[]> subscribers = new AtomicReference<>(NO_SUBSCRIBERS);
+    private final AtomicReference<Sequence> first = new AtomicReference<>();
+    private final Map<ReactiveSeq<?>, Sequence> streamToSequence = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AtomicInteger offering = new AtomicInteger();
+    private volatile boolean closed = false;
+    private volatile boolean signalled = false;
+
+    /**
+     * @param capacity Size of the ring buffer, rounded up to the next power of 2
+     * @param policy Action to take when the buffer is full
+     */
+    public RingBufferTopic(final int capacity, final OverflowPolicy policy) {
+        this(capacity, policy, WaitStrategy.global());
+    }
+
+    /**
+     * @param capacity Size of the ring buffer, rounded up to the next power of 2
+     * @param policy Action to take when the buffer is full
+     * @param waitStrategy Strategy used by each waiting subscriber (and blocked publisher)
+     */
+    public RingBufferTopic(final int capacity, final OverflowPolicy policy, final WaitStrategy<?> waitStrategy) {
+        super(QueueFactories.unboundedQueue());
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1 but was " + capacity);
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++)
+            published.set(i, -1);
+        this.policy = policy;
+        this.waitStrategy = waitStrategy;
+        Sequence initial = new Sequence(-1);
+        first.set(initial);
+        addSubscriber(initial);
+    }
+
+    /**
+     * Add a single message to this Topic, it is written once to the ring buffer and read by all subscribers
+     *
+     * @param data data to add
+     * @return false if the Topic is closed, or the buffer is full and the OverflowPolicy is DROP
+     */
+    @Override
+    public boolean offer(final T data) {
+        offering.incrementAndGet();
+        try {
+            if (closed)
+                return false;
+            long sequence = claim();
+            if (sequence < 0)
+                return false;
+            int index = (int) sequence & mask;
+            published.set(index, WRITING);
+            buffer.set(index, data);
+            published.set(index, sequence);
+            if (signalled)
+                signalSizes(sequence);
+            return true;
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    /*
+     * Subscribers complete once the Topic is closed, no offer is in progress and they have read up to the cursor.
+     * Offers register before checking closed (and publish before deregistering), so an offer that saw the Topic open
+     * is always read.
+     */
+    private boolean drained(Sequence sequence) {
+        return closed && offering.get() == 0 && sequence.get() >= cursor.get();
+    }
+
+    private void signalSizes(long sequence) {
+        for (Sequence next : subscribers.get()) {
+            next.signalSize(sequence, capacity);
+        }
+    }
+
+    private long claim() {
+        int idles = 0;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            if (policy != OverflowPolicy.OVERWRITE && next - capacity > slowest(current)) {
+                if (policy == OverflowPolicy.DROP || closed)
+                    return -1;
+                waitStrategy.idle(idles++);
+                continue;
+            }
+            if (cursor.compareAndSet(current, next))
+                return next;
+        }
+    }
+
+    private long slowest(long current) {
+        long min = current;
+        for (Sequence next : subscribers.get()) {
+            min = Math.min(min, next.get());
+        }
+        return min;
+    }
+
+    @Override
+    public boolean fromStream(final Stream<T> stream) {
+        stream.forEach(this::offer);
+        return true;
+    }
+
+    /**
+     * Generating a stream will register the Stream as a subscriber to this topic, with it's own sequence into the
+     * ring buffer. @see Topic.disconnect to disconnect from the topic
+     *
+     * @return Stream of data
+     */
+    @Override
+    public ReactiveSeq<T> stream() {
+        Sequence sequence = first.getAndSet(null);
+        if (sequence == null) {
+            sequence = new Sequence(cursor.get());
+            addSubscriber(sequence);
+        }
+        ReactiveSeq<T> stream = ReactiveSeq.fromIterator(new Reader(sequence));
+        streamToSequence.put(stream, sequence);
+        return stream;
+    }
+
+    /**
+     * Subscribers to a RingBufferTopic do not have a Queue to register with the supplied Continueable, this is the
+     * same as {@link #stream()}
+     */
+    @Override
+    public ReactiveSeq<T> stream(final Continueable s) {
+        return stream();
+    }
+
+    @Override
+    public ReactiveSeq<CompletableFuture<T>> streamCompletableFutures() {
+        return stream().map(CompletableFuture::completedFuture);
+    }
+
+    /**
+     * Stop tracking the supplied Stream, so that it no longer holds back publishers
+     *
+     * @param stream Stream to disconnect
+     */
+    @Override
+    public void disconnect(final ReactiveSeq<T> stream) {
+        Sequence sequence = streamToSequence.remove(stream);
+        if (sequence != null)
+            removeSubscriber(sequence);
+    }
+
+    /**
+     * Close this Topic, subscribers complete once they have read all published messages
+     *
+     * @return true if closed
+     */
+    @Override
+    public boolean close() {
+        closed = true;
+        return true;
+    }
+
+    /**
+     * Add a Continuation to each current subscriber, a subscriber with nothing to read proceeds its Continuation
+     * rather than idling
+     *
+     * @param cont Continuation to add
+     */
+    @Override
+    public void addContinuation(final Continuation cont) {
+        for (Sequence next : subscribers.get()) {
+            next.continuation = cont;
+        }
+    }
+
+    /**
+     * @param index Subscriber index
+     * @return Signal updated with the number of messages that subscriber has yet to read, or null if none has been set
+     */
+    @Override
+    public Signal<Integer> getSizeSignal(final int index) {
+        return subscribers.get()[index].sizeSignal;
+    }
+
+    /**
+     * @param index Subscriber index
+     * @param s Signal to update with the number of messages that subscriber has yet to read
+     */
+    @Override
+    public void setSizeSignal(final int index, final Signal<Integer> s) {
+        subscribers.get()[index].sizeSignal = s;
+        signalled = true;
+    }
+
+    /**
+     * @return Capacity of the ring buffer
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private void addSubscriber(Sequence sequence) {
+        Sequence[] current;
+        Sequence[] updated;
+        do {
+            current = subscribers.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = sequence;
+        } while (!subscribers.compareAndSet(current, updated));
+    }
+
+    private void removeSubscriber(Sequence sequence) {
+        Sequence[] current;
+        Sequence[] updated;
+        do {
+            current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == sequence)
+                    index = i;
+            }
+            if (index < 0)
+                return;
+            updated = new Sequence[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!subscribers.compareAndSet(current, updated));
+    }
+
+    /*
+     * The last sequence read by a subscriber, padded to avoid false sharing between subscribers
+     */
+    static final class Sequence extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+        long p1, p2, p3, p4, p5, p6, p7;
+        volatile Continuation continuation;
+        volatile Signal<Integer> sizeSignal;
+
+        Sequence(long initial) {
+            super(initial);
+        }
+
+        void signalSize(long last, int capacity) {
+            Signal<Integer> signal = sizeSignal;
+            if (signal != null)
+                signal.set((int) Math.min(capacity, Math.max(0, last - get())));
+        }
+    }
+
+    private final class Reader implements Iterator<T> {
+        private final Sequence sequence;
+        private int idles = 0;
+        private boolean ready = false;
+        private T next;
+
+        Reader(Sequence sequence) {
+            this.sequence = sequence;
+        }
+
+        private boolean tryRead() {
+            long expected = sequence.get() + 1;
+            int index = (int) expected & mask;
+            long available = published.get(index);
+            if (available == expected) {
+                T value = buffer.get(index);
+                if (published.get(index) == expected) {
+                    next = value;
+                    ready = true;
+                    sequence.lazySet(expected);
+                    if (signalled)
+                        sequence.signalSize(cursor.get(), capacity);
+                    return true;
+                }
+            }
+            long claimed = cursor.get();
+            if (claimed - expected >= capacity) {
+                sequence.set(claimed - capacity);
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready) {
+                if (tryRead()) {
+                    idles = 0;
+                    return true;
+                }
+                if (drained(sequence)) {
+                    removeSubscriber(sequence);
+                    return false;
+                }
+                Continuation cont = sequence.continuation;
+                if (cont != null)
+                    sequence.continuation = cont.proceed();
+                else
+                    waitStrategy.idle(idles++);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+            T value = next;
+            next = null;
+            return value;
+        }
+    }
+}
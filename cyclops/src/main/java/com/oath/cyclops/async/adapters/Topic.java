@@ -61,6 +61,13 @@ public class Topic<T> implements Adapter<T> {
         distributor.addQueue(q);
     }
 
+    /*
+     * For Topics that do not distribute messages via per subscriber Queues
+     */
+    Topic(final QueueFactory<T> factory) {
+        this.factory = factory;
+    }
+
     /**
      * Topic will maintain a queue for each Subscribing Stream
      * If a Stream is finished with a Topic it is good practice to disconnect from the Topic
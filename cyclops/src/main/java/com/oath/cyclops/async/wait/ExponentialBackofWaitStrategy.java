@@ -1,26 +1,61 @@
 package com.oath.cyclops.async.wait;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
-import lombok.AllArgsConstructor;
-
 /**
  * Will recover to recieve or push data to a Queue, backing off by an exponentially increasing wait time
  * until successful.
  *
+ * Optionally spins, then yields, for a number of attempts before parking, and caps the park period. So short waits
+ * are answered with spin latency, while long waits do not occupy a core. Parked threads can be woken early via an
+ * {@link IdleSignal}.
+ *
  * @author johnmcclean
  *
  * @param <T> Data type of elements in the async.Queue
  */
-@AllArgsConstructor
 public class ExponentialBackofWaitStrategy<T> implements WaitStrategy<T> {
 
+    static final ExponentialBackofWaitStrategy<?> DEFAULT_IDLE = new ExponentialBackofWaitStrategy<>(100, 10,
+                                                                        TimeUnit.MICROSECONDS.toNanos(1),
+                                                                        TimeUnit.MILLISECONDS.toNanos(1));
+
     private final double backoffNanos;
     private final double coefficient;
+    private final int spins;
+    private final int yields;
+    private final double maxBackoffNanos;
 
     public ExponentialBackofWaitStrategy() {
-        this.backoffNanos = 1;
-        this.coefficient = 1.1;
+        this(1, 1.1);
+    }
+
+    public ExponentialBackofWaitStrategy(final double backoffNanos, final double coefficient) {
+        this(0, 0, backoffNanos, coefficient, Double.MAX_VALUE);
+    }
+
+    /**
+     * @param spins Number of attempts to spin for
+     * @param yields Number of attempts to yield for (once spinning has finished)
+     * @param minParkNanos Initial park period (once yielding has finished), doubled on each subsequent attempt
+     * @param maxParkNanos Maximum park period
+     */
+    public ExponentialBackofWaitStrategy(final int spins, final int yields, final long minParkNanos, final long maxParkNanos) {
+        this(spins, yields, minParkNanos, 2, maxParkNanos);
+        if (spins < 0 || yields < 0)
+            throw new IllegalArgumentException("Spins and yields must not be negative");
+        if (minParkNanos <= 0 || maxParkNanos < minParkNanos)
+            throw new IllegalArgumentException("Park periods must be positive, and max must be at least min");
+    }
+
+    private ExponentialBackofWaitStrategy(final int spins, final int yields, final double backoffNanos,
+                                          final double coefficient, final double maxBackoffNanos) {
+        this.spins = spins;
+        this.yields = yields;
+        this.backoffNanos = backoffNanos;
+        this.coefficient = coefficient;
+        this.maxBackoffNanos = maxBackoffNanos;
     }
 
     /* (non-Javadoc)
@@ -28,13 +63,10 @@ public class ExponentialBackofWaitStrategy<T> implements WaitStrategy<T> {
      */
     @Override
     public T take(final WaitStrategy.Takeable<T> t) throws InterruptedException {
-        double currentBackoff = backoffNanos;
         T result;
 
-        while ((result = t.take()) == null) {
-            LockSupport.parkNanos((long) currentBackoff);
-            currentBackoff = currentBackoff * coefficient;
-
+        for (int i = 0; (result = t.take()) == null; i++) {
+            idle(i);
         }
 
         return result;
@@ -45,13 +77,25 @@ public class ExponentialBackofWaitStrategy<T> implements WaitStrategy<T> {
      */
     @Override
     public boolean offer(final WaitStrategy.Offerable o) throws InterruptedException {
-        double currentBackoff = backoffNanos;
-        while (!o.offer()) {
-            LockSupport.parkNanos((long) currentBackoff);
-            currentBackoff = currentBackoff * coefficient;
-
+        for (int i = 0; !o.offer(); i++) {
+            idle(i);
         }
         return true;
     }
 
+    @Override
+    public void idle(final int iteration) {
+        if (iteration < spins)
+            return;
+        if (iteration - spins < yields) {
+            Thread.yield();
+            return;
+        }
+        LockSupport.parkNanos(this, parkNanos(iteration - spins - yields));
+    }
+
+    long parkNanos(final int parks) {
+        return (long) Math.min(maxBackoffNanos, backoffNanos * Math.pow(coefficient, parks));
+    }
+
 }
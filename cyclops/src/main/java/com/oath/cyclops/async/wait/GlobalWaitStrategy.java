@@ -0,0 +1,12 @@
+package com.oath.cyclops.async.wait;
+
+/*
+ * Holder for the WaitStrategy returned by WaitStrategy.global()
+ */
+final class GlobalWaitStrategy {
+
+    static volatile WaitStrategy<?> strategy = ExponentialBackofWaitStrategy.DEFAULT_IDLE;
+
+    private GlobalWaitStrategy() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.oath.cyclops.async.wait;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Park / unpark handoff between producing and waiting threads. Waiting threads idle according to a WaitStrategy until
+ * a condition holds, producers call {@link #signal()} after making the condition true to wake any that are parked.
+ *
+ * <pre>
+ * {@code
+ *   //consumer
+ *   signal.await(() -> value.get() != null, WaitStrategy.global());
+ *
+ *   //producer
+ *   value.set(next);
+ *   signal.signal();
+ * }
+ * </pre>
+ */
+public final class IdleSignal {
+
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Idle until the condition holds
+     *
+     * @param condition Condition to wait for
+     * @param idle WaitStrategy to use between checks
+     */
+    public void await(BooleanSupplier condition, WaitStrategy<?> idle) {
+        if (condition.getAsBoolean())
+            return;
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            for (int i = 0; !condition.getAsBoolean(); i++)
+                idle.idle(i);
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    /**
+     * Wake all threads currently waiting, they will re-check their conditions
+     */
+    public void signal() {
+        if (waiters.isEmpty())
+            return;
+        for (Thread next : waiters)
+            LockSupport.unpark(next);
+    }
+}
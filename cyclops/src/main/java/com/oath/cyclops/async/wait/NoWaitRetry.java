@@ -16,8 +16,8 @@ public class NoWaitRetry<T> implements WaitStrategy<T> {
     public T take(final com.oath.cyclops.async.wait.WaitStrategy.Takeable<T> t) throws InterruptedException {
         T result;
 
-        while ((result = t.take()) == null) {
-
+        for (int i = 0; (result = t.take()) == null; i++) {
+            idle(i);
         }
 
         return result;
@@ -28,10 +28,14 @@ public class NoWaitRetry<T> implements WaitStrategy<T> {
      */
     @Override
     public boolean offer(final WaitStrategy.Offerable o) throws InterruptedException {
-        while (!o.offer()) {
-
+        for (int i = 0; !o.offer(); i++) {
+            idle(i);
         }
         return true;
     }
 
+    @Override
+    public void idle(final int iteration) {
+    }
+
 }
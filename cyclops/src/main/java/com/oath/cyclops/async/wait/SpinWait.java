@@ -19,8 +19,8 @@ public class SpinWait<T> implements WaitStrategy<T> {
     public T take(final WaitStrategy.Takeable<T> t) throws InterruptedException {
         T result;
 
-        while ((result = t.take()) == null) {
-            LockSupport.parkNanos(1l);
+        for (int i = 0; (result = t.take()) == null; i++) {
+            idle(i);
         }
 
         return result;
@@ -31,10 +31,15 @@ public class SpinWait<T> implements WaitStrategy<T> {
      */
     @Override
     public boolean offer(final WaitStrategy.Offerable o) throws InterruptedException {
-        while (!o.offer()) {
-            LockSupport.parkNanos(1l);
+        for (int i = 0; !o.offer(); i++) {
+            idle(i);
         }
         return true;
     }
 
+    @Override
+    public void idle(final int iteration) {
+        LockSupport.parkNanos(1l);
+    }
+
 }
@@ -1,7 +1,21 @@
 package com.oath.cyclops.async.wait;
 
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
 /**
- * An interface that defines a Waiting strategy to be employed when an async.Queue is full or zero
+ * An interface that defines a Waiting strategy to be employed when an async.Queue is full or zero, or more generally
+ * when a thread must wait for a condition to become true (such as a value being pushed by another thread).
+ *
+ * <pre>
+ * {@code
+ *    WaitStrategy.setGlobal(WaitStrategy.yieldWait());
+ *
+ *    Spouts.of(1,2,3)
+ *          .withWaitStrategy(WaitStrategy.noWaitRetry())
+ *          .iterator();
+ * }
+ * </pre>
  *
  * @author johnmcclean
  *
@@ -60,6 +74,26 @@ public interface WaitStrategy<T> {
      */
     public boolean offer(Offerable o) throws InterruptedException;
 
+    /**
+     * Wait once in between checks of a condition, strategies that park return early if the waiting thread is
+     * unparked (e.g. via an {@link IdleSignal}). Yields by default.
+     *
+     * @param iteration Number of times idle has already been called during the current wait
+     */
+    default void idle(int iteration) {
+        Thread.yield();
+    }
+
+    /**
+     * Wait until the condition is true
+     *
+     * @param condition Condition to wait for
+     */
+    default void await(BooleanSupplier condition) {
+        for (int i = 0; !condition.getAsBoolean(); i++)
+            idle(i);
+    }
+
     /**
      * @return YieldWait strategy {@see YieldWait}
      */
@@ -88,10 +122,48 @@ public interface WaitStrategy<T> {
         return new ExponentialBackofWaitStrategy<>();
     }
 
+    /**
+     * @param spins Number of attempts to spin for
+     * @param yields Number of attempts to yield for (once spinning has finished)
+     * @param minParkNanos Initial park period (once yielding has finished)
+     * @param maxParkNanos Maximum park period
+     * @return ExponentialBackofWaitStrategy that spins, then yields, then parks for doubling periods {@see ExponentialBackofWaitStrategy}
+     */
+    static <T> ExponentialBackofWaitStrategy<T> exponentialBackOff(int spins, int yields, long minParkNanos, long maxParkNanos) {
+        return new ExponentialBackofWaitStrategy<>(spins, yields, minParkNanos, maxParkNanos);
+    }
+
+    /**
+     * @param parkNanos Time to park between attempts
+     * @return ExponentialBackofWaitStrategy that parks for a fixed period between attempts {@see ExponentialBackofWaitStrategy}
+     */
+    static <T> ExponentialBackofWaitStrategy<T> parkWait(long parkNanos) {
+        if (parkNanos <= 0)
+            throw new IllegalArgumentException("Park period must be positive " + parkNanos);
+        return new ExponentialBackofWaitStrategy<>(parkNanos, 1);
+    }
+
     /**
      * @return DirectWaitStrategy {@see DirectWaitStrategy}
      */
     static <T> DirectWaitStrategy<T> direct() {
         return new DirectWaitStrategy<>();
     }
+
+    /**
+     * @return The WaitStrategy used by Streams and Subscribers waiting on other threads, that have not been configured
+     * with their own (defaults to spinning, then yielding, then parking for up to a millisecond)
+     */
+    static <T> WaitStrategy<T> global() {
+        return (WaitStrategy<T>) GlobalWaitStrategy.strategy;
+    }
+
+    /**
+     * Change the global WaitStrategy, applies to all subsequent waits that use it
+     *
+     * @param strategy WaitStrategy to use
+     */
+    static void setGlobal(WaitStrategy<?> strategy) {
+        GlobalWaitStrategy.strategy = Objects.requireNonNull(strategy);
+    }
 }
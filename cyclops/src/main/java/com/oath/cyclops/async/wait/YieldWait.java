@@ -15,8 +15,8 @@ public class YieldWait<T> implements WaitStrategy<T> {
     public T take(final WaitStrategy.Takeable<T> t) throws InterruptedException {
         T result;
 
-        while ((result = t.take()) == null) {
-            Thread.yield();
+        for (int i = 0; (result = t.take()) == null; i++) {
+            idle(i);
         }
 
         return result;
@@ -27,10 +27,15 @@ public class YieldWait<T> implements WaitStrategy<T> {
      */
     @Override
     public boolean offer(final WaitStrategy.Offerable o) throws InterruptedException {
-        while (!o.offer()) {
-            Thread.yield();
+        for (int i = 0; !o.offer(); i++) {
+            idle(i);
         }
         return true;
     }
 
+    @Override
+    public void idle(final int iteration) {
+        Thread.yield();
+    }
+
 }
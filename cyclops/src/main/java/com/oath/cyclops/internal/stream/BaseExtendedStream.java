@@ -359,6 +359,26 @@ public abstract class BaseExtendedStream<T> implements Unwrappable, ReactiveSeq<
         return filterLazyPredicate(lazy);
 
     }
+    @Override
+    public ReactiveSeq<T> distinctApprox(double fpp) {
+        return filterLazyPredicate(DistinctPredicates.approximate(fpp));
+    }
+
+    @Override
+    public ReactiveSeq<T> distinctApprox(long expectedDistinct, double fpp) {
+        return filterLazyPredicate(DistinctPredicates.approximate(expectedDistinct,fpp));
+    }
+
+    @Override
+    public ReactiveSeq<T> distinctWindow(int size) {
+        return filterLazyPredicate(DistinctPredicates.window(size));
+    }
+
+    @Override
+    public ReactiveSeq<T> distinct(long time, TimeUnit unit) {
+        return filterLazyPredicate(DistinctPredicates.within(time,unit));
+    }
+
     public ReactiveSeq<T> removeFirst(Predicate<? super T> pred) {
 
         Supplier<Predicate<? super T>> predicate = () -> {
@@ -0,0 +1,104 @@
+package com.oath.cyclops.internal.stream;
+
+import cyclops.data.sketch.BloomFilter;
+import cyclops.data.sketch.Hashing;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stateful filters for the bounded memory distinct operators. Arguments are checked eagerly, each call to the returned
+ * Supplier creates fresh state for a new iteration of the Stream.
+ */
+public final class DistinctPredicates {
+
+    private static final long INITIAL_CAPACITY = 1024;
+
+    private DistinctPredicates() {
+    }
+
+    /**
+     * A scalable Bloom filter : a chain of filters each twice the capacity and half the false positive probability of
+     * the one before, so the combined false positive probability stays below fpp however many elements pass.
+     */
+    public static <T> Supplier<Predicate<? super T>> approximate(double fpp) {
+        checkFpp(fpp);
+        return () -> {
+            List<BloomFilter.Builder> filters = new ArrayList<>();
+            long[] capacity = {INITIAL_CAPACITY};
+            double[] filterFpp = {fpp / 2};
+            long[] added = {0};
+            filters.add(BloomFilter.builder(capacity[0], filterFpp[0]));
+            return in -> {
+                long hash = Hashing.hash(in);
+                for (BloomFilter.Builder filter : filters) {
+                    if (filter.mightContainHash(hash))
+                        return false;
+                }
+                if (added[0] == capacity[0]) {
+                    capacity[0] *= 2;
+                    filterFpp[0] /= 2;
+                    added[0] = 0;
+                    filters.add(BloomFilter.builder(capacity[0], filterFpp[0]));
+                }
+                filters.get(filters.size() - 1).putHash(hash);
+                added[0]++;
+                return true;
+            };
+        };
+    }
+
+    public static <T> Supplier<Predicate<? super T>> approximate(long expectedDistinct, double fpp) {
+        if (expectedDistinct < 1)
+            throw new IllegalArgumentException("Expected distinct elements must be positive, was " + expectedDistinct);
+        checkFpp(fpp);
+        return () -> {
+            BloomFilter.Builder filter = BloomFilter.builder(expectedDistinct, fpp);
+            return filter::put;
+        };
+    }
+
+    public static <T> Supplier<Predicate<? super T>> window(int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Window size must be positive, was " + size);
+        return () -> {
+            Map<T, Boolean> recent = new LinkedHashMap<T, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<T, Boolean> eldest) {
+                    return size() > size;
+                }
+            };
+            return in -> recent.put(in, Boolean.TRUE) == null;
+        };
+    }
+
+    public static <T> Supplier<Predicate<? super T>> within(long time, TimeUnit unit) {
+        if (time < 0)
+            throw new IllegalArgumentException("Time window can not be negative, was " + time);
+        long nanos = unit.toNanos(time);
+        return () -> {
+            Map<T, Long> emitted = new LinkedHashMap<>();
+            return in -> {
+                long now = System.nanoTime();
+                Iterator<Long> oldest = emitted.values().iterator();
+                while (oldest.hasNext() && now - oldest.next() >= nanos)
+                    oldest.remove();
+                if (emitted.containsKey(in))
+                    return false;
+                emitted.put(in, now);
+                return true;
+            };
+        };
+    }
+
+    private static void checkFpp(double fpp) {
+        if (fpp <= 0 || fpp >= 1)
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1, was " + fpp);
+    }
+}
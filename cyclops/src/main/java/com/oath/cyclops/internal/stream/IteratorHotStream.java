@@ -1,6 +1,5 @@
 package com.oath.cyclops.internal.stream;
 
-import java.util.Date;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -10,10 +9,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import com.oath.cyclops.util.ExceptionSoftener;
 import cyclops.companion.Eithers;
 import cyclops.function.FluentFunctions;
-import com.oath.cyclops.util.stream.scheduling.cron.CronExpression;
+import com.oath.cyclops.util.stream.scheduling.cron.CronDispatcher;
 
 public class IteratorHotStream<T> {
 
@@ -41,40 +39,28 @@ public class IteratorHotStream<T> {
     }
 
     protected void scheduleInternal(final Iterator<T> it, final String cron, final ScheduledExecutorService ex) {
-        final Date now = new Date();
-        final Date d = ExceptionSoftener.softenSupplier(() -> new CronExpression(
-                                                                                 cron))
-                                        .get()
-                                        .getNextValidTimeAfter(now);
-
-        final long delay = d.getTime() - now.getTime();
-
-        ex.schedule(() -> {
+        CronDispatcher.shared()
+                      .schedule(cron, ex, () -> {
             synchronized (it) {
                 if (it.hasNext()) {
-                    try {
-                        final T next = it.next();
-                        final int local = connected;
-
-                        for (int i = 0; i < local; i++) {
-
-                            Eithers.blocking(connections.get(i))
-                                      .fold(FluentFunctions.ofChecked(in -> {
-                                in.put(next);
-                                return true;
-                            }), q -> q.offer(next));
-                        }
-
-                    } finally {
+                    final T next = it.next();
+                    final int local = connected;
 
-                        scheduleInternal(it, cron, ex);
+                    for (int i = 0; i < local; i++) {
 
+                        Eithers.blocking(connections.get(i))
+                                  .fold(FluentFunctions.ofChecked(in -> {
+                            in.put(next);
+                            return true;
+                        }), q -> q.offer(next));
                     }
+                    return true;
                 } else {
                     open.set(false);
+                    return false;
                 }
             }
-        } , delay, TimeUnit.MILLISECONDS);
+        });
 
     }
 
@@ -105,7 +105,7 @@ public class OneShotStreamX<T> extends SpliteratorBasedStream<T> {
     }
     @Override
     public Seq<ReactiveSeq<T>> multicast(int num){
-        return Streams.toBufferingCopier(iterator(),num,()->new ArrayDeque<T>(100))
+        return Streams.toBufferingCopier(iterator(),num)
                 .map(ReactiveSeq::fromIterator);
     }
     @Override
@@ -2,12 +2,16 @@ package com.oath.cyclops.internal.stream;
 
 
 import com.oath.cyclops.async.adapters.Queue;
+import com.oath.cyclops.async.wait.IdleSignal;
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.internal.stream.spliterators.Zipping3Spliterator;
 import com.oath.cyclops.types.futurestream.Continuation;
 import com.oath.cyclops.types.persistent.PersistentCollection;
 import com.oath.cyclops.types.stream.Connectable;
 import com.oath.cyclops.types.traversable.IterableX;
 import com.oath.cyclops.util.ExceptionSoftener;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import com.oath.cyclops.util.stream.scheduling.RateLimiter;
 
 import com.oath.cyclops.internal.stream.spliterators.push.*;
 import cyclops.control.Future;
@@ -40,9 +44,9 @@ import org.reactivestreams.Subscription;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -65,6 +69,8 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
     @Wither
     final Type async; //SYNC streams should switch to lazy Backpressured or No backpressure when zip or flatMapP are called
 
+    final WaitStrategy<?> waitStrategy; //null to use WaitStrategy.global() at the time of waiting
+
     public Type getType() {
         return async;
     }
@@ -80,6 +86,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
             if (!(e instanceof Queue.ClosedQueueException)) throw ExceptionSoftener.throwSoftenedException(e);
         };
         this.async = SYNC;
+        this.waitStrategy = null;
     }
 
     public ReactiveStreamX(Operator<T> source, Type async) {
@@ -88,6 +95,20 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
             if (!(e instanceof Queue.ClosedQueueException)) throw ExceptionSoftener.throwSoftenedException(e);
         };
         this.async = async;
+        this.waitStrategy = null;
+    }
+
+    public ReactiveStreamX(Operator<T> source, Consumer<? super Throwable> defaultErrorHandler, Type async) {
+        this(source, defaultErrorHandler, async, null);
+    }
+
+    @Override
+    public ReactiveSeq<T> withWaitStrategy(WaitStrategy<?> waitStrategy) {
+        return new ReactiveStreamX<>(source, defaultErrorHandler, async, waitStrategy);
+    }
+
+    private WaitStrategy<?> idle() {
+        return waitStrategy != null ? waitStrategy : WaitStrategy.global();
     }
 
     @Override
@@ -133,15 +154,15 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
 
             return queue.stream().iterator();
         }
-        return new OperatorToIterable<>(source, this.defaultErrorHandler, async == BACKPRESSURE).iterator();
+        return new OperatorToIterable<>(source, this.defaultErrorHandler, async == BACKPRESSURE, idle()).iterator();
     }
 
     <X> ReactiveStreamX<X> createSeq(Operator<X> stream) {
-        return new ReactiveStreamX<X>(stream, defaultErrorHandler, async);
+        return new ReactiveStreamX<X>(stream, defaultErrorHandler, async, waitStrategy);
     }
 
     <X> ReactiveStreamX<X> createSeq(Operator<X> stream, Type async) {
-        return new ReactiveStreamX<X>(stream, defaultErrorHandler, async);
+        return new ReactiveStreamX<X>(stream, defaultErrorHandler, async, waitStrategy);
     }
 
 
@@ -457,7 +478,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
             return queue.stream();
 
         }
-        return StreamSupport.stream(new OperatorToIterable<>(source, this.defaultErrorHandler, async == BACKPRESSURE).spliterator(), false);
+        return StreamSupport.stream(new OperatorToIterable<>(source, this.defaultErrorHandler, async == BACKPRESSURE, idle()).spliterator(), false);
     }
 
     @Override
@@ -584,12 +605,14 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
     public long count() {
 
         AtomicBoolean complete = new AtomicBoolean(false);
+        IdleSignal signal = new IdleSignal();
         long[] result = {0};
         forEach(t -> result[0]++, e -> {
-        }, () -> complete.set(true));
-        while (!complete.get()) {
-            LockSupport.parkNanos(0l);
-        }
+        }, () -> {
+            complete.set(true);
+            signal.signal();
+        });
+        signal.await(complete::get, idle());
         return result[0];
 
 
@@ -783,6 +806,69 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
                 Function.identity(), time, t));
     }
 
+    @Override
+    public ReactiveSeq<Vector<T>> groupedBySizeAndTime(final int size, final long time, final TimeUnit t, final HashedWheelTimer timer) {
+        return createSeq(new TimedWindowOperator<>(source, () -> Vector.empty(), Function.identity(),
+                TimedWindowOperator.Mode.TUMBLING, size, time, 0, t, timer));
+    }
+
+    @Override
+    public ReactiveSeq<Vector<T>> slidingByTime(final long window, final long slide, final TimeUnit t, final HashedWheelTimer timer) {
+        return createSeq(new TimedWindowOperator<>(source, () -> Vector.empty(), Function.identity(),
+                TimedWindowOperator.Mode.SLIDING, Integer.MAX_VALUE, window, slide, t, timer));
+    }
+
+    @Override
+    public ReactiveSeq<Vector<T>> groupedBySession(final int size, final long gap, final TimeUnit t, final HashedWheelTimer timer) {
+        return createSeq(new TimedWindowOperator<>(source, () -> Vector.empty(), Function.identity(),
+                TimedWindowOperator.Mode.SESSION, size, gap, 0, t, timer));
+    }
+
+    @Override
+    public ReactiveSeq<T> xPer(final int x, final long time, final TimeUnit t) {
+        return createSeq(new DelayOperator<>(source, () -> {
+            RateLimiter limiter = RateLimiter.of(x, time, t);
+            return a -> limiter.reserve();
+        }, HashedWheelTimer.shared()));
+    }
+
+    @Override
+    public ReactiveSeq<T> xPer(final RateLimiter limiter) {
+        return createSeq(new DelayOperator<>(source, () -> a -> limiter.reserve(), HashedWheelTimer.shared()));
+    }
+
+    @Override
+    public ReactiveSeq<T> onePer(final long time, final TimeUnit t) {
+        return createSeq(new DelayOperator<>(source, () -> {
+            RateLimiter limiter = RateLimiter.of(1, time, t);
+            limiter.reserve(); //the first element also waits a full period from subscription
+            return a -> limiter.reserve();
+        }, HashedWheelTimer.shared()));
+    }
+
+    @Override
+    public ReactiveSeq<T> fixedDelay(final long l, final TimeUnit unit) {
+        final long nanos = unit.toNanos(l);
+        return createSeq(new DelayOperator<>(source, () -> a -> nanos, HashedWheelTimer.shared()));
+    }
+
+    @Override
+    public ReactiveSeq<T> jitter(final long l) {
+        return createSeq(new DelayOperator<>(source, () -> a -> (long) (l * ThreadLocalRandom.current().nextDouble()),
+                HashedWheelTimer.shared()));
+    }
+
+    @Override
+    public <R> ReactiveSeq<R> retry(final Function<? super T, ? extends R> fn, final int retries, final long delay, final TimeUnit timeUnit) {
+        return retry(fn, retries, delay, timeUnit, 0);
+    }
+
+    @Override
+    public <R> ReactiveSeq<R> retry(final Function<? super T, ? extends R> fn, final int retries, final long delay,
+                                    final TimeUnit timeUnit, final double jitter) {
+        return createSeq(new RetryOperator<>(source, fn, retries, delay, timeUnit, jitter, HashedWheelTimer.shared()));
+    }
+
     @Override
     public ReactiveSeq<T> drop(final long time, final TimeUnit unit) {
         return createSeq(new SkipWhileTimeOperator<>(source, time, unit));
@@ -1089,7 +1175,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
         } else {
             right = new SpliteratorToOperator<U>(((Stream<U>) other).spliterator());
         }
-        return createSeq(new ZippingOperator<>(source, right, zipper), async);
+        return createSeq(new ZippingOperator<>(source, right, zipper, idle()), async);
     }
 
     @Override
@@ -1227,7 +1313,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
             return result;
 
         }
-        return Streams.toBufferingCopier(() -> iterator(), num, () -> new ArrayDeque<T>(100))
+        return Streams.toBufferingCopier(() -> iterator(), num)
                 .map(ReactiveSeq::fromIterable);
     }
 
@@ -1301,7 +1387,7 @@ public class ReactiveStreamX<T> extends BaseExtendedStream<T> {
             //not replayable
             right = new SpliteratorToOperator<U>(((Stream<U>) other).spliterator());
         }
-        ReactiveStreamX<Tuple2<T, U>> res = createSeq(new ZippingOperator<>(source, right, Tuple::tuple));
+        ReactiveStreamX<Tuple2<T, U>> res = createSeq(new ZippingOperator<>(source, right, Tuple::tuple, idle()));
         if (this.async == SYNC) {
             //zip could recieve an asyncrhonous Stream so we force onto the async path
             return res.withAsync(BACKPRESSURE);
@@ -0,0 +1,386 @@
+package com.oath.cyclops.internal.stream;
+
+import com.oath.cyclops.util.ExceptionSoftener;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Wither;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A single buffer shared by a fixed number of readers replaying the same source Iterator. Elements are pulled from
+ * the source on demand by whichever reader is leading and appended to fixed size chunks, each reader keeps its own
+ * cursor into the chunk list. Every chunk counts the readers still to pass it, once the last one moves on the chunk
+ * is no longer referenced and can be collected, so a buffered element is held once no matter how many copies there
+ * are.
+ *
+ * When the elements held for lagging readers exceed the configured bound, the oldest chunks are serialized to a
+ * memory mapped temporary file and read back when a lagging reader reaches them. Spilling requires Serializable
+ * elements, if an element can not be written the buffer stays in memory.
+ *
+ * Readers may be used from different threads, all access to the buffer is synchronized.
+ *
+ * @param <T> Element type
+ */
+public final class ReplayBuffer<T> {
+
+    /**
+     * Settings for a ReplayBuffer. The defaults can be set with the system properties cyclops.replay.chunkSize,
+     * cyclops.replay.maxInMemory and cyclops.replay.spillDirectory.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    @Getter
+    @Wither
+    public static final class Config {
+        private static final Config DEFAULT = new Config(Integer.getInteger("cyclops.replay.chunkSize", 256),
+                                                         Long.getLong("cyclops.replay.maxInMemory", Long.MAX_VALUE),
+                                                         spillDirectory(System.getProperty("cyclops.replay.spillDirectory")));
+
+        /**
+         * Number of elements per chunk
+         */
+        private final int chunkSize;
+        /**
+         * Number of buffered elements kept on heap before the oldest chunks are spilled to disk, Long.MAX_VALUE never
+         * spills
+         */
+        private final long maxInMemory;
+        /**
+         * Directory for the spill file, null for the default temporary-file directory
+         */
+        private final File spillDirectory;
+
+        private static File spillDirectory(String dir) {
+            return dir == null ? null : new File(dir);
+        }
+
+        /**
+         * @return Configuration taken from the cyclops.replay system properties, in memory and unbounded if none are set
+         */
+        public static Config defaultConfig() {
+            return DEFAULT;
+        }
+
+        /**
+         * @return Configuration that never spills to disk
+         */
+        public static Config inMemory() {
+            return DEFAULT.withMaxInMemory(Long.MAX_VALUE);
+        }
+
+        /**
+         * @param maxInMemory Number of buffered elements to keep on heap
+         * @return Configuration that spills the oldest buffered elements to a temporary file beyond maxInMemory
+         */
+        public static Config spillAfter(long maxInMemory) {
+            return DEFAULT.withMaxInMemory(maxInMemory);
+        }
+
+        boolean spills() {
+            return maxInMemory != Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Chunk {
+        Object[] items;
+        int count;
+        int refs;
+        Chunk next;
+        ByteBuffer spilled;
+
+        Chunk(int size, int refs) {
+            this.items = new Object[size];
+            this.refs = refs;
+        }
+    }
+
+    private final Iterator<? extends T> source;
+    private final Config config;
+    private final int readers;
+
+    private Chunk first;
+    private Chunk tail;
+    private Chunk spillFrom;
+    private int created;
+    private int finished;
+    private long inMemory;
+    private boolean exhausted;
+    private Spill spill;
+    private boolean spillFailed;
+    private long spilledChunks;
+
+    public ReplayBuffer(Iterator<? extends T> source, int readers, Config config) {
+        if (readers < 1)
+            throw new IllegalArgumentException("A ReplayBuffer needs at least one reader, was " + readers);
+        if (config.getChunkSize() < 1)
+            throw new IllegalArgumentException("Chunk size must be positive, was " + config.getChunkSize());
+        this.source = source;
+        this.readers = readers;
+        this.config = config;
+        this.first = new Chunk(config.getChunkSize(), readers);
+        this.tail = first;
+        this.spillFrom = config.spills() ? first : null;
+    }
+
+    public ReplayBuffer(Iterator<? extends T> source, int readers) {
+        this(source, readers, Config.defaultConfig());
+    }
+
+    /**
+     * Copies of an Iterable that share a ReplayBuffer. Copies iterated for the first time read from the same pass over
+     * the source, iterating a copy again starts a new pass that the remaining copies join when they are next iterated.
+     *
+     * @param source Iterable to copy
+     * @param copies Number of copies
+     * @param config Buffer settings
+     * @return copies Iterables
+     */
+    public static <T> List<Iterable<T>> copies(Iterable<? extends T> source, int copies, Config config) {
+        Passes<T> passes = new Passes<>(source, copies, config);
+        List<Iterable<T>> result = new ArrayList<>(copies);
+        for (int i = 0; i < copies; i++) {
+            int index = i;
+            result.add(() -> passes.iterator(index));
+        }
+        return result;
+    }
+
+    private static final class Passes<T> {
+        private final Iterable<? extends T> source;
+        private final Config config;
+        private final boolean[] started;
+        private ReplayBuffer<T> current;
+
+        Passes(Iterable<? extends T> source, int copies, Config config) {
+            this.source = source;
+            this.config = config;
+            this.started = new boolean[copies];
+        }
+
+        synchronized Iterator<T> iterator(int index) {
+            if (current == null || started[index]) {
+                current = new ReplayBuffer<>(source.iterator(), started.length, config);
+                Arrays.fill(started, false);
+            }
+            started[index] = true;
+            return current.reader();
+        }
+    }
+
+    /**
+     * Each reader starts at the first element of the source, at most readers Iterators can be created.
+     *
+     * @return A new reader
+     */
+    public synchronized Iterator<T> reader() {
+        if (created == readers)
+            throw new IllegalStateException("All " + readers + " readers of this ReplayBuffer have been created");
+        Reader reader = new Reader(first);
+        if (++created == readers)
+            first = null;
+        return reader;
+    }
+
+    /**
+     * @return Number of buffered elements currently held on heap
+     */
+    public synchronized long inMemory() {
+        return inMemory;
+    }
+
+    /**
+     * @return Number of chunks written to the spill file
+     */
+    public synchronized long spilledChunks() {
+        return spilledChunks;
+    }
+
+    private boolean pull() {
+        if (exhausted)
+            return false;
+        if (!source.hasNext()) {
+            exhausted = true;
+            return false;
+        }
+        T next = source.next();
+        if (tail.count == tail.items.length) {
+            Chunk chunk = new Chunk(config.getChunkSize(), readers);
+            tail.next = chunk;
+            tail = chunk;
+        }
+        tail.items[tail.count++] = next;
+        inMemory++;
+        if (inMemory > config.getMaxInMemory() && config.spills() && !spillFailed)
+            spillOldest();
+        return true;
+    }
+
+    private void release(Chunk chunk) {
+        if (--chunk.refs > 0)
+            return;
+        if (chunk.items != null)
+            inMemory -= chunk.count;
+        if (chunk == spillFrom)
+            spillFrom = chunk.next;
+    }
+
+    private void finish(Chunk chunk) {
+        release(chunk);
+        if (++finished == readers && spill != null) {
+            spill.close();
+            spill = null;
+        }
+    }
+
+    private void spillOldest() {
+        while (inMemory > config.getMaxInMemory() && spillFrom != null && spillFrom != tail) {
+            Chunk chunk = spillFrom;
+            spillFrom = chunk.next;
+            if (chunk.refs == 0 || chunk.items == null)
+                continue;
+            try {
+                if (spill == null)
+                    spill = new Spill(config.getSpillDirectory());
+                chunk.spilled = spill.write(chunk.items, chunk.count);
+            } catch (IOException e) {
+                spillFailed = true;
+                return;
+            }
+            chunk.items = null;
+            inMemory -= chunk.count;
+            spilledChunks++;
+        }
+    }
+
+    private Object[] items(Chunk chunk) {
+        Object[] items = chunk.items;
+        if (items != null)
+            return items;
+        try {
+            return Spill.read(chunk.spilled);
+        } catch (IOException | ClassNotFoundException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private final class Reader implements Iterator<T> {
+        private Chunk chunk;
+        private Object[] items;
+        private int pos;
+        private boolean done;
+
+        Reader(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public boolean hasNext() {
+            synchronized (ReplayBuffer.this) {
+                while (!done) {
+                    if (pos < chunk.count) {
+                        if (items == null)
+                            items = items(chunk);
+                        return true;
+                    }
+                    if (chunk.next != null) {
+                        Chunk next = chunk.next;
+                        release(chunk);
+                        chunk = next;
+                        items = null;
+                        pos = 0;
+                    } else if (!pull()) {
+                        done = true;
+                        finish(chunk);
+                        chunk = null;
+                        items = null;
+                    }
+                }
+                return false;
+            }
+        }
+
+        @Override
+        public T next() {
+            synchronized (ReplayBuffer.this) {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return (T) items[pos++];
+            }
+        }
+    }
+
+    /**
+     * Append only store of serialized chunks. The temporary file is mapped in segments and unlinked as soon as it is
+     * created, chunks keep a slice of their segment so a segment is unmapped once no chunk in it is referenced.
+     */
+    private static final class Spill {
+        private static final int SEGMENT_SIZE = 1 << 24;
+
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private MappedByteBuffer segment;
+        private long mapped;
+
+        Spill(File directory) throws IOException {
+            File temp = File.createTempFile("cyclops-replay", ".spill", directory);
+            file = new RandomAccessFile(temp, "rw");
+            channel = file.getChannel();
+            if (!temp.delete())
+                temp.deleteOnExit();
+        }
+
+        ByteBuffer write(Object[] items, int count) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeInt(count);
+                for (int i = 0; i < count; i++)
+                    out.writeObject(items[i]);
+            }
+            byte[] data = bytes.toByteArray();
+            if (segment == null || segment.remaining() < data.length) {
+                int size = Math.max(SEGMENT_SIZE, data.length);
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, mapped, size);
+                mapped += size;
+            }
+            ByteBuffer slice = segment.slice();
+            slice.limit(data.length);
+            segment.put(data);
+            return slice.asReadOnlyBuffer();
+        }
+
+        static Object[] read(ByteBuffer spilled) throws IOException, ClassNotFoundException {
+            ByteBuffer buffer = spilled.duplicate();
+            byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                Object[] items = new Object[in.readInt()];
+                for (int i = 0; i < items.length; i++)
+                    items[i] = in.readObject();
+                return items;
+            }
+        }
+
+        void close() {
+            try {
+                file.close();
+            } catch (IOException e) {
+                //the file has already been unlinked, nothing left to clean up
+            }
+        }
+    }
+}
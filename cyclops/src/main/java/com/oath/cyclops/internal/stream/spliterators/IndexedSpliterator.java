@@ -0,0 +1,65 @@
+package com.oath.cyclops.internal.stream.spliterators;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Sized spliterator over a range of positions in an indexed persistent collection, for
+ * structures where no sub-tree holds a contiguous range of positions (e.g. IntMap, whose
+ * trie is keyed on the low bits of the index first). Each element is looked up by position
+ * and split points are aligned to multiples of the supplied block size.
+ */
+public class IndexedSpliterator<T> implements Spliterator<T> {
+
+    private final IntFunction<? extends T> elementAt;
+    private final int blockSize;
+    private int index;
+    private final int fence;
+
+    public IndexedSpliterator(IntFunction<? extends T> elementAt, int index, int fence, int blockSize) {
+        this.elementAt = elementAt;
+        this.index = index;
+        this.fence = fence;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index < fence) {
+            action.accept(elementAt.apply(index++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (; index < fence; index++) {
+            action.accept(elementAt.apply(index));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = index + (((fence - index) >>> 1) / blockSize) * blockSize;
+        if (mid <= index)
+            return null;
+        IndexedSpliterator<T> prefix = new IndexedSpliterator<>(elementAt, index, mid, blockSize);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+}
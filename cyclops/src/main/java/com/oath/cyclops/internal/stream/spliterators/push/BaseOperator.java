@@ -1,9 +1,8 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
+import com.oath.cyclops.async.wait.WaitStrategy;
 import lombok.AllArgsConstructor;
 
-import java.util.concurrent.locks.LockSupport;
-
 /**
  * Created by johnmcclean on 12/01/2017.
  */
@@ -13,9 +12,8 @@ public  abstract class BaseOperator<T,R> implements Operator<R> {
 
 
     protected void request(StreamSubscription[] upstream ,long req){
-        while(upstream[0]==null){
-            LockSupport.parkNanos(10l);
-        }
+        if(upstream[0]==null)
+            WaitStrategy.global().await(()->upstream[0]!=null);
         upstream[0].request(req);
     }
 
@@ -0,0 +1,41 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Delays the emission of each element by a per element number of nanoseconds, the wait is scheduled on a
+ * HashedWheelTimer rather than blocking the emitting thread. Delays are applied sequentially (as with a blocking
+ * sleep) and order is preserved.
+ *
+ * Used for fixedDelay, jitter and (via a RateLimiter) xPer / onePer
+ */
+public class DelayOperator<T> extends ScheduledEmissionOperator<T,T> {
+
+    private final Supplier<? extends ToLongFunction<? super T>> delayFactory;
+
+    /**
+     * @param source Upstream Operator
+     * @param delayFactory Supplies (per subscription) a function that calculates the delay in nanoseconds for an element
+     * @param timer Timer to schedule delayed emissions on
+     */
+    public DelayOperator(Operator<T> source, Supplier<? extends ToLongFunction<? super T>> delayFactory,
+                         HashedWheelTimer timer){
+        super(source, timer);
+        this.delayFactory = delayFactory;
+    }
+
+    @Override
+    protected Processor<T,T> processor() {
+        ToLongFunction<? super T> delay = delayFactory.get();
+        return (e, emission) -> {
+            long nanos = delay.applyAsLong(e);
+            if (nanos <= 0)
+                emission.emit(e);
+            else
+                emission.schedule(() -> emission.emit(e), nanos);
+        };
+    }
+}
@@ -1,12 +1,14 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
+import com.oath.cyclops.async.wait.IdleSignal;
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.internal.stream.publisher.PublisherIterable;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
@@ -17,17 +19,24 @@ public class OperatorToIterable<T,R>  implements Iterable<T> {
     Operator<T> source;
     final Consumer<? super Throwable> defaultErrorHandler;
     final boolean async;
+    final WaitStrategy<?> idle;
 
     public OperatorToIterable(Operator<T> source, Consumer<? super Throwable> defaultErrorHandler){
        this.source= source;
        this.defaultErrorHandler = defaultErrorHandler;
        async=false;
+       idle = WaitStrategy.global();
 
     }
     public OperatorToIterable(Operator<T> source, Consumer<? super Throwable> defaultErrorHandler,boolean async){
+        this(source,defaultErrorHandler,async,WaitStrategy.global());
+
+    }
+    public OperatorToIterable(Operator<T> source, Consumer<? super Throwable> defaultErrorHandler,boolean async,WaitStrategy<?> idle){
         this.source= source;
         this.defaultErrorHandler = defaultErrorHandler;
         this.async = async;
+        this.idle = idle;
 
     }
 
@@ -41,17 +50,22 @@ public class OperatorToIterable<T,R>  implements Iterable<T> {
             final AtomicBoolean done = new AtomicBoolean(false);
             volatile boolean requested = false;
             volatile  boolean awaiting = false;
+            final IdleSignal signal = new IdleSignal();
             StreamSubscription sub = source.subscribe(e ->{
                 value.set(e);
                 awaiting = false;
+                signal.signal();
             } , e -> {
                 error.set(e);
                 awaiting = false;
+                signal.signal();
             }, () -> {
 
                 done.set(true);
                 awaiting = false;
+                signal.signal();
             });
+            final BooleanSupplier arrived = ()->!awaiting || done.get();
 
             public void forEachRemaining(Consumer<? super T> action) {
                 Iterator.super.forEachRemaining(action);
@@ -75,10 +89,7 @@ public class OperatorToIterable<T,R>  implements Iterable<T> {
                     awaiting = true;
                     sub.request(1l);
                     requested = true;
-                    while(awaiting && !done.get()){
-
-                        LockSupport.parkNanos(0l);
-                    }
+                    signal.await(arrived,idle);
 
                 }
                 return (!done.get() || value.get()!=UNSET || error.get()!=UNSET) ;
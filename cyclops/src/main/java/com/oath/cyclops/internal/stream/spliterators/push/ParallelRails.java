@@ -0,0 +1,575 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.internal.stream.FullQueueException;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fans a Publisher out across a fixed number of rails and merges the rails back into a single Publisher.
+ *
+ * A single (serialized) dispatch loop moves elements from the upstream Publisher into each rail's bounded single
+ * producer / single consumer queue, either round robin (skipping rails that are full) or by the hash of a key. Each rail
+ * is drained on the Executor by its own task, that applies the fused per rail function and writes the results to the
+ * rail's bounded output queue. A (serialized) merge loop moves results from the rail output queues to the downstream
+ * Subscriber as it requests them.
+ *
+ * Upstream demand is only signalled as space is freed in the rails, and rails only run while their output queue has
+ * space, so memory use is bounded by the rail count and queue capacity (other than for per rail sorting, that buffers
+ * each rail).
+ *
+ * @param <T> Merged output type
+ */
+public final class ParallelRails<T> implements Publisher<T> {
+
+    /**
+     * Returned by a fused rail function for elements that have been filtered out, also used as the accumulator of a
+     * rail reduction that has not seen any elements
+     */
+    public static final Object NONE = new Object();
+    private static final Object NULL = new Object();
+
+    public enum Merge {
+        /**
+         * Emit results as soon as any rail has them
+         */
+        UNORDERED,
+        /**
+         * Emit results in the order the source elements were emitted in
+         */
+        ORDERED,
+        /**
+         * Sort each rail and emit the smallest head of all rails (a k-way merge)
+         */
+        SORTED
+    }
+
+    private final Publisher<?> source;
+    private final int railCount;
+    private final int capacity;
+    private final Executor ex;
+    private final Function<Object, ?> key;
+    private final Function<Object, Object> fn;
+    private final Merge merge;
+    private final Comparator<Object> comparator;
+    private final Supplier<Object> seed;
+    private final BiFunction<Object, Object, Object> reducer;
+
+    /**
+     * @param source Publisher to fan out
+     * @param railCount Number of rails
+     * @param capacity Capacity of each rail's input and output queues
+     * @param ex Executor to drain rails on
+     * @param key Key to hash elements onto rails by, or null to dispatch round robin
+     * @param fn Fused per rail function (returns {@link #NONE} for filtered elements), or null for identity
+     * @param merge How to merge rails back together
+     * @param comparator Comparator to sort each rail with, for {@link Merge#SORTED}
+     * @param seed Per rail reduction seed, or null to not reduce rails
+     * @param reducer Per rail reduction
+     */
+    public ParallelRails(Publisher<?> source, int railCount, int capacity, Executor ex, Function<Object, ?> key,
+                         Function<Object, Object> fn, Merge merge, Comparator<Object> comparator,
+                         Supplier<Object> seed, BiFunction<Object, Object, Object> reducer) {
+        this.source = source;
+        this.railCount = railCount;
+        this.capacity = capacity;
+        this.ex = ex;
+        this.key = key;
+        this.fn = fn;
+        this.merge = merge;
+        this.comparator = comparator;
+        this.seed = seed;
+        this.reducer = reducer;
+    }
+
+    public static Function<Object, Object> andThen(Function<Object, Object> fn, Function<Object, Object> next) {
+        if (fn == null)
+            return next;
+        return v -> {
+            Object r = fn.apply(v);
+            return r == NONE ? NONE : next.apply(r);
+        };
+    }
+
+    private static Object encode(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Object decode(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> s) {
+        Coordinator coordinator = new Coordinator(s);
+        s.onSubscribe(coordinator);
+        source.subscribe(coordinator);
+    }
+
+    private static final class Indexed {
+        final long index;
+        Object value;
+
+        Indexed(long index, Object value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    private final class Coordinator implements Subscriber<Object>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final Rail[] rails;
+        private final OneToOneConcurrentArrayQueue<Object> inbox;
+        private final int limit;
+        private final boolean ordered = merge == Merge.ORDERED;
+
+        private volatile Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile boolean cancelled;
+        private final AtomicReference<Throwable> error = new AtomicReference<>(null);
+
+        private final AtomicInteger dispatchWip = new AtomicInteger(0);
+        private int consumed;
+        private int dispatchCursor;
+        private boolean railsClosed;
+        private long nextIndex;
+
+        private final AtomicInteger mergeWip = new AtomicInteger(0);
+        private final AtomicLong requested = new AtomicLong(0);
+        private int mergeCursor;
+        private long expected;
+        private boolean terminated;
+
+        Coordinator(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+            this.inbox = new OneToOneConcurrentArrayQueue<>(capacity);
+            this.limit = Math.max(1, capacity >> 1);
+            this.rails = newRails();
+        }
+
+        private Rail[] newRails() {
+            Rail[] result = (Rail[]) new ParallelRails.Coordinator.Rail[railCount];
+            for (int i = 0; i < railCount; i++)
+                result[i] = new Rail();
+            return result;
+        }
+
+        //upstream
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            if (cancelled)
+                s.cancel();
+            else
+                s.request(capacity);
+        }
+
+        @Override
+        public void onNext(Object t) {
+            Object value = encode(t);
+            if (ordered)
+                value = new Indexed(nextIndex++, value);
+            if (!inbox.offer(value)) {
+                upstream.cancel();
+                onError(new FullQueueException());
+                return;
+            }
+            dispatch();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                cancelUpstream();
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            dispatch();
+        }
+
+        private void cancelUpstream() {
+            Subscription s = upstream;
+            if (s != null)
+                s.cancel();
+        }
+
+        /*
+         * Moves elements from the inbox onto the rails, only one thread runs this loop at a time
+         */
+        private void dispatch() {
+            if (dispatchWip.getAndIncrement() != 0)
+                return;
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled || error.get() != null) {
+                        inbox.clear();
+                        return;
+                    }
+                    Object next = inbox.peek();
+                    if (next == null) {
+                        if (upstreamDone && inbox.isEmpty() && !railsClosed) {
+                            railsClosed = true;
+                            for (Rail rail : rails) {
+                                rail.inputDone = true;
+                                rail.schedule();
+                            }
+                        }
+                        break;
+                    }
+                    Rail target;
+                    try {
+                        target = offer(next);
+                    } catch (Throwable t) {
+                        onError(t);
+                        return;
+                    }
+                    if (target == null)
+                        break;
+                    inbox.poll();
+                    target.schedule();
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                }
+                missed = dispatchWip.addAndGet(-missed);
+                if (missed == 0)
+                    return;
+            }
+        }
+
+        private Rail offer(Object next) {
+            if (key != null) {
+                Object value = decode(ordered ? ((Indexed) next).value : next);
+                int h = Objects.hashCode(key.apply(value));
+                Rail rail = rails[Math.floorMod(h ^ (h >>> 16), railCount)];
+                return rail.input.offer(next) ? rail : null;
+            }
+            for (int i = 0; i < railCount; i++) {
+                Rail rail = rails[dispatchCursor];
+                if (++dispatchCursor == railCount)
+                    dispatchCursor = 0;
+                if (rail.input.offer(next))
+                    return rail;
+            }
+            return null;
+        }
+
+        //downstream
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onError(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                long next = current + n;
+                if (requested.compareAndSet(current, next < 0 ? Long.MAX_VALUE : next))
+                    break;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelUpstream();
+        }
+
+        /*
+         * Moves results from the rails to the downstream Subscriber, only one thread runs this loop at a time
+         */
+        private void drain() {
+            if (mergeWip.getAndIncrement() != 0)
+                return;
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0;
+                for (;;) {
+                    if (terminated || cancelled)
+                        return;
+                    Throwable t = error.get();
+                    if (t != null) {
+                        terminate();
+                        downstream.onError(t);
+                        return;
+                    }
+                    Object next = e == r ? (ordered ? skipFiltered() : null) : poll();
+                    if (next == null) {
+                        if (isComplete()) {
+                            terminate();
+                            downstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext((T) decode(next));
+                    e++;
+                }
+                if (e != 0 && r != Long.MAX_VALUE)
+                    requested.addAndGet(-e);
+                missed = mergeWip.addAndGet(-missed);
+                if (missed == 0)
+                    return;
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            cancelled = true;
+            cancelUpstream();
+        }
+
+        private boolean isComplete() {
+            for (Rail rail : rails) {
+                if (!rail.completed || !rail.output.isEmpty())
+                    return false;
+            }
+            return true;
+        }
+
+        private Object poll() {
+            switch (merge) {
+                case ORDERED:
+                    return pollOrdered(true);
+                case SORTED:
+                    return pollSorted();
+                default:
+                    return pollUnordered();
+            }
+        }
+
+        private Object skipFiltered() {
+            pollOrdered(false);
+            return null;
+        }
+
+        private Object pollUnordered() {
+            for (int i = 0; i < railCount; i++) {
+                Rail rail = rails[mergeCursor];
+                if (++mergeCursor == railCount)
+                    mergeCursor = 0;
+                Object next = rail.output.poll();
+                if (next != null) {
+                    rail.freed();
+                    return next;
+                }
+            }
+            return null;
+        }
+
+        /*
+         * Each rail processes its elements in source order, so the next expected index is at the head of one of the
+         * rail output queues once it has been processed
+         */
+        private Object pollOrdered(boolean emit) {
+            for (;;) {
+                Rail found = null;
+                for (Rail rail : rails) {
+                    Object head = rail.output.peek();
+                    if (head != null && ((Indexed) head).index == expected) {
+                        found = rail;
+                        break;
+                    }
+                }
+                if (found == null)
+                    return null;
+                Indexed head = (Indexed) found.output.peek();
+                if (head.value != NONE && !emit)
+                    return null;
+                found.output.poll();
+                found.freed();
+                expected++;
+                if (head.value != NONE)
+                    return head.value;
+            }
+        }
+
+        private Object pollSorted() {
+            Rail min = null;
+            Object minValue = null;
+            for (Rail rail : rails) {
+                boolean done = rail.completed;
+                Object head = rail.output.peek();
+                if (head == null) {
+                    if (done)
+                        continue;
+                    return null;
+                }
+                if (min == null || comparator.compare(decode(head), decode(minValue)) < 0) {
+                    min = rail;
+                    minValue = head;
+                }
+            }
+            if (min == null)
+                return null;
+            min.output.poll();
+            min.freed();
+            return minValue;
+        }
+
+        private final class Rail implements Runnable {
+            private final OneToOneConcurrentArrayQueue<Object> input = new OneToOneConcurrentArrayQueue<>(capacity);
+            private final OneToOneConcurrentArrayQueue<Object> output = new OneToOneConcurrentArrayQueue<>(capacity);
+            private final AtomicInteger wip = new AtomicInteger(0);
+            private final AtomicBoolean blocked = new AtomicBoolean(false);
+            private final ArrayDeque<Object> pending = new ArrayDeque<>();
+            private final List<Object> buffer = merge == Merge.SORTED ? new ArrayList<>() : null;
+            private final int batch = Math.max(1, capacity >> 2);
+            volatile boolean inputDone;
+            volatile boolean completed;
+            private Object acc = seed == null ? null : seed.get();
+            private boolean finished;
+            private int produced;
+
+            void schedule() {
+                if (wip.getAndIncrement() == 0) {
+                    try {
+                        ex.execute(this);
+                    } catch (Throwable t) {
+                        onError(t);
+                    }
+                }
+            }
+
+            /*
+             * Called by the merge loop after taking from the output queue, the RMW pairs with the one in flush so that
+             * either the rail sees the freed space or the merge loop sees the rail is blocked
+             */
+            void freed() {
+                if (blocked.getAndSet(false))
+                    schedule();
+            }
+
+            @Override
+            public void run() {
+                int missed = 1;
+                for (;;) {
+                    int taken = 0;
+                    for (;;) {
+                        if (cancelled)
+                            return;
+                        if (!flush())
+                            break;
+                        if (finished) {
+                            if (!completed) {
+                                completed = true;
+                                produced++;
+                            }
+                            break;
+                        }
+                        Object next = input.poll();
+                        if (next == null) {
+                            if (inputDone && input.isEmpty()) {
+                                finish();
+                                continue;
+                            }
+                            break;
+                        }
+                        try {
+                            process(next);
+                        } catch (Throwable t) {
+                            onError(t);
+                            return;
+                        }
+                        if (++taken == batch) {
+                            taken = 0;
+                            dispatch();
+                        }
+                        if (produced >= batch) {
+                            produced = 0;
+                            drain();
+                        }
+                    }
+                    if (taken != 0)
+                        dispatch();
+                    if (produced != 0) {
+                        produced = 0;
+                        drain();
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0)
+                        return;
+                }
+            }
+
+            /*
+             * @return true if all pending results have been moved to the output queue, false if it is full
+             */
+            private boolean flush() {
+                Object next;
+                while ((next = pending.peek()) != null) {
+                    if (!output.offer(next)) {
+                        blocked.getAndSet(true);
+                        if (!output.offer(next))
+                            return false;
+                    }
+                    pending.poll();
+                    produced++;
+                }
+                return true;
+            }
+
+            private void emit(Object result) {
+                if (pending.isEmpty() && output.offer(result))
+                    produced++;
+                else
+                    pending.add(result);
+            }
+
+            private void process(Object next) {
+                Indexed indexed = ordered ? (Indexed) next : null;
+                Object value = decode(ordered ? indexed.value : next);
+                Object result = fn == null ? value : fn.apply(value);
+                if (buffer != null) {
+                    if (result != NONE)
+                        buffer.add(result);
+                } else if (seed != null) {
+                    if (result != NONE)
+                        acc = reducer.apply(acc, result);
+                } else if (ordered) {
+                    indexed.value = result == NONE ? NONE : encode(result);
+                    emit(indexed);
+                } else if (result != NONE) {
+                    emit(encode(result));
+                }
+            }
+
+            private void finish() {
+                finished = true;
+                if (buffer != null) {
+                    buffer.sort(comparator);
+                    for (Object next : buffer)
+                        pending.add(encode(next));
+                    buffer.clear();
+                }
+                if (seed != null && acc != NONE)
+                    pending.add(encode(acc));
+            }
+        }
+    }
+}
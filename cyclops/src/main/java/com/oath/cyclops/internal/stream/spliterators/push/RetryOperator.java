@@ -0,0 +1,70 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Applies a transformation to each element, retrying failed applications with an exponential (doubling) backoff.
+ * Backoff periods are scheduled on a HashedWheelTimer rather than blocking the emitting thread, and may be randomised by
+ * up to +/- jitter (as a fraction of the period) so that failing elements from many Streams do not retry in lockstep.
+ *
+ * Elements are processed one at a time, so order is preserved. Once all retries are exhausted the last error is passed
+ * downstream and processing continues with the next element.
+ */
+public class RetryOperator<T,R> extends ScheduledEmissionOperator<T,R> {
+
+    private static final long MAX_BACKOFF = TimeUnit.DAYS.toNanos(1);
+
+    private final Function<? super T, ? extends R> fn;
+    private final int retries;
+    private final long delayNanos;
+    private final double jitter;
+
+    public RetryOperator(Operator<T> source, Function<? super T, ? extends R> fn, int retries, long delay,
+                         TimeUnit unit, double jitter, HashedWheelTimer timer){
+        super(source, timer);
+        if(retries<0)
+            throw new IllegalArgumentException("Retries must not be negative " + retries);
+        if(jitter<0 || jitter>1)
+            throw new IllegalArgumentException("Jitter must be between 0 and 1 " + jitter);
+        this.fn = fn;
+        this.retries = retries;
+        this.delayNanos = unit.toNanos(delay);
+        this.jitter = jitter;
+    }
+
+    @Override
+    protected Processor<T,R> processor() {
+        return (e, emission) -> attempt(e, 0, emission);
+    }
+
+    private void attempt(T e, int attempt, Emission<R> emission) {
+        R result;
+        try {
+            result = fn.apply(e);
+        } catch (Throwable t) {
+            if (attempt < retries)
+                emission.schedule(() -> attempt(e, attempt + 1, emission), backoff(attempt));
+            else
+                emission.error(t);
+            return;
+        }
+        emission.emit(result);
+    }
+
+    /**
+     * @param attempt Zero based index of the failed attempt
+     * @return Doubling backoff in nanoseconds (randomised by jitter), capped at a day so that it can not overflow
+     */
+    long backoff(int attempt) {
+        long period = attempt >= Long.numberOfLeadingZeros(Math.max(1, delayNanos)) - 1 ? MAX_BACKOFF
+                                                                                      : Math.min(MAX_BACKOFF, delayNanos << attempt);
+        if (jitter == 0)
+            return period;
+        double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return (long) (period * factor);
+    }
+}
@@ -0,0 +1,250 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Base class for operators that may defer the emission of each element, waiting on a HashedWheelTimer rather than
+ * blocking the emitting thread. Elements are processed one at a time and in order : the next element is not processed
+ * until the Processor has emitted (or errored) the current one, and elements are only requested from upstream
+ * one at a time. Elements pushed by sources that do not respect backpressure are queued.
+ */
+public abstract class ScheduledEmissionOperator<T,R> extends BaseOperator<T,R> {
+
+    protected final HashedWheelTimer timer;
+
+    public ScheduledEmissionOperator(Operator<T> source, HashedWheelTimer timer){
+        super(source);
+        this.timer = timer;
+    }
+
+    /**
+     * @return Processor for a new subscription
+     */
+    protected abstract Processor<T,R> processor();
+
+    protected interface Processor<T,R> {
+        /**
+         * Process an element, eventually calling exactly one of emission.emit or emission.error
+         */
+        void process(T element, Emission<R> emission);
+    }
+
+    protected interface Emission<R> {
+        void emit(R value);
+
+        void error(Throwable t);
+
+        /**
+         * Run the task (unless the subscription has been cancelled) once the delay has elapsed
+         */
+        void schedule(Runnable task, long nanos);
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        StreamSubscription[] upstream = {null};
+        Sequence sequence = new Sequence(processor(), onNext, onError, onComplete, upstream);
+        StreamSubscription sub = new StreamSubscription(){
+            @Override
+            public void request(long n) {
+                if(n<=0) {
+                    onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                    return;
+                }
+                if(!isOpen)
+                    return;
+                super.request(n);
+                sequence.drain();
+            }
+
+            @Override
+            public void cancel() {
+                sequence.cancel();
+                if(upstream[0]!=null)
+                    upstream[0].cancel();
+                super.cancel();
+            }
+        };
+        sequence.sub = sub;
+        upstream[0] = source.subscribe(sequence::onNext, sequence::onError, sequence::onComplete);
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        subscribe(onNext, onError, onCompleteDs).request(Long.MAX_VALUE);
+    }
+
+    private static final Object NULL = new Object();
+
+    private static final class Failure {
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /*
+     * Queue state is guarded by the Sequence's monitor, as upstream, the timer and downstream requests may signal
+     * concurrently. The drain loop is guarded by wip, so that signals are never delivered downstream concurrently and
+     * re-entrant calls (e.g. from a synchronous upstream) do not grow the stack.
+     */
+    private final class Sequence implements Emission<R> {
+        private final Processor<T,R> processor;
+        private final Consumer<? super R> onNext;
+        private final Consumer<? super Throwable> onError;
+        private final Runnable onComplete;
+        private final StreamSubscription[] upstream;
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        private final AtomicInteger wip = new AtomicInteger(0);
+        private StreamSubscription sub;
+        private HashedWheelTimer.Timeout timeout;
+        private boolean awaiting; //requested from upstream
+        private boolean busy; //being processed
+        private boolean completed;
+        private boolean done;
+
+        Sequence(Processor<T,R> processor, Consumer<? super R> onNext, Consumer<? super Throwable> onError,
+                 Runnable onComplete, StreamSubscription[] upstream) {
+            this.processor = processor;
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+            this.upstream = upstream;
+        }
+
+        void onNext(T e) {
+            synchronized (this) {
+                if (done)
+                    return;
+                awaiting = false;
+                queue.add(e == null ? NULL : e);
+            }
+            drain();
+        }
+
+        void onError(Throwable t) {
+            synchronized (this) {
+                if (done)
+                    return;
+                awaiting = false;
+                queue.add(new Failure(t));
+            }
+            drain();
+        }
+
+        void onComplete() {
+            synchronized (this) {
+                awaiting = false;
+                completed = true;
+            }
+            drain();
+        }
+
+        synchronized void cancel() {
+            done = true;
+            queue.clear();
+            if (timeout != null)
+                timeout.cancel();
+        }
+
+        @Override
+        public void emit(R value) {
+            synchronized (this) {
+                if (done)
+                    return;
+                timeout = null;
+                sub.requested.decrementAndGet();
+            }
+            try {
+                onNext.accept(value);
+            } catch (Throwable t) {
+                onError.accept(t);
+            }
+            processed();
+        }
+
+        @Override
+        public void error(Throwable t) {
+            synchronized (this) {
+                if (done)
+                    return;
+                timeout = null;
+                sub.requested.decrementAndGet();
+            }
+            onError.accept(t);
+            processed();
+        }
+
+        @Override
+        public synchronized void schedule(Runnable task, long nanos) {
+            if (!done)
+                timeout = timer.schedule(task, nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void processed() {
+            synchronized (this) {
+                busy = false;
+            }
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    Object next = null;
+                    boolean complete = false;
+                    synchronized (this) {
+                        if (done)
+                            return;
+                        if (busy)
+                            break;
+                        if (!queue.isEmpty()) {
+                            if (!sub.isActive())
+                                break;
+                            next = queue.poll();
+                            busy = true;
+                        } else if (completed) {
+                            done = true;
+                            complete = true;
+                        } else if (!awaiting && sub.isActive()) {
+                            awaiting = true;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (complete) {
+                        onComplete.run();
+                        return;
+                    }
+                    if (next == null)
+                        request(upstream, 1);
+                    else if (next instanceof Failure)
+                        error(((Failure) next).error);
+                    else
+                        process(next == NULL ? null : (T) next);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0)
+                    return;
+            }
+        }
+
+        private void process(T next) {
+            try {
+                processor.process(next, this);
+            } catch (Throwable t) {
+                error(t);
+            }
+        }
+    }
+}
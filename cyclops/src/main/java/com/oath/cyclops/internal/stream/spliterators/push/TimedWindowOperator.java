@@ -0,0 +1,317 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.types.persistent.PersistentCollection;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Time based windowing driven by a HashedWheelTimer, so that a window is flushed when its deadline passes even if
+ * no further elements arrive. Each open window holds (at most) one timer slot.
+ *
+ * TUMBLING windows open on their first element and close after the window duration or once maxSize elements are held.
+ * SLIDING windows emit the elements received during the last window duration, once per slide period.
+ * SESSION windows close once no element has arrived for the window duration (the gap), or maxSize elements are held.
+ *
+ * Windows are only emitted when downstream has outstanding demand, a window that closes without demand is held (and
+ * upstream is no longer requested from) until demand arrives.
+ */
+public class TimedWindowOperator<T,C extends PersistentCollection<? super T>,R> extends BaseOperator<T,R> {
+
+    public enum Mode { TUMBLING, SLIDING, SESSION }
+
+    private final Supplier<? extends C> factory;
+    private final Function<? super C, ? extends R> finalizer;
+    private final Mode mode;
+    private final int maxSize;
+    private final long windowNanos;
+    private final long slideNanos;
+    private final HashedWheelTimer timer;
+
+    public TimedWindowOperator(Operator<T> source, Supplier<? extends C> factory,
+                               Function<? super C, ? extends R> finalizer, Mode mode, int maxSize,
+                               long window, long slide, TimeUnit unit, HashedWheelTimer timer){
+        super(source);
+        if(maxSize<=0)
+            throw new IllegalArgumentException("Window size must be positive " + maxSize);
+        if(window<=0 || (mode==Mode.SLIDING && slide<=0))
+            throw new IllegalArgumentException("Window durations must be positive");
+        this.factory = factory;
+        this.finalizer = finalizer;
+        this.mode = mode;
+        this.maxSize = maxSize;
+        this.windowNanos = unit.toNanos(window);
+        this.slideNanos = unit.toNanos(slide);
+        this.timer = timer;
+    }
+
+    @Override
+    public StreamSubscription subscribe(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+        StreamSubscription[] upstream = {null};
+        Window window = new Window(onNext, onError, onComplete, upstream);
+        StreamSubscription sub = new StreamSubscription(){
+            @Override
+            public void request(long n) {
+                if(n<=0) {
+                    onError.accept(new IllegalArgumentException("3.9 While the Subscription is not cancelled, Subscription.request(long n) MUST throw a java.lang.IllegalArgumentException if the argument is <= 0."));
+                    return;
+                }
+                if(!isOpen)
+                    return;
+                super.request(n);
+                window.drain();
+            }
+
+            @Override
+            public void cancel() {
+                window.cancel();
+                if(upstream[0]!=null)
+                    upstream[0].cancel();
+                super.cancel();
+            }
+        };
+        window.sub = sub;
+        upstream[0] = source.subscribe(window::onNext, window::onError, window::onComplete);
+        return sub;
+    }
+
+    @Override
+    public void subscribeAll(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onCompleteDs) {
+        Window window = new Window(onNext, onError, onCompleteDs, null);
+        source.subscribeAll(window::onNext, window::onError, window::onComplete);
+    }
+
+    private static final class Timed<T> {
+        final long time;
+        final T value;
+
+        Timed(long time, T value) {
+            this.time = time;
+            this.value = value;
+        }
+    }
+
+    /*
+     * All state is guarded by the Window's monitor, as the timer and upstream may signal concurrently
+     */
+    private final class Window {
+        private final Consumer<? super R> onNext;
+        private final Consumer<? super Throwable> onError;
+        private final Runnable onComplete;
+        private StreamSubscription sub; //null when there is no backpressure (subscribeAll)
+        private final StreamSubscription[] upstream;
+        private PersistentCollection buffer = factory.get();
+        private final ArrayDeque<Timed<T>> elements = new ArrayDeque<>();
+        private HashedWheelTimer.Timeout timeout;
+        private long windowId;
+        private long opened;
+        private long lastSeen;
+        private long outstanding;
+        private boolean fresh;
+        private boolean due;
+        private boolean completed;
+        private boolean done;
+
+        Window(Consumer<? super R> onNext, Consumer<? super Throwable> onError, Runnable onComplete,
+               StreamSubscription[] upstream) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+            this.upstream = upstream;
+        }
+
+        void onNext(T e) {
+            synchronized (this) {
+                if (done)
+                    return;
+                add(e);
+            }
+            drain();
+        }
+
+        private void add(T e) {
+            outstanding = Math.max(0, outstanding - 1);
+            long now = System.nanoTime();
+            try {
+                switch (mode) {
+                    case TUMBLING:
+                        if (buffer.size() == 0) {
+                            opened = now;
+                            schedule(windowNanos);
+                        }
+                        buffer = buffer.plus(e);
+                        if (buffer.size() >= maxSize || now - opened >= windowNanos)
+                            due = true;
+                        break;
+                    case SESSION:
+                        lastSeen = now;
+                        if (timeout == null)
+                            schedule(windowNanos);
+                        buffer = buffer.plus(e);
+                        if (buffer.size() >= maxSize)
+                            due = true;
+                        break;
+                    case SLIDING:
+                        elements.add(new Timed<>(now, e));
+                        fresh = true;
+                        if (timeout == null)
+                            schedule(slideNanos);
+                        break;
+                }
+            } catch (Throwable t) {
+                onError.accept(t);
+            }
+        }
+
+        void onError(Throwable t) {
+            synchronized (this) {
+                if (done)
+                    return;
+                outstanding = Math.max(0, outstanding - 1);
+                onError.accept(t);
+                if (sub != null)
+                    sub.requested.decrementAndGet();
+            }
+            drain();
+        }
+
+        void onComplete() {
+            synchronized (this) {
+                if (done)
+                    return;
+                completed = true;
+                cancelTimeout();
+                if (mode == Mode.SLIDING)
+                    evict(System.nanoTime());
+                if (mode == Mode.SLIDING ? fresh && !elements.isEmpty() : buffer.size() > 0)
+                    due = true;
+            }
+            drain();
+        }
+
+        synchronized void cancel() {
+            done = true;
+            cancelTimeout();
+        }
+
+        void onTimer(long id) {
+            synchronized (this) {
+                if (done || id != windowId)
+                    return;
+                if (!expire())
+                    return;
+            }
+            drain();
+        }
+
+        /*
+         * @return true if a window may have closed
+         */
+        private boolean expire() {
+            timeout = null;
+            long now = System.nanoTime();
+            switch (mode) {
+                case TUMBLING:
+                    if (buffer.size() > 0)
+                        due = true;
+                    break;
+                case SESSION:
+                    long idle = now - lastSeen;
+                    if (idle < windowNanos) {
+                        schedule(windowNanos - idle);
+                        return false;
+                    }
+                    if (buffer.size() > 0)
+                        due = true;
+                    break;
+                case SLIDING:
+                    evict(now);
+                    if (!elements.isEmpty()) {
+                        due = true;
+                        schedule(slideNanos);
+                    }
+                    break;
+            }
+            return true;
+        }
+
+        /*
+         * Emit a closed window if there is demand, then request more from upstream - outside of the lock, so that a
+         * synchronous upstream does not block the timer while it emits
+         */
+        void drain() {
+            boolean requestMore = false;
+            synchronized (this) {
+                if (done)
+                    return;
+                if (due && hasDemand())
+                    emit();
+                if (completed) {
+                    if (!due) {
+                        done = true;
+                        onComplete.run();
+                    }
+                    return;
+                }
+                if (sub != null && !due && sub.isActive() && outstanding == 0) {
+                    outstanding = 1;
+                    requestMore = true;
+                }
+            }
+            if (requestMore)
+                request(upstream, 1);
+        }
+
+        private boolean hasDemand() {
+            return sub == null || sub.isActive();
+        }
+
+        private void emit() {
+            due = false;
+            PersistentCollection window;
+            if (mode == Mode.SLIDING) {
+                if (!completed)
+                    evict(System.nanoTime());
+                if (elements.isEmpty())
+                    return;
+                window = factory.get();
+                for (Timed<T> next : elements)
+                    window = window.plus(next.value);
+                fresh = false;
+            } else {
+                window = buffer;
+                buffer = factory.get();
+                cancelTimeout();
+                windowId++;
+            }
+            if (sub != null)
+                sub.requested.decrementAndGet();
+            try {
+                onNext.accept(finalizer.apply((C) window));
+            } catch (Throwable t) {
+                onError.accept(t);
+            }
+        }
+
+        private void evict(long now) {
+            while (!elements.isEmpty() && now - elements.peekFirst().time >= windowNanos)
+                elements.pollFirst();
+        }
+
+        private void schedule(long nanos) {
+            long id = windowId;
+            timeout = timer.schedule(() -> onTimer(id), nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+        }
+    }
+}
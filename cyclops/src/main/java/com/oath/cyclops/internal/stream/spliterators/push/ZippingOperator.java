@@ -1,12 +1,12 @@
 package com.oath.cyclops.internal.stream.spliterators.push;
 
+import com.oath.cyclops.async.wait.WaitStrategy;
 import lombok.AllArgsConstructor;
 import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
@@ -21,6 +21,11 @@ public class ZippingOperator<T1,T2,R> implements Operator<R>{
     Operator<? super T1> left;
     Operator<? super T2> right;
     private final BiFunction<? super T1, ? super T2, ? extends R> fn;
+    private final WaitStrategy<?> idle; //while the other side is adding a value
+
+    public ZippingOperator(Operator<? super T1> left, Operator<? super T2> right, BiFunction<? super T1, ? super T2, ? extends R> fn){
+        this(left,right,fn,WaitStrategy.global());
+    }
 
 
 
@@ -100,12 +105,12 @@ public class ZippingOperator<T1,T2,R> implements Operator<R>{
                     }else{
                         status.compareAndSet(1,0);
 
-                        while(rightQ.isEmpty()){ // VALUE IS COMING - RIGHT IS ADDING TO Q
+                        for(int spins=0;rightQ.isEmpty();spins++){ // VALUE IS COMING - RIGHT IS ADDING TO Q
                             if(rightComplete.get() && rightQ.isEmpty()){
                                 handleComplete(completing,onComplete);
                                 return;
                             }
-                            LockSupport.parkNanos(0);
+                            idle.idle(spins);
                         }
                         R value = fn.apply((T1) e, rightQ.poll());
                         sub.requested.decrementAndGet();
@@ -179,12 +184,12 @@ public class ZippingOperator<T1,T2,R> implements Operator<R>{
                     }else {
 
                         status.compareAndSet(2,0);
-                        while (leftQ.isEmpty()) { // VALUE IS COMING  - LEFT IS ADDING TO Q
+                        for (int spins=0; leftQ.isEmpty(); spins++) { // VALUE IS COMING  - LEFT IS ADDING TO Q
                            if(leftComplete.get() && leftQ.isEmpty()){
                                 handleComplete(completing,onComplete);
                                 return;
                             }
-                            LockSupport.parkNanos(0);
+                            idle.idle(spins);
                         }
                         R value = fn.apply(leftQ.poll(), (T2) e);
 
@@ -281,12 +286,12 @@ public class ZippingOperator<T1,T2,R> implements Operator<R>{
                     }else {
 
                         status.compareAndSet(2,0);
-                        while (leftQ.isEmpty()) { // VALUE IS COMING
+                        for (int spins=0; leftQ.isEmpty(); spins++) { // VALUE IS COMING
                             if(leftComplete.get() && leftQ.isEmpty()){
                                 handleComplete(completing,onCompleteDs);
                                 return;
                             }
-                            LockSupport.parkNanos(0);
+                            idle.idle(spins);
                         }
                         R value = fn.apply(leftQ.poll(), (T2) e);
 
@@ -354,12 +359,12 @@ public class ZippingOperator<T1,T2,R> implements Operator<R>{
                     }else{
                         status.compareAndSet(1,0);
 
-                        while(rightQ.isEmpty()){ // VALUE IS COMING
+                        for(int spins=0;rightQ.isEmpty();spins++){ // VALUE IS COMING
                             if(rightComplete.get() && rightQ.isEmpty()){
                                 handleComplete(completing,onCompleteDs);
                                 return;
                             }
-                            LockSupport.parkNanos(0);
+                            idle.idle(spins);
                         }
                         R value = fn.apply((T1) e, rightQ.poll());
                         onNext.accept(value);
@@ -1,5 +1,6 @@
 package com.oath.cyclops.types.reactive;
 
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.internal.stream.spliterators.push.CapturingOperator;
 import cyclops.reactive.ReactiveSeq;
 import cyclops.reactive.Spouts;
@@ -10,7 +11,6 @@ import org.reactivestreams.Subscription;
 
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.LockSupport;
 
 /**
  * A subscriber for Observable type Streams that avoid the overhead of applying backpressure.
@@ -147,9 +147,7 @@ public class AsyncSubscriber<T> implements Subscriber<T>, PushSubscriber<T> {
     }
 
     public void awaitInitialization(){
-        while(!isInitialized()){
-            LockSupport.parkNanos(0l);
-        }
+        WaitStrategy.global().await(this::isInitialized);
     }
 
 }
@@ -6,7 +6,6 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -21,6 +20,8 @@ import cyclops.reactive.ReactiveSeq;
 import com.oath.cyclops.async.adapters.Queue;
 import com.oath.cyclops.async.adapters.Queue.ClosedQueueException;
 import com.oath.cyclops.async.adapters.QueueFactory;
+import com.oath.cyclops.async.wait.IdleSignal;
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.types.futurestream.Continuation;
 
 import lombok.Getter;
@@ -171,11 +172,7 @@ public class QueueBasedSubscriber<T> implements Subscriber<T> {
 
         subscription = s;
 
-        while (counter.subscription.size() > maxConcurrency) {
-
-
-            LockSupport.parkNanos(100l);
-        }
+        counter.released.await(() -> counter.subscription.size() <= maxConcurrency, WaitStrategy.global());
 
         counter.subscription.add(subscription);
 
@@ -223,6 +220,7 @@ public class QueueBasedSubscriber<T> implements Subscriber<T> {
         volatile boolean closed = false;
         public volatile int added = 0;
         final AtomicBoolean closing =new AtomicBoolean(false);
+        final IdleSignal released = new IdleSignal(); //signalled as subscriptions complete
     }
 
     /* (non-Javadoc)
@@ -234,6 +232,7 @@ public class QueueBasedSubscriber<T> implements Subscriber<T> {
 
         counter.active.decrementAndGet();
         counter.subscription.remove(subscription);
+        counter.released.signal();
         if (queue != null && counter.active.get() == 0) {
 
             if (counter.completable) {
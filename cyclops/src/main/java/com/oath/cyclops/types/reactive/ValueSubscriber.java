@@ -4,10 +4,11 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import com.oath.cyclops.async.wait.IdleSignal;
+import com.oath.cyclops.async.wait.WaitStrategy;
 import com.oath.cyclops.types.Value;
 import com.oath.cyclops.util.ExceptionSoftener;
 import cyclops.control.Future;
@@ -49,6 +50,8 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
                                                                    UNSET);
     private final Runnable onComplete;
 
+    private final IdleSignal signal = new IdleSignal();
+
     private volatile Subscription s;
     private final Runnable requestOne = Memoize.memoizeRunnable(() -> this.s.request(1l));
 
@@ -84,12 +87,14 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
 
         Objects.requireNonNull(t);
         firstValue.compareAndSet(UNSET, t);
+        signal.signal();
     }
 
     @Override
     public void onError(final Throwable t) {
         Objects.requireNonNull(t);
         firstError.compareAndSet(UNSET, t);
+        signal.signal();
     }
 
     @Override
@@ -99,10 +104,19 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
         if(firstValue.get()==UNSET && firstError.get()==UNSET) {
             firstError.set(new NoSuchElementException(
                 "publisher has no elements"));
+            signal.signal();
         }
 
     }
 
+    private boolean isSet() {
+        return firstValue.get() != UNSET || firstError.get() != UNSET;
+    }
+
+    private void await() {
+        signal.await(this::isSet, WaitStrategy.global());
+    }
+
     public void requestOne() {
 
         firstValue.set(UNSET);
@@ -113,8 +127,7 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
     @Override
     public T orElse(T alt) {
 
-        while (firstValue.get() == UNSET && firstError.get() == UNSET)
-            LockSupport.parkNanos(1000000l);
+        await();
         if (firstValue.get() == UNSET)
             return alt;
 
@@ -123,8 +136,7 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
     @Override
     public T orElseGet(Supplier<? extends T> alt) {
 
-        while (firstValue.get() == UNSET && firstError.get() == UNSET)
-            LockSupport.parkNanos(1000000l);
+        await();
         if (firstValue.get() == UNSET)
             return alt.get();
 
@@ -141,8 +153,7 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
 
     private T throwingGet() {
 
-        while (firstValue.get() == UNSET && firstError.get() == UNSET)
-            LockSupport.parkNanos(1000000l);
+        await();
         if (firstValue.get() == UNSET)
             throw ExceptionSoftener.throwSoftenedException((Throwable) firstError.get());
 
@@ -178,8 +189,7 @@ public class ValueSubscriber<T> implements Subscriber<T>, Value<T> {
 
     @Override
     public <R> R fold(Function<? super T, ? extends R> present, Supplier<? extends R> absent) {
-        while (firstValue.get() == UNSET && firstError.get() == UNSET)
-            LockSupport.parkNanos(1000000l);
+        await();
         if (firstValue.get() == UNSET)
             return absent.get();
 
@@ -0,0 +1,284 @@
+package com.oath.cyclops.util.stream.scheduling;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel (after Varghese &amp; Lauck) : a single daemon thread advances a ring of buckets once per tick and
+ * fires the timeouts in the current bucket. Scheduling and cancelling a timeout are O(1), so one timer can cheaply
+ * track very large numbers of short lived deadlines (e.g. one per open stream window) with tick granularity.
+ *
+ * <pre>
+ * {@code
+ *  Timeout timeout = HashedWheelTimer.shared()
+ *                                    .schedule(()->flush(),100,TimeUnit.MILLISECONDS);
+ *  timeout.cancel();
+ * }
+ * </pre>
+ *
+ * Expired tasks are handed to the timer's Executor (ForkJoinPool.commonPool() for the shared timer), the wheel thread
+ * itself never runs user code unless the timer is created with a same thread Executor. While no timeouts are pending the
+ * wheel thread parks rather than ticking, and is woken by the next schedule call.
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    private static final int CREATED = 0;
+    private static final int STARTED = 1;
+    private static final int CLOSED = 2;
+
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 512,
+                                                                        ForkJoinPool.commonPool(), true);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final boolean shared;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger(0);
+    private final AtomicInteger state = new AtomicInteger(CREATED);
+    private volatile long startTime;
+    private volatile Thread worker;
+    private volatile boolean idle;
+    private long tick;
+
+    /**
+     * @return Timer shared by cyclops operators, ticking every millisecond and running expired tasks on the common
+     * ForkJoinPool
+     */
+    public static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Create a new timer, the wheel thread is started on the first schedule call
+     *
+     * @param tick Duration of a tick (timeouts fire at tick granularity)
+     * @param unit TimeUnit for the tick
+     * @param wheelSize Number of buckets (rounded up to a power of 2)
+     * @param executor Executor that expired tasks are run on
+     */
+    public HashedWheelTimer(long tick, TimeUnit unit, int wheelSize, Executor executor) {
+        this(tick, unit, wheelSize, executor, false);
+    }
+
+    private HashedWheelTimer(long tick, TimeUnit unit, int wheelSize, Executor executor, boolean shared) {
+        if (tick <= 0)
+            throw new IllegalArgumentException("Tick duration must be positive " + tick);
+        if (wheelSize <= 0 || wheelSize > (1 << 30))
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30 " + wheelSize);
+        this.tickNanos = unit.toNanos(tick);
+        int size = Integer.highestOneBit(wheelSize);
+        size = size < wheelSize ? size << 1 : size;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++)
+            wheel[i] = new Bucket();
+        this.mask = size - 1;
+        this.executor = executor;
+        this.shared = shared;
+    }
+
+    /**
+     * Schedule a task to run once the delay has elapsed
+     *
+     * @param task Task to run
+     * @param delay Delay before running
+     * @param unit TimeUnit for the delay
+     * @return Timeout handle that can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        start();
+        long deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay)) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        if (idle)
+            LockSupport.unpark(worker);
+        if (state.get() == CLOSED && timeout.cancel())
+            throw new RejectedExecutionException("Timer is closed");
+        return timeout;
+    }
+
+    /**
+     * @return Number of scheduled timeouts that have neither fired nor been cancelled
+     */
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the wheel thread, timeouts that have not fired yet never will. Closing the shared timer has no effect.
+     */
+    @Override
+    public void close() {
+        if (shared)
+            return;
+        if (state.getAndSet(CLOSED) == STARTED && worker != null)
+            LockSupport.unpark(worker);
+    }
+
+    private void start() {
+        if (state.get() == CREATED && state.compareAndSet(CREATED, STARTED)) {
+            startTime = System.nanoTime();
+            Thread thread = new Thread(this::run, "cyclops-wheel-timer");
+            thread.setDaemon(true);
+            worker = thread;
+            thread.start();
+        } else if (state.get() == CLOSED) {
+            throw new RejectedExecutionException("Timer is closed");
+        }
+        while (startTime == 0) //another thread is starting the timer
+            Thread.yield();
+    }
+
+    private void run() {
+        while (state.get() == STARTED) {
+            if (pending.get() == 0) {
+                park();
+                continue;
+            }
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /*
+     * Sleep until a timeout is scheduled (or the timer is closed). Buckets can only hold cancelled timeouts while
+     * nothing is pending, so on waking the wheel skips straight to the current tick.
+     */
+    private void park() {
+        idle = true;
+        if (pending.get() == 0 && state.get() == STARTED)
+            LockSupport.park(this);
+        idle = false;
+        tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < 100_000; i++) {
+            Timeout next = scheduled.poll();
+            if (next == null)
+                return;
+            if (next.state.get() != Timeout.WAITING)
+                continue;
+            long ticks = next.deadline / tickNanos;
+            next.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (Math.max(ticks, tick) & mask)].add(next);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (Throwable t) {
+            //tasks that fail, or are rejected by the executor, must not stop the wheel
+        }
+    }
+
+    /**
+     * Handle for a task scheduled on a HashedWheelTimer
+     */
+    public static final class Timeout {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel this timeout, the task will not run if it has not already been fired
+         *
+         * @return true if this call cancelled the timeout
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                timer.pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    /*
+     * Doubly linked list of timeouts, only accessed by the wheel thread
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                        timeout.timer.pending.decrementAndGet();
+                        timeout.timer.fire(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null)
+                timeout.prev.next = timeout.next;
+            else
+                head = timeout.next;
+            if (timeout.next != null)
+                timeout.next.prev = timeout.prev;
+            else
+                tail = timeout.prev;
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
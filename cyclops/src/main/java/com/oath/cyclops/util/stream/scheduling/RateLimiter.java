@@ -0,0 +1,88 @@
+package com.oath.cyclops.util.stream.scheduling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock free token bucket (implemented as the generic cell rate algorithm) that allows up to permits acquisitions
+ * in a burst, refilled at a rate of permits per period. A single RateLimiter can be shared by any number of Streams
+ * and threads to enforce a combined rate.
+ *
+ * <pre>
+ * {@code
+ *  RateLimiter limiter = RateLimiter.of(100, 1, TimeUnit.SECONDS);
+ *
+ *  Spouts.from(requestsA).xPer(limiter);
+ *  Spouts.from(requestsB).xPer(limiter);
+ *
+ *  //at most 100 elements per second across both Streams
+ * }
+ * </pre>
+ */
+public final class RateLimiter {
+
+    private final int permits;
+    private final long interval;
+    private final long tolerance;
+    private final long origin = System.nanoTime();
+    private final AtomicLong theoreticalArrival = new AtomicLong(0);
+
+    private RateLimiter(int permits, long periodNanos) {
+        this.permits = permits;
+        this.interval = Math.max(1, periodNanos / permits);
+        this.tolerance = interval * (permits - 1);
+    }
+
+    /**
+     * @param permits Number of permits per period (and the maximum burst size)
+     * @param period Period over which permits are refilled
+     * @param unit TimeUnit for the period
+     * @return RateLimiter that allows permits acquisitions per period
+     */
+    public static RateLimiter of(int permits, long period, TimeUnit unit) {
+        if (permits <= 0)
+            throw new IllegalArgumentException("Permits must be positive " + permits);
+        if (period <= 0)
+            throw new IllegalArgumentException("Period must be positive " + period);
+        return new RateLimiter(permits, unit.toNanos(period));
+    }
+
+    /**
+     * Reserve the next permit, callers must wait for the returned number of nanoseconds before using it
+     *
+     * @return Nanoseconds until the reserved permit becomes available (0 if it is available now)
+     */
+    public long reserve() {
+        for (;;) {
+            long now = System.nanoTime() - origin;
+            long current = theoreticalArrival.get();
+            long start = Math.max(current, now);
+            if (theoreticalArrival.compareAndSet(current, start + interval))
+                return Math.max(0, start - tolerance - now);
+        }
+    }
+
+    /**
+     * Acquire a permit only if one is available now
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long now = System.nanoTime() - origin;
+            long current = theoreticalArrival.get();
+            long start = Math.max(current, now);
+            if (start - tolerance > now)
+                return false;
+            if (theoreticalArrival.compareAndSet(current, start + interval))
+                return true;
+        }
+    }
+
+    /**
+     * @return Maximum number of permits per period
+     */
+    public int permits() {
+        return permits;
+    }
+}
@@ -0,0 +1,315 @@
+package com.oath.cyclops.util.stream.scheduling.cron;
+
+import com.oath.cyclops.util.ExceptionSoftener;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable, thread safe, compiled form of a Quartz format {@link CronExpression}. The expression is parsed once,
+ * each field is stored as a bit set and next fire times are calculated with java.time arithmetic, by skipping directly
+ * to the next set bit of each field rather than re-parsing or stepping a Calendar.
+ *
+ * Compiled expressions are cached, so scheduling many jobs with the same expression parses it only once.
+ *
+ * Fire times match {@link CronExpression#getNextValidTimeAfter(java.util.Date)}, including across daylight savings
+ * transitions: local times skipped when the clocks go forward do not fire, and local times repeated when the clocks go
+ * back fire once, on their later occurrence.
+ *
+ * <pre>
+ * {@code
+ *  CompiledCron cron = CompiledCron.compile("0 0/15 9-17 ? * MON-FRI");
+ *
+ *  Instant next = cron.nextFireAfter(Instant.now());
+ *  Iterator<Instant> fireTimes = cron.fireTimesAfter(next);
+ * }
+ * </pre>
+ */
+public final class CompiledCron {
+
+    private static final int MAX_CACHED = 4096;
+    private static final ConcurrentMap<String, CompiledCron> cache = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final ZoneId zone;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek; //1 (Sunday) to 7 (Saturday), as in Quartz
+    private final int[] years;
+    private final boolean dayOfWeekRule;
+    private final boolean lastDayOfWeek;
+    private final int nthDayOfWeek;
+    private final boolean lastDayOfMonth;
+    private final boolean nearestWeekday;
+    private final int lastDayOffset;
+
+    private CompiledCron(ZoneId zone, CronExpression parsed) {
+        this.expression = parsed.getCronExpression();
+        this.zone = zone;
+        this.seconds = bits(parsed.seconds);
+        this.minutes = bits(parsed.minutes);
+        this.hours = bits(parsed.hours);
+        this.daysOfMonth = bits(parsed.daysOfMonth);
+        this.months = bits(parsed.months);
+        this.daysOfWeek = bits(parsed.daysOfWeek);
+        this.years = parsed.years.stream()
+                                 .filter(CompiledCron::isValue)
+                                 .mapToInt(Integer::intValue)
+                                 .sorted()
+                                 .toArray();
+        this.dayOfWeekRule = !parsed.daysOfWeek.contains(CronExpression.NO_SPEC);
+        this.lastDayOfWeek = parsed.lastdayOfWeek;
+        this.nthDayOfWeek = parsed.nthdayOfWeek;
+        this.lastDayOfMonth = parsed.lastdayOfMonth;
+        this.nearestWeekday = parsed.nearestWeekday;
+        this.lastDayOffset = parsed.lastdayOffset;
+    }
+
+    /**
+     * Compile a Quartz format cron expression, evaluated in the system default time zone
+     *
+     * @param expression Cron expression
+     * @return Compiled (and cached) expression
+     * @throws java.text.ParseException (softened) if the expression is invalid
+     */
+    public static CompiledCron compile(String expression) {
+        return compile(expression, ZoneId.systemDefault());
+    }
+
+    /**
+     * Compile a Quartz format cron expression
+     *
+     * @param expression Cron expression
+     * @param zone Time zone the expression is evaluated in
+     * @return Compiled (and cached) expression
+     * @throws java.text.ParseException (softened) if the expression is invalid
+     */
+    public static CompiledCron compile(String expression, ZoneId zone) {
+        String key = zone.getId() + " " + expression;
+        CompiledCron cached = cache.get(key);
+        if (cached != null)
+            return cached;
+        CompiledCron compiled = new CompiledCron(zone, parse(expression));
+        if (cache.size() < MAX_CACHED)
+            cache.putIfAbsent(key, compiled);
+        return compiled;
+    }
+
+    private static CronExpression parse(String expression) {
+        try {
+            return new CronExpression(expression);
+        } catch (java.text.ParseException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private static boolean isValue(Integer value) {
+        return value != CronExpression.ALL_SPEC_INT && value != CronExpression.NO_SPEC_INT;
+    }
+
+    private static long bits(Set<Integer> values) {
+        long bits = 0;
+        for (Integer next : values) {
+            if (isValue(next))
+                bits |= 1L << next;
+        }
+        return bits;
+    }
+
+    /**
+     * @return Index of the first set bit at or after from, or -1 if there is none
+     */
+    private static int nextBit(long bits, int from) {
+        if (from >= Long.SIZE)
+            return -1;
+        long remaining = bits & (-1L << from);
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    private int nextYear(int from) {
+        int index = Arrays.binarySearch(years, from);
+        if (index < 0)
+            index = -index - 1;
+        return index < years.length ? years[index] : -1;
+    }
+
+    /**
+     * @return The next time, strictly after the provided instant, that this expression fires at or null if it never
+     * fires again
+     */
+    public Instant nextFireAfter(Instant after) {
+        LocalDateTime start = LocalDateTime.ofInstant(after, zone)
+                                           .truncatedTo(ChronoUnit.SECONDS)
+                                           .plusSeconds(1);
+        int year = start.getYear();
+        int month = start.getMonthValue();
+        int day = start.getDayOfMonth();
+        int hour = start.getHour();
+        int minute = start.getMinute();
+        int second = start.getSecond();
+        for (;;) {
+            int y = nextYear(year);
+            if (y == -1)
+                return null;
+            if (y != year) {
+                year = y;
+                month = day = 1;
+                hour = minute = second = 0;
+            }
+            int mon = nextBit(months, month);
+            if (mon == -1) {
+                year++;
+                month = day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (mon != month) {
+                month = mon;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int d = nextBit(days(year, month), day);
+            if (d == -1) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (d != day) {
+                day = d;
+                hour = minute = second = 0;
+            }
+            int h = nextBit(hours, hour);
+            if (h == -1) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (h != hour) {
+                hour = h;
+                minute = second = 0;
+            }
+            int min = nextBit(minutes, minute);
+            if (min == -1) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (min != minute) {
+                minute = min;
+                second = 0;
+            }
+            int s = nextBit(seconds, second);
+            if (s == -1) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            second = s;
+            LocalDateTime local = LocalDateTime.of(year, month, day, hour, minute, second);
+            //as in Quartz, a local time repeated when the clocks go back fires on its later occurrence
+            if (!zone.getRules().getValidOffsets(local).isEmpty())
+                return ZonedDateTime.ofLocal(local, zone, null)
+                                    .withLaterOffsetAtOverlap()
+                                    .toInstant();
+            //a local time skipped by a daylight savings transition
+            second++;
+        }
+    }
+
+    /**
+     * @return Lazily calculated fire times, strictly after the provided instant
+     */
+    public Iterator<Instant> fireTimesAfter(Instant after) {
+        return new Iterator<Instant>() {
+            Instant next = nextFireAfter(after);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Instant next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                Instant result = next;
+                next = nextFireAfter(result);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * @return Bit set of the days in the month that match the day of month or day of week field
+     */
+    private long days(int year, int month) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        int length = first.lengthOfMonth();
+        int firstDayOfWeek = quartzDayOfWeek(first.getDayOfWeek());
+        if (dayOfWeekRule) {
+            if (lastDayOfWeek || nthDayOfWeek != 0) {
+                int target = Long.numberOfTrailingZeros(daysOfWeek);
+                int day = 1 + Math.floorMod(target - firstDayOfWeek, 7);
+                if (lastDayOfWeek)
+                    day += 7 * ((length - day) / 7);
+                else
+                    day += 7 * (nthDayOfWeek - 1);
+                return day <= length ? 1L << day : 0;
+            }
+            long days = 0;
+            for (int day = 1; day <= length; day++) {
+                if ((daysOfWeek & (1L << (1 + (firstDayOfWeek - 1 + day - 1) % 7))) != 0)
+                    days |= 1L << day;
+            }
+            return days;
+        }
+        if (lastDayOfMonth || nearestWeekday) {
+            int day = lastDayOfMonth ? length - lastDayOffset : Long.numberOfTrailingZeros(daysOfMonth);
+            if (day < 1)
+                return 0;
+            if (nearestWeekday) {
+                //as in Quartz, the weekday of a day past the end of the month is that of the day it rolls over to,
+                //so 30W fires on the 29th of a leap year February when the 1st of March is a Saturday
+                int dayOfWeek = 1 + (firstDayOfWeek - 1 + day - 1) % 7;
+                if (dayOfWeek == 7)
+                    day = day == 1 ? day + 2 : day - 1;
+                else if (dayOfWeek == 1)
+                    day = day == length ? day - 2 : day + 1;
+            }
+            return day <= length ? 1L << day : 0;
+        }
+        return daysOfMonth & (-1L >>> (Long.SIZE - 1 - length));
+    }
+
+    private static int quartzDayOfWeek(DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() % 7 + 1;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledCron[" + expression + ", " + zone + "]";
+    }
+}
@@ -0,0 +1,186 @@
+package com.oath.cyclops.util.stream.scheduling.cron;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Dispatches cron scheduled jobs from a single HashedWheelTimer, rather than holding a delayed task per job in each
+ * ScheduledExecutorService. The wheel thread only waits for fire times, each job is run on the Executor it was
+ * scheduled with.
+ *
+ * A job's next fire time is calculated (from its {@link CompiledCron}) once the job has finished running, so a job never
+ * runs concurrently with itself and fire times missed while it runs are skipped.
+ *
+ * <pre>
+ * {@code
+ *  Job job = CronDispatcher.shared()
+ *                          .schedule("0 * * * * ?", executor, () -> {
+ *                               refresh();
+ *                               return true; //keep running
+ *                          });
+ *  job.cancel();
+ * }
+ * </pre>
+ */
+public final class CronDispatcher {
+
+    private static final CronDispatcher SHARED = new CronDispatcher(new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 1024,
+                                                                                         Runnable::run));
+
+    private final HashedWheelTimer timer;
+
+    /**
+     * @param timer Timer to wait for fire times on, expired timeouts only hand jobs off to their Executor so may safely
+     *              run on the wheel thread
+     */
+    public CronDispatcher(HashedWheelTimer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * @return Dispatcher shared by cyclops cron scheduling (e.g. ReactiveSeq#schedule, Future#schedule and
+     * Memoize#memoizeFunctionAsync)
+     */
+    public static CronDispatcher shared() {
+        return SHARED;
+    }
+
+    /**
+     * Run a job on each fire time of a Quartz format cron expression, until the job returns false or is cancelled. Jobs
+     * that throw an Exception continue to be scheduled.
+     *
+     * @param cron Cron expression (compiled and cached)
+     * @param ex Executor to run the job on
+     * @param job Job to run, returns true to keep running
+     * @return Job handle that can be used to cancel further runs
+     */
+    public Job schedule(String cron, Executor ex, BooleanSupplier job) {
+        return schedule(CompiledCron.compile(cron), ex, job);
+    }
+
+    /**
+     * Run a job on each fire time of a compiled cron expression, until the job returns false or is cancelled. Jobs
+     * that throw an Exception continue to be scheduled.
+     *
+     * @param cron Compiled cron expression
+     * @param ex Executor to run the job on
+     * @param job Job to run, returns true to keep running
+     * @return Job handle that can be used to cancel further runs
+     */
+    public Job schedule(CompiledCron cron, Executor ex, BooleanSupplier job) {
+        Job scheduled = new Job(cron, ex, job);
+        scheduled.scheduleAfter(Instant.now());
+        return scheduled;
+    }
+
+    /**
+     * Handle for a job scheduled on a CronDispatcher
+     */
+    public final class Job {
+        private final CompiledCron cron;
+        private final Executor ex;
+        private final BooleanSupplier job;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Instant nextFire;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private Job(CompiledCron cron, Executor ex, BooleanSupplier job) {
+            this.cron = cron;
+            this.ex = ex;
+            this.job = job;
+        }
+
+        private void scheduleAfter(Instant after) {
+            Instant next = cron.nextFireAfter(after);
+            if (next == null) {
+                done = true;
+                return;
+            }
+            nextFire = next;
+            await();
+        }
+
+        /*
+         * The wheel measures elapsed (nano) time, while fire times are wall clock times. If the wheel expires ahead
+         * of the wall clock (e.g. after a clock adjustment) the remaining time is waited for rather than firing early.
+         */
+        private void await() {
+            if (cancelled)
+                return;
+            long remaining = Duration.between(Instant.now(), nextFire)
+                                     .toNanos();
+            if (remaining > 0) {
+                timeout = timer.schedule(this::expired, remaining, TimeUnit.NANOSECONDS);
+                if (cancelled)
+                    timeout.cancel();
+            } else {
+                expired();
+            }
+        }
+
+        private void expired() {
+            if (cancelled)
+                return;
+            if (Instant.now().isBefore(nextFire)) {
+                await();
+                return;
+            }
+            ex.execute(this::run);
+        }
+
+        private void run() {
+            if (cancelled)
+                return;
+            boolean more = true;
+            try {
+                more = job.getAsBoolean();
+            } catch (Throwable t) {
+                //a failing run does not stop the schedule
+            }
+            if (!more) {
+                done = true;
+                return;
+            }
+            Instant now = Instant.now();
+            scheduleAfter(now.isAfter(nextFire) ? now : nextFire);
+        }
+
+        /**
+         * Cancel all further runs of this job (a run in progress is not interrupted)
+         */
+        public void cancel() {
+            cancelled = true;
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null)
+                current.cancel();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return true if the job has stopped itself, or the cron expression has no further fire times
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return The time the job is next due to run at
+         */
+        public Instant getNextFireTime() {
+            return nextFire;
+        }
+
+        public CompiledCron getCron() {
+            return cron;
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package cyclops.companion;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
 import java.util.stream.Stream;
 
-import com.oath.cyclops.hkt.Higher;
 
 import com.oath.cyclops.types.traversable.IterableX;
 import cyclops.control.Either;
-import com.oath.cyclops.hkt.DataWitness.future;
 
 import cyclops.control.Future;
 import cyclops.function.Function3;
@@ -37,9 +36,87 @@ public class CompletableFutures {
         cf.completeExceptionally(t);
         return cf;
     }
+    /**
+     * Repeatedly apply fn until it returns a Future holding a right value. Iterations that complete synchronously are run
+     * in a loop, and asynchronous iterations resume the loop on completion, so neither the stack nor the number of
+     * intermediate Futures grows with the number of iterations.
+     *
+     * @param initial Initial value
+     * @param fn Function returning either the next value to iterate with (left) or the result (right)
+     * @return CompletableFuture populated with the result
+     */
     public static  <T,R> CompletableFuture<R> tailRec(T initial, Function<? super T, ? extends CompletableFuture<? extends Either<T, R>>> fn){
-        Higher<future, R> x = Future.tailRec(initial, fn.andThen(Future::of));
-        return Future.narrowK(x).getFuture();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        new TailRec<T,R>(fn, result).start(initial);
+        return result;
+    }
+
+    private static final class TailRec<T,R> implements BiConsumer<Either<T,R>,Throwable> {
+        private final Function<? super T, ? extends CompletableFuture<? extends Either<T, R>>> fn;
+        private final CompletableFuture<R> result;
+        private final AtomicInteger wip = new AtomicInteger(0);
+        private Either<T,R> next;
+        private Throwable error;
+
+        TailRec(Function<? super T, ? extends CompletableFuture<? extends Either<T, R>>> fn, CompletableFuture<R> result) {
+            this.fn = fn;
+            this.result = result;
+        }
+
+        void start(T initial) {
+            next = Either.left(initial);
+            drain();
+        }
+
+        @Override
+        public void accept(Either<T, R> value, Throwable t) {
+            next = value;
+            error = t;
+            drain();
+        }
+
+        /*
+         * An asynchronous iteration that completes while its callback is being registered re-enters via accept, wip
+         * hands the value back to the running loop rather than growing the stack.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+            do {
+                Either<T,R> e = next;
+                Throwable t = error;
+                next = null;
+                error = null;
+                for (;;) {
+                    if (t != null) {
+                        result.completeExceptionally(t);
+                        return;
+                    }
+                    if (e.isRight()) {
+                        result.complete(e.orElse(null));
+                        return;
+                    }
+                    CompletableFuture<? extends Either<T,R>> ft;
+                    try {
+                        ft = fn.apply(e.leftOrElse(null));
+                    } catch (Throwable x) {
+                        t = x;
+                        continue;
+                    }
+                    if (!ft.isDone()) {
+                        ft.whenComplete(this);
+                        break;
+                    }
+                    try {
+                        e = ft.join();
+                    } catch (CompletionException x) {
+                        t = x.getCause() != null ? x.getCause() : x;
+                    } catch (Throwable x) {
+                        t = x;
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
     }
 
 
@@ -223,20 +300,152 @@ public class CompletableFutures {
         return sequence(ReactiveSeq.fromStream((fts)));
 
     }
-  public static  <T> CompletableFuture<ReactiveSeq<T>> sequence(ReactiveSeq<? extends CompletableFuture<T>> stream) {
+    /**
+     * Sequence operation that converts a ReactiveSeq of CompletableFutures to a CompletableFuture with a ReactiveSeq.
+     * Results are written into a single pre-sized array as each CompletableFuture completes and the result is completed
+     * once, when the last one does (or as soon as any fails).
+     *
+     * @param stream ReactiveSeq of CompletableFutures to Sequence
+     * @return CompletableFuture with a ReactiveSeq of results, in the order of the provided CompletableFutures
+     */
+    public static  <T> CompletableFuture<ReactiveSeq<T>> sequence(ReactiveSeq<? extends CompletableFuture<T>> stream) {
+        return collect(stream.toArray(), Function.identity());
+    }
+
+    /**
+     * Transform the result of each CompletableFuture and sequence them into a CompletableFuture with a ReactiveSeq
+     *
+     * @param fn Transformation function, applied as each CompletableFuture completes
+     * @param stream ReactiveSeq of CompletableFutures to traverse
+     * @return CompletableFuture with a ReactiveSeq of transformed results
+     */
+    public static <T,R> CompletableFuture<ReactiveSeq<R>> traverse(Function<? super T,? extends R> fn,ReactiveSeq<CompletableFuture<T>> stream) {
+        return collect(stream.toArray(), fn);
+    }
+
+    /**
+     * Apply an asynchronous function to each value, with at most maxConcurrency results outstanding at any one time, and
+     * sequence the results into a CompletableFuture with a ReactiveSeq. No further work is started once any
+     * CompletableFuture fails.
+     *
+     * <pre>
+     * {@code
+     *   CompletableFuture<ReactiveSeq<User>> users = CompletableFutures.traverse(10, id -> loadUser(id), ids);
+     * }
+     * </pre>
+     *
+     * @param maxConcurrency Maximum number of incomplete CompletableFutures
+     * @param fn Function to start the asynchronous work for a value
+     * @param values Values to traverse
+     * @return CompletableFuture with a ReactiveSeq of results, in the order of the provided values
+     */
+    public static <T,R> CompletableFuture<ReactiveSeq<R>> traverse(int maxConcurrency, Function<? super T,? extends CompletableFuture<R>> fn,
+                                                                   Iterable<? extends T> values) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("Max concurrency must be positive " + maxConcurrency);
+        Object[] slots = ReactiveSeq.fromIterable(values)
+                                    .toArray();
+        CompletableFuture<ReactiveSeq<R>> result = new CompletableFuture<>();
+        if (slots.length == 0) {
+            result.complete(ReactiveSeq.empty());
+            return result;
+        }
+        new BoundedTraversal<T,R>(slots, maxConcurrency, fn, result).drain();
+        return result;
+    }
 
-    CompletableFuture<ReactiveSeq<T>> identity = CompletableFuture.completedFuture(ReactiveSeq.empty());
+    /*
+     * slots initially holds the CompletableFutures, each is replaced by its (transformed) result. remaining orders the
+     * writes to slots before the final read.
+     */
+    private static <T,R> CompletableFuture<ReactiveSeq<R>> collect(Object[] slots, Function<? super T,? extends R> fn) {
+        CompletableFuture<ReactiveSeq<R>> result = new CompletableFuture<>();
+        if (slots.length == 0) {
+            result.complete(ReactiveSeq.empty());
+            return result;
+        }
+        AtomicInteger remaining = new AtomicInteger(slots.length);
+        for (int i = 0; i < slots.length && !result.isDone(); i++) {
+            int index = i;
+            ((CompletableFuture<T>) slots[i]).whenComplete((value, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                try {
+                    slots[index] = fn.apply(value);
+                } catch (Throwable x) {
+                    result.completeExceptionally(x);
+                    return;
+                }
+                if (remaining.decrementAndGet() == 0)
+                    result.complete(ReactiveSeq.of((R[]) slots));
+            });
+        }
+        return result;
+    }
 
-    BiFunction<CompletableFuture<ReactiveSeq<T>>,CompletableFuture<T>,CompletableFuture<ReactiveSeq<T>>> combineToStream = (acc,next) ->acc.thenCombine(next,(a,b)->a.append(b));
+    private static final class BoundedTraversal<T,R> {
+        private final Object[] slots;
+        private final int maxConcurrency;
+        private final Function<? super T,? extends CompletableFuture<R>> fn;
+        private final CompletableFuture<ReactiveSeq<R>> result;
+        private final AtomicInteger wip = new AtomicInteger(0);
+        private final AtomicInteger active = new AtomicInteger(0);
+        private final AtomicInteger remaining;
+        private int started;
+
+        BoundedTraversal(Object[] slots, int maxConcurrency, Function<? super T, ? extends CompletableFuture<R>> fn,
+                         CompletableFuture<ReactiveSeq<R>> result) {
+            this.slots = slots;
+            this.maxConcurrency = maxConcurrency;
+            this.fn = fn;
+            this.result = result;
+            this.remaining = new AtomicInteger(slots.length);
+        }
 
-    BinaryOperator<CompletableFuture<ReactiveSeq<T>>> combineStreams = (a,b)-> a.thenCombine(b,(z1,z2)->z1.appendStream(z2));
+        /*
+         * Work is started from a single drain loop (guarded by wip), so that CompletableFutures that complete
+         * synchronously do not recurse
+         */
+        void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+            int missed = 1;
+            for (;;) {
+                while (started < slots.length && active.get() < maxConcurrency && !result.isDone()) {
+                    active.incrementAndGet();
+                    start(started++);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0)
+                    return;
+            }
+        }
 
-    return stream.reduce(identity,combineToStream,combineStreams);
-  }
-  public static <T,R> CompletableFuture<ReactiveSeq<R>> traverse(Function<? super T,? extends R> fn,ReactiveSeq<CompletableFuture<T>> stream) {
-    ReactiveSeq<CompletableFuture<R>> s = stream.map(h -> h.thenApply(fn));
-    return sequence(s);
-  }
+        private void start(int index) {
+            CompletableFuture<R> next;
+            try {
+                next = fn.apply((T) slots[index]);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+                return;
+            }
+            next.whenComplete((value, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                slots[index] = value;
+                if (remaining.decrementAndGet() == 0) {
+                    result.complete(ReactiveSeq.of((R[]) slots));
+                    return;
+                }
+                active.decrementAndGet();
+                drain();
+            });
+        }
+    }
     /**
      *
      * Asynchronously accumulate the results only from those Futures which have completed successfully.
@@ -369,8 +578,7 @@ public class CompletableFutures {
      */
     public static <T, R> CompletableFuture<R> accumulate(final IterableX<CompletableFuture<T>> fts, final Function<? super T, R> mapper,
             final Monoid<R> reducer) {
-        return sequence(fts).thenApply(s -> s.map(mapper)
-                                             .reduce(reducer));
+        return traverse(mapper, ReactiveSeq.fromIterable(fts)).thenApply(s -> s.reduce(reducer));
     }
     /**
      * Asynchronously accumulate the results only from the provided Futures,
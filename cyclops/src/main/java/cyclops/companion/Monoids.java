@@ -11,6 +11,10 @@ import cyclops.control.Either;
 import cyclops.data.*;
 import cyclops.data.HashSet;
 import cyclops.data.TreeSet;
+import cyclops.data.sketch.BloomFilter;
+import cyclops.data.sketch.CountMinSketch;
+import cyclops.data.sketch.HyperLogLog;
+import cyclops.data.sketch.QuantileSketch;
 import cyclops.function.Monoid;
 
 import cyclops.function.NaturalTransformation;
@@ -78,6 +82,22 @@ public interface Monoids {
     static <T> Monoid<LazyString> lazyStringConcat() {
         return Monoid.of(LazyString.empty(),Semigroups.persistentCollectionConcat());
     }
+    /**
+     * @param precision Precision of the sketches, see {@link HyperLogLog#empty(int)}
+     * @return Monoid merging HyperLogLog sketches, the union of their distinct elements
+     */
+    static Monoid<HyperLogLog> hyperLogLogUnion(int precision) {
+        return Monoid.of(HyperLogLog.empty(precision),HyperLogLog::merge);
+    }
+    static Monoid<CountMinSketch> countMinSketchSum(double epsilon, double confidence) {
+        return Monoid.of(CountMinSketch.empty(epsilon,confidence),CountMinSketch::merge);
+    }
+    static Monoid<BloomFilter> bloomFilterUnion(long expectedInsertions, double fpp) {
+        return Monoid.of(BloomFilter.empty(expectedInsertions,fpp),BloomFilter::merge);
+    }
+    static Monoid<QuantileSketch> quantileSketchMerge(int k) {
+        return Monoid.of(QuantileSketch.empty(k),QuantileSketch::merge);
+    }
 
     /**
      * Example sum integer Maybes
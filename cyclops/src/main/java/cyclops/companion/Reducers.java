@@ -3,6 +3,10 @@ package cyclops.companion;
 
 import com.oath.cyclops.types.persistent.*;
 import cyclops.data.*;
+import cyclops.data.sketch.BloomFilter;
+import cyclops.data.sketch.CountMinSketch;
+import cyclops.data.sketch.HyperLogLog;
+import cyclops.data.sketch.QuantileSketch;
 import cyclops.data.tuple.Tuple2;
 import cyclops.function.Monoid;
 import cyclops.function.Reducer;
@@ -11,6 +15,10 @@ import cyclops.function.Reducer;
 import lombok.experimental.UtilityClass;
 
 import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 
 @UtilityClass
@@ -166,6 +174,79 @@ public class Reducers {
 
     }
 
+    /**
+     * Count distinct elements approximately in 16KB, see {@link HyperLogLog}. foldMap builds a single sketch in
+     * place, so the Reducer can also be used with parallel Streams (e.g. via foldParallel).
+     *
+     * <pre>
+     * {@code
+     * long distinct = ReactiveSeq.range(0,1_000_000)
+     *                            .foldParallel(s->Reducers.<Integer>toHyperLogLog().foldMap(s))
+     *                            .estimate();
+     * }
+     * </pre>
+     * @return Reducer to a HyperLogLog sketch
+     */
+    public static <T> Reducer<HyperLogLog,T> toHyperLogLog() {
+        return toHyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+    }
+    public static <T> Reducer<HyperLogLog,T> toHyperLogLog(int precision) {
+        return sketch(Monoids.hyperLogLogUnion(precision),HyperLogLog::plus,HyperLogLog.collector(precision));
+    }
+    /**
+     * @param epsilon Maximum overcount as a fraction of the total count
+     * @param confidence Probability that an estimate is within the epsilon bound
+     * @return Reducer to a Count-Min sketch of element frequencies
+     */
+    public static <T> Reducer<CountMinSketch,T> toCountMinSketch(double epsilon, double confidence) {
+        return sketch(Monoids.countMinSketchSum(epsilon,confidence),CountMinSketch::plus,
+                      CountMinSketch.collector(epsilon,confidence));
+    }
+    public static <T> Reducer<BloomFilter,T> toBloomFilter(long expectedInsertions, double fpp) {
+        return sketch(Monoids.bloomFilterUnion(expectedInsertions,fpp),BloomFilter::plus,
+                      BloomFilter.collector(expectedInsertions,fpp));
+    }
+    public static <T extends Number> Reducer<QuantileSketch,T> toQuantileSketch() {
+        return toQuantileSketch(QuantileSketch.DEFAULT_K);
+    }
+    public static <T extends Number> Reducer<QuantileSketch,T> toQuantileSketch(int k) {
+        return sketch(Monoids.quantileSketchMerge(k),QuantileSketch::plus,QuantileSketch.collector(k));
+    }
+
+    /**
+     * Sketches are immutable, so converting each element to a sketch of its own and merging would copy the sketch per
+     * element. Folds add to the accumulated sketch instead, and foldMap builds one mutable sketch through collector.
+     */
+    private static <S,T> Reducer<S,T> sketch(Monoid<S> monoid, BiFunction<S,? super T,S> plus,
+                                             Collector<? super T,?,S> collector) {
+        return new Reducer<S,T>() {
+            @Override
+            public S zero() {
+                return monoid.zero();
+            }
+
+            @Override
+            public S apply(S a, S b) {
+                return monoid.apply(a,b);
+            }
+
+            @Override
+            public Function<? super T, S> conversion() {
+                return t->plus.apply(monoid.zero(),t);
+            }
+
+            @Override
+            public BiFunction<S, ? super T, S> reducer() {
+                return plus;
+            }
+
+            @Override
+            public S foldMap(Stream<T> toReduce) {
+                return toReduce.collect(collector);
+            }
+        };
+    }
+
     /**
      * Monoid for String concatonation
      *
@@ -2390,11 +2390,36 @@ public class Streams {
     }
 
 
+    /**
+     * Copies of an Iterable backed by a single {@link ReplayBuffer} shared by all copies, elements not yet consumed
+     * by every copy are held once. The buffer is configured from the cyclops.replay system properties, see
+     * {@link ReplayBuffer.Config}.
+     *
+     * @param it Iterable to copy
+     * @param copies Number of copies
+     * @return copies Iterables over the same elements
+     */
     public static final <A> Seq<Iterable<A>> toBufferingCopier(final Iterable<A> it, final int copies) {
-
-        return  Seq.range(0,copies)
-                .zipWithIndex()
-                .map(t->()-> toBufferingCopier(it.iterator(),copies).getOrElseGet(t._2().intValue(),()->Arrays.<A>asList().iterator()));
+        return toBufferingCopier(it,copies,ReplayBuffer.Config.defaultConfig());
+    }
+    /**
+     * Copies of an Iterable backed by a single {@link ReplayBuffer} shared by all copies, with an explicit memory bound
+     * and spill policy.
+     *
+     * <pre>
+     * {@code
+     *  Seq<Iterable<Integer>> copies = Streams.toBufferingCopier(ReactiveSeq.range(0,1_000_000),2,
+     *                                                            ReplayBuffer.Config.spillAfter(10_000));
+     * }
+     * </pre>
+     *
+     * @param it Iterable to copy
+     * @param copies Number of copies
+     * @param config Buffer settings
+     * @return copies Iterables over the same elements
+     */
+    public static final <A> Seq<Iterable<A>> toBufferingCopier(final Iterable<A> it, final int copies, ReplayBuffer.Config config) {
+        return Seq.fromIterable(ReplayBuffer.copies(it,copies,config));
     }
     public static final <A> Seq<Iterable<A>> toBufferingCopier(final Iterable<A> it, final int copies,Supplier<Deque<A>> bufferSupplier) {
 
@@ -2404,18 +2429,23 @@ public class Streams {
                         ()->Arrays.<A>asList().iterator()));
     }
 
+    /**
+     * Copies of an Iterator that read from a single {@link ReplayBuffer}, configured from the cyclops.replay system
+     * properties.
+     *
+     * @param iterator Iterator to copy
+     * @param copies Number of copies
+     * @return copies Iterators over the same elements
+     */
     public static final <A> Seq<Iterator<A>> toBufferingCopier(final Iterator<A> iterator, final int copies) {
-        final List<Iterator<A>> result = new ArrayList<>();
-
-        ArrayList<Deque<A>> localBuffers = new ArrayList<>(copies);
+        return toBufferingCopier(iterator,copies,ReplayBuffer.Config.defaultConfig());
+    }
+    public static final <A> Seq<Iterator<A>> toBufferingCopier(final Iterator<A> iterator, final int copies, ReplayBuffer.Config config) {
+        final ReplayBuffer<A> buffer = new ReplayBuffer<>(iterator,copies,config);
+        final List<Iterator<A>> result = new ArrayList<>(copies);
         for(int i=0;i<copies;i++) {
-            final Deque<A> buffer = new LinkedList<A>();
-            localBuffers.add(buffer);
-            result.add(new CopyingIterator(localBuffers,
-                    iterator,  buffer));
+            result.add(buffer.reader());
         }
-
-
         return Seq.fromIterable(result);
     }
     public static final <A> Seq<Iterator<A>> toBufferingCopier(final Iterator<A> iterator, final int copies, Supplier<Deque<A>> bufferSupplier) {
@@ -21,6 +21,7 @@ import com.oath.cyclops.types.MonadicValue;
 import com.oath.cyclops.types.Zippable;
 
 import com.oath.cyclops.util.box.Mutable;
+import com.oath.cyclops.util.stream.scheduling.cron.CronDispatcher;
 
 import cyclops.companion.CompletableFutures;
 
@@ -36,7 +37,6 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -77,9 +77,17 @@ public class Future<T> implements To<Future<T>>,
                                   OrElseValue<T,Future<T>> {
 
 
+    /**
+     * Repeatedly apply fn until it returns a Future holding a right value, without growing the stack or wrapping each
+     * iteration in further Futures
+     *
+     * @see CompletableFutures#tailRec(Object, Function)
+     * @param initial Initial value
+     * @param fn Function returning either the next value to iterate with (left) or the result (right)
+     * @return Future populated with the result
+     */
     public static  <T,R> Future<R> tailRec(T initial, Function<? super T, ? extends Future<? extends Either<T, R>>> fn){
-      Future<? extends Either<T, R>> ft = fn.apply(initial);
-      return ft.flatMap(e -> e.fold(t->Future.of(() -> Future.<T,R>tailRec(t,fn)).flatMap(a->a),r->Future.ofResult(r)));
+      return Future.of(CompletableFutures.<T,R>tailRec(initial, t -> fn.apply(t).getFuture()));
     }
     public static <T> Higher<future, T> widen(Future<T> narrow) {
     return narrow;
@@ -426,17 +434,16 @@ public class Future<T> implements To<Future<T>>,
 
         final CompletableFuture<T> future = new CompletableFuture<>();
         final Future<T> wrapped = Future.of(future);
-        ReactiveSeq.generate(() -> {
+        CronDispatcher.shared()
+                      .schedule(cron, ex, () -> {
             try {
                 future.complete(t.get());
             } catch (final Throwable t1) {
                 future.completeExceptionally(t1);
             }
-            return 1;
+            return false;
 
-        })
-                   .limit(1)
-                   .schedule(cron, ex);
+        });
 
         return wrapped;
     }
@@ -515,19 +522,38 @@ public class Future<T> implements To<Future<T>>,
     public static <T> Future<ReactiveSeq<T>> sequence(final Stream<? extends Future<T>> fts) {
         return sequence(ReactiveSeq.fromStream(fts));
     }
+    /**
+     * Sequence operation that converts a ReactiveSeq of Futures to a Future with a ReactiveSeq. Results are written into
+     * a single pre-sized array as each Future completes and the result is completed once, when the last one does (or as
+     * soon as any fails).
+     *
+     * @param stream ReactiveSeq of Futures to Sequence
+     * @return Future with a ReactiveSeq of results, in the order of the provided Futures
+     */
   public static  <T> Future<ReactiveSeq<T>> sequence(ReactiveSeq<? extends Future<T>> stream) {
-
-    Future<ReactiveSeq<T>> identity = Future.ofResult(ReactiveSeq.empty());
-
-    BiFunction<Future<ReactiveSeq<T>>,Future<T>,Future<ReactiveSeq<T>>> combineToStream = (acc,next) ->acc.zip(next,(a,b)->a.append(b));
-
-    BinaryOperator<Future<ReactiveSeq<T>>> combineStreams = (a,b)-> a.zip(b,(z1,z2)->z1.appendStream(z2));
-
-    return stream.reduce(identity,combineToStream,combineStreams);
+    return Future.of(CompletableFutures.sequence(stream.map(Future::getFuture)));
   }
   public static <T,R> Future<ReactiveSeq<R>> traverse(Function<? super T,? extends R> fn,ReactiveSeq<Future<T>> stream) {
-    ReactiveSeq<Future<R>> s = stream.map(h -> h.map(fn));
-    return sequence(s);
+    return Future.of(CompletableFutures.traverse(fn, stream.map(Future::getFuture)));
+  }
+
+    /**
+     * Apply an asynchronous function to each value, with at most maxConcurrency Futures outstanding at any one time, and
+     * sequence the results into a Future with a ReactiveSeq
+     *
+     * <pre>
+     * {@code
+     *   Future<ReactiveSeq<User>> users = Future.traverse(10, id -> loadUser(id), ids);
+     * }
+     * </pre>
+     *
+     * @param maxConcurrency Maximum number of incomplete Futures
+     * @param fn Function to start the asynchronous work for a value
+     * @param values Values to traverse
+     * @return Future with a ReactiveSeq of results, in the order of the provided values
+     */
+  public static <T,R> Future<ReactiveSeq<R>> traverse(int maxConcurrency, Function<? super T,? extends Future<R>> fn, Iterable<? extends T> values) {
+    return Future.of(CompletableFutures.traverse(maxConcurrency, t -> fn.apply(t).getFuture(), values));
   }
 
     /**
@@ -636,9 +662,7 @@ public class Future<T> implements To<Future<T>>,
      * @return Future asynchronously populated with the accumulate operation
      */
     public static <T, R> Future<R> accumulate(final Iterable<Future<T>> fts, final Function<? super T, R> mapper, final Monoid<R> reducer) {
-        return sequence(fts).map(s -> s.map(mapper)
-                                       .reduce(reducer)
-                                       );
+        return traverse(mapper, ReactiveSeq.fromIterable(fts)).map(s -> s.reduce(reducer));
     }
 
     /**
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import org.reactivestreams.Publisher;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.function.Function;
@@ -33,18 +34,14 @@ public final class Bag<T> implements ImmutableSet<T>,
         return Bag.<T>empty().plus(value);
     }
     public static <T> Bag<T> of(T... values){
-        Bag<T> res = empty();
-        for(T next : values){
-            res = res.plus(next);
-        }
-        return res;
+        return fromIterable(Arrays.asList(values));
     }
 
     public static <T> Bag<T> fromStream(Stream<T> values){
-        return ReactiveSeq.fromStream(values).foldLeft(empty(),(a,b)->a.plus(b));
+        return fromIterable(ReactiveSeq.fromStream(values));
     }
     public static <T> Bag<T> fromIterable(Iterable<? extends T> values){
-        return ReactiveSeq.fromIterable(values).foldLeft(empty(),(a,b)->a.plus(b));
+        return Bag.<T>empty().plusAll(values);
     }
 
 
@@ -118,11 +115,13 @@ public final class Bag<T> implements ImmutableSet<T>,
 
     @Override
     public Bag<T> plusAll(Iterable<? extends T> list) {
-        Bag<T> res = this;
+        HashMap.Builder<T,Integer> counts = HashMap.transientOf(map);
+        int added = 0;
         for(T next : list){
-            res = res.plus(next);
+            counts.put(next, counts.getOrElse(next,0)+1);
+            added++;
         }
-        return res;
+        return added==0 ? this : new Bag<>(counts.persistent(), size+added);
     }
 
 
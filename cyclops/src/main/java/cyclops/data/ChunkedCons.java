@@ -0,0 +1,199 @@
+package cyclops.data;
+
+import cyclops.control.Eval;
+import cyclops.function.Memoize;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A LazySeq node backed by a slice of an array chunk (Clojure style chunked sequences). The elements of a chunk are
+ * realised together, and map, filter, zip, take, drop and concatMap process a chunk at a time into a new array, so
+ * that traversing a chunked LazySeq allocates a node, thunk and memoising supplier per chunk rather than per element.
+ *
+ * Navigating a chunk element by element via head / tail (e.g. with foldLazySeq) still works, creating a lightweight
+ * node per position that shares the chunk.
+ *
+ * @param <T> Element type
+ */
+final class ChunkedCons<T> extends LazySeq.Cons<T> {
+    private static final long serialVersionUID = 1L;
+
+    static final int CHUNK_SIZE = 32;
+
+    final Object[] chunk;
+    final int offset;
+    final int end;
+    final Supplier<LazySeq<T>> rest;
+
+    private ChunkedCons(Object[] chunk, int offset, int end, Supplier<LazySeq<T>> rest) {
+        super(Eval.now((T) chunk[offset]), offset + 1 < end ? () -> new ChunkedCons<>(chunk, offset + 1, end, rest) : rest);
+        this.chunk = chunk;
+        this.offset = offset;
+        this.end = end;
+        this.rest = rest;
+    }
+
+    T element(int index) {
+        return (T) chunk[index];
+    }
+
+    /**
+     * @return LazySeq that reads the supplied Iterator a chunk at a time, as it is traversed
+     */
+    static <T> LazySeq<T> fromIterator(Iterator<? extends T> it) {
+        return LazySeq.defer(() -> {
+            if (!it.hasNext())
+                return LazySeq.empty();
+            Object[] chunk = new Object[CHUNK_SIZE];
+            int size = 0;
+            while (size < CHUNK_SIZE && it.hasNext())
+                chunk[size++] = it.next();
+            return new ChunkedCons<T>(chunk, 0, size, Memoize.memoizeSupplier(() -> fromIterator(it)));
+        });
+    }
+
+    /**
+     * @return LazySeq over the supplied array (which must not be modified afterwards)
+     */
+    static <T> LazySeq<T> fromArray(Object[] array, int from) {
+        if (from >= array.length)
+            return LazySeq.empty();
+        int to = Math.min(array.length, from + CHUNK_SIZE);
+        return new ChunkedCons<>(array, from, to, to == array.length ? LazySeq::empty : Memoize.memoizeSupplier(() -> fromArray(array, to)));
+    }
+
+    /*
+     * Resolves Lazy nodes, returning a Cons (possibly a ChunkedCons) or Nil
+     */
+    static <T> LazySeq<T> force(LazySeq<T> seq) {
+        return seq.foldLazySeq(c -> c, n -> n);
+    }
+
+    @Override
+    public <R> LazySeq<R> map(Function<? super T, ? extends R> fn) {
+        return LazySeq.defer(() -> {
+            Object[] mapped = new Object[end - offset];
+            for (int i = offset; i < end; i++)
+                mapped[i - offset] = fn.apply(element(i));
+            return new ChunkedCons<R>(mapped, 0, mapped.length, Memoize.memoizeSupplier(() -> force(rest.get()).map(fn)));
+        });
+    }
+
+    @Override
+    public LazySeq<T> filter(Predicate<? super T> pred) {
+        return LazySeq.defer(() -> {
+            LazySeq<T> current = this;
+            while (current instanceof ChunkedCons) {
+                ChunkedCons<T> next = (ChunkedCons<T>) current;
+                Object[] filtered = new Object[next.end - next.offset];
+                int size = 0;
+                for (int i = next.offset; i < next.end; i++) {
+                    T value = next.element(i);
+                    if (pred.test(value))
+                        filtered[size++] = value;
+                }
+                if (size > 0)
+                    return new ChunkedCons<T>(filtered, 0, size, Memoize.memoizeSupplier(() -> force(next.rest.get()).filter(pred)));
+                current = force(next.rest.get());
+            }
+            return current.filter(pred);
+        });
+    }
+
+    @Override
+    public LazySeq<T> take(long n) {
+        if (n <= 0)
+            return LazySeq.empty();
+        int size = end - offset;
+        if (n <= size)
+            return new ChunkedCons<>(chunk, offset, offset + (int) n, LazySeq::empty);
+        return new ChunkedCons<>(chunk, offset, end, Memoize.memoizeSupplier(() -> force(rest.get()).take(n - size)));
+    }
+
+    @Override
+    public LazySeq<T> drop(long n) {
+        if (n <= 0)
+            return this;
+        return LazySeq.defer(() -> {
+            LazySeq<T> current = this;
+            long remaining = n;
+            while (remaining > 0) {
+                if (current instanceof ChunkedCons) {
+                    ChunkedCons<T> next = (ChunkedCons<T>) current;
+                    int size = next.end - next.offset;
+                    if (remaining < size)
+                        return new ChunkedCons<>(next.chunk, next.offset + (int) remaining, next.end, next.rest);
+                    remaining -= size;
+                    current = force(next.rest.get());
+                } else {
+                    return current.drop(remaining);
+                }
+            }
+            return current;
+        });
+    }
+
+    @Override
+    public <U, R> LazySeq<R> zip(Iterable<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return zip(this, other.iterator(), zipper);
+    }
+
+    private static <T, U, R> LazySeq<R> zip(LazySeq<T> seq, Iterator<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return LazySeq.defer(() -> {
+            LazySeq<T> current = force(seq);
+            if (!(current instanceof ChunkedCons))
+                return current.zip(() -> (Iterator<U>) other, zipper);
+            ChunkedCons<T> next = (ChunkedCons<T>) current;
+            Object[] zipped = new Object[next.end - next.offset];
+            int size = 0;
+            for (int i = next.offset; i < next.end && other.hasNext(); i++)
+                zipped[size++] = zipper.apply(next.element(i), other.next());
+            if (size == 0)
+                return LazySeq.empty();
+            Supplier<LazySeq<R>> rest = size < zipped.length ? LazySeq::empty : Memoize.memoizeSupplier(() -> zip(next.rest.get(), other, zipper));
+            return new ChunkedCons<R>(zipped, 0, size, rest);
+        });
+    }
+
+    @Override
+    public <R> LazySeq<R> concatMap(Function<? super T, ? extends Iterable<? extends R>> fn) {
+        return fromIterator(new Iterator<R>() {
+            final Iterator<T> it = iterator();
+            Iterator<? extends R> active = null;
+
+            @Override
+            public boolean hasNext() {
+                if (active != null && active.hasNext())
+                    return true;
+                while (it.hasNext()) {
+                    active = fn.apply(it.next()).iterator();
+                    if (active.hasNext())
+                        return true;
+                }
+                return false;
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return active.next();
+            }
+        });
+    }
+
+    @Override
+    public <R> LazySeq<R> flatMap(Function<? super T, ? extends ImmutableList<? extends R>> fn) {
+        return concatMap(fn);
+    }
+
+    @Override
+    public LazySeq.Cons<T> append(Supplier<LazySeq<T>> list) {
+        return new ChunkedCons<>(chunk, offset, end, Memoize.memoizeSupplier(() -> rest.get().append(list)));
+    }
+}
@@ -0,0 +1,315 @@
+package cyclops.data;
+
+
+import cyclops.control.Option;
+import cyclops.data.base.PrimitiveBAMT;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A persistent vector of unboxed doubles. Uses the same 32-way trie shape as {@link Vector}, but with double[] leaves,
+ * avoiding a Double object and a reference slot per element.
+ *
+ * <pre>
+ * {@code
+ *  DoubleVector v = DoubleVector.of(1.5,2.5,3.5)
+ *                               .map(i->i*2);
+ *  double total = v.sum();
+ *  Vector<Double> boxed = v.toVector();
+ * }
+ * </pre>
+ */
+public final class DoubleVector implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final double[] EMPTY_TAIL = new double[0];
+    private static final DoubleVector EMPTY = new DoubleVector(PrimitiveBAMT.empty(), EMPTY_TAIL, 0);
+
+    private final PrimitiveBAMT root;
+    private final double[] tail;
+    private final int size;
+
+    private DoubleVector(PrimitiveBAMT root, double[] tail, int size) {
+        this.root = root;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    public static DoubleVector empty() {
+        return EMPTY;
+    }
+
+    public static DoubleVector of(double... values) {
+        if (values.length == 0)
+            return EMPTY;
+        int leaves = (values.length - 1) >>> 5;
+        Object[] full = new Object[leaves];
+        for (int i = 0; i < leaves; i++) {
+            full[i] = Arrays.copyOfRange(values, i << 5, (i + 1) << 5);
+        }
+        return new DoubleVector(PrimitiveBAMT.fromLeaves(full), Arrays.copyOfRange(values, leaves << 5, values.length), values.length);
+    }
+
+    public static DoubleVector fromStream(DoubleStream stream) {
+        return of(stream.toArray());
+    }
+
+    public static DoubleVector fromIterable(Iterable<Double> values) {
+        List<Object> leaves = new ArrayList<>();
+        double[] leaf = new double[32];
+        int index = 0;
+        int size = 0;
+        for (Double next : values) {
+            if (index == 32) {
+                leaves.add(leaf);
+                leaf = new double[32];
+                index = 0;
+            }
+            leaf[index++] = next;
+            size++;
+        }
+        if (size == 0)
+            return EMPTY;
+        return new DoubleVector(PrimitiveBAMT.fromLeaves(leaves.toArray()), index == 32 ? leaf : Arrays.copyOf(leaf, index), size);
+    }
+
+    public static DoubleVector fromVector(Vector<Double> vector) {
+        return fromIterable(vector);
+    }
+
+    public Vector<Double> toVector() {
+        return mapToObj(i -> i);
+    }
+
+    public <R> Vector<R> mapToObj(DoubleFunction<? extends R> fn) {
+        Vector.Builder<R> builder = Vector.builder();
+        forEach(i -> builder.add(fn.apply(i)));
+        return builder.persistent();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private double[] leafFor(int index) {
+        return index >= tailOffset() ? tail : (double[]) root.leafAt(index);
+    }
+
+    public double getOrElse(int pos, double alt) {
+        if (pos < 0 || pos >= size)
+            return alt;
+        return leafFor(pos)[pos & 31];
+    }
+
+    public Option<Double> get(int pos) {
+        if (pos < 0 || pos >= size)
+            return Option.none();
+        return Option.some(leafFor(pos)[pos & 31]);
+    }
+
+    public DoubleVector plus(double value) {
+        if (tail.length < 32) {
+            double[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new DoubleVector(root, newTail, size + 1);
+        }
+        return new DoubleVector(root.appendLeaf(tail), new double[]{value}, size + 1);
+    }
+
+    public DoubleVector plusAll(double... values) {
+        DoubleVector res = this;
+        for (double next : values) {
+            res = res.plus(next);
+        }
+        return res;
+    }
+
+    public DoubleVector updateAt(int pos, double value) {
+        if (pos < 0 || pos >= size)
+            return this;
+        if (pos >= tailOffset()) {
+            double[] newTail = tail.clone();
+            newTail[pos & 31] = value;
+            return new DoubleVector(root, newTail, size);
+        }
+        double[] leaf = ((double[]) root.leafAt(pos)).clone();
+        leaf[pos & 31] = value;
+        return new DoubleVector(root.setLeaf(pos, leaf), tail, size);
+    }
+
+    public DoubleVector map(DoubleUnaryOperator fn) {
+        PrimitiveBAMT mapped = root.mapLeaves(leaf -> map((double[]) leaf, fn));
+        return new DoubleVector(mapped, map(tail, fn), size);
+    }
+
+    private static double[] map(double[] leaf, DoubleUnaryOperator fn) {
+        double[] res = new double[leaf.length];
+        for (int i = 0; i < leaf.length; i++) {
+            res[i] = fn.applyAsDouble(leaf[i]);
+        }
+        return res;
+    }
+
+    public double foldLeft(double identity, DoubleBinaryOperator fn) {
+        double[] acc = {identity};
+        forEach(i -> acc[0] = fn.applyAsDouble(acc[0], i));
+        return acc[0];
+    }
+
+    public double sum() {
+        double[] acc = {0};
+        forEach(i -> acc[0] += i);
+        return acc[0];
+    }
+
+    public void forEach(DoubleConsumer consumer) {
+        root.forEachLeaf(leaf -> {
+            for (double next : (double[]) leaf) {
+                consumer.accept(next);
+            }
+        });
+        for (double next : tail) {
+            consumer.accept(next);
+        }
+    }
+
+    public double[] toArray() {
+        double[] res = new double[size];
+        int[] index = {0};
+        root.forEachLeaf(leaf -> {
+            System.arraycopy(leaf, 0, res, index[0], 32);
+            index[0] += 32;
+        });
+        System.arraycopy(tail, 0, res, index[0], tail.length);
+        return res;
+    }
+
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(new DoubleVectorSpliterator(0, size), false);
+    }
+
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return leafFor(index)[index++ & 31];
+            }
+        };
+    }
+
+    private final class DoubleVectorSpliterator implements Spliterator.OfDouble {
+        private int index;
+        private final int fence;
+
+        DoubleVectorSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            int mid = index + (((fence - index) >>> 1) & ~31);
+            if (mid <= index)
+                return null;
+            DoubleVectorSpliterator prefix = new DoubleVectorSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence)
+                return false;
+            action.accept(leafFor(index)[index++ & 31]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < fence) {
+                double[] leaf = leafFor(index);
+                int end = Math.min(fence - index + (index & 31), leaf.length);
+                for (int i = index & 31; i < end; i++) {
+                    action.accept(leaf[i]);
+                }
+                index += end - (index & 31);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof DoubleVector))
+            return false;
+        DoubleVector other = (DoubleVector) o;
+        if (size != other.size)
+            return false;
+        PrimitiveIterator.OfDouble a = iterator();
+        PrimitiveIterator.OfDouble b = other.iterator();
+        while (a.hasNext()) {
+            if (Double.compare(a.nextDouble(), b.nextDouble()) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(i -> hash[0] = 31 * hash[0] + Double.hashCode(i));
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("DoubleVector[");
+        PrimitiveIterator.OfDouble it = iterator();
+        while (it.hasNext()) {
+            b.append(it.nextDouble());
+            if (it.hasNext())
+                b.append(",");
+        }
+        return b.append("]").toString();
+    }
+}
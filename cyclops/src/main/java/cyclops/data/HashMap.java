@@ -8,8 +8,10 @@ import cyclops.control.Trampoline;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
 import com.oath.cyclops.hkt.DataWitness.hashMap;
+import cyclops.data.base.CHAMP;
 import cyclops.data.base.HAMT;
 import cyclops.reactive.ReactiveSeq;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
@@ -18,20 +20,29 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.concurrent.TimeUnit;
 import java.util.function.*;
 import java.util.stream.Stream;
 
 
 
-@AllArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,Higher2<hashMap,K,V>, Serializable{
 
-    private final HAMT.Node<K,V> map;
+    private final CHAMP<K,V> map;
     private static final long serialVersionUID = 1L;
 
+    /**
+     * @deprecated HashMap is backed by a {@link CHAMP} trie, the supplied HAMT is copied
+     */
+    @Deprecated
+    public HashMap(HAMT.Node<K,V> map){
+        this(map.stream().foldLeft(CHAMP.<K,V>empty(),(acc,t2)->acc.put(t2._1(),t2._2())));
+    }
+
     public static <K,V> HashMap<K,V> empty(){
-        return new HashMap<>(HAMT.empty());
+        return new HashMap<>(CHAMP.empty());
     }
     public static <K,V> HashMap<K,V> of(K k,V v){
         HashMap<K,V> res = empty();
@@ -39,22 +50,71 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
         return res.put(k,v);
     }
 
+    /**
+     * @return A mutable builder that can be used to efficiently construct a HashMap
+     */
+    public static <K,V> Builder<K,V> transientOf(){
+        return new Builder<>(CHAMP.Transient.of(CHAMP.empty()));
+    }
+
+    /**
+     * @param map HashMap to start from, it is not modified
+     * @return A mutable builder populated with the entries of the supplied HashMap
+     */
+    public static <K,V> Builder<K,V> transientOf(HashMap<K,V> map){
+        return new Builder<>(CHAMP.Transient.of(map.map));
+    }
+
+    /**
+     * Transient, single-threaded builder for HashMaps. Interior nodes are copied at most once and then
+     * updated in place, persistent() hands the result over as an immutable HashMap after which the builder
+     * can not be used.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Builder<K,V>{
+        private final CHAMP.Transient<K,V> map;
+
+        public Builder<K,V> put(K key, V value){
+            map.put(key,value);
+            return this;
+        }
+        public Builder<K,V> putAll(Iterable<? extends Tuple2<? extends K, ? extends V>> entries){
+            for(Tuple2<? extends K, ? extends V> next : entries){
+                map.put(next._1(),next._2());
+            }
+            return this;
+        }
+        public Builder<K,V> remove(K key){
+            map.remove(key);
+            return this;
+        }
+        public V getOrElse(K key, V alt){
+            return map.getOrElse(key,alt);
+        }
+        public int size(){
+            return map.size();
+        }
+        public HashMap<K,V> persistent(){
+            return new HashMap<>(map.persistent());
+        }
+    }
+
+    private HashMap<K,V> with(CHAMP<K,V> updated){
+        return updated == map ? this : new HashMap<>(updated);
+    }
+
     public static <K,V> HashMap<K,V> fromMap(Map<K,V> map){
-        HashMap<K,V> res = empty();
+        Builder<K,V> res = transientOf();
         for(Map.Entry<K,V> next : map.entrySet()){
-            res = res.put(next.getKey(),next.getValue());
+            res.put(next.getKey(),next.getValue());
         }
-        return res;
+        return res.persistent();
     }
     public static <K,V> HashMap<K,V> fromMap(PersistentMap<K,V> map){
         if(map instanceof HashMap){
             return (HashMap)map;
         }
-        HashMap<K,V> res = empty();
-        for(Tuple2<K,V> next : map){
-            res = res.put(next._1(),next._2());
-        }
-        return res;
+        return HashMap.<K,V>transientOf().putAll(map).persistent();
     }
     public static <K,V> HashMap<K,V> of(K k1,V v1,K k2, V v2){
         HashMap<K,V> res = empty();
@@ -62,7 +122,7 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
     }
 
     public static <K,V> HashMap<K,V> fromStream(Stream<Tuple2<K,V>> stream){
-        return ReactiveSeq.fromStream(stream).foldLeft(empty(),(m,t2)->m.put(t2._1(),t2._2()));
+        return HashMap.<K,V>transientOf().putAll(ReactiveSeq.fromStream(stream)).persistent();
     }
 
     public int size(){
@@ -137,7 +197,7 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public HashMap<K,V> put(K key, V value){
-        return new HashMap<K,V>(map.plus(0,key.hashCode(),key,value));
+        return with(map.put(key,value));
     }
 
     @Override
@@ -149,17 +209,17 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public HashMap<K, V> remove(K key) {
-        return new HashMap<>(map.minus(0,key.hashCode(),key));
+        return with(map.remove(key));
     }
 
 
     @Override
     public HashMap<K, V> removeAll(K... keys) {
-        HAMT.Node<K,V> cur = map;
+        CHAMP<K,V> cur = map;
         for(K key : keys){
-            cur = cur.minus(0,key.hashCode(),key);
+            cur = cur.remove(key);
         }
-        return new HashMap<>(cur);
+        return with(cur);
     }
 
     @Override
@@ -170,7 +230,7 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public boolean containsKey(K key) {
-        return map.get(0,key.hashCode(),key).isPresent();
+        return map.containsKey(key);
     }
 
 
@@ -182,43 +242,73 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
 
     public Option<V> get(K key){
-        return map.get(0,key.hashCode(),key);
+        return map.get(key);
     }
 
     @Override
     public V getOrElse(K key, V alt) {
-        return map.getOrElse(0,key.hashCode(),key,alt);
+        return map.getOrElse(key,alt);
     }
 
     @Override
     public V getOrElseGet(K key, Supplier<? extends V> alt) {
-        return map.getOrElseGet(0,key.hashCode(),key,alt);
+        return map.getOrElseGet(key,alt);
     }
 
 
     @Override
     public HashMap<K, V> putAll(PersistentMap<? extends K, ? extends V> map) {
-        HashMap<K,V> res = this;
-        for(Tuple2<? extends K, ? extends V> e : map){
-            res = res.put(e._1(),e._2());
+        if(map instanceof HashMap){
+            return union((HashMap<K,V>)map);
         }
-        return res;
+        return transientOf(this).putAll(map).persistent();
+    }
+
+    /**
+     * Structural union, subtrees shared by both maps are reused rather than rebuilt
+     *
+     * @param other HashMap to merge with, its values win where both maps contain a key
+     * @return HashMap containing the entries of both maps
+     */
+    public HashMap<K, V> union(HashMap<K, V> other) {
+        return with(map.union(other.map));
+    }
+
+    /**
+     * @param other HashMap whose keys should be retained
+     * @return HashMap containing the entries of this map whose keys are also present in other
+     */
+    public HashMap<K, V> intersect(HashMap<K, ?> other) {
+        return with(map.intersect(other.map));
+    }
+
+    /**
+     * @param other HashMap whose keys should be removed
+     * @return HashMap containing the entries of this map whose keys are not present in other
+     */
+    public HashMap<K, V> diff(HashMap<K, ?> other) {
+        return with(map.diff(other.map));
     }
 
 
 
     @Override
     public HashMap<K, V> removeAllKeys(Iterable<? extends K> keys) {
-        HashMap<K,V> res = this;
+        Builder<K,V> res = transientOf(this);
         for(K e : keys){
-            res = res.remove(e);
+            res.remove(e);
         }
-        return res;
+        return res.persistent();
+    }
+
+    @Override
+    public Spliterator<Tuple2<K, V>> spliterator() {
+        return map.spliterator();
     }
 
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        return map.iterator();
     }
 
     @Override
@@ -232,6 +322,9 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
         if (o == null)
           return false;
 
+        if(o instanceof HashMap){
+          return map.equals(((HashMap<K,V>)o).map);
+        }
         if(o instanceof PersistentMap){
           PersistentMap<K,V> m = (PersistentMap<K,V>)o;
           return equalTo(m);
@@ -242,7 +335,7 @@ public final class HashMap<K,V> implements ImmutableMap<K,V>,PersistentMap<K,V>,
 
     @Override
     public int hashCode() {
-        return map.streamNaturalOrder().foldLeft(0,(acc,t2)-> acc+t2.hashCode());
+        return map.hashCode();
     }
 
     public static <K, V> HashMap<K,V> narrow(HashMap<? extends K, ? extends V> map) {
@@ -6,6 +6,7 @@ import com.oath.cyclops.types.persistent.PersistentSet;
 import com.oath.cyclops.hkt.Higher;
 import cyclops.control.Option;
 import com.oath.cyclops.hkt.DataWitness.hashSet;
+import cyclops.data.base.CHAMP;
 import cyclops.data.base.HAMT;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
@@ -18,41 +19,84 @@ import cyclops.reactive.Generator;
 import cyclops.reactive.ReactiveSeq;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
-import lombok.Getter;
 import org.reactivestreams.Publisher;
 
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collector;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Serializable {
     private static final long serialVersionUID = 1L;
-    @Getter
-    private final HAMT.Node<T,T> map;
+    private final CHAMP<T,T> map;
 
-    static <T> Collector<T, Set<T>, HashSet<T>> collector() {
-        Collector<T, ?, Set<T>> c  = Collectors.toSet();
-        return Collectors.<T, Set<T>, Iterable<T>,HashSet<T>>collectingAndThen((Collector)c,HashSet::fromIterable);
+    static <T> Collector<T, Builder<T>, HashSet<T>> collector() {
+        return Collector.of(HashSet::transientOf,Builder::add,(a,b)->a.addAll(b.persistent()),Builder::persistent);
+    }
+
+    /**
+     * @return A mutable builder that can be used to efficiently construct a HashSet
+     */
+    public static <T> Builder<T> transientOf(){
+        return new Builder<>(CHAMP.Transient.of(CHAMP.empty()));
+    }
+
+    /**
+     * @param set HashSet to start from, it is not modified
+     * @return A mutable builder populated with the values of the supplied HashSet
+     */
+    public static <T> Builder<T> transientOf(HashSet<T> set){
+        return new Builder<>(CHAMP.Transient.of(set.map));
+    }
+
+    /**
+     * Transient, single-threaded builder for HashSets. Interior nodes are copied at most once and then
+     * updated in place, persistent() hands the result over as an immutable HashSet after which the builder
+     * can not be used.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Builder<T>{
+        private final CHAMP.Transient<T,T> map;
+
+        public Builder<T> add(T value){
+            map.put(value,value);
+            return this;
+        }
+        public Builder<T> addAll(Iterable<? extends T> values){
+            for(T next : values){
+                map.put(next,next);
+            }
+            return this;
+        }
+        public Builder<T> remove(T value){
+            map.remove(value);
+            return this;
+        }
+        public boolean contains(T value){
+            return map.containsKey(value);
+        }
+        public int size(){
+            return map.size();
+        }
+        public HashSet<T> persistent(){
+            return new HashSet<>(map.persistent());
+        }
     }
 
     public static <T> HashSet<T> empty(){
-        return new HashSet<T>( HAMT.empty());
+        return new HashSet<T>( CHAMP.empty());
     }
     public static <T> HashSet<T> singleton(T value){
-        HAMT.Node<T, T> tree = HAMT.empty();
-        tree = tree.plus(0,value.hashCode(),value,value);
-        return new HashSet<>(tree);
+        return new HashSet<>(CHAMP.<T,T>empty().put(value,value));
     }
     public static <T> HashSet<T> of(T... values){
-        HAMT.Node<T, T> tree = HAMT.empty();
+        Builder<T> res = transientOf();
         for(T value : values){
-            tree = tree.plus(0,value.hashCode(),value,value);
+            res.add(value);
         }
-        return new HashSet<>(tree);
+        return res.persistent();
     }
     public static <U, T> HashSet<T> unfold(final U seed, final Function<? super U, Option<Tuple2<T, U>>> unfolder) {
         return fromStream(ReactiveSeq.unfold(seed,unfolder));
@@ -96,10 +140,10 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
     }
 
     public static <T> HashSet<T> fromStream(Stream<T> stream){
-        return ReactiveSeq.fromStream(stream).foldLeft(empty(),(m,t2)->m.plus(t2));
+        return HashSet.<T>transientOf().addAll(ReactiveSeq.fromStream(stream)).persistent();
     }
     public static <T> HashSet<T> fromIterable(Iterable<T> it){
-        return ReactiveSeq.fromIterable(it).foldLeft(empty(),(m, t2)->m.plus(t2));
+        return HashSet.<T>transientOf().addAll(it).persistent();
     }
     public static <T> HashSet<T> fromIterator(Iterator<T> it){
       return fromIterable((()->it));
@@ -112,7 +156,7 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
 
     public boolean containsValue(T value){
-        return map.get(0,value.hashCode(),value).isPresent();
+        return map.containsKey(value);
     }
 
     @Override
@@ -124,12 +168,12 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
     @Override
     public HashSet<T> add(T value) {
-        return new HashSet<>(map.plus(0,value.hashCode(),value,value));
+        return with(map.put(value,value));
     }
 
     @Override
     public HashSet<T> removeValue(T value) {
-        return new HashSet<>(map.minus(0,value.hashCode(),value));
+        return with(map.remove(value));
     }
 
     @Override
@@ -205,42 +249,92 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       public HashSet<T> plus(T value){
 
-          return new HashSet<>(map.plus(0,value.hashCode(),value,value));
+          return with(map.put(value,value));
       }
 
       @Override
       public HashSet<T> plusAll(Iterable<? extends T> list) {
-          HashSet<T> res = this;
-          for(T next : list){
-              res = res.plus(next);
+          if(list instanceof HashSet){
+              return union((HashSet<T>)list);
           }
-          return res;
+          return transientOf(this).addAll(list).persistent();
+      }
+
+      /**
+       * Structural union, subtrees shared by both sets are reused rather than rebuilt
+       *
+       * @param other HashSet to merge with
+       * @return HashSet containing the elements of both sets
+       */
+      public HashSet<T> union(HashSet<T> other) {
+          return with(map.union(other.map));
+      }
+
+      /**
+       * @param other HashSet of elements to retain
+       * @return HashSet containing the elements present in both sets
+       */
+      public HashSet<T> intersect(HashSet<T> other) {
+          return with(map.intersect(other.map));
+      }
+
+      /**
+       * @param other HashSet of elements to remove
+       * @return HashSet containing the elements of this set that are not present in other
+       */
+      public HashSet<T> diff(HashSet<T> other) {
+          return with(map.diff(other.map));
+      }
+
+      private HashSet<T> with(CHAMP<T,T> updated) {
+          return updated == map ? this : new HashSet<>(updated);
+      }
+
+      /**
+       * @deprecated HashSet is backed by a {@link CHAMP} trie, this returns a copy of its contents as a HAMT
+       */
+      @Deprecated
+      public HAMT.Node<T,T> getMap() {
+          HAMT.Node<T,T> node = HAMT.empty();
+          for(T next : this)
+              node = node.plus(0,next.hashCode(),next,next);
+          return node;
       }
 
 
       @Override
       public HashSet<T> removeAll(Iterable<? extends T> list) {
-          HashSet<T> res = this;
+          if(list instanceof HashSet){
+              return diff((HashSet<T>)list);
+          }
+          Builder<T> res = transientOf(this);
           for(T next : list){
-              res = res.removeValue(next);
+              res.remove(next);
           }
-          return res;
+          return res.persistent();
       }
 
       @Override
       public ReactiveSeq<T> stream() {
-          return map.stream().map(t->t._1());
+          return map.keys();
       }
 
       @Override
       public Iterator<T> iterator() {
-          return stream().iterator();
+          return map.keyIterator();
+      }
+
+      @Override
+      public Spliterator<T> spliterator() {
+          return map.keySpliterator();
       }
 
       @Override
       public boolean equals(Object o) {
           if(!(o instanceof PersistentSet) || o==null)
               return false;
+          if(o instanceof HashSet)
+              return map.equals(((HashSet<T>)o).map);
           PersistentSet s = (PersistentSet)o;
          for(T next : this){
              if(!s.containsValue(next))
@@ -251,10 +345,7 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       @Override
       public int hashCode() {
-          int hashCode = 1;
-          for (T e : this)
-              hashCode = 31*hashCode + (e==null ? 0 : e.hashCode());
-          return hashCode;
+          return map.keyHashCode();
       }
 
       @Override
@@ -344,6 +435,9 @@ public final class HashSet<T> implements  ImmutableSet<T>,Higher<hashSet,T> , Se
 
       @Override
       public HashSet<T> retainAll(Iterable<? extends T> it) {
+          if(it instanceof HashSet){
+              return intersect((HashSet<T>)it);
+          }
           return (HashSet<T>)ImmutableSet.super.retainAll(it);
       }
 
@@ -27,6 +27,7 @@ import org.reactivestreams.Publisher;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static cyclops.matching.Api.*;
 
@@ -202,6 +203,13 @@ public interface ImmutableList<T> extends Sealed2<ImmutableList.Some<T>,Immutabl
     @Override
     ReactiveSeq<T> stream();
 
+    /**
+     * @return A parallel java.util.stream.Stream over this collection, split using this collection's spliterator
+     */
+    default Stream<T> parallelStream(){
+        return StreamSupport.stream(spliterator(),true);
+    }
+
 
     @Override
     ImmutableList<T> filter(Predicate<? super T> fn);
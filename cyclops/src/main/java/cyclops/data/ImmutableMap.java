@@ -19,6 +19,8 @@ import cyclops.data.tuple.Tuple2;
 
 import java.util.*;
 import java.util.function.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface ImmutableMap<K,V> extends Iterable<Tuple2<K,V>>,
                                             Folds<Tuple2<K,V>>,
@@ -157,6 +159,13 @@ public interface ImmutableMap<K,V> extends Iterable<Tuple2<K,V>>,
 
     ReactiveSeq<Tuple2<K,V>> stream();
 
+    /**
+     * @return A parallel java.util.stream.Stream over the entries of this map, split using this map's spliterator
+     */
+    default Stream<Tuple2<K,V>> parallelStream(){
+        return StreamSupport.stream(spliterator(),true);
+    }
+
     <R> ImmutableMap<K,R> mapValues(Function<? super V, ? extends R> map);
     <R> ImmutableMap<R,V> mapKeys(Function<? super K, ? extends R> map);
     <R1,R2> ImmutableMap<R1,R2> bimap(BiFunction<? super K, ? super V, ? extends Tuple2<R1, R2>> map);
@@ -1,6 +1,7 @@
 package cyclops.data;
 
 
+import com.oath.cyclops.internal.stream.spliterators.IndexedSpliterator;
 import com.oath.cyclops.types.persistent.PersistentCollection;
 import com.oath.cyclops.types.persistent.PersistentIndexed;
 import com.oath.cyclops.types.persistent.PersistentList;
@@ -99,15 +100,46 @@ public class IntMap<T> implements ImmutableList<T>,Serializable,Higher<intMap,T>
         if(iterable instanceof IntMap){
             return (IntMap<T>)iterable;
         }
-        Iterator<T> it = iterable.iterator();
-        IntPatriciaTrie.Node<T> tree = IntPatriciaTrie.empty();
-        int count = 0;
-        while(it.hasNext()){
-            T next = it.next();
-            tree = tree.put(count,count,next);
-            count++;
+        return IntMap.<T>builder().addAll(iterable).persistent();
+    }
+
+    /**
+     * @return A mutable builder that can be used to efficiently construct an IntMap
+     */
+    public static <T> Builder<T> builder(){
+        return new Builder<>(IntPatriciaTrie.empty(),0);
+    }
+
+    /**
+     * Transient, single-threaded builder for IntMaps. Trie nodes created by the builder are updated in place,
+     * persistent() hands them over to the IntMap without copying after which the builder can not be used.
+     */
+    public static final class Builder<T>{
+        private final IntPatriciaTrie.Transient<T> tree;
+        private int size;
+
+        private Builder(IntPatriciaTrie.Node<T> tree, int size){
+            this.tree = IntPatriciaTrie.Transient.of(tree);
+            this.size = size;
+        }
+
+        public Builder<T> add(T value){
+            tree.put(size,value);
+            size++;
+            return this;
+        }
+        public Builder<T> addAll(Iterable<? extends T> values){
+            for(T next : values){
+                add(next);
+            }
+            return this;
+        }
+        public int size(){
+            return size;
+        }
+        public IntMap<T> persistent(){
+            return new IntMap<>(tree.persistent(),size);
         }
-        return new IntMap<T>(tree,count);
     }
     public static <T> IntMap<T> empty(){
         IntPatriciaTrie.Node<T> tree = IntPatriciaTrie.empty();
@@ -116,11 +148,15 @@ public class IntMap<T> implements ImmutableList<T>,Serializable,Higher<intMap,T>
     }
 
     public static <T> IntMap<T> of(T... values){
-        IntPatriciaTrie.Node<T> tree = IntPatriciaTrie.empty();
-        for(int i=0;i<values.length;i++){
-            tree = tree.put(i,i,values[i]);
+        Builder<T> res = builder();
+        for(T next : values){
+            res.add(next);
         }
-        return new IntMap<T>(tree,values.length);
+        return res.persistent();
+    }
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexedSpliterator<>(i->getOrElse(i,null),0,size,32);
     }
     @Override
     public Iterator<T> iterator(){
@@ -169,15 +205,7 @@ public class IntMap<T> implements ImmutableList<T>,Serializable,Higher<intMap,T>
 
     @Override
     public IntMap<T> appendAll(Iterable<? extends T> value) {
-        Iterator<? extends  T> it = value.iterator();
-        IntPatriciaTrie.Node<T> tree = this.intMap;
-        int count = size;
-        while(it.hasNext()){
-            T next = it.next();
-            tree =tree.put(count,count,next);
-            count++;
-        }
-        return new IntMap<T>(tree,count);
+        return new Builder<T>(intMap,size).addAll(value).persistent();
     }
 
     @Override
@@ -638,7 +666,9 @@ public class IntMap<T> implements ImmutableList<T>,Serializable,Higher<intMap,T>
         int i = (int)pos;
         if(i<0 || i>=size())
             return this;
-        return  new IntMap<>(intMap.minus(i,i),size-1);
+        if(i==size-1)
+            return new IntMap<>(intMap.minus(i,i),size-1);
+        return (IntMap<T>)ImmutableList.super.removeAt(pos);
     }
 
     @Override
@@ -874,12 +904,12 @@ public class IntMap<T> implements ImmutableList<T>,Serializable,Higher<intMap,T>
         private void readObject(ObjectInputStream s) throws ClassNotFoundException, IOException {
             s.defaultReadObject();
             final int size = s.readInt();
-            IntMap<T> res = empty();
+            Builder<T> res = builder();
             for (int i = 0; i < size; i++) {
                 T n = (T) s.readObject();
-                res =  res.append(n);
+                res.add(n);
             }
-            v=res;
+            v=res.persistent();
         }
     }
 
@@ -0,0 +1,320 @@
+package cyclops.data;
+
+
+import cyclops.control.Option;
+import cyclops.data.base.PrimitiveBAMT;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A persistent vector of unboxed ints. Uses the same 32-way trie shape as {@link Vector}, but with int[] leaves,
+ * avoiding an Integer object and a reference slot per element.
+ *
+ * <pre>
+ * {@code
+ *  IntVector v = IntVector.range(0,1000)
+ *                         .map(i->i*2);
+ *  long total = v.sum();
+ *  Vector<Integer> boxed = v.toVector();
+ * }
+ * </pre>
+ */
+public final class IntVector implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int[] EMPTY_TAIL = new int[0];
+    private static final IntVector EMPTY = new IntVector(PrimitiveBAMT.empty(), EMPTY_TAIL, 0);
+
+    private final PrimitiveBAMT root;
+    private final int[] tail;
+    private final int size;
+
+    private IntVector(PrimitiveBAMT root, int[] tail, int size) {
+        this.root = root;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    public static IntVector empty() {
+        return EMPTY;
+    }
+
+    public static IntVector of(int... values) {
+        if (values.length == 0)
+            return EMPTY;
+        int leaves = (values.length - 1) >>> 5;
+        Object[] full = new Object[leaves];
+        for (int i = 0; i < leaves; i++) {
+            full[i] = Arrays.copyOfRange(values, i << 5, (i + 1) << 5);
+        }
+        return new IntVector(PrimitiveBAMT.fromLeaves(full), Arrays.copyOfRange(values, leaves << 5, values.length), values.length);
+    }
+
+    public static IntVector fromStream(IntStream stream) {
+        return of(stream.toArray());
+    }
+
+    public static IntVector range(int start, int end) {
+        return fromStream(IntStream.range(start, end));
+    }
+
+    public static IntVector fromIterable(Iterable<Integer> values) {
+        List<Object> leaves = new ArrayList<>();
+        int[] leaf = new int[32];
+        int index = 0;
+        int size = 0;
+        for (Integer next : values) {
+            if (index == 32) {
+                leaves.add(leaf);
+                leaf = new int[32];
+                index = 0;
+            }
+            leaf[index++] = next;
+            size++;
+        }
+        if (size == 0)
+            return EMPTY;
+        return new IntVector(PrimitiveBAMT.fromLeaves(leaves.toArray()), index == 32 ? leaf : Arrays.copyOf(leaf, index), size);
+    }
+
+    public static IntVector fromVector(Vector<Integer> vector) {
+        return fromIterable(vector);
+    }
+
+    public Vector<Integer> toVector() {
+        return mapToObj(i -> i);
+    }
+
+    public <R> Vector<R> mapToObj(IntFunction<? extends R> fn) {
+        Vector.Builder<R> builder = Vector.builder();
+        forEach(i -> builder.add(fn.apply(i)));
+        return builder.persistent();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private int[] leafFor(int index) {
+        return index >= tailOffset() ? tail : (int[]) root.leafAt(index);
+    }
+
+    public int getOrElse(int pos, int alt) {
+        if (pos < 0 || pos >= size)
+            return alt;
+        return leafFor(pos)[pos & 31];
+    }
+
+    public Option<Integer> get(int pos) {
+        if (pos < 0 || pos >= size)
+            return Option.none();
+        return Option.some(leafFor(pos)[pos & 31]);
+    }
+
+    public IntVector plus(int value) {
+        if (tail.length < 32) {
+            int[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new IntVector(root, newTail, size + 1);
+        }
+        return new IntVector(root.appendLeaf(tail), new int[]{value}, size + 1);
+    }
+
+    public IntVector plusAll(int... values) {
+        IntVector res = this;
+        for (int next : values) {
+            res = res.plus(next);
+        }
+        return res;
+    }
+
+    public IntVector updateAt(int pos, int value) {
+        if (pos < 0 || pos >= size)
+            return this;
+        if (pos >= tailOffset()) {
+            int[] newTail = tail.clone();
+            newTail[pos & 31] = value;
+            return new IntVector(root, newTail, size);
+        }
+        int[] leaf = ((int[]) root.leafAt(pos)).clone();
+        leaf[pos & 31] = value;
+        return new IntVector(root.setLeaf(pos, leaf), tail, size);
+    }
+
+    public IntVector map(IntUnaryOperator fn) {
+        PrimitiveBAMT mapped = root.mapLeaves(leaf -> map((int[]) leaf, fn));
+        return new IntVector(mapped, map(tail, fn), size);
+    }
+
+    private static int[] map(int[] leaf, IntUnaryOperator fn) {
+        int[] res = new int[leaf.length];
+        for (int i = 0; i < leaf.length; i++) {
+            res[i] = fn.applyAsInt(leaf[i]);
+        }
+        return res;
+    }
+
+    public int foldLeft(int identity, IntBinaryOperator fn) {
+        int[] acc = {identity};
+        forEach(i -> acc[0] = fn.applyAsInt(acc[0], i));
+        return acc[0];
+    }
+
+    /**
+     * @return Sum of all elements, accumulated as a long so that large vectors do not overflow
+     */
+    public long sum() {
+        long[] acc = {0};
+        forEach(i -> acc[0] += i);
+        return acc[0];
+    }
+
+    public void forEach(IntConsumer consumer) {
+        root.forEachLeaf(leaf -> {
+            for (int next : (int[]) leaf) {
+                consumer.accept(next);
+            }
+        });
+        for (int next : tail) {
+            consumer.accept(next);
+        }
+    }
+
+    public int[] toArray() {
+        int[] res = new int[size];
+        int[] index = {0};
+        root.forEachLeaf(leaf -> {
+            System.arraycopy(leaf, 0, res, index[0], 32);
+            index[0] += 32;
+        });
+        System.arraycopy(tail, 0, res, index[0], tail.length);
+        return res;
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(new IntVectorSpliterator(0, size), false);
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return leafFor(index)[index++ & 31];
+            }
+        };
+    }
+
+    private final class IntVectorSpliterator implements Spliterator.OfInt {
+        private int index;
+        private final int fence;
+
+        IntVectorSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mid = index + (((fence - index) >>> 1) & ~31);
+            if (mid <= index)
+                return null;
+            IntVectorSpliterator prefix = new IntVectorSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence)
+                return false;
+            action.accept(leafFor(index)[index++ & 31]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (index < fence) {
+                int[] leaf = leafFor(index);
+                int end = Math.min(fence - index + (index & 31), leaf.length);
+                for (int i = index & 31; i < end; i++) {
+                    action.accept(leaf[i]);
+                }
+                index += end - (index & 31);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IntVector))
+            return false;
+        IntVector other = (IntVector) o;
+        if (size != other.size)
+            return false;
+        PrimitiveIterator.OfInt a = iterator();
+        PrimitiveIterator.OfInt b = other.iterator();
+        while (a.hasNext()) {
+            if (a.nextInt() != b.nextInt())
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return foldLeft(1, (acc, i) -> 31 * acc + Integer.hashCode(i));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("IntVector[");
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            b.append(it.nextInt());
+            if (it.hasNext())
+                b.append(",");
+        }
+        return b.append("]").toString();
+    }
+}
@@ -136,23 +136,35 @@ public interface LazySeq<T> extends  ImmutableList<T>,
         return fromStream(ReactiveSeq.generate(s));
     }
      static LazySeq<Integer> range(final int start, final int end) {
-        return LazySeq.fromStream(ReactiveSeq.range(start,end));
+        return ChunkedCons.fromIterator(ReactiveSeq.range(start,end).iterator());
 
     }
     static LazySeq<Integer> range(final int start, final int step, final int end) {
-       return LazySeq.fromStream(ReactiveSeq.range(start,step,end));
+       return ChunkedCons.fromIterator(ReactiveSeq.range(start,step,end).iterator());
 
     }
     static LazySeq<Long> rangeLong(final long start, final long step, final long end) {
-        return LazySeq.fromStream(ReactiveSeq.rangeLong(start,step,end));
+        return ChunkedCons.fromIterator(ReactiveSeq.rangeLong(start,step,end).iterator());
     }
 
 
     static LazySeq<Long> rangeLong(final long start, final long end) {
-        return LazySeq.fromStream(ReactiveSeq.rangeLong(start,end));
+        return ChunkedCons.fromIterator(ReactiveSeq.rangeLong(start,end).iterator());
 
     }
 
+    /**
+     * Create a chunked LazySeq from the supplied Iterable : elements are realised, and map / filter / zip / take /
+     * concatMap applied, a chunk of 32 at a time. LazySeqs created from arrays, Collections, persistent collections
+     * and ranges are chunked by default, LazySeqs created from Iterators, Streams and generators are not.
+     *
+     * @param it Iterable to read a chunk at a time
+     * @return Chunked LazySeq
+     */
+    static <T> LazySeq<T> chunked(Iterable<? extends T> it){
+        return ChunkedCons.fromIterator(it.iterator());
+    }
+
 
     @Override
     default LazySeq<T> removeAll(Iterable<? extends T> list) {
@@ -292,6 +304,8 @@ public interface LazySeq<T> extends  ImmutableList<T>,
     static <T> LazySeq<T> fromIterable(Iterable<T> it){
         if(it instanceof LazySeq)
             return (LazySeq<T>)it;
+        if(it instanceof Collection || it instanceof PersistentCollection)
+            return ChunkedCons.fromIterator(it.iterator());
         return fromIterator(it.iterator());
     }
     static <T> LazySeq<T> fromIterator(Iterator<T> it){
@@ -311,11 +325,7 @@ public interface LazySeq<T> extends  ImmutableList<T>,
     }
     @SafeVarargs
     static <T> LazySeq<T> of(T... value){
-        LazySeq<T> result = empty();
-        for(int i=value.length;i>0;i--){
-            result = result.prepend(value[i-1]);
-        }
-        return result;
+        return ChunkedCons.fromArray(value.clone(),0);
     }
     static <T> LazySeq<T> empty(){
         return Nil.Instance;
@@ -338,7 +348,12 @@ public interface LazySeq<T> extends  ImmutableList<T>,
         if( n <= 0)
             return LazySeq.Nil.Instance;
 
-        return fromStream(ReactiveSeq.fromIterable(this).take(n));
+        return defer(()->{
+            LazySeq<T> current = ChunkedCons.force(this);
+            if(current instanceof ChunkedCons)
+                return current.take(n);
+            return fromStream(ReactiveSeq.fromIterable(current).take(n));
+        });
 
     }
     default LazySeq<T> takeWhile(Predicate<? super T> p) {
@@ -373,8 +388,12 @@ public interface LazySeq<T> extends  ImmutableList<T>,
         return defer(()-> {
             LazySeq<T> current = this;
             long pos = num;
-            while (pos-- > 0 && !current.isEmpty()) {
+            while (pos > 0 && !current.isEmpty()) {
+                current = ChunkedCons.force(current);
+                if(current instanceof ChunkedCons)
+                    return current.drop(pos);
                 current = current.foldLazySeq(c -> c.tail.get(), nil -> nil);
+                pos--;
             }
             return current;
         });
@@ -483,14 +502,33 @@ public interface LazySeq<T> extends  ImmutableList<T>,
     default Iterator<T> iterator(){
         return new Iterator<T>() {
             LazySeq<T> current= LazySeq.this;
+            ChunkedCons<T> chunk = null;
+            int index = 0;
             @Override
             public boolean hasNext() {
+                if(chunk!=null){
+                    if(index<chunk.end)
+                        return true;
+                    current = chunk.rest.get();
+                    chunk = null;
+                }
                 return current.fold(c->true, n->false);
             }
 
             @Override
             public T next() {
+                if(chunk!=null){
+                    if(index<chunk.end)
+                        return chunk.element(index++);
+                    current = chunk.rest.get();
+                    chunk = null;
+                }
                 return current.foldLazySeq(c->{
+                    if(c instanceof ChunkedCons){ //read the rest of the chunk directly from its array
+                        chunk = (ChunkedCons<T>)c;
+                        index = chunk.offset+1;
+                        return chunk.element(chunk.offset);
+                    }
                     current = c.tail.get();
                     return c.head.get();
                 },n->null);
@@ -498,6 +536,34 @@ public interface LazySeq<T> extends  ImmutableList<T>,
         };
     }
 
+    /**
+     * @return This LazySeq with subsequent map / filter / zip / take / concatMap operations realised a chunk of 32
+     * elements at a time
+     */
+    default LazySeq<T> chunked(){
+        return ChunkedCons.fromIterator(iterator());
+    }
+
+    /**
+     * Operations on chunked LazySeqs are applied to up to 32 elements at a time as the LazySeq is traversed. Use
+     * unchunked where functions passed to subsequent map / filter / peek (etc) operations must only be called one
+     * element at a time, as each element is reached.
+     *
+     * <pre>
+     * {@code
+     *  LazySeq.range(0,1000)
+     *         .unchunked()
+     *         .peek(this::sendMessage)
+     *         .takeWhile(this::moreWanted);
+     * }
+     * </pre>
+     *
+     * @return This LazySeq with subsequent operations applied element by element
+     */
+    default LazySeq<T> unchunked(){
+        return fromIterator(iterator());
+    }
+
 
   @Override
   <R> LazySeq<R> map(Function<? super T, ? extends R> fn);
@@ -660,7 +726,12 @@ public interface LazySeq<T> extends  ImmutableList<T>,
 
     @Override
     default <U, R> LazySeq<R> zip(Iterable<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
-        return (LazySeq<R>) ImmutableList.super.zip(other,zipper);
+        return defer(()->{
+            LazySeq<T> current = ChunkedCons.force(this);
+            if(current instanceof ChunkedCons)
+                return current.zip(other,zipper);
+            return unitStream(current.stream().zip(other,zipper));
+        });
     }
 
     @Override
@@ -935,7 +1006,7 @@ public interface LazySeq<T> extends  ImmutableList<T>,
 
 
 
-    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
     public static class Cons<T>  implements LazySeq<T>, ImmutableList.Some<T> {
         private static final long serialVersionUID = 1L;
         public final Eval<T> head;
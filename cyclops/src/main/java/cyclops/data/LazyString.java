@@ -16,29 +16,68 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * An immutable, lazily evaluated String. Characters are stored in a rope of compact chunks (byte[] when every
+ * character in the chunk fits in Latin-1, char[] otherwise) linked by a {@link LazySeq}, so substring, append,
+ * mapChar, words and lines work a chunk at a time and share the underlying arrays where possible.
+ */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class LazyString implements ImmutableList<Character>,Higher<lazyString,Character>, Serializable {
     private static final long serialVersionUID = 1L;
-    private final LazySeq<Character> string;
+    private static final int CHUNK_SIZE = 1024;
+    private final LazySeq<Chunk> chunks;
 
-    private static final LazyString Nil = fromLazySeq(LazySeq.empty());
+    private static final LazyString Nil = new LazyString(LazySeq.empty());
     public static LazyString fromLazySeq(LazySeq<Character> string){
-        return new LazyString(string);
+        return new LazyString(chunk(string));
     }
     public static LazyString fromIterable(Iterable<Character> string){
-        return new LazyString(LazySeq.fromIterable(string));
+        if(string instanceof LazyString)
+            return (LazyString)string;
+        return fromLazySeq(LazySeq.fromIterable(string));
     }
     public static LazyString of(CharSequence seq){
-        return fromLazySeq(LazySeq.fromStream( seq.chars().mapToObj(i -> (char) i)));
+        LazySeq<Chunk> chunks = LazySeq.empty();
+        for(int end = seq.length();end>0;end-=CHUNK_SIZE){
+            int start = Math.max(0,end-CHUNK_SIZE);
+            chunks = chunks.prepend(Chunk.of(seq,start,end));
+        }
+        return new LazyString(chunks);
     }
 
 
-    static Collector<Character, List<Character>, LazyString> collector() {
-        Collector<Character, ?, List<Character>> c  = Collectors.toList();
-        return Collectors.<Character, List<Character>, Iterable<Character>,LazyString>collectingAndThen((Collector)c,LazyString::fromIterable);
+    static Collector<Character, StringBuilder, LazyString> collector() {
+        return Collector.of(StringBuilder::new,StringBuilder::append,StringBuilder::append,LazyString::of);
+    }
+
+    /*
+     * Chunks are primitive, so null elements can not be represented and are dropped.
+     */
+    private static LazySeq<Chunk> chunk(LazySeq<Character> string){
+        return LazySeq.defer(()->{
+            char[] buffer = new char[CHUNK_SIZE];
+            int length = 0;
+            LazySeq<Character> current = string;
+            while(length<CHUNK_SIZE){
+                LazySeq.Cons<Character> cons = current.foldLazySeq(c->c,n->null);
+                if(cons==null)
+                    break;
+                Character next = cons.head.get();
+                if(next!=null)
+                    buffer[length++]=next;
+                current = cons.tail.get();
+            }
+            if(length==0)
+                return LazySeq.<Chunk>empty();
+            LazySeq<Character> rest = current;
+            return LazySeq.cons(Chunk.of(buffer,length),()->chunk(rest));
+        });
+    }
+
+    private LazySeq<Character> string(){
+        return LazySeq.fromIterator(iterator());
     }
 
     @Override
@@ -53,7 +92,7 @@ public final class LazyString implements ImmutableList<Character>,Higher<lazyStr
     }
 
     public LazyString op(Function<? super LazySeq<Character>, ? extends LazySeq<Character>> custom){
-        return fromLazySeq(custom.apply(string));
+        return fromLazySeq(custom.apply(string()));
     }
 
     public LazyString substring(int start){
@@ -63,81 +102,153 @@ public final class LazyString implements ImmutableList<Character>,Higher<lazyStr
         return drop(start).take(end-start);
     }
     public LazyString toUpperCase(){
-        return fromLazySeq(string.map(c->c.toString().toUpperCase().charAt(0)));
+        return mapChunks(Character::toUpperCase);
     }
     public LazyString toLowerCase(){
-        return fromLazySeq(string.map(c->c.toString().toLowerCase().charAt(0)));
+        return mapChunks(Character::toLowerCase);
     }
     public LazySeq<LazyString> words() {
-        return string.split(t -> t.equals(' ')).map(l-> fromLazySeq(l));
+        return split(chunks,' ');
     }
     public LazySeq<LazyString> lines() {
-        return string.split(t -> t.equals('\n')).map(l-> fromLazySeq(l));
+        return split(chunks,'\n');
     }
     public LazyString mapChar(Function<Character,Character> fn){
-        return fromLazySeq(string.map(fn));
+        return mapChunks(c->fn.apply(c));
     }
     public LazyString flatMapChar(Function<Character,LazyString> fn){
-        return fromLazySeq(string.flatMap(fn.andThen(s->s.string)));
+        return new LazyString(string().flatMap(fn.andThen(s->s.chunks)));
+    }
+
+    private LazyString mapChunks(CharOperator fn){
+        return new LazyString(chunks.map(c->c.map(fn)));
+    }
+
+    /*
+     * Splits on separator, skipping empty segments. Each segment is a view over the original chunks.
+     */
+    private static LazySeq<LazyString> split(LazySeq<Chunk> chunks, char separator){
+        return LazySeq.defer(()->{
+            LazySeq<Chunk> current = chunks;
+            int start = -1;
+            Chunk first = null;
+            while(start<0){
+                LazySeq.Cons<Chunk> cons = current.foldLazySeq(c->c,n->null);
+                if(cons==null)
+                    return LazySeq.<LazyString>empty();
+                first = cons.head.get();
+                start = first.indexOfNot(separator,0);
+                current = cons.tail.get();
+            }
+            List<Chunk> segment = new ArrayList<>();
+            Chunk chunk = first;
+            int from = start;
+            while(true){
+                int end = chunk.indexOf(separator,from);
+                if(end>=0){
+                    if(end>from)
+                        segment.add(chunk.slice(from,end));
+                    LazySeq<Chunk> rest = current.prepend(chunk.slice(end,chunk.length()));
+                    return LazySeq.cons(new LazyString(LazySeq.fromIterable(segment)),()->split(rest,separator));
+                }
+                if(chunk.length()>from)
+                    segment.add(chunk.slice(from,chunk.length()));
+                LazySeq.Cons<Chunk> cons = current.foldLazySeq(c->c,n->null);
+                if(cons==null)
+                    return LazySeq.of(new LazyString(LazySeq.fromIterable(segment)));
+                chunk = cons.head.get();
+                from = 0;
+                current = cons.tail.get();
+            }
+        });
     }
 
     @Override
     public LazyString filter(Predicate<? super Character> predicate) {
-        return fromLazySeq(string.filter(predicate));
+        return new LazyString(chunks.map(c->c.filter(predicate)).filter(c->c.length()>0));
     }
 
     @Override
     public <R> ImmutableList<R> map(Function<? super Character, ? extends R> fn) {
-        return string.map(fn);
+        return string().map(fn);
     }
 
     @Override
     public <R> ImmutableList<R> flatMap(Function<? super Character, ? extends ImmutableList<? extends R>> fn) {
-        return  string.flatMap(fn);
+        return  string().flatMap(fn);
     }
 
     @Override
     public <R> ImmutableList<R> concatMap(Function<? super Character, ? extends Iterable<? extends R>> fn) {
-        return  string.concatMap(fn);
+        return  string().concatMap(fn);
     }
 
     @Override
     public <R> ImmutableList<R> mergeMap(Function<? super Character, ? extends Publisher<? extends R>> fn) {
-      return string.mergeMap(fn);
+      return string().mergeMap(fn);
     }
 
     @Override
     public <R> ImmutableList<R> mergeMap(int maxConcurecy, Function<? super Character, ? extends Publisher<? extends R>> fn) {
-      return string.mergeMap(maxConcurecy,fn);
+      return string().mergeMap(maxConcurecy,fn);
     }
 
   @Override
     public <R> R fold(Function<? super Some<Character>, ? extends R> fn1, Function<? super None<Character>, ? extends R> fn2) {
-        return string.fold(fn1,fn2);
+        return string().fold(fn1,fn2);
     }
 
     @Override
     public LazyString onEmpty(Character value) {
-        return fromLazySeq(string.onEmpty(value));
+        return fromLazySeq(string().onEmpty(value));
     }
 
     @Override
     public LazyString onEmptyGet(Supplier<? extends Character> supplier) {
-        return fromLazySeq(string.onEmptyGet(supplier));
+        return fromLazySeq(string().onEmptyGet(supplier));
     }
 
 
     @Override
     public ImmutableList<Character> onEmptySwitch(Supplier<? extends ImmutableList<Character>> supplier) {
-        return string.onEmptySwitch(supplier);
+        return string().onEmptySwitch(supplier);
     }
 
     public ReactiveSeq<Character> stream(){
-        return string.stream();
+        return ReactiveSeq.fromIterable(this);
     }
     public LazyString take(final long n) {
-        return fromLazySeq(string.take(n));
-
+        return new LazyString(take(chunks,n));
+
+    }
+    private static LazySeq<Chunk> take(LazySeq<Chunk> chunks, long n){
+        if(n<=0)
+            return LazySeq.empty();
+        return LazySeq.defer(()->chunks.foldLazySeq(c->{
+            Chunk chunk = c.head.get();
+            if(chunk.length()>=n)
+                return LazySeq.of(chunk.slice(0,(int)n));
+            return LazySeq.cons(chunk,()->take(c.tail.get(),n-chunk.length()));
+        },nil->LazySeq.<Chunk>empty()));
+    }
+    private static LazySeq<Chunk> drop(LazySeq<Chunk> chunks, long n){
+        if(n<=0)
+            return chunks;
+        return LazySeq.defer(()->{
+            LazySeq<Chunk> current = chunks;
+            long remaining = n;
+            while(remaining>0){
+                LazySeq.Cons<Chunk> cons = current.foldLazySeq(c->c,nil->null);
+                if(cons==null)
+                    return LazySeq.<Chunk>empty();
+                Chunk chunk = cons.head.get();
+                current = cons.tail.get();
+                if(chunk.length()>remaining)
+                    return current.prepend(chunk.slice((int)remaining,chunk.length()));
+                remaining -= chunk.length();
+            }
+            return current;
+        });
     }
 
     @Override
@@ -152,248 +263,271 @@ public final class LazyString implements ImmutableList<Character>,Higher<lazyStr
 
     @Override
     public LazyString replaceFirst(Character currentElement, Character newElement) {
-        return fromLazySeq(string.replaceFirst(currentElement,newElement));
+        return fromLazySeq(string().replaceFirst(currentElement,newElement));
     }
 
     @Override
     public LazyString removeFirst(Predicate<? super Character> pred) {
-        return fromLazySeq(string.removeFirst(pred));
+        return fromLazySeq(string().removeFirst(pred));
     }
 
     @Override
     public LazyString subList(int start, int end) {
-        return fromLazySeq(string.subList(start,end));
+        return fromLazySeq(string().subList(start,end));
     }
 
 
     @Override
     public LazyString filterNot(Predicate<? super Character> predicate) {
-        return fromLazySeq(string.filterNot(predicate));
+        return fromLazySeq(string().filterNot(predicate));
     }
 
     @Override
     public LazyString notNull() {
-        return fromLazySeq(string.notNull());
+        return fromLazySeq(string().notNull());
     }
 
     @Override
     public LazyString peek(Consumer<? super Character> c) {
-        return fromLazySeq(string.peek(c));
+        return fromLazySeq(string().peek(c));
     }
 
     @Override
     public LazyString tailOrElse(ImmutableList<Character> tail) {
-        return fromLazySeq(string.tailOrElse(LazySeq.fromIterable(tail)));
+        return fromLazySeq(string().tailOrElse(LazySeq.fromIterable(tail)));
     }
 
     @Override
     public LazyString removeStream(Stream<? extends Character> stream) {
-        return fromLazySeq(string.removeStream(stream));
+        return fromLazySeq(string().removeStream(stream));
     }
 
     @Override
     public LazyString removeAt(long pos) {
-        return fromLazySeq(string.removeAt(pos));
+        return fromLazySeq(string().removeAt(pos));
     }
 
     @Override
     public LazyString removeAll(Character... values) {
-        return fromLazySeq(string.removeAll(values));
+        return fromLazySeq(string().removeAll(values));
     }
 
     @Override
     public LazyString retainAll(Iterable<? extends Character> it) {
-        return fromLazySeq(string.retainAll(it));
+        return fromLazySeq(string().retainAll(it));
     }
 
     @Override
     public LazyString retainStream(Stream<? extends Character> stream) {
-        return fromLazySeq(string.retainStream(stream));
+        return fromLazySeq(string().retainStream(stream));
     }
 
     @Override
     public LazyString retainAll(Character... values) {
-        return fromLazySeq(string.retainAll(values));
+        return fromLazySeq(string().retainAll(values));
     }
 
     @Override
     public LazyString distinct() {
-        return fromLazySeq(string.distinct());
+        return fromLazySeq(string().distinct());
     }
 
     @Override
     public LazyString sorted() {
-        return fromLazySeq(string.sorted());
+        return fromLazySeq(string().sorted());
     }
 
     @Override
     public LazyString sorted(Comparator<? super Character> c) {
-        return fromLazySeq(string.sorted(c));
+        return fromLazySeq(string().sorted(c));
     }
 
     @Override
     public LazyString takeWhile(Predicate<? super Character> p) {
-        return fromLazySeq(string.takeWhile(p));
+        return fromLazySeq(string().takeWhile(p));
     }
 
     @Override
     public LazyString dropWhile(Predicate<? super Character> p) {
-        return fromLazySeq(string.dropWhile(p));
+        return fromLazySeq(string().dropWhile(p));
     }
 
     @Override
     public LazyString takeUntil(Predicate<? super Character> p) {
-        return fromLazySeq(string.takeUntil(p));
+        return fromLazySeq(string().takeUntil(p));
     }
 
     @Override
     public LazyString dropUntil(Predicate<? super Character> p) {
-        return fromLazySeq(string.dropUntil(p));
+        return fromLazySeq(string().dropUntil(p));
     }
 
     @Override
     public LazyString dropRight(int num) {
-        return fromLazySeq(string.dropRight(num));
+        if(num<=0)
+            return this;
+        return take(length()-(long)num);
     }
 
     @Override
     public LazyString takeRight(int num) {
-        return fromLazySeq(string.takeRight(num));
+        if(num<=0)
+            return empty();
+        return drop(length()-(long)num);
     }
 
     @Override
     public LazyString shuffle() {
-        return fromLazySeq(string.shuffle());
+        return fromLazySeq(string().shuffle());
     }
 
     @Override
     public LazyString shuffle(Random random) {
-        return fromLazySeq(string.shuffle(random));
+        return fromLazySeq(string().shuffle(random));
     }
 
     @Override
     public LazyString slice(long from, long to) {
-        return fromLazySeq(string.slice(from,to));
+        return fromLazySeq(string().slice(from,to));
     }
 
     @Override
     public <U extends Comparable<? super U>> LazyString sorted(Function<? super Character, ? extends U> function) {
-        return fromLazySeq(string.sorted(function));
+        return fromLazySeq(string().sorted(function));
     }
 
     @Override
     public LazyString prependStream(Stream<? extends Character> stream) {
-        return fromLazySeq(string.prependStream(stream));
+        return fromLazySeq(string().prependStream(stream));
     }
 
     @Override
     public LazyString appendAll(Character... values) {
-        return fromLazySeq(string.appendAll(values));
+        return fromLazySeq(string().appendAll(values));
     }
 
     @Override
     public LazyString prependAll(Character... values) {
-        return fromLazySeq(string.prependAll(values));
+        return fromLazySeq(string().prependAll(values));
     }
 
     @Override
     public LazyString insertAt(int pos, Character... values) {
-        return fromLazySeq(string.insertAt(pos,values));
+        return fromLazySeq(string().insertAt(pos,values));
     }
 
     @Override
     public LazyString deleteBetween(int start, int end) {
-        return fromLazySeq(string.deleteBetween(start,end));
+        return fromLazySeq(string().deleteBetween(start,end));
     }
 
     @Override
     public LazyString insertStreamAt(int pos, Stream<Character> stream) {
-        return fromLazySeq(string.insertStreamAt(pos,stream));
+        return fromLazySeq(string().insertStreamAt(pos,stream));
     }
 
 
 
     @Override
     public LazyString plusAll(Iterable<? extends Character> list) {
-        return fromLazySeq(string.plusAll(list));
+        return fromLazySeq(string().plusAll(list));
     }
 
     @Override
     public LazyString plus(Character value) {
-        return fromLazySeq(string.plus(value));
+        return prepend(value);
     }
 
     @Override
     public LazyString removeValue(Character value) {
-        return fromLazySeq(string.removeValue(value));
+        return fromLazySeq(string().removeValue(value));
     }
 
 
     @Override
     public LazyString removeAll(Iterable<? extends Character> value) {
-        return fromLazySeq(string.removeAll(value));
+        return fromLazySeq(string().removeAll(value));
     }
 
     @Override
     public LazyString updateAt(int pos, Character value) {
-        return fromLazySeq(string.updateAt(pos,value));
+        return fromLazySeq(string().updateAt(pos,value));
     }
 
     @Override
     public LazyString insertAt(int pos, Iterable<? extends Character> values) {
-        return fromLazySeq(string.insertAt(pos,values));
+        return fromLazySeq(string().insertAt(pos,values));
     }
 
     @Override
     public LazyString insertAt(int i, Character value) {
-        return fromLazySeq(string.insertAt(i,value));
+        return fromLazySeq(string().insertAt(i,value));
     }
 
     public LazyString  drop(final long num) {
-        return fromLazySeq(string.drop(num));
+        return new LazyString(drop(chunks,num));
     }
     public LazyString  reverse() {
-        return fromLazySeq(string.reverse());
+        LazySeq<Chunk> reversed = LazySeq.empty();
+        for(Chunk next : chunks){
+            reversed = reversed.prepend(next.reverse());
+        }
+        return new LazyString(reversed);
     }
     public Option<Character> get(int pos){
-        return string.get(pos);
+        if(pos<0)
+            return Option.none();
+        int index = pos;
+        for(Chunk next : chunks){
+            if(index<next.length())
+                return Option.some(next.charAt(index));
+            index -= next.length();
+        }
+        return Option.none();
     }
 
     @Override
     public Character getOrElse(int pos, Character alt) {
-        return string.getOrElse(pos,alt);
+        return get(pos).orElse(alt);
     }
 
     @Override
     public Character getOrElseGet(int pos, Supplier<? extends Character> alt) {
-        return string.getOrElseGet(pos,alt);
+        return get(pos).orElseGet(alt);
     }
 
     public LazyString prepend(Character value){
-        return fromLazySeq(string.prepend(value));
+        return new LazyString(chunks.prepend(Chunk.of(new char[]{value},1)));
     }
 
     @Override
     public LazyString append(Character value) {
-        return fromLazySeq(string.append(value));
+        return new LazyString(chunks.append(Chunk.of(new char[]{value},1)));
     }
 
     @Override
     public LazyString prependAll(Iterable<? extends Character> value) {
-        return fromLazySeq(string.prependAll(value)) ;
+        if(value instanceof LazyString)
+            return prependAll((LazyString)value);
+        return fromLazySeq(string().prependAll(value)) ;
     }
 
 
     @Override
     public LazyString appendAll(Iterable<? extends Character> value) {
-        return fromLazySeq(string.appendAll(value)) ;
+        if(value instanceof LazyString)
+            return appendAll((LazyString)value);
+        return fromLazySeq(string().appendAll(value)) ;
     }
 
     public LazyString prependAll(LazyString value){
-        return fromLazySeq(string.prependAll(value.string));
+        return new LazyString(value.chunks.appendAll(chunks));
+    }
+    public LazyString appendAll(LazyString value){
+        return new LazyString(chunks.appendAll(value.chunks));
     }
     public LazyString append(String s){
-        return fromLazySeq(string.appendAll(LazySeq.fromStream( s.chars().mapToObj(i -> (char) i))));
+        return appendAll(of(s));
     }
     public int size(){
         return length();
@@ -401,23 +535,182 @@ public final class LazyString implements ImmutableList<Character>,Higher<lazyStr
 
     @Override
     public boolean isEmpty() {
-        return string.isEmpty();
+        return chunks.isEmpty();
     }
 
     public int length(){
-        return string.size();
+        int length = 0;
+        for(Chunk next : chunks){
+            length += next.length();
+        }
+        return length;
+    }
+
+    @Override
+    public Iterator<Character> iterator() {
+        return new Iterator<Character>() {
+            Iterator<Chunk> remaining = chunks.iterator();
+            Chunk chunk;
+            int index;
+
+            @Override
+            public boolean hasNext() {
+                while(chunk==null || index==chunk.length()){
+                    if(!remaining.hasNext())
+                        return false;
+                    chunk = remaining.next();
+                    index = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public Character next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return chunk.charAt(index++);
+            }
+        };
     }
+
     public String toString(){
-        return string.stream().join("");
+        StringBuilder builder = new StringBuilder();
+        for(Chunk next : chunks){
+            next.appendTo(builder);
+        }
+        return builder.toString();
     }
 
     @Override
     public int hashCode() {
-        return this.string.hashCode();
+        int hashCode = 1;
+        for(Chunk next : chunks){
+            for(int i=0;i<next.length();i++)
+                hashCode = 31*hashCode + next.charAt(i);
+        }
+        return hashCode;
     }
 
     @Override
     public boolean equals(Object obj) {
-        return this.string.equals(obj);
+        if(obj==this)
+            return true;
+        if(obj instanceof LazyString)
+            return contentEquals((LazyString)obj);
+        return this.string().equals(obj);
+    }
+
+    private boolean contentEquals(LazyString other){
+        Iterator<Chunk> a = chunks.iterator();
+        Iterator<Chunk> b = other.chunks.iterator();
+        Chunk left = null, right = null;
+        int i = 0, j = 0;
+        while(true){
+            while(left==null || i==left.length()){
+                left = a.hasNext() ? a.next() : null;
+                i = 0;
+                if(left==null)
+                    break;
+            }
+            while(right==null || j==right.length()){
+                right = b.hasNext() ? b.next() : null;
+                j = 0;
+                if(right==null)
+                    break;
+            }
+            if(left==null || right==null)
+                return left==right;
+            int n = Math.min(left.length()-i,right.length()-j);
+            for(int k=0;k<n;k++){
+                if(left.charAt(i+k)!=right.charAt(j+k))
+                    return false;
+            }
+            i += n;
+            j += n;
+        }
+    }
+
+    private interface CharOperator {
+        char apply(char c);
+    }
+
+    /*
+     * An immutable view over a Latin-1 byte[] or UTF-16 char[] range. Slicing shares the backing array.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Chunk implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final byte[] latin1;
+        private final char[] chars;
+        private final int offset;
+        private final int length;
+
+        static Chunk of(char[] buffer, int length){
+            for(int i=0;i<length;i++){
+                if(buffer[i]>0xFF)
+                    return new Chunk(null,Arrays.copyOf(buffer,length),0,length);
+            }
+            byte[] bytes = new byte[length];
+            for(int i=0;i<length;i++)
+                bytes[i]=(byte)buffer[i];
+            return new Chunk(bytes,null,0,length);
+        }
+        static Chunk of(CharSequence seq, int start, int end){
+            char[] buffer = new char[end-start];
+            for(int i=start;i<end;i++)
+                buffer[i-start]=seq.charAt(i);
+            return of(buffer,buffer.length);
+        }
+
+        int length(){
+            return length;
+        }
+        char charAt(int index){
+            return latin1!=null ? (char)(latin1[offset+index] & 0xFF) : chars[offset+index];
+        }
+        Chunk slice(int from, int to){
+            return new Chunk(latin1,chars,offset+from,to-from);
+        }
+        int indexOf(char c, int from){
+            for(int i=from;i<length;i++){
+                if(charAt(i)==c)
+                    return i;
+            }
+            return -1;
+        }
+        int indexOfNot(char c, int from){
+            for(int i=from;i<length;i++){
+                if(charAt(i)!=c)
+                    return i;
+            }
+            return -1;
+        }
+        Chunk map(CharOperator fn){
+            char[] buffer = new char[length];
+            for(int i=0;i<length;i++)
+                buffer[i]=fn.apply(charAt(i));
+            return of(buffer,length);
+        }
+        Chunk filter(Predicate<? super Character> predicate){
+            char[] buffer = new char[length];
+            int size = 0;
+            for(int i=0;i<length;i++){
+                char c = charAt(i);
+                if(predicate.test(c))
+                    buffer[size++]=c;
+            }
+            return size==length ? this : of(buffer,size);
+        }
+        Chunk reverse(){
+            char[] buffer = new char[length];
+            for(int i=0;i<length;i++)
+                buffer[length-1-i]=charAt(i);
+            return of(buffer,length);
+        }
+        void appendTo(StringBuilder builder){
+            builder.ensureCapacity(builder.length()+length);
+            for(int i=0;i<length;i++)
+                builder.append(charAt(i));
+        }
     }
 }
@@ -0,0 +1,336 @@
+package cyclops.data;
+
+
+import com.oath.cyclops.types.persistent.PersistentMap;
+import cyclops.control.Option;
+import cyclops.data.base.LongPatriciaTrie;
+import cyclops.reactive.ReactiveSeq;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A persistent map keyed by primitive longs, backed by a big-endian Patricia trie. The long overloads of get,
+ * getOrElseGet, containsKey and remove never box the key. Boxed and primitive overloads taking a second argument
+ * (put, getOrElse) would be ambiguous for boxed values, so those accept a Long only. Entries are kept in ascending key order, which supports ordered iteration and range
+ * queries (floor / ceiling, head / tail / sub maps).
+ *
+ * Operations that change the key type (mapKeys, bimap, flatMap and concatMap) return a HashMap.
+ *
+ * @param <V> Value type
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LongMap<V> implements ImmutableMap<Long,V>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final LongPatriciaTrie<V> map;
+
+    public static <V> LongMap<V> empty(){
+        return new LongMap<>(LongPatriciaTrie.empty());
+    }
+    public static <V> LongMap<V> of(long k,V v){
+        LongMap<V> res = empty();
+        return res.put(k,v);
+    }
+    public static <V> LongMap<V> of(long k1,V v1,long k2, V v2){
+        LongMap<V> res = empty();
+        return res.put(k1,v1).put(k2,v2);
+    }
+    public static <V> LongMap<V> fromStream(Stream<Tuple2<Long,V>> stream){
+        return ReactiveSeq.fromStream(stream).foldLeft(empty(),(m,t2)->m.put(t2._1(),t2._2()));
+    }
+    public static <V> LongMap<V> fromMap(java.util.Map<Long,V> source){
+        LongPatriciaTrie<V> res = LongPatriciaTrie.empty();
+        for(Map.Entry<Long,V> entry : source.entrySet()){
+            res = res.put(entry.getKey(),entry.getValue());
+        }
+        return new LongMap<>(res);
+    }
+    public static <V> LongMap<V> fromMap(PersistentMap<Long,V> source){
+        if(source instanceof LongMap){
+            return (LongMap<V>)source;
+        }
+        return fromStream(source.stream());
+    }
+
+    private LongMap<V> with(LongPatriciaTrie<V> updated){
+        return updated == map ? this : new LongMap<>(updated);
+    }
+
+    @Override
+    public LongMap<V> put(Long key, V value){
+        return with(map.put(key.longValue(),value));
+    }
+
+    @Override
+    public LongMap<V> put(Tuple2<Long, V> keyAndValue) {
+        return put(keyAndValue._1(),keyAndValue._2());
+    }
+
+    @Override
+    public LongMap<V> putAll(PersistentMap<? extends Long,? extends V> map) {
+        return map.stream().foldLeft(this,(m,next)->m.put(next._1(),next._2()));
+    }
+
+    public LongMap<V> remove(long key) {
+        return with(map.remove(key));
+    }
+
+    @Override
+    public LongMap<V> remove(Long key) {
+        return remove(key.longValue());
+    }
+
+    @Override
+    public LongMap<V> removeAll(Long... keys) {
+        LongPatriciaTrie<V> cur = map;
+        for(Long key : keys){
+            cur = cur.remove(key.longValue());
+        }
+        return with(cur);
+    }
+
+    @Override
+    public LongMap<V> removeAllKeys(Iterable<? extends Long> keys) {
+        LongPatriciaTrie<V> cur = map;
+        for(Long key : keys){
+            cur = cur.remove(key.longValue());
+        }
+        return with(cur);
+    }
+
+    public boolean containsKey(long key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return map.containsKey(key.longValue());
+    }
+
+    @Override
+    public boolean contains(Tuple2<Long, V> t) {
+        return get(t._1().longValue()).filter(v-> Objects.equals(v,t._2())).isPresent();
+    }
+
+    public Option<V> get(long key){
+        return map.get(key);
+    }
+
+    @Override
+    public Option<V> get(Long key){
+        return map.get(key.longValue());
+    }
+
+    @Override
+    public V getOrElse(Long key,V alt){
+        return map.getOrElse(key.longValue(),alt);
+    }
+
+    public V getOrElseGet(long key, Supplier<? extends V> alt) {
+        return map.getOrElseGet(key,alt);
+    }
+
+    @Override
+    public V getOrElseGet(Long key, Supplier<? extends V> alt) {
+        return map.getOrElseGet(key.longValue(),alt);
+    }
+
+    public int size(){
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public Option<Tuple2<Long,V>> first(){
+        return map.first();
+    }
+
+    public Option<Tuple2<Long,V>> last(){
+        return map.last();
+    }
+
+    /**
+     * @return The entry with the greatest key less than or equal to key
+     */
+    public Option<Tuple2<Long,V>> floor(long key){
+        return map.floor(key);
+    }
+
+    /**
+     * @return The entry with the least key greater than or equal to key
+     */
+    public Option<Tuple2<Long,V>> ceiling(long key){
+        return map.ceiling(key);
+    }
+
+    /**
+     * @return The entry with the greatest key strictly less than key
+     */
+    public Option<Tuple2<Long,V>> lower(long key){
+        return map.lower(key);
+    }
+
+    /**
+     * @return The entry with the least key strictly greater than key
+     */
+    public Option<Tuple2<Long,V>> higher(long key){
+        return map.higher(key);
+    }
+
+    /**
+     * @return Entries with keys strictly less than toKey
+     */
+    public LongMap<V> headMap(long toKey){
+        return headMap(toKey,false);
+    }
+
+    public LongMap<V> headMap(long toKey, boolean inclusive){
+        return with(map.head(toKey,inclusive));
+    }
+
+    /**
+     * @return Entries with keys greater than or equal to fromKey
+     */
+    public LongMap<V> tailMap(long fromKey){
+        return tailMap(fromKey,true);
+    }
+
+    public LongMap<V> tailMap(long fromKey, boolean inclusive){
+        return with(map.tail(fromKey,inclusive));
+    }
+
+    /**
+     * @return Entries with keys in the range [fromKey, toKey)
+     */
+    public LongMap<V> subMap(long fromKey, long toKey){
+        return subMap(fromKey,true,toKey,false);
+    }
+
+    public LongMap<V> subMap(long fromKey, boolean fromInclusive, long toKey, boolean toInclusive){
+        return with(map.sub(fromKey,fromInclusive,toKey,toInclusive));
+    }
+
+    /**
+     * @return Iterator over the keys in ascending order, without boxing
+     */
+    public PrimitiveIterator.OfLong keyIterator(){
+        return map.keyIterator();
+    }
+
+    @Override
+    public <K2, V2> DMap.Two<Long, V, K2, V2> merge(ImmutableMap<K2, V2> one) {
+        return DMap.two(this,one);
+    }
+
+    @Override
+    public <K2, V2, K3, V3> DMap.Three<Long, V, K2, V2, K3, V3> merge(DMap.Two<K2, V2, K3, V3> two) {
+        return DMap.three(this,two.map1(),two.map2());
+    }
+
+    @Override
+    public ReactiveSeq<Tuple2<Long, V>> stream() {
+        return map.stream();
+    }
+
+    @Override
+    public <R> LongMap<R> mapValues(Function<? super V, ? extends R> map) {
+        return fromStream(stream().map(t->t.map2(map)));
+    }
+
+    @Override
+    public <R> HashMap<R, V> mapKeys(Function<? super Long, ? extends R> map) {
+        return HashMap.fromStream(stream().map(t->t.map1(map)));
+    }
+
+    @Override
+    public <R1, R2> HashMap<R1, R2> bimap(BiFunction<? super Long, ? super V, ? extends Tuple2<R1, R2>> map) {
+        return HashMap.fromStream(stream().map(t->t.transform(map)));
+    }
+
+    @Override
+    public <K2, V2> HashMap<K2, V2> flatMap(BiFunction<? super Long, ? super V, ? extends ImmutableMap<K2, V2>> mapper) {
+        return HashMap.fromStream(stream().concatMap(t->t.transform(mapper)));
+    }
+
+    @Override
+    public <K2, V2> HashMap<K2, V2> concatMap(BiFunction<? super Long, ? super V, ? extends Iterable<Tuple2<K2, V2>>> mapper) {
+        return HashMap.fromStream(stream().concatMap(t->t.transform(mapper)));
+    }
+
+    @Override
+    public LongMap<V> filter(Predicate<? super Tuple2<Long, V>> predicate) {
+        return fromStream(stream().filter(predicate));
+    }
+
+    @Override
+    public LongMap<V> filterKeys(Predicate<? super Long> predicate) {
+        return fromStream(stream().filter(t->predicate.test(t._1())));
+    }
+
+    @Override
+    public LongMap<V> filterValues(Predicate<? super V> predicate) {
+        return fromStream(stream().filter(t->predicate.test(t._2())));
+    }
+
+    @Override
+    public <R> LongMap<R> map(Function<? super V, ? extends R> fn) {
+        return fromStream(stream().map(t-> Tuple.tuple(t._1(),fn.apply(t._2()))));
+    }
+
+    @Override
+    public <R1, R2> HashMap<R1, R2> bimap(Function<? super Long, ? extends R1> fn1, Function<? super V, ? extends R2> fn2) {
+        return HashMap.fromStream(stream().map(t->t.bimap(fn1,fn2)));
+    }
+
+    @Override
+    public String toString(){
+        return mkString();
+    }
+
+    @Override
+    public Spliterator<Tuple2<Long, V>> spliterator() {
+        return map.spliterator();
+    }
+
+    @Override
+    public Iterator<Tuple2<Long, V>> iterator() {
+        return map.iterator();
+    }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null)
+      return false;
+    if(o instanceof LongMap){
+      return map.equals(((LongMap<V>)o).map);
+    }
+    if(o instanceof PersistentMap){
+      PersistentMap<Long,V> m = (PersistentMap<Long,V>)o;
+      return equalTo(m);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+      return map.hashCode();
+  }
+}
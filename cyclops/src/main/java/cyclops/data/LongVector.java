@@ -0,0 +1,319 @@
+package cyclops.data;
+
+
+import cyclops.control.Option;
+import cyclops.data.base.PrimitiveBAMT;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A persistent vector of unboxed longs. Uses the same 32-way trie shape as {@link Vector}, but with long[] leaves,
+ * avoiding a Long object and a reference slot per element.
+ *
+ * <pre>
+ * {@code
+ *  LongVector v = LongVector.range(0,1000)
+ *                           .map(i->i*2);
+ *  long total = v.sum();
+ *  Vector<Long> boxed = v.toVector();
+ * }
+ * </pre>
+ */
+public final class LongVector implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final long[] EMPTY_TAIL = new long[0];
+    private static final LongVector EMPTY = new LongVector(PrimitiveBAMT.empty(), EMPTY_TAIL, 0);
+
+    private final PrimitiveBAMT root;
+    private final long[] tail;
+    private final int size;
+
+    private LongVector(PrimitiveBAMT root, long[] tail, int size) {
+        this.root = root;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    public static LongVector empty() {
+        return EMPTY;
+    }
+
+    public static LongVector of(long... values) {
+        if (values.length == 0)
+            return EMPTY;
+        int leaves = (values.length - 1) >>> 5;
+        Object[] full = new Object[leaves];
+        for (int i = 0; i < leaves; i++) {
+            full[i] = Arrays.copyOfRange(values, i << 5, (i + 1) << 5);
+        }
+        return new LongVector(PrimitiveBAMT.fromLeaves(full), Arrays.copyOfRange(values, leaves << 5, values.length), values.length);
+    }
+
+    public static LongVector fromStream(LongStream stream) {
+        return of(stream.toArray());
+    }
+
+    public static LongVector range(long start, long end) {
+        return fromStream(LongStream.range(start, end));
+    }
+
+    public static LongVector fromIterable(Iterable<Long> values) {
+        List<Object> leaves = new ArrayList<>();
+        long[] leaf = new long[32];
+        int index = 0;
+        int size = 0;
+        for (Long next : values) {
+            if (index == 32) {
+                leaves.add(leaf);
+                leaf = new long[32];
+                index = 0;
+            }
+            leaf[index++] = next;
+            size++;
+        }
+        if (size == 0)
+            return EMPTY;
+        return new LongVector(PrimitiveBAMT.fromLeaves(leaves.toArray()), index == 32 ? leaf : Arrays.copyOf(leaf, index), size);
+    }
+
+    public static LongVector fromVector(Vector<Long> vector) {
+        return fromIterable(vector);
+    }
+
+    public Vector<Long> toVector() {
+        return mapToObj(i -> i);
+    }
+
+    public <R> Vector<R> mapToObj(LongFunction<? extends R> fn) {
+        Vector.Builder<R> builder = Vector.builder();
+        forEach(i -> builder.add(fn.apply(i)));
+        return builder.persistent();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private long[] leafFor(int index) {
+        return index >= tailOffset() ? tail : (long[]) root.leafAt(index);
+    }
+
+    public long getOrElse(int pos, long alt) {
+        if (pos < 0 || pos >= size)
+            return alt;
+        return leafFor(pos)[pos & 31];
+    }
+
+    public Option<Long> get(int pos) {
+        if (pos < 0 || pos >= size)
+            return Option.none();
+        return Option.some(leafFor(pos)[pos & 31]);
+    }
+
+    public LongVector plus(long value) {
+        if (tail.length < 32) {
+            long[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new LongVector(root, newTail, size + 1);
+        }
+        return new LongVector(root.appendLeaf(tail), new long[]{value}, size + 1);
+    }
+
+    public LongVector plusAll(long... values) {
+        LongVector res = this;
+        for (long next : values) {
+            res = res.plus(next);
+        }
+        return res;
+    }
+
+    public LongVector updateAt(int pos, long value) {
+        if (pos < 0 || pos >= size)
+            return this;
+        if (pos >= tailOffset()) {
+            long[] newTail = tail.clone();
+            newTail[pos & 31] = value;
+            return new LongVector(root, newTail, size);
+        }
+        long[] leaf = ((long[]) root.leafAt(pos)).clone();
+        leaf[pos & 31] = value;
+        return new LongVector(root.setLeaf(pos, leaf), tail, size);
+    }
+
+    public LongVector map(LongUnaryOperator fn) {
+        PrimitiveBAMT mapped = root.mapLeaves(leaf -> map((long[]) leaf, fn));
+        return new LongVector(mapped, map(tail, fn), size);
+    }
+
+    private static long[] map(long[] leaf, LongUnaryOperator fn) {
+        long[] res = new long[leaf.length];
+        for (int i = 0; i < leaf.length; i++) {
+            res[i] = fn.applyAsLong(leaf[i]);
+        }
+        return res;
+    }
+
+    public long foldLeft(long identity, LongBinaryOperator fn) {
+        long[] acc = {identity};
+        forEach(i -> acc[0] = fn.applyAsLong(acc[0], i));
+        return acc[0];
+    }
+
+    public long sum() {
+        long[] acc = {0};
+        forEach(i -> acc[0] += i);
+        return acc[0];
+    }
+
+    public void forEach(LongConsumer consumer) {
+        root.forEachLeaf(leaf -> {
+            for (long next : (long[]) leaf) {
+                consumer.accept(next);
+            }
+        });
+        for (long next : tail) {
+            consumer.accept(next);
+        }
+    }
+
+    public long[] toArray() {
+        long[] res = new long[size];
+        int[] index = {0};
+        root.forEachLeaf(leaf -> {
+            System.arraycopy(leaf, 0, res, index[0], 32);
+            index[0] += 32;
+        });
+        System.arraycopy(tail, 0, res, index[0], tail.length);
+        return res;
+    }
+
+    public LongStream stream() {
+        return StreamSupport.longStream(new LongVectorSpliterator(0, size), false);
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return leafFor(index)[index++ & 31];
+            }
+        };
+    }
+
+    private final class LongVectorSpliterator implements Spliterator.OfLong {
+        private int index;
+        private final int fence;
+
+        LongVectorSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            int mid = index + (((fence - index) >>> 1) & ~31);
+            if (mid <= index)
+                return null;
+            LongVectorSpliterator prefix = new LongVectorSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence)
+                return false;
+            action.accept(leafFor(index)[index++ & 31]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (index < fence) {
+                long[] leaf = leafFor(index);
+                int end = Math.min(fence - index + (index & 31), leaf.length);
+                for (int i = index & 31; i < end; i++) {
+                    action.accept(leaf[i]);
+                }
+                index += end - (index & 31);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LongVector))
+            return false;
+        LongVector other = (LongVector) o;
+        if (size != other.size)
+            return false;
+        PrimitiveIterator.OfLong a = iterator();
+        PrimitiveIterator.OfLong b = other.iterator();
+        while (a.hasNext()) {
+            if (a.nextLong() != b.nextLong())
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(i -> hash[0] = 31 * hash[0] + Long.hashCode(i));
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("LongVector[");
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            b.append(it.nextLong());
+            if (it.hasNext())
+                b.append(",");
+        }
+        return b.append("]").toString();
+    }
+}
@@ -286,6 +286,10 @@ public interface Seq<T> extends ImmutableList<T>,
         return res;
     }
     @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(),size(),Spliterator.ORDERED|Spliterator.IMMUTABLE);
+    }
+    @Override
     default Iterator<T> iterator() {
         final Seq<T> host= Seq.this;
         return new Iterator<T>() {
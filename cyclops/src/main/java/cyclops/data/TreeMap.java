@@ -7,19 +7,19 @@ import cyclops.control.Option;
 import cyclops.function.Function3;
 import cyclops.function.Function4;
 import com.oath.cyclops.hkt.DataWitness.treeMap;
-import cyclops.data.base.RedBlackTree;
+import cyclops.data.base.WeightBalancedTree;
 import cyclops.reactive.ReactiveSeq;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import cyclops.data.tuple.Tuple;
 import cyclops.data.tuple.Tuple2;
-import lombok.experimental.Wither;
 
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.*;
 import java.util.stream.Stream;
 
@@ -29,8 +29,7 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
                                             Serializable{
 
     private static final long serialVersionUID = 1L;
-    private final RedBlackTree.Tree<K,V> map;
-    @Wither()
+    private final WeightBalancedTree<K,V> map;
     private final Comparator<K> comparator;
 
 
@@ -39,7 +38,7 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
     }
 
     public static <K,V> TreeMap<K,V> empty(Comparator<K> comp){
-        return new TreeMap<>( RedBlackTree.empty(comp),comp);
+        return new TreeMap<>(WeightBalancedTree.empty(comp),comp);
     }
     public static <K,V> TreeMap<K,V> of(Comparator<K> comp,K k,V v){
         return TreeMap.<K,V>empty(comp).put(k,v);
@@ -145,19 +144,25 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
     public static <K,V> TreeMap<K,V> fromMap(Comparator<K> comp, Map<K,V> map){
         Stream<Tuple2<K, V>> s = map.entrySet().stream().map(e -> Tuple.tuple(e.getKey(), e.getValue()));
-        return new TreeMap<>(RedBlackTree.fromStream(comp,s),comp);
+        return new TreeMap<>(WeightBalancedTree.fromStream(comp,s),comp);
     }
     public static <K,V> TreeMap<K,V> fromMap(Comparator<K> comp, PersistentMap<K,V> map){
         if(map instanceof TreeMap){
             TreeMap<K,V> t = (TreeMap)map;
             return t.withComparator(comp);
         }
-        return new TreeMap<>(RedBlackTree.fromStream(comp,map.stream()),comp);
+        return new TreeMap<>(WeightBalancedTree.fromStream(comp,map.stream()),comp);
     }
 
     public <KR,VR> TreeMap<KR,VR> bimap(Comparator<KR> comp, Function<? super K, ? extends KR> keyMapper, Function<? super V, ? extends VR> valueMapper){
         ReactiveSeq<? extends Tuple2<? extends KR, ? extends VR>> s = map.stream().map(t -> t.transform((k, v) -> Tuple.tuple(keyMapper.apply(k), valueMapper.apply(v))));
-        return new TreeMap<>(RedBlackTree.fromStream(comp,s),comp);
+        return new TreeMap<>(WeightBalancedTree.fromStream(comp,s),comp);
+    }
+
+    public TreeMap<K,V> withComparator(Comparator<K> comparator){
+        if(comparator==this.comparator)
+            return this;
+        return new TreeMap<>(WeightBalancedTree.fromStream(comparator,map.stream()),comparator);
     }
 
 
@@ -183,7 +188,7 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
     @Override
     public TreeMap<K, V> removeAll(K... keys) {
-        RedBlackTree.Tree<K,V> cur = map;
+        WeightBalancedTree<K,V> cur = map;
         for(K key : keys){
             cur = cur.minus(key);
         }
@@ -192,7 +197,7 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
     @Override
     public boolean containsKey(K key) {
-        return map.get(key).isPresent();
+        return map.containsKey(key);
     }
 
     @Override
@@ -231,9 +236,111 @@ public final class TreeMap<K,V> implements ImmutableMap<K,V> ,
 
 
 
+    @Override
+    public Spliterator<Tuple2<K, V>> spliterator() {
+        return map.spliterator();
+    }
+
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        return map.iterator();
+    }
+
+    /**
+     * @return The entry with the greatest key less than or equal to the provided key
+     */
+    public Option<Tuple2<K,V>> floor(K key){
+        return map.floor(key);
+    }
+
+    /**
+     * @return The entry with the least key greater than or equal to the provided key
+     */
+    public Option<Tuple2<K,V>> ceiling(K key){
+        return map.ceiling(key);
+    }
+
+    /**
+     * @return The entry with the greatest key strictly less than the provided key
+     */
+    public Option<Tuple2<K,V>> lower(K key){
+        return map.lower(key);
+    }
+
+    /**
+     * @return The entry with the least key strictly greater than the provided key
+     */
+    public Option<Tuple2<K,V>> higher(K key){
+        return map.higher(key);
+    }
+
+    public Option<Tuple2<K,V>> first(){
+        return map.first();
+    }
+
+    public Option<Tuple2<K,V>> last(){
+        return map.last();
+    }
+
+    /**
+     * @return The number of keys in this map strictly less than the provided key
+     */
+    public int rank(K key){
+        return map.rank(key);
+    }
+
+    /**
+     * @return The entry at the provided index, in key order
+     */
+    public Option<Tuple2<K,V>> getAt(int index){
+        return map.getAt(index);
+    }
+
+    /**
+     * @return A TreeMap of the entries with keys strictly less than toKey
+     */
+    public TreeMap<K,V> headMap(K toKey){
+        return headMap(toKey,false);
+    }
+
+    public TreeMap<K,V> headMap(K toKey, boolean inclusive){
+        return new TreeMap<>(map.head(toKey,inclusive),comparator);
+    }
+
+    /**
+     * @return A TreeMap of the entries with keys greater than or equal to fromKey
+     */
+    public TreeMap<K,V> tailMap(K fromKey){
+        return tailMap(fromKey,true);
+    }
+
+    public TreeMap<K,V> tailMap(K fromKey, boolean inclusive){
+        return new TreeMap<>(map.tail(fromKey,inclusive),comparator);
+    }
+
+    /**
+     * @return A TreeMap of the entries with keys from fromKey (inclusive) to toKey (exclusive)
+     */
+    public TreeMap<K,V> subMap(K fromKey, K toKey){
+        return subMap(fromKey,true,toKey,false);
+    }
+
+    public TreeMap<K,V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive){
+        return new TreeMap<>(map.sub(fromKey,fromInclusive,toKey,toInclusive),comparator);
+    }
+
+    /**
+     * @return A TreeMap of the first n entries, in key order
+     */
+    public TreeMap<K,V> take(int n){
+        return new TreeMap<>(map.take(n),comparator);
+    }
+
+    /**
+     * @return A TreeMap without the first n entries, in key order
+     */
+    public TreeMap<K,V> drop(int n){
+        return new TreeMap<>(map.drop(n),comparator);
     }
 
     @Override
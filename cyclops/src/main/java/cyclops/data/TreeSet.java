@@ -8,6 +8,7 @@ import cyclops.companion.Comparators;
 import cyclops.control.Option;
 import com.oath.cyclops.hkt.DataWitness.treeSet;
 import cyclops.data.base.RedBlackTree;
+import cyclops.data.base.WeightBalancedTree;
 import cyclops.data.tuple.Tuple3;
 import cyclops.data.tuple.Tuple4;
 import cyclops.function.Function3;
@@ -31,7 +32,7 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
                                          Higher<treeSet,T>,
                                          Serializable {
 
-    private final RedBlackTree.Tree<T,T> map;
+    private final WeightBalancedTree<T,T> map;
     private final Comparator<? super T> comp;
 
     private static final long serialVersionUID = 1L;
@@ -40,21 +41,28 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
         Collector<T, ?, Set<T>> c  = Collectors.toSet();
         return Collectors.<T, Set<T>, Iterable<T>,TreeSet<T>>collectingAndThen((Collector)c,TreeSet::fromIterable);
     }
+    /**
+     * @deprecated TreeSet is now backed by a {@link WeightBalancedTree}, the entries of the RedBlackTree are copied
+     */
+    @Deprecated
     public TreeSet(RedBlackTree.Tree<T, T> map, Comparator<? super T> comp) {
-        this.map = RedBlackTree.rootIsBlack(map);
+        this(WeightBalancedTree.fromStream(comp,map.stream()),comp);
+    }
+    private TreeSet(WeightBalancedTree<T, T> map, Comparator<? super T> comp) {
+        this.map = map;
         this.comp = comp;
     }
     public static <T extends Comparable<? super T>>  TreeSet<T> empty(){
-        return new TreeSet<T>( RedBlackTree.empty(Comparators.naturalComparator()),Comparators.naturalComparator());
+        return new TreeSet<T>( WeightBalancedTree.empty(Comparators.naturalComparator()),Comparators.naturalComparator());
     }
     public static <T extends Comparable<? super T>>  TreeSet<T> singleton(T value){
-        return new TreeSet<T>( RedBlackTree.empty(Comparators.naturalComparator()),Comparators.naturalComparator()).plus(value);
+        return new TreeSet<T>( WeightBalancedTree.empty(Comparators.naturalComparator()),Comparators.naturalComparator()).plus(value);
     }
     public static <T>  TreeSet<T> singleton(Comparator<? super T> comp,T value){
-        return new TreeSet<T>( RedBlackTree.empty(comp),comp).plus(value);
+        return new TreeSet<T>( WeightBalancedTree.empty(comp),comp).plus(value);
     }
     public static <T> TreeSet<T> empty(Comparator<? super T> comp){
-        return new TreeSet<T>( RedBlackTree.empty(comp),comp);
+        return new TreeSet<T>( WeightBalancedTree.empty(comp),comp);
     }
     public static <T> TreeSet<T> fromStream(Stream<T> stream, Comparator<? super T> comp){
         return ReactiveSeq.fromStream(stream).foldLeft(empty(comp),(m,t2)->m.plus(t2));
@@ -112,32 +120,30 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
         return fromIterable(it,Comparators.naturalOrderIdentityComparator());
     }
     public ReactiveSeq<T> stream(){
-        return map.stream().map(t->t._1());
+        return map.keys();
     }
 
     public static <T> TreeSet<T> of(Comparator<? super T> comp, T... values){
-        RedBlackTree.Tree<T, T> tree = RedBlackTree.empty(comp);
+        WeightBalancedTree<T, T> tree = WeightBalancedTree.empty(comp);
         for(T value : values){
-            tree = RedBlackTree.rootIsBlack(tree.plus(value,value));
-
+            tree = tree.plus(value,value);
         }
         return new TreeSet<>(tree,comp);
     }
     public static <T extends Comparable<? super T>> TreeSet<T> of(T... values){
-        RedBlackTree.Tree<T, T> tree = RedBlackTree.empty(Comparator.naturalOrder());
+        WeightBalancedTree<T, T> tree = WeightBalancedTree.empty(Comparator.naturalOrder());
         for(T value : values){
-            tree = RedBlackTree.rootIsBlack(tree.plus(value,value));
-
+            tree = tree.plus(value,value);
         }
         return new TreeSet<>(tree,Comparator.naturalOrder());
     }
     public static <T> TreeSet<T> fromSortedSet(SortedSet<T> set, Comparator<? super T> comp){
         Stream<Tuple2<T,T>> s = set.stream().map(e -> Tuple.tuple(e,e));
-        return new TreeSet<T>(RedBlackTree.fromStream(set.comparator(),s),comp);
+        return new TreeSet<T>(WeightBalancedTree.fromStream(comp,s),comp);
     }
 
     public boolean containsValue(T value){
-        return map.get(value).isPresent();
+        return map.containsKey(value);
     }
 
     @Override
@@ -230,7 +236,7 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
 
     @Override
     public TreeSet<T> removeAll(Iterable<? extends T> list) {
-        RedBlackTree.Tree<T, T> local = map;
+        WeightBalancedTree<T, T> local = map;
         for(T next : list)
             local = local.minus(next);
         return new TreeSet<>(local,comp);
@@ -238,7 +244,7 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
 
     @Override
     public Option<T> get(int index) {
-        return stream().elementAt(index);
+        return map.getAt(index).map(Tuple2::_1);
     }
 
 
@@ -246,7 +252,12 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
 
     @Override
     public Iterator<T> iterator() {
-        return stream().iterator();
+        return map.keyIterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return map.keySpliterator();
     }
 
     @Override
@@ -255,32 +266,77 @@ public final class TreeSet<T> implements ImmutableSortedSet<T>,
     }
 
     @Override
-    public ImmutableSortedSet<T> subSet(T fromElement, T toElement) {
+    public TreeSet<T> subSet(T fromElement, T toElement) {
+        return new TreeSet<>(map.sub(fromElement,true,toElement,false),comp);
+    }
+
+    /**
+     * @return A TreeSet of the elements strictly less than toElement
+     */
+    public TreeSet<T> headSet(T toElement) {
+        return new TreeSet<>(map.head(toElement,false),comp);
+    }
 
-       return fromStream(stream().dropWhile(e-> !Objects.equals(e,fromElement))
-                                 .takeUntil(e->Objects.equals(e,toElement)),comp);
+    /**
+     * @return A TreeSet of the elements greater than or equal to fromElement
+     */
+    public TreeSet<T> tailSet(T fromElement) {
+        return new TreeSet<>(map.tail(fromElement,true),comp);
+    }
 
+    /**
+     * @return The greatest element less than or equal to the provided value
+     */
+    public Option<T> floor(T value) {
+        return map.floor(value).map(Tuple2::_1);
     }
 
+    /**
+     * @return The least element greater than or equal to the provided value
+     */
+    public Option<T> ceiling(T value) {
+        return map.ceiling(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return The greatest element strictly less than the provided value
+     */
+    public Option<T> lower(T value) {
+        return map.lower(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return The least element strictly greater than the provided value
+     */
+    public Option<T> higher(T value) {
+        return map.higher(value).map(Tuple2::_1);
+    }
+
+    /**
+     * @return The number of elements strictly less than the provided value
+     */
+    public int rank(T value) {
+        return map.rank(value);
+    }
 
     @Override
     public Option<T> first() {
-        return Option.fromIterable(this);
+        return map.first().map(Tuple2::_1);
     }
 
     @Override
     public Option<T> last() {
-        return stream().takeRight(1).takeOne();
+        return map.last().map(Tuple2::_1);
     }
 
     @Override
-    public ImmutableSortedSet<T> drop(int num) {
-        return fromStream(stream().drop(num),comp);
+    public TreeSet<T> drop(int num) {
+        return new TreeSet<>(map.drop(num),comp);
     }
 
     @Override
-    public ImmutableSortedSet<T> take(int num) {
-        return fromStream(stream().take(num),comp);
+    public TreeSet<T> take(int num) {
+        return new TreeSet<>(map.take(num),comp);
     }
 
     public String printTree(){
@@ -5,7 +5,7 @@ import com.oath.cyclops.types.persistent.PersistentMap;
 import com.oath.cyclops.hkt.Higher2;
 import cyclops.control.Option;
 import com.oath.cyclops.hkt.DataWitness.trieMap;
-import cyclops.data.base.HashedPatriciaTrie;
+import cyclops.data.base.CHAMP;
 import cyclops.reactive.ReactiveSeq;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -16,6 +16,7 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -28,10 +29,12 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
                                             Serializable{
 
     private static final long serialVersionUID = 1L;
-    HashedPatriciaTrie.Node<K,V> map;
+    CHAMP<K,V> map;
 
     public static <K,V> TrieMap<K,V> fromStream(Stream<Tuple2<K,V>> stream){
-        return ReactiveSeq.fromStream(stream).foldLeft(empty(),(m,t2)->m.put(t2._1(),t2._2()));
+        CHAMP.Transient<K,V> res = CHAMP.Transient.of(CHAMP.empty());
+        ReactiveSeq.fromStream(stream).forEach(t2->res.put(t2._1(),t2._2()));
+        return new TrieMap<>(res.persistent());
     }
     public static <K,V> TrieMap<K,V> of(K k,V v){
         TrieMap<K,V> res = empty();
@@ -42,19 +45,19 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
         return res.put(k1,v1).put(k2,v2);
     }
     public static <K,V> TrieMap<K,V> fromMap(java.util.Map<K,V> source){
-        TrieMap<K,V> res = empty();
+        CHAMP.Transient<K,V> res = CHAMP.Transient.of(CHAMP.empty());
         for(Map.Entry<K,V> entry : source.entrySet()){
-            res = res.put(entry.getKey(),entry.getValue());
+            res.put(entry.getKey(),entry.getValue());
         }
-        return res;
+        return new TrieMap<>(res.persistent());
     }
 
     public static <K,V> TrieMap<K,V> empty(){
-        return new TrieMap<>(HashedPatriciaTrie.empty());
+        return new TrieMap<>(CHAMP.empty());
     }
     @Override
     public TrieMap<K,V> put(K key, V value){
-        return new TrieMap<>(map.put(key.hashCode(),key,value));
+        return with(map.put(key,value));
     }
 
 
@@ -65,26 +68,33 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
 
     @Override
     public TrieMap<K, V> putAll(PersistentMap<? extends K,? extends  V> map) {
+        if(map instanceof TrieMap){
+            return with(this.map.union(((TrieMap<K,V>)map).map));
+        }
         return map.stream().foldLeft(this,(m,next)->m.put(next._1(),next._2()));
     }
 
+    private TrieMap<K,V> with(CHAMP<K,V> updated){
+        return updated == map ? this : new TrieMap<>(updated);
+    }
+
     @Override
     public TrieMap<K, V> remove(K key) {
-        return new TrieMap<>(map.minus(key.hashCode(),key));
+        return with(map.remove(key));
     }
 
     @Override
     public TrieMap<K, V> removeAll(K[] keys) {
-        HashedPatriciaTrie.Node<K,V> cur = map;
+        CHAMP<K,V> cur = map;
         for(K key : keys){
-            cur = cur.minus(key.hashCode(),key);
+            cur = cur.remove(key);
         }
-        return new TrieMap<>(cur);
+        return with(cur);
     }
 
     @Override
     public boolean containsKey(K key) {
-        return map.get(key.hashCode(),key).isPresent();
+        return map.containsKey(key);
     }
 
     @Override
@@ -93,15 +103,15 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
     }
 
     public Option<V> get(K key){
-        return map.get(key.hashCode(),key);
+        return map.get(key);
     }
     public V getOrElse(K key,V alt){
-        return map.getOrElse(key.hashCode(),key,alt);
+        return map.getOrElse(key,alt);
     }
 
     @Override
     public V getOrElseGet(K key, Supplier<? extends V> alt) {
-        return map.getOrElseGet(key.hashCode(),key,alt);
+        return map.getOrElseGet(key,alt);
     }
 
     public int size(){
@@ -177,9 +187,14 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
     public String toString(){
         return mkString();
     }
+    @Override
+    public Spliterator<Tuple2<K, V>> spliterator() {
+        return map.spliterator();
+    }
+
     @Override
     public Iterator<Tuple2<K, V>> iterator() {
-        return stream().iterator();
+        return map.iterator();
     }
   @Override
   public boolean equals(Object o) {
@@ -187,6 +202,9 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
     if (o == null)
       return false;
 
+    if(o instanceof TrieMap){
+      return map.equals(((TrieMap<K,V>)o).map);
+    }
     if(o instanceof PersistentMap){
       PersistentMap<K,V> m = (PersistentMap<K,V>)o;
       return equalTo(m);
@@ -196,6 +214,6 @@ public final class TrieMap<K,V> implements  ImmutableMap<K,V>,
 
   @Override
   public int hashCode() {
-      return map.streamNaturalOrder().foldLeft(0,(acc,t2)-> acc+t2.hashCode());
+      return map.hashCode();
   }
 }
@@ -25,7 +25,6 @@ import java.io.*;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collector;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Vector<T> implements ImmutableList<T>,
@@ -48,9 +47,78 @@ public class Vector<T> implements ImmutableList<T>,
         return ( Vector<T>)appendAll((Iterable<T>)list);
     }
 
-    static <T> Collector<T, List<T>, Vector<T>> collector() {
-        Collector<T, ?, List<T>> c  = Collectors.toList();
-        return Collectors.<T, List<T>, Iterable<T>,Vector<T>>collectingAndThen((Collector)c,Vector::fromIterable);
+    static <T> Collector<T, Builder<T>, Vector<T>> collector() {
+        return Collector.of(Vector::builder,Builder::add,(a,b)->a.addAll(b.persistent()),Builder::persistent);
+    }
+
+    /**
+     * @return A mutable builder that can be used to efficiently construct a Vector
+     */
+    public static <T> Builder<T> builder(){
+        return new Builder<>();
+    }
+
+    /**
+     * Transient, single-threaded builder for Vectors. Elements are written in place into leaf arrays
+     * which are handed over to the Vector, without copying, when persistent() is called. The builder can not
+     * be used after that.
+     *
+     * <pre>
+     * {@code
+     *  Vector.Builder<Integer> builder = Vector.builder();
+     *  for(int i=0;i<1000;i++)
+     *      builder.add(i);
+     *  Vector<Integer> vec = builder.persistent();
+     * }
+     * </pre>
+     */
+    public static final class Builder<T>{
+        private final List<Object[]> leaves = new ArrayList<>();
+        private Object[] tail = new Object[32];
+        private int tailSize = 0;
+        private int size = 0;
+        private boolean done = false;
+
+        private Builder(){
+        }
+
+        public Builder<T> add(T value){
+            checkEditable();
+            if(tailSize==32){
+                leaves.add(tail);
+                tail = new Object[32];
+                tailSize = 0;
+            }
+            tail[tailSize++]=value;
+            size++;
+            return this;
+        }
+        public Builder<T> addAll(Iterable<? extends T> values){
+            for(T next : values){
+                add(next);
+            }
+            return this;
+        }
+        public Builder<T> addAll(T... values){
+            for(T next : values){
+                add(next);
+            }
+            return this;
+        }
+        public int size(){
+            return size;
+        }
+        public Vector<T> persistent(){
+            checkEditable();
+            done = true;
+            BAMT.NestedArray<T> root = BAMT.fromLeaves(leaves.toArray(new Object[leaves.size()][]));
+            T[] tailArray = (T[])(tailSize==32 ? tail : Arrays.copyOf(tail,tailSize));
+            return new Vector<>(root,new BAMT.ActiveTail<>(tailArray),size);
+        }
+        private void checkEditable(){
+            if(done)
+                throw new IllegalStateException("Builder can not be used after persistent() has been called");
+        }
     }
     @Override
     public boolean containsValue(T value) {
@@ -100,6 +168,12 @@ public class Vector<T> implements ImmutableList<T>,
   public <R1, R> Vector<R> forEach2(Function<? super T, ? extends Iterable<R1>> iterable1, BiFunction<? super T, ? super R1, Boolean> filterFunction, BiFunction<? super T, ? super R1, ? extends R> yieldingFunction) {
     return (Vector< R>) ImmutableList.super.forEach2(iterable1,filterFunction,yieldingFunction);
   }
+    @Override
+    public Spliterator<T> spliterator() {
+        if(size==0)
+            return Spliterators.emptySpliterator();
+        return BAMT.RRB.relaxed(root,size-tail.size(),tail).spliterator();
+    }
     @Override
     public Iterator<T> iterator(){
         return new Iterator<T>() {
@@ -129,25 +203,30 @@ public class Vector<T> implements ImmutableList<T>,
 
     @Override
     public Vector<T> removeAt(long i) {
-        return (Vector<T>)ImmutableList.super.removeAt(i);
+        if(i<0||i>=size)
+            return this;
+        return take(i).appendAll(drop(i+1));
     }
 
     @Override
     public Vector<T> insertAt(int pos, T... values) {
-        return (Vector<T>)ImmutableList.super.insertAt(pos,values);
+        return insertVectorAt(pos,Vector.of(values));
     }
     @Override
     public Vector<T> insertAt(int i, T e){
-        return (Vector<T>)ImmutableList.super.insertAt(i,e);
+        return insertVectorAt(i,Vector.of(e));
     }
 
     @Override
     public Vector<T> insertAt(int pos, Iterable<? extends T> values) {
-        return (Vector<T>)ImmutableList.super.insertAt(pos,values);
+        return insertVectorAt(pos,Vector.fromIterable((Iterable<T>)values));
     }
     @Override
     public Vector<T> insertAt(int pos, ReactiveSeq<? extends T> values) {
-        return (Vector<T>)ImmutableList.super.insertAt(pos,values);
+        return insertVectorAt(pos,Vector.fromIterable((Iterable<T>)values));
+    }
+    private Vector<T> insertVectorAt(int pos, Vector<T> values){
+        return take(pos).appendAll(values).appendAll(drop(pos));
     }
     public Vector<T> plusAll(int i, Iterable<? extends T> values){
         return insertAt(i,values);
@@ -210,18 +289,10 @@ public class Vector<T> implements ImmutableList<T>,
         if(it instanceof Vector){
             return (Vector<T>)it;
         }
-        Vector<T> res = empty();
-        for(T next : it){
-            res = res.plus(next);
-        }
-        return res;
+        return Vector.<T>builder().addAll(it).persistent();
     }
     public static <T> Vector<T> of(T... value){
-        Vector<T> res = empty();
-        for(T next : value){
-            res = res.plus(next);
-        }
-        return res;
+        return Vector.<T>builder().addAll(value).persistent();
     }
 
 
@@ -573,7 +644,8 @@ public class Vector<T> implements ImmutableList<T>,
 
     @Override
     public Vector<T> slice(long from, long to) {
-        return (Vector<T>) ImmutableList.super.slice(from,to);
+        long start = Math.max(from,0);
+        return drop(start).take(Math.max(to-start,0));
     }
 
 
@@ -589,12 +661,14 @@ public class Vector<T> implements ImmutableList<T>,
 
     @Override
     public Vector<T> prependAll(T... values) {
-        return (Vector<T>) ImmutableList.super.prependAll(values);
+        return prependAll(Arrays.asList(values));
     }
 
     @Override
     public Vector<T> deleteBetween(int start, int end) {
-        return (Vector<T>) ImmutableList.super.deleteBetween(start,end);
+        if(start>=end)
+            return this;
+        return take(start).appendAll(drop(end));
     }
 
     @Override
@@ -718,12 +792,12 @@ public class Vector<T> implements ImmutableList<T>,
         private void readObject(ObjectInputStream s) throws ClassNotFoundException, IOException {
             s.defaultReadObject();
             final int size = s.readInt();
-            Vector<T> res = empty();
+            Builder<T> res = builder();
             for (int i = 0; i < size; i++) {
                 T n = (T) s.readObject();
-                res = res.append(n);
+                res.add(n);
             }
-            v=res;
+            v=res.persistent();
         }
     }
 
@@ -742,13 +816,7 @@ public class Vector<T> implements ImmutableList<T>,
             return empty();
         if(num>=size())
             return this;
-        if(num==tail.size())
-            return new Vector<>(new BAMT.Zero<>(),tail,num);
-        if(num<tail.size()){
-            BAMT.ActiveTail<T> newTail = tail.takeRight(num);
-            return new Vector<>(new BAMT.Zero<>(),newTail,newTail.size());
-        }
-        return (Vector<T>)ImmutableList.super.dropRight(num);
+        return drop(size()-num);
     }
 
     public Vector<T> dropRight(int num){
@@ -756,13 +824,7 @@ public class Vector<T> implements ImmutableList<T>,
             return this;
         if(num>=size())
             return empty();
-        if(tail.size()==1){
-            return new Vector<>(this.root,BAMT.ActiveTail.emptyTail(),size()-1).drop(num-1);
-        }
-        if(tail.size()>0){
-            return new Vector<>(this.root,tail.dropRight(num),size()-(Math.min(tail.size(),num))).dropRight(num-tail.size());
-        }
-        return unitStream(stream().dropRight(num));
+        return take(size()-num);
     }
     @Override
     public Vector<T> drop(long num) {
@@ -770,10 +832,12 @@ public class Vector<T> implements ImmutableList<T>,
             return this;
         if(num>=size())
             return empty();
-        if(size()<32){
-            return new Vector<>(this.root,tail.drop((int)num),size()-(int)num);
+        int n = (int)num;
+        int tailStart = size-tail.size();
+        if(n>=tailStart){
+            return new Vector<>(new BAMT.Zero<>(),tail.drop(n-tailStart),size-n);
         }
-        return unitStream(stream().drop(num));
+        return new Vector<>(BAMT.RRB.fromNestedArray(root,tailStart).drop(n),tail,size-n);
     }
 
     @Override
@@ -782,52 +846,23 @@ public class Vector<T> implements ImmutableList<T>,
             return empty();
         if(num>=size())
             return this;
-        if(size()<32){
-            return new Vector<T>(this.root,tail.dropRight(Math.max(tail.size()-(int)num,0)),(int)num);
+        int n = (int)num;
+        int tailStart = size-tail.size();
+        if(n>=tailStart){
+            return new Vector<T>(root,tail.dropRight(size-n),n);
         }
-        return unitStream(stream().take(num));
+        return new Vector<>(BAMT.RRB.fromNestedArray(root,tailStart).take(n),BAMT.ActiveTail.emptyTail(),n);
     }
 
     @Override
     public Vector<T> prepend(T value) {
-        return prependAll(Arrays.asList(value));
+        return Vector.of(value).appendAll(this);
     }
 
 
     @Override
     public Vector<T> prependAll(Iterable<? extends T> value) {
-        int newSize= 0;
-        BAMT.NestedArray<T> newRoot =new BAMT.Zero<>();
-        BAMT.ActiveTail<T> newTail = BAMT.ActiveTail.emptyTail();
-
-        for (T t : value) {
-
-            if(newTail.size()<32) {
-                newTail = newTail.append(t);
-                newSize++;
-            }else{
-                newRoot = newRoot.append(newTail);
-                newTail = BAMT.ActiveTail.tail(t);
-                newSize++;
-            }
-
-
-        }
-        for (T t : this) {
-
-            if(newTail.size()<32) {
-                newTail = newTail.append(t);
-                newSize++;
-            }else{
-                newRoot = newRoot.append(newTail);
-                newTail = BAMT.ActiveTail.tail(t);
-                newSize++;
-            }
-
-
-        }
-
-        return new Vector<>(newRoot,newTail,newSize);
+        return Vector.fromIterable((Iterable<T>)value).appendAll(this);
     }
 
     public Vector<T> append(T value) {
@@ -836,6 +871,9 @@ public class Vector<T> implements ImmutableList<T>,
 
     @Override
     public Vector<T> appendAll(Iterable<? extends T> value) {
+        if(value instanceof Vector && ((Vector<T>)value).size()>=BAMT.NestedArray.SIZE){
+            return concat((Vector<T>)value);
+        }
         int newSize= size;
         BAMT.NestedArray<T> newRoot =root;
         BAMT.ActiveTail<T> newTail = tail;
@@ -854,6 +892,18 @@ public class Vector<T> implements ImmutableList<T>,
         }
         return new Vector<>(newRoot,newTail,newSize);
     }
+    /*
+     * Both sides are viewed as relaxed radix balanced trees, so only the nodes along the seam are rebuilt
+     */
+    private Vector<T> concat(Vector<T> right){
+        if(size==0)
+            return right;
+        BAMT.RRB<T> front = BAMT.RRB.relaxed(root,size-tail.size(),tail);
+        int rightRootSize = right.size-right.tail.size();
+        BAMT.NestedArray<T> newRoot = rightRootSize==0 ? front
+                                        : BAMT.RRB.concat(front,BAMT.RRB.fromNestedArray(right.root,rightRootSize));
+        return new Vector<>(newRoot,right.tail,size+right.size);
+    }
     public Vector<T> subList(int start, int end){
         return drop(start).take(end-start);
     }
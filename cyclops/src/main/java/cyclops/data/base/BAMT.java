@@ -7,6 +7,9 @@ import lombok.AllArgsConstructor;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -55,6 +58,48 @@ public class BAMT<T> {
 
     }
 
+    /**
+     * Assemble a dense tree from full 32 element leaves in a single pass, producing the same layout
+     * as appending each leaf in turn.
+     *
+     * @param leaves Full leaf arrays, in order
+     * @return Zero - Six nested array holding all leaves
+     */
+    public static <T> NestedArray<T> fromLeaves(Object[][] leaves){
+        if(leaves.length==0)
+            return new Zero<>();
+        if(leaves.length==1)
+            return One.one((T[])leaves[0]);
+        Object[] node = leaves;
+        int depth = 1;
+        while(node.length>NestedArray.SIZE){
+            node = group(node);
+            depth++;
+        }
+        switch(depth){
+            case 1:
+                return Two.two((Object[][])node);
+            case 2:
+                return Three.three((Object[][][])node);
+            case 3:
+                return Four.four((Object[][][][])node);
+            case 4:
+                return Five.five((Object[][][][][])node);
+            case 5:
+                return Six.six((Object[][][][][][])node);
+        }
+        throw new IllegalArgumentException("Too many leaves for a nested array " + leaves.length);
+    }
+    private static Object[] group(Object[] children){
+        int count = (children.length+NestedArray.SIZE-1)/NestedArray.SIZE;
+        Object[] parent = (Object[])java.lang.reflect.Array.newInstance(children.getClass(),count);
+        for(int i=0;i<count;i++){
+            int from = i*NestedArray.SIZE;
+            parent[i] = Arrays.copyOfRange(children,from,Math.min(from+NestedArray.SIZE,children.length));
+        }
+        return parent;
+    }
+
     public static class ArrayUtils{
 
         public static <T> T[] append(T[] array, T value) {
@@ -1034,4 +1079,569 @@ public class BAMT<T> {
         }
 
     }
+
+    /**
+     * Relaxed radix balanced tree. Used by Vector once it has been prepended to, concatenated or sliced.
+     *
+     * Interior nodes are either dense radix arrays (the same layout as Two - Six, all children full except the last)
+     * or Sized nodes that also carry the cumulative size of each child. Concatenation and splitting only rebuild
+     * the nodes along the affected edge(s) of the tree, so both are logarithmic, while lookups on dense nodes
+     * remain pure bit-shifting.
+     */
+    public static class RRB<T> implements PopulatedArray<T>{
+        static final int BITS = NestedArray.BITS_IN_INDEX;
+        static final int BRANCH = NestedArray.SIZE;
+        static final int EXTRAS = 2;
+        static final Object[] EMPTY = new Object[0];
+
+        final Object node;
+        final int height;
+        final int size;
+
+        RRB(Object node, int height, int size) {
+            this.node = node;
+            this.height = height;
+            this.size = size;
+        }
+
+        static final class Sized {
+            final Object[] children;
+            final int[] sizes;
+
+            Sized(Object[] children, int[] sizes) {
+                this.children = children;
+                this.sizes = sizes;
+            }
+
+            int size(){
+                return sizes[sizes.length-1];
+            }
+            int indexOf(int pos, int height){
+                int shift = height*BITS;
+                int i = shift<31 ? Math.min(pos >>> shift,sizes.length-1) : 0;
+                while(sizes[i]<=pos){
+                    i++;
+                }
+                return i;
+            }
+        }
+
+        public static <T> RRB<T> leaf(T[] array){
+            return new RRB<>(Arrays.copyOf(array,array.length,Object[].class),0,array.length);
+        }
+
+        /**
+         * View a dense root (Zero - Six) and its active tail as a single relaxed tree without copying the dense levels.
+         *
+         * @param root Dense or relaxed root
+         * @param rootSize Number of elements held by the root
+         * @param tail Tail to append to the root
+         * @return Relaxed tree holding all elements from root and tail, or null if both are empty
+         */
+        public static <T> RRB<T> relaxed(NestedArray<T> root, int rootSize, ActiveTail<T> tail){
+            RRB<T> tree = rootSize==0 ? null : fromNestedArray(root,rootSize);
+            if(tail.size()==0)
+                return tree;
+            RRB<T> last = leaf(tail.array);
+            return tree==null ? last : concat(tree,last);
+        }
+        public static <T> RRB<T> fromNestedArray(NestedArray<T> root, int rootSize){
+            if(root instanceof RRB)
+                return (RRB<T>)root;
+            if(root instanceof One)
+                return new RRB<>(((One<T>)root).array,0,rootSize);
+            if(root instanceof Two)
+                return new RRB<>(((Two<T>)root).array,1,rootSize);
+            if(root instanceof Three)
+                return new RRB<>(((Three<T>)root).array,2,rootSize);
+            if(root instanceof Four)
+                return new RRB<>(((Four<T>)root).array,3,rootSize);
+            if(root instanceof Five)
+                return new RRB<>(((Five<T>)root).array,4,rootSize);
+            if(root instanceof Six)
+                return new RRB<>(((Six<T>)root).array,5,rootSize);
+            if(root instanceof ActiveTail)
+                return leaf(((ActiveTail<T>)root).array);
+            throw new IllegalArgumentException("Can't convert an empty root to a relaxed tree");
+        }
+
+        public static <T> RRB<T> concat(RRB<T> left, RRB<T> right){
+            Object[] merged = concatSub(left.node,left.height,right.node,right.height,true);
+            int height = Math.max(left.height,right.height);
+            if(merged.length==1)
+                return trim(merged[0],height,left.size+right.size);
+            return trim(build(merged,height+1),height+1,left.size+right.size);
+        }
+
+        /**
+         * @param n Number of elements to keep, must be between 1 and size-1
+         * @return Relaxed tree containing the first n elements
+         */
+        public RRB<T> take(int n){
+            return trim(takeNode(node,height,n),height,n);
+        }
+
+        /**
+         * @param n Number of elements to remove, must be between 1 and size-1
+         * @return Relaxed tree containing all but the first n elements
+         */
+        public RRB<T> drop(int n){
+            return trim(dropNode(node,height,n),height,size-n);
+        }
+
+        public int size(){
+            return size;
+        }
+
+        @Override
+        public NestedArray<T> append(ActiveTail<T> tail) {
+            if(tail.size()==0)
+                return this;
+            return concat(this,leaf(tail.array));
+        }
+
+        @Override
+        public T getOrElseGet(int pos, Supplier<T> alt) {
+            if(pos<0||pos>=size)
+                return alt.get();
+            return find(pos);
+        }
+
+        @Override
+        public T getOrElse(int pos, T alt) {
+            if(pos<0||pos>=size)
+                return alt;
+            return find(pos);
+        }
+
+        @Override
+        public Option<T> get(int pos) {
+            if(pos<0||pos>=size)
+                return Option.none();
+            return Option.of(find(pos));
+        }
+
+        @Override
+        public T[] getNestedArrayAt(int pos) {
+            Object n = node;
+            for(int h=height;h>0;h--){
+                int i = childIndex(n,h,pos);
+                pos -= sizeBefore(n,h,i);
+                n = children(n)[i];
+            }
+            return (T[])n;
+        }
+
+        @Override
+        public RRB<T> set(int pos, T value) {
+            return new RRB<>(setNode(node,height,pos,value),height,size);
+        }
+
+        @Override
+        public <R> RRB<R> map(Function<? super T, ? extends R> fn) {
+            return new RRB<>(mapNode(node,height,fn),height,size);
+        }
+
+        @Override
+        public ReactiveSeq<T> stream() {
+            return ReactiveSeq.fromIterator(iterator());
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                final Object[][] path = new Object[height+1][];
+                final int[] index = new int[height+1];
+                int count = 0;
+                {
+                    path[height] = slotsOf(node,height);
+                    for(int h=height;h>0;h--){
+                        path[h-1] = slotsOf(path[h][0],h-1);
+                    }
+                }
+                @Override
+                public boolean hasNext() {
+                    return count<size;
+                }
+
+                @Override
+                public T next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+                    if(index[0]==path[0].length){
+                        int h = 1;
+                        while(index[h]==path[h].length-1){
+                            h++;
+                        }
+                        index[h]++;
+                        for(;h>0;h--){
+                            path[h-1] = slotsOf(path[h][index[h]],h-1);
+                            index[h-1] = 0;
+                        }
+                    }
+                    count++;
+                    return (T)path[0][index[0]++];
+                }
+            };
+        }
+
+        /**
+         * @return Spliterator that splits on child node boundaries, sized from the cumulative sizes of relaxed nodes,
+         * and walks the leaf arrays directly
+         */
+        public Spliterator<T> spliterator(){
+            return new NodeSpliterator<>(node,height,height==0 ? size : children(node).length,size);
+        }
+
+        static final class NodeSpliterator<T> implements Spliterator<T>{
+            private Object node;
+            private Object[] slots;
+            private int height;
+            private int index;
+            private int fence;
+            private int remaining;
+            private Object[][] path;
+            private int[] pos;
+
+            NodeSpliterator(Object node, int height, int fence, int remaining) {
+                this(node,height,0,fence,remaining);
+            }
+            private NodeSpliterator(Object node, int height, int index, int fence, int remaining) {
+                this.node = node;
+                this.slots = slotsOf(node,height);
+                this.height = height;
+                this.index = index;
+                this.fence = fence;
+                this.remaining = remaining;
+            }
+
+            @Override
+            public Spliterator<T> trySplit() {
+                if(path!=null)
+                    return null;
+                while(height>0 && fence-index==1){
+                    node = slots[index];
+                    height--;
+                    slots = slotsOf(node,height);
+                    index = 0;
+                    fence = height==0 ? remaining : slots.length;
+                }
+                if(fence-index<2)
+                    return null;
+                int mid = (index+fence) >>> 1;
+                int prefix = sizeBefore(node,height,mid)-sizeBefore(node,height,index);
+                NodeSpliterator<T> split = new NodeSpliterator<>(node,height,index,mid,prefix);
+                index = mid;
+                remaining -= prefix;
+                return split;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                Objects.requireNonNull(action);
+                if(remaining==0)
+                    return false;
+                if(path==null){
+                    path = new Object[height+1][];
+                    pos = new int[height+1];
+                    path[height] = slots;
+                    pos[height] = index;
+                    for(int h=height;h>0;h--){
+                        path[h-1] = slotsOf(path[h][pos[h]],h-1);
+                    }
+                }else if(pos[0]==path[0].length){
+                    int h = 1;
+                    while(pos[h]==path[h].length-1){
+                        h++;
+                    }
+                    pos[h]++;
+                    for(;h>0;h--){
+                        path[h-1] = slotsOf(path[h][pos[h]],h-1);
+                        pos[h-1] = 0;
+                    }
+                }
+                remaining--;
+                action.accept((T)path[0][pos[0]++]);
+                return true;
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super T> action) {
+                Objects.requireNonNull(action);
+                if(path!=null){
+                    while(tryAdvance(action)){
+                    }
+                    return;
+                }
+                int budget = remaining;
+                for(int i=index;i<fence && budget>0;i++){
+                    budget = height==0 ? accept(slots[i],action,budget) : forEach(slots[i],height-1,action,budget);
+                }
+                index = fence;
+                remaining = 0;
+            }
+
+            private static <T> int forEach(Object node, int height, Consumer<? super T> action, int budget){
+                Object[] slots = slotsOf(node,height);
+                for(int i=0;i<slots.length && budget>0;i++){
+                    budget = height==0 ? accept(slots[i],action,budget) : forEach(slots[i],height-1,action,budget);
+                }
+                return budget;
+            }
+            private static <T> int accept(Object value, Consumer<? super T> action, int budget){
+                action.accept((T)value);
+                return budget-1;
+            }
+
+            @Override
+            public long estimateSize() {
+                return remaining;
+            }
+
+            @Override
+            public int characteristics() {
+                return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+            }
+        }
+
+        private T find(int pos){
+            Object n = node;
+            for(int h=height;h>0;h--){
+                if(n instanceof Sized){
+                    Sized s = (Sized)n;
+                    int i = s.indexOf(pos,h);
+                    if(i>0)
+                        pos -= s.sizes[i-1];
+                    n = s.children[i];
+                }else{
+                    int shift = h*BITS;
+                    n = ((Object[])n)[(pos >>> shift) & 0x01f];
+                    pos &= (1 << shift)-1;
+                }
+            }
+            return (T)((Object[])n)[pos];
+        }
+
+        static <T> RRB<T> trim(Object node, int height, int size){
+            while(height>0 && children(node).length==1){
+                node = children(node)[0];
+                height--;
+            }
+            return new RRB<>(node,height,size);
+        }
+
+        static Object[] children(Object node){
+            return node instanceof Sized ? ((Sized)node).children : (Object[])node;
+        }
+        static Object[] slotsOf(Object node, int height){
+            return height==0 ? (Object[])node : children(node);
+        }
+
+        static int sizeOf(Object node, int height){
+            if(height==0)
+                return ((Object[])node).length;
+            if(node instanceof Sized)
+                return ((Sized)node).size();
+            Object[] children = (Object[])node;
+            return ((children.length-1) << (height*BITS)) + sizeOf(children[children.length-1],height-1);
+        }
+
+        static int childIndex(Object node, int height, int pos){
+            if(node instanceof Sized)
+                return ((Sized)node).indexOf(pos,height);
+            int shift = height*BITS;
+            return shift<31 ? (pos >>> shift) & 0x01f : 0;
+        }
+        static int sizeBefore(Object node, int height, int index){
+            if(index==0)
+                return 0;
+            if(node instanceof Sized)
+                return ((Sized)node).sizes[index-1];
+            return index << (height*BITS);
+        }
+
+        /*
+         * Dense radix arrays are kept whenever every child but the last is full, otherwise cumulative sizes are recorded.
+         */
+        static Object build(Object[] children, int height){
+            int shift = height*BITS;
+            int full = shift<31 ? 1 << shift : -1;
+            int[] sizes = new int[children.length];
+            int total = 0;
+            boolean dense = true;
+            for(int i=0;i<children.length;i++){
+                int next = sizeOf(children[i],height-1);
+                total += next;
+                sizes[i] = total;
+                if(next!=full && i<children.length-1)
+                    dense = false;
+            }
+            return dense ? children : new Sized(children,sizes);
+        }
+
+        private static Object[] concatSub(Object left, int lh, Object right, int rh, boolean top){
+            if(lh>rh){
+                Object[] l = children(left);
+                Object[] mid = concatSub(l[l.length-1],lh-1,right,rh,false);
+                return rebalance(l,0,l.length-1,mid,EMPTY,0,0,lh);
+            }
+            if(lh<rh){
+                Object[] r = children(right);
+                Object[] mid = concatSub(left,lh,r[0],rh-1,false);
+                return rebalance(EMPTY,0,0,mid,r,1,r.length,rh);
+            }
+            if(lh==0){
+                Object[] l = (Object[])left;
+                Object[] r = (Object[])right;
+                if(top && l.length+r.length<=BRANCH){
+                    Object[] merged = Arrays.copyOf(l,l.length+r.length,Object[].class);
+                    System.arraycopy(r,0,merged,l.length,r.length);
+                    return new Object[]{merged};
+                }
+                return new Object[]{left,right};
+            }
+            Object[] l = children(left);
+            Object[] r = children(right);
+            Object[] mid = concatSub(l[l.length-1],lh-1,r[0],rh-1,false);
+            return rebalance(l,0,l.length-1,mid,r,1,r.length,lh);
+        }
+
+        private static Object[] rebalance(Object[] left, int lFrom, int lTo, Object[] mid,
+                                          Object[] right, int rFrom, int rTo, int height){
+            int lLen = lTo-lFrom;
+            int rLen = rTo-rFrom;
+            Object[] all = new Object[lLen+mid.length+rLen];
+            System.arraycopy(left,lFrom,all,0,lLen);
+            System.arraycopy(mid,0,all,lLen,mid.length);
+            System.arraycopy(right,rFrom,all,lLen+mid.length,rLen);
+
+            Object[] nodes = executePlan(all,concatPlan(all,height-1),height-1);
+            if(nodes.length<=BRANCH)
+                return new Object[]{build(nodes,height)};
+            return new Object[]{build(Arrays.copyOfRange(nodes,0,BRANCH,Object[].class),height),
+                                build(Arrays.copyOfRange(nodes,BRANCH,nodes.length,Object[].class),height)};
+        }
+
+        /*
+         * Redistribute slots only when there are more than EXTRAS nodes beyond the optimal count,
+         * merging short nodes into their right hand neighbours
+         */
+        private static int[] concatPlan(Object[] all, int height){
+            int[] counts = new int[all.length];
+            int total = 0;
+            for(int i=0;i<all.length;i++){
+                counts[i] = slotsOf(all[i],height).length;
+                total += counts[i];
+            }
+            int optimal = ((total-1)/BRANCH)+1;
+            int len = all.length;
+            int i = 0;
+            while(optimal+EXTRAS<len){
+                while(counts[i]>BRANCH-1){
+                    i++;
+                }
+                int remaining = counts[i];
+                do{
+                    int min = Math.min(remaining+counts[i+1],BRANCH);
+                    counts[i] = min;
+                    remaining = remaining+counts[i+1]-min;
+                    i++;
+                }while(remaining>0);
+                System.arraycopy(counts,i+1,counts,i,len-i-1);
+                len--;
+                i--;
+            }
+            return Arrays.copyOf(counts,len);
+        }
+
+        private static Object[] executePlan(Object[] all, int[] plan, int height){
+            Object[] res = new Object[plan.length];
+            int idx = 0;
+            int offset = 0;
+            for(int i=0;i<plan.length;i++){
+                int newSize = plan[i];
+                Object[] old = slotsOf(all[idx],height);
+                if(offset==0 && newSize==old.length){
+                    res[i] = all[idx++];
+                }else{
+                    Object[] slots = new Object[newSize];
+                    int fill = 0;
+                    while(fill<newSize){
+                        old = slotsOf(all[idx],height);
+                        int toCopy = Math.min(newSize-fill,old.length-offset);
+                        System.arraycopy(old,offset,slots,fill,toCopy);
+                        fill += toCopy;
+                        offset += toCopy;
+                        if(offset==old.length){
+                            idx++;
+                            offset = 0;
+                        }
+                    }
+                    res[i] = height==0 ? slots : build(slots,height);
+                }
+            }
+            return res;
+        }
+
+        private static Object takeNode(Object node, int height, int n){
+            if(height==0){
+                Object[] leaf = (Object[])node;
+                return n==leaf.length ? leaf : Arrays.copyOf(leaf,n,Object[].class);
+            }
+            Object[] children = children(node);
+            int i = childIndex(node,height,n-1);
+            int before = sizeBefore(node,height,i);
+            Object[] res = Arrays.copyOf(children,i+1,Object[].class);
+            res[i] = takeNode(children[i],height-1,n-before);
+            return build(res,height);
+        }
+
+        private static Object dropNode(Object node, int height, int n){
+            if(n==0)
+                return node;
+            if(height==0){
+                Object[] leaf = (Object[])node;
+                return Arrays.copyOfRange(leaf,n,leaf.length,Object[].class);
+            }
+            Object[] children = children(node);
+            int i = childIndex(node,height,n);
+            int before = sizeBefore(node,height,i);
+            Object[] res = Arrays.copyOfRange(children,i,children.length,Object[].class);
+            res[0] = dropNode(children[i],height-1,n-before);
+            return build(res,height);
+        }
+
+        private static Object setNode(Object node, int height, int pos, Object value){
+            if(height==0){
+                Object[] leaf = (Object[])node;
+                Object[] res = Arrays.copyOf(leaf,leaf.length,Object[].class);
+                res[pos] = value;
+                return res;
+            }
+            Object[] children = children(node);
+            int i = childIndex(node,height,pos);
+            int before = sizeBefore(node,height,i);
+            Object[] res = Arrays.copyOf(children,children.length,Object[].class);
+            res[i] = setNode(children[i],height-1,pos-before,value);
+            return node instanceof Sized ? new Sized(res,((Sized)node).sizes) : res;
+        }
+
+        private static Object mapNode(Object node, int height, Function<?,?> fn){
+            Function<Object,Object> f = (Function<Object,Object>)fn;
+            if(height==0){
+                Object[] leaf = (Object[])node;
+                Object[] res = new Object[leaf.length];
+                for(int i=0;i<leaf.length;i++){
+                    res[i] = f.apply(leaf[i]);
+                }
+                return res;
+            }
+            Object[] children = children(node);
+            Object[] res = new Object[children.length];
+            for(int i=0;i<children.length;i++){
+                res[i] = mapNode(children[i],height-1,f);
+            }
+            return node instanceof Sized ? new Sized(res,((Sized)node).sizes) : res;
+        }
+    }
 }
@@ -0,0 +1,1316 @@
+package cyclops.data.base;
+
+
+import com.oath.cyclops.internal.stream.spliterators.CopyableSpliterator;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A persistent Compressed Hash-Array Mapped Prefix-tree (CHAMP), see "Optimizing Hash-Array Mapped Tries for Fast and
+ * Lean Immutable JVM Collections" (Steindorfer and Vinju).
+ *
+ * Each node keeps separate bitmaps for its inline entries and its sub-nodes, entries are stored at the front of the node's
+ * array and sub-nodes at the back. Deletion keeps the trie in a canonical (compact) form, so two tries holding the same
+ * keys have the same shape. That allows equality to compare node by node, skipping shared sub-trees by reference, and
+ * union / intersect / diff to reuse any sub-tree that is unchanged.
+ *
+ * Key hashes are spread (the high bits are folded into the low bits) before use, node sizes are cached and the hash of the
+ * whole trie is cached once computed.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class CHAMP<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int HASH_BITS = 32;
+    private static final Object NOT_FOUND = new Object();
+    private static final CHAMP EMPTY = new CHAMP<>(BitmapNode.EMPTY, 0, 0);
+
+    private final BitmapNode<K, V> root;
+    //cached hashes, 0 means not yet computed
+    private transient int hash;
+    private transient int keyHash;
+
+    private CHAMP(BitmapNode<K, V> root, int hash, int keyHash) {
+        this.root = root;
+        this.hash = hash;
+        this.keyHash = keyHash;
+    }
+
+    public static <K, V> CHAMP<K, V> empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return root.size;
+    }
+
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    public Option<V> get(K key) {
+        Object value = find(root, key, hash(key));
+        return value == NOT_FOUND ? Option.none() : Option.some((V) value);
+    }
+
+    public V getOrElse(K key, V alt) {
+        Object value = find(root, key, hash(key));
+        return value == NOT_FOUND ? alt : (V) value;
+    }
+
+    public V getOrElseGet(K key, Supplier<? extends V> alt) {
+        Object value = find(root, key, hash(key));
+        return value == NOT_FOUND ? alt.get() : (V) value;
+    }
+
+    public boolean containsKey(K key) {
+        return find(root, key, hash(key)) != NOT_FOUND;
+    }
+
+    public CHAMP<K, V> put(K key, V value) {
+        Details details = new Details();
+        BitmapNode<K, V> res = (BitmapNode<K, V>) root.put(key, value, hash(key), 0, details);
+        if (res == root)
+            return this;
+        int entryHash = entryHash(key, value);
+        if (details.replaced) {
+            int delta = entryHash - entryHash(key, details.old);
+            return new CHAMP<>(res, hash == 0 ? 0 : hash + delta, keyHash);
+        }
+        return new CHAMP<>(res, hash == 0 ? 0 : hash + entryHash, keyHash == 0 ? 0 : keyHash + Objects.hashCode(key));
+    }
+
+    public CHAMP<K, V> remove(K key) {
+        Details details = new Details();
+        Node<K, V> res = root.remove(key, hash(key), 0, details);
+        if (res == root)
+            return this;
+        return new CHAMP<>((BitmapNode<K, V>) res, hash == 0 ? 0 : hash - entryHash(key, details.old),
+                           keyHash == 0 ? 0 : keyHash - Objects.hashCode(key));
+    }
+
+    /**
+     * @return A trie with the entries of both tries, where a key is present in both the value from other is kept
+     */
+    public CHAMP<K, V> union(CHAMP<K, V> other) {
+        if (other.isEmpty())
+            return this;
+        if (isEmpty())
+            return other;
+        return of(union(root, other.root, 0));
+    }
+
+    /**
+     * @return A trie with the entries of this trie whose keys are also present in other
+     */
+    public CHAMP<K, V> intersect(CHAMP<K, ?> other) {
+        if (isEmpty())
+            return this;
+        return of(intersect(root, (Node<K, Object>) other.root, 0));
+    }
+
+    /**
+     * @return A trie with the entries of this trie whose keys are not present in other
+     */
+    public CHAMP<K, V> diff(CHAMP<K, ?> other) {
+        if (isEmpty() || other.isEmpty())
+            return this;
+        return of(diff(root, (Node<K, Object>) other.root, 0));
+    }
+
+    private CHAMP<K, V> of(Node<K, V> res) {
+        if (res == root)
+            return this;
+        return res == null || res.size() == 0 ? empty() : new CHAMP<>((BitmapNode<K, V>) res, 0, 0);
+    }
+
+    /**
+     * @return The sum of the hash codes of each entry, where an entry hashes as Objects.hash(key,value)
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (NodeIterator<K, V, ?> i = new NodeIterator<>(roots(), 0, 1, null); i.advance(); )
+                h += entryHash(i.node.keyAt(i.index), i.node.valueAt(i.index));
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * @return The sum of the hash codes of each key
+     */
+    public int keyHashCode() {
+        int h = keyHash;
+        if (h == 0) {
+            for (NodeIterator<K, V, ?> i = new NodeIterator<>(roots(), 0, 1, null); i.advance(); )
+                h += Objects.hashCode(i.node.keyAt(i.index));
+            keyHash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Structural equality, as tries are kept in canonical form tries with the same entries have the same shape. Sub-trees
+     * shared between the two tries are skipped by reference.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CHAMP))
+            return false;
+        CHAMP<?, ?> other = (CHAMP<?, ?>) o;
+        if (size() != other.size())
+            return false;
+        if (hash != 0 && other.hash != 0 && hash != other.hash)
+            return false;
+        return equal(root, other.root);
+    }
+
+    public Iterator<Tuple2<K, V>> iterator() {
+        return new NodeIterator<>(roots(), 0, 1, CHAMP::entry);
+    }
+
+    public Iterator<K> keyIterator() {
+        return new NodeIterator<>(roots(), 0, 1, Node::keyAt);
+    }
+
+    public Spliterator<Tuple2<K, V>> spliterator() {
+        return new NodeSpliterator<>(roots(), 0, 1, size(), CHAMP::entry,
+                                     Spliterator.NONNULL);
+    }
+
+    public Spliterator<K> keySpliterator() {
+        return new NodeSpliterator<>(roots(), 0, 1, size(), Node::keyAt, 0);
+    }
+
+    public ReactiveSeq<Tuple2<K, V>> stream() {
+        return ReactiveSeq.fromSpliterator(spliterator());
+    }
+
+    public ReactiveSeq<K> keys() {
+        return ReactiveSeq.fromSpliterator(keySpliterator());
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    private static <K, V> Tuple2<K, V> entry(Node<K, V> node, int index) {
+        return Tuple.tuple(node.keyAt(index), node.valueAt(index));
+    }
+
+    private Node<K, V>[] roots() {
+        return new Node[]{root};
+    }
+
+    static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    static int mask(int hash, int shift) {
+        return (hash >>> shift) & (WIDTH - 1);
+    }
+
+    static int bitpos(int hash, int shift) {
+        return 1 << mask(hash, shift);
+    }
+
+    private static int entryHash(Object key, Object value) {
+        return 31 * (31 + Objects.hashCode(key)) + Objects.hashCode(value);
+    }
+
+    private static Object find(Node<?, ?> node, Object key, int hash) {
+        int shift = 0;
+        while (node instanceof BitmapNode) {
+            BitmapNode<?, ?> b = (BitmapNode<?, ?>) node;
+            int bit = bitpos(hash, shift);
+            if ((b.dataMap & bit) != 0) {
+                int i = b.dataIndex(bit);
+                return Objects.equals(key, b.keyAt(i)) ? b.valueAt(i) : NOT_FOUND;
+            }
+            if ((b.nodeMap & bit) == 0)
+                return NOT_FOUND;
+            node = b.nodeAt(b.nodeIndex(bit));
+            shift += BITS;
+        }
+        return ((CollisionNode<?, ?>) node).find(key);
+    }
+
+    /*
+     * Records the effect of a put or remove on the entry for a key
+     */
+    static final class Details {
+        boolean modified;
+        boolean replaced;
+        Object old;
+
+        void added() {
+            modified = true;
+        }
+
+        void replaced(Object old) {
+            modified = true;
+            replaced = true;
+            this.old = old;
+        }
+
+        void removed(Object old) {
+            modified = true;
+            this.old = old;
+        }
+    }
+
+    abstract static class Node<K, V> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        abstract int size();
+
+        abstract int payloadArity();
+
+        abstract K keyAt(int index);
+
+        abstract V valueAt(int index);
+
+        abstract int nodeArity();
+
+        abstract Node<K, V> nodeAt(int index);
+
+        abstract Node<K, V> put(K key, V value, int hash, int shift, Details details);
+
+        abstract Node<K, V> remove(K key, int hash, int shift, Details details);
+    }
+
+    static final class BitmapNode<K, V> extends Node<K, V> {
+        private static final long serialVersionUID = 1L;
+        static final BitmapNode EMPTY = new BitmapNode<>(0, 0, new Object[0], 0);
+
+        final int dataMap;
+        final int nodeMap;
+        //[key0, value0, key1, value1 ..., nodeN, ... node1, node0]
+        final Object[] content;
+        final int size;
+
+        BitmapNode(int dataMap, int nodeMap, Object[] content, int size) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.size = size;
+        }
+
+        /*
+         * A node with one entry always uses the root (shift 0) position for it, so that it can be lifted into its
+         * parent, or become the root.
+         */
+        static <K, V> BitmapNode<K, V> singleton(K key, V value) {
+            return new BitmapNode<>(bitpos(hash(key), 0), 0, new Object[]{key, value}, 1);
+        }
+
+        int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        K keyAt(int index) {
+            return (K) content[2 * index];
+        }
+
+        @Override
+        V valueAt(int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            return (Node<K, V>) content[content.length - 1 - index];
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Details details) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                K current = keyAt(index);
+                if (Objects.equals(current, key)) {
+                    V old = valueAt(index);
+                    if (current == key && old == value)
+                        return this;
+                    details.replaced(old);
+                    Object[] updated = content.clone();
+                    updated[2 * index] = key;
+                    updated[2 * index + 1] = value;
+                    return new BitmapNode<>(dataMap, nodeMap, updated, size);
+                }
+                details.added();
+                Node<K, V> sub = mergeTwo(current, valueAt(index), hash(current), key, value, hash, shift + BITS);
+                return migrateToNode(bit, index, sub);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> sub = nodeAt(index);
+                Node<K, V> updatedSub = sub.put(key, value, hash, shift + BITS, details);
+                if (updatedSub == sub)
+                    return this;
+                Object[] updated = content.clone();
+                updated[content.length - 1 - index] = updatedSub;
+                return new BitmapNode<>(dataMap, nodeMap, updated, size - sub.size() + updatedSub.size());
+            }
+            details.added();
+            int index = dataIndex(bit);
+            Object[] updated = new Object[content.length + 2];
+            System.arraycopy(content, 0, updated, 0, 2 * index);
+            updated[2 * index] = key;
+            updated[2 * index + 1] = value;
+            System.arraycopy(content, 2 * index, updated, 2 * index + 2, content.length - 2 * index);
+            return new BitmapNode<>(dataMap | bit, nodeMap, updated, size + 1);
+        }
+
+        @Override
+        Node<K, V> remove(K key, int hash, int shift, Details details) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if (!Objects.equals(keyAt(index), key))
+                    return this;
+                details.removed(valueAt(index));
+                if (shift > 0 && size == 2 && nodeMap == 0) {
+                    int other = index == 0 ? 1 : 0;
+                    return singleton(keyAt(other), valueAt(other));
+                }
+                Object[] updated = new Object[content.length - 2];
+                System.arraycopy(content, 0, updated, 0, 2 * index);
+                System.arraycopy(content, 2 * index + 2, updated, 2 * index, content.length - 2 * index - 2);
+                return new BitmapNode<>(dataMap ^ bit, nodeMap, updated, size - 1);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> sub = nodeAt(index);
+                Node<K, V> updatedSub = sub.remove(key, hash, shift + BITS, details);
+                if (updatedSub == sub)
+                    return this;
+                if (updatedSub.size() == 1) {
+                    if (shift > 0 && dataMap == 0 && Integer.bitCount(nodeMap) == 1)
+                        return updatedSub;
+                    return migrateToInline(bit, index, updatedSub.keyAt(0), updatedSub.valueAt(0));
+                }
+                Object[] updated = content.clone();
+                updated[content.length - 1 - index] = updatedSub;
+                return new BitmapNode<>(dataMap, nodeMap, updated, size - 1);
+            }
+            return this;
+        }
+
+        private Node<K, V> migrateToNode(int bit, int dataIndex, Node<K, V> sub) {
+            int nodeIndex = nodeIndex(bit);
+            Object[] updated = new Object[content.length - 1];
+            int from = 2 * dataIndex;
+            int to = content.length - 1 - nodeIndex;
+            System.arraycopy(content, 0, updated, 0, from);
+            System.arraycopy(content, from + 2, updated, from, to - from - 1);
+            updated[to - 1] = sub;
+            System.arraycopy(content, to + 1, updated, to, content.length - to - 1);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap | bit, updated, size + 1);
+        }
+
+        private Node<K, V> migrateToInline(int bit, int nodeIndex, K key, V value) {
+            int dataIndex = dataIndex(bit);
+            Object[] updated = new Object[content.length + 1];
+            int to = 2 * dataIndex;
+            int from = content.length - 1 - nodeIndex;
+            System.arraycopy(content, 0, updated, 0, to);
+            updated[to] = key;
+            updated[to + 1] = value;
+            System.arraycopy(content, to, updated, to + 2, from - to);
+            System.arraycopy(content, from + 1, updated, from + 2, content.length - from - 1);
+            return new BitmapNode<>(dataMap | bit, nodeMap ^ bit, updated, size - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder("{d:" + Integer.toBinaryString(dataMap) + ",n:"
+                                                    + Integer.toBinaryString(nodeMap) + ",s:" + size);
+            for (int i = 0; i < payloadArity(); i++)
+                s.append(",[k:").append(keyAt(i)).append(",v:").append(valueAt(i)).append("]");
+            for (int i = 0; i < nodeArity(); i++)
+                s.append(",").append(nodeAt(i));
+            return s.append("}").toString();
+        }
+    }
+
+    /*
+     * Keys whose full (spread) hashes are equal, only found below the last bitmap level
+     */
+    static final class CollisionNode<K, V> extends Node<K, V> {
+        private static final long serialVersionUID = 1L;
+        final int hash;
+        //[key0, value0, key1, value1 ...]
+        final Object[] content;
+
+        CollisionNode(int hash, Object[] content) {
+            this.hash = hash;
+            this.content = content;
+        }
+
+        @Override
+        int size() {
+            return content.length / 2;
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        K keyAt(int index) {
+            return (K) content[2 * index];
+        }
+
+        @Override
+        V valueAt(int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int indexOf(Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (Objects.equals(key, content[i]))
+                    return i / 2;
+            }
+            return -1;
+        }
+
+        Object find(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : valueAt(index);
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Details details) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                V old = valueAt(index);
+                if (keyAt(index) == key && old == value)
+                    return this;
+                details.replaced(old);
+                Object[] updated = content.clone();
+                updated[2 * index] = key;
+                updated[2 * index + 1] = value;
+                return new CollisionNode<>(hash, updated);
+            }
+            details.added();
+            Object[] updated = Arrays.copyOf(content, content.length + 2);
+            updated[content.length] = key;
+            updated[content.length + 1] = value;
+            return new CollisionNode<>(hash, updated);
+        }
+
+        @Override
+        Node<K, V> remove(K key, int hash, int shift, Details details) {
+            int index = indexOf(key);
+            if (index < 0)
+                return this;
+            details.removed(valueAt(index));
+            if (size() == 2) {
+                int other = index == 0 ? 1 : 0;
+                return BitmapNode.singleton(keyAt(other), valueAt(other));
+            }
+            Object[] updated = new Object[content.length - 2];
+            System.arraycopy(content, 0, updated, 0, 2 * index);
+            System.arraycopy(content, 2 * index + 2, updated, 2 * index, content.length - 2 * index - 2);
+            return new CollisionNode<>(hash, updated);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder("{COLLISION h:" + hash);
+            for (int i = 0; i < size(); i++)
+                s.append(",[k:").append(keyAt(i)).append(",v:").append(valueAt(i)).append("]");
+            return s.append("}").toString();
+        }
+    }
+
+    static <K, V> Node<K, V> mergeTwo(K key0, V value0, int hash0, K key1, V value1, int hash1, int shift) {
+        if (shift >= HASH_BITS)
+            return new CollisionNode<>(hash0, new Object[]{key0, value0, key1, value1});
+        int mask0 = mask(hash0, shift);
+        int mask1 = mask(hash1, shift);
+        if (mask0 != mask1) {
+            Object[] content = mask0 < mask1 ? new Object[]{key0, value0, key1, value1}
+                    : new Object[]{key1, value1, key0, value0};
+            return new BitmapNode<>((1 << mask0) | (1 << mask1), 0, content, 2);
+        }
+        Node<K, V> sub = mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return new BitmapNode<>(0, 1 << mask0, new Object[]{sub}, 2);
+    }
+
+    private static boolean equal(Node<?, ?> a, Node<?, ?> b) {
+        if (a == b)
+            return true;
+        if (a.size() != b.size())
+            return false;
+        if (a instanceof BitmapNode && b instanceof BitmapNode) {
+            BitmapNode<?, ?> x = (BitmapNode<?, ?>) a;
+            BitmapNode<?, ?> y = (BitmapNode<?, ?>) b;
+            if (x.dataMap != y.dataMap || x.nodeMap != y.nodeMap)
+                return false;
+            for (int i = 0; i < x.payloadArity(); i++) {
+                if (!Objects.equals(x.keyAt(i), y.keyAt(i)) || !Objects.equals(x.valueAt(i), y.valueAt(i)))
+                    return false;
+            }
+            for (int i = 0; i < x.nodeArity(); i++) {
+                if (!equal(x.nodeAt(i), y.nodeAt(i)))
+                    return false;
+            }
+            return true;
+        }
+        if (a instanceof CollisionNode && b instanceof CollisionNode) {
+            CollisionNode<?, ?> x = (CollisionNode<?, ?>) a;
+            CollisionNode<?, ?> y = (CollisionNode<?, ?>) b;
+            for (int i = 0; i < x.size(); i++) {
+                Object value = y.find(x.keyAt(i));
+                if (value == NOT_FOUND || !Objects.equals(value, x.valueAt(i)))
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Assembles a node from the results of a union, intersect or diff, one position at a time and in position order.
+     * Sub-nodes of a single entry are lifted inline, keeping the trie canonical.
+     */
+    private static final class Assembler<K, V> {
+        final int shift;
+        int dataMap;
+        int nodeMap;
+        int size;
+        int dataCount;
+        int nodeCount;
+        final Object[] data = new Object[2 * WIDTH];
+        final Node[] nodes = new Node[WIDTH];
+
+        Assembler(int shift) {
+            this.shift = shift;
+        }
+
+        void entry(int bit, Object key, Object value) {
+            dataMap |= bit;
+            data[2 * dataCount] = key;
+            data[2 * dataCount + 1] = value;
+            dataCount++;
+            size++;
+        }
+
+        void node(int bit, Node<K, V> node) {
+            if (node == null)
+                return;
+            if (node.size() == 1) {
+                entry(bit, node.keyAt(0), node.valueAt(0));
+                return;
+            }
+            nodeMap |= bit;
+            nodes[nodeCount++] = node;
+            size += node.size();
+        }
+
+        Node<K, V> build() {
+            if (size == 0)
+                return shift == 0 ? BitmapNode.EMPTY : null;
+            if (shift > 0 && size == 1)
+                return BitmapNode.singleton((K) data[0], (V) data[1]);
+            Object[] content = new Object[2 * dataCount + nodeCount];
+            System.arraycopy(data, 0, content, 0, 2 * dataCount);
+            for (int i = 0; i < nodeCount; i++)
+                content[content.length - 1 - i] = nodes[i];
+            return new BitmapNode<>(dataMap, nodeMap, content, size);
+        }
+    }
+
+    private static <K, V> Node<K, V> union(Node<K, V> a, Node<K, V> b, int shift) {
+        if (a == b)
+            return a;
+        if (a instanceof CollisionNode) {
+            Node<K, V> res = a;
+            for (int i = 0; i < b.size(); i++)
+                res = res.put(b.keyAt(i), b.valueAt(i), ((CollisionNode<K, V>) a).hash, shift, new Details());
+            return res;
+        }
+        BitmapNode<K, V> x = (BitmapNode<K, V>) a;
+        BitmapNode<K, V> y = (BitmapNode<K, V>) b;
+        Assembler<K, V> res = new Assembler<>(shift);
+        boolean same = true;
+        int positions = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap;
+        while (positions != 0) {
+            int bit = Integer.lowestOneBit(positions);
+            positions ^= bit;
+            if ((x.dataMap & bit) != 0) {
+                int i = x.dataIndex(bit);
+                K key = x.keyAt(i);
+                V value = x.valueAt(i);
+                if ((y.dataMap & bit) != 0) {
+                    int j = y.dataIndex(bit);
+                    K otherKey = y.keyAt(j);
+                    V otherValue = y.valueAt(j);
+                    if (Objects.equals(key, otherKey)) {
+                        same &= key == otherKey && value == otherValue;
+                        res.entry(bit, otherKey, otherValue);
+                    } else {
+                        same = false;
+                        res.node(bit, mergeTwo(key, value, hash(key), otherKey, otherValue, hash(otherKey),
+                                               shift + BITS));
+                    }
+                } else if ((y.nodeMap & bit) != 0) {
+                    same = false;
+                    Node<K, V> sub = y.nodeAt(y.nodeIndex(bit));
+                    int h = hash(key);
+                    res.node(bit, find(sub, key, h, shift + BITS) == NOT_FOUND
+                            ? sub.put(key, value, h, shift + BITS, new Details()) : sub);
+                } else {
+                    res.entry(bit, key, value);
+                }
+            } else if ((x.nodeMap & bit) != 0) {
+                Node<K, V> sub = x.nodeAt(x.nodeIndex(bit));
+                Node<K, V> merged;
+                if ((y.dataMap & bit) != 0) {
+                    int j = y.dataIndex(bit);
+                    K otherKey = y.keyAt(j);
+                    merged = sub.put(otherKey, y.valueAt(j), hash(otherKey), shift + BITS, new Details());
+                } else if ((y.nodeMap & bit) != 0) {
+                    merged = union(sub, y.nodeAt(y.nodeIndex(bit)), shift + BITS);
+                } else {
+                    merged = sub;
+                }
+                same &= merged == sub;
+                res.node(bit, merged);
+            } else {
+                same = false;
+                copy(y, bit, res);
+            }
+        }
+        return same ? a : res.build();
+    }
+
+    private static <K, V> Node<K, V> intersect(Node<K, V> a, Node<K, Object> b, int shift) {
+        if (a == b)
+            return a;
+        if (a instanceof CollisionNode)
+            return filter((CollisionNode<K, V>) a, (CollisionNode<K, Object>) b, true);
+        BitmapNode<K, V> x = (BitmapNode<K, V>) a;
+        BitmapNode<K, Object> y = (BitmapNode<K, Object>) b;
+        Assembler<K, V> res = new Assembler<>(shift);
+        boolean same = true;
+        int mine = x.dataMap | x.nodeMap;
+        int positions = mine & (y.dataMap | y.nodeMap);
+        same &= positions == mine;
+        while (positions != 0) {
+            int bit = Integer.lowestOneBit(positions);
+            positions ^= bit;
+            if ((x.dataMap & bit) != 0) {
+                int i = x.dataIndex(bit);
+                K key = x.keyAt(i);
+                boolean present = (y.dataMap & bit) != 0 ? Objects.equals(key, y.keyAt(y.dataIndex(bit)))
+                        : find(y.nodeAt(y.nodeIndex(bit)), key, hash(key), shift + BITS) != NOT_FOUND;
+                if (present)
+                    res.entry(bit, key, x.valueAt(i));
+                else
+                    same = false;
+            } else {
+                Node<K, V> sub = x.nodeAt(x.nodeIndex(bit));
+                if ((y.dataMap & bit) != 0) {
+                    same = false;
+                    K otherKey = y.keyAt(y.dataIndex(bit));
+                    Position<K, V> position = indexOf(sub, otherKey, hash(otherKey), shift + BITS);
+                    if (position != null)
+                        res.entry(bit, position.keyAt(position.index), position.valueAt(position.index));
+                } else {
+                    Node<K, V> kept = intersect(sub, y.nodeAt(y.nodeIndex(bit)), shift + BITS);
+                    same &= kept == sub;
+                    res.node(bit, kept);
+                }
+            }
+        }
+        return same ? a : res.build();
+    }
+
+    private static <K, V> Node<K, V> diff(Node<K, V> a, Node<K, Object> b, int shift) {
+        if (a == b)
+            return shift == 0 ? BitmapNode.EMPTY : null;
+        if (a instanceof CollisionNode)
+            return filter((CollisionNode<K, V>) a, (CollisionNode<K, Object>) b, false);
+        BitmapNode<K, V> x = (BitmapNode<K, V>) a;
+        BitmapNode<K, Object> y = (BitmapNode<K, Object>) b;
+        Assembler<K, V> res = new Assembler<>(shift);
+        boolean same = true;
+        int positions = x.dataMap | x.nodeMap;
+        int theirs = y.dataMap | y.nodeMap;
+        while (positions != 0) {
+            int bit = Integer.lowestOneBit(positions);
+            positions ^= bit;
+            if ((theirs & bit) == 0) {
+                copy(x, bit, res);
+            } else if ((x.dataMap & bit) != 0) {
+                int i = x.dataIndex(bit);
+                K key = x.keyAt(i);
+                boolean present = (y.dataMap & bit) != 0 ? Objects.equals(key, y.keyAt(y.dataIndex(bit)))
+                        : find(y.nodeAt(y.nodeIndex(bit)), key, hash(key), shift + BITS) != NOT_FOUND;
+                if (present)
+                    same = false;
+                else
+                    res.entry(bit, key, x.valueAt(i));
+            } else {
+                Node<K, V> sub = x.nodeAt(x.nodeIndex(bit));
+                Node<K, V> kept;
+                if ((y.dataMap & bit) != 0) {
+                    K otherKey = y.keyAt(y.dataIndex(bit));
+                    kept = sub.remove(otherKey, hash(otherKey), shift + BITS, new Details());
+                } else {
+                    kept = diff(sub, y.nodeAt(y.nodeIndex(bit)), shift + BITS);
+                }
+                same &= kept == sub;
+                res.node(bit, kept);
+            }
+        }
+        return same ? a : res.build();
+    }
+
+    /*
+     * The entries of a whose keys are (or are not) present in b
+     */
+    private static <K, V> Node<K, V> filter(CollisionNode<K, V> a, CollisionNode<K, Object> b, boolean present) {
+        Object[] kept = new Object[a.content.length];
+        int count = 0;
+        for (int i = 0; i < a.size(); i++) {
+            if ((b.find(a.keyAt(i)) != NOT_FOUND) == present) {
+                kept[2 * count] = a.keyAt(i);
+                kept[2 * count + 1] = a.valueAt(i);
+                count++;
+            }
+        }
+        if (count == a.size())
+            return a;
+        if (count == 0)
+            return null;
+        if (count == 1)
+            return BitmapNode.singleton((K) kept[0], (V) kept[1]);
+        return new CollisionNode<>(a.hash, Arrays.copyOf(kept, 2 * count));
+    }
+
+    private static <K, V> void copy(BitmapNode<K, V> node, int bit, Assembler<K, V> res) {
+        if ((node.dataMap & bit) != 0) {
+            int i = node.dataIndex(bit);
+            res.entry(bit, node.keyAt(i), node.valueAt(i));
+        } else {
+            res.node(bit, node.nodeAt(node.nodeIndex(bit)));
+        }
+    }
+
+    private static Object find(Node<?, ?> node, Object key, int hash, int shift) {
+        Position<?, ?> position = indexOf(node, key, hash, shift);
+        return position == null ? NOT_FOUND : position.valueAt(position.index);
+    }
+
+    /*
+     * The node and index holding a key, below the node at the given shift
+     */
+    private static final class Position<K, V> {
+        final Node<K, V> node;
+        final int index;
+
+        Position(Node<K, V> node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+
+        K keyAt(int index) {
+            return node.keyAt(index);
+        }
+
+        V valueAt(int index) {
+            return node.valueAt(index);
+        }
+    }
+
+    private static <K, V> Position<K, V> indexOf(Node<K, V> node, Object key, int hash, int shift) {
+        while (node instanceof BitmapNode) {
+            BitmapNode<K, V> b = (BitmapNode<K, V>) node;
+            int bit = bitpos(hash, shift);
+            if ((b.dataMap & bit) != 0) {
+                int i = b.dataIndex(bit);
+                return Objects.equals(key, b.keyAt(i)) ? new Position<>(b, i) : null;
+            }
+            if ((b.nodeMap & bit) == 0)
+                return null;
+            node = b.nodeAt(b.nodeIndex(bit));
+            shift += BITS;
+        }
+        int index = ((CollisionNode<K, V>) node).indexOf(key);
+        return index < 0 ? null : new Position<>(node, index);
+    }
+
+    interface EntryFunction<K, V, R> {
+        R apply(Node<K, V> node, int index);
+    }
+
+    /*
+     * Depth first iterator, the entries inline in a node are visited before its sub-nodes. The stack holds the nodes still
+     * to be visited.
+     */
+    static final class NodeIterator<K, V, R> implements Iterator<R> {
+        private final EntryFunction<K, V, R> fn;
+        private Node<K, V>[] stack = new Node[16];
+        private int depth;
+        Node<K, V> node;
+        int index;
+        private int count;
+        private boolean ready;
+
+        NodeIterator(Node<K, V>[] roots, int from, int to, EntryFunction<K, V, R> fn) {
+            this.fn = fn;
+            for (int i = to - 1; i >= from; i--)
+                push(roots[i]);
+            index = -1;
+        }
+
+        private void push(Node<K, V> next) {
+            if (depth == stack.length)
+                stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = next;
+        }
+
+        /*
+         * Moves to the next entry, exposing it as node / index
+         */
+        boolean advance() {
+            if (++index < count)
+                return true;
+            while (depth > 0) {
+                Node<K, V> next = stack[--depth];
+                stack[depth] = null;
+                for (int i = next.nodeArity() - 1; i >= 0; i--)
+                    push(next.nodeAt(i));
+                int payload = next.payloadArity();
+                if (payload > 0) {
+                    node = next;
+                    index = 0;
+                    count = payload;
+                    return true;
+                }
+            }
+            count = 0;
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready)
+                ready = advance();
+            return ready;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+            return fn.apply(node, index);
+        }
+    }
+
+    /*
+     * Splits between sub-nodes, every part reports an exact size as node sizes are cached. When a single node is left its
+     * inline entries are split off from its sub-nodes.
+     */
+    static final class NodeSpliterator<K, V, R> implements CopyableSpliterator<R> {
+        private final Node<K, V>[] origin;
+        private final int originIndex;
+        private final int originFence;
+        private final long originSize;
+        private final EntryFunction<K, V, R> fn;
+        private final int characteristics;
+        private Node<K, V>[] nodes;
+        private int index;
+        private int fence;
+        private long size;
+        private NodeIterator<K, V, R> current;
+
+        NodeSpliterator(Node<K, V>[] nodes, int index, int fence, long size, EntryFunction<K, V, R> fn,
+                        int characteristics) {
+            this.origin = nodes;
+            this.originIndex = index;
+            this.originFence = fence;
+            this.originSize = size;
+            this.nodes = nodes;
+            this.index = index;
+            this.fence = fence;
+            this.size = size;
+            this.fn = fn;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (current == null) {
+                current = new NodeIterator<>(nodes, index, fence, fn);
+                index = fence;
+            }
+            if (current.hasNext()) {
+                size--;
+                action.accept(current.next());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (current != null) {
+                current.forEachRemaining(action);
+            }
+            for (; index < fence; index++) {
+                forEach(nodes[index], action);
+            }
+            size = 0;
+        }
+
+        private void forEach(Node<K, V> node, Consumer<? super R> action) {
+            for (int i = 0; i < node.payloadArity(); i++)
+                action.accept(fn.apply(node, i));
+            for (int i = 0; i < node.nodeArity(); i++)
+                forEach(node.nodeAt(i), action);
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            if (current != null)
+                return null;
+            while (fence - index == 1 && nodes[index].nodeArity() > 0) {
+                Node<K, V> node = nodes[index];
+                Node<K, V>[] children = new Node[node.nodeArity()];
+                for (int i = 0; i < children.length; i++)
+                    children[i] = node.nodeAt(i);
+                nodes = children;
+                index = 0;
+                fence = children.length;
+                int payload = node.payloadArity();
+                if (payload > 0) {
+                    size -= payload;
+                    return new DataSpliterator<>(node, fn, characteristics);
+                }
+            }
+            if (fence - index < 2)
+                return null;
+            int mid = (index + fence) >>> 1;
+            long prefixSize = 0;
+            for (int i = index; i < mid; i++) {
+                prefixSize += nodes[i].size();
+            }
+            NodeSpliterator<K, V, R> prefix = new NodeSpliterator<>(nodes, index, mid, prefixSize, fn, characteristics);
+            index = mid;
+            size -= prefixSize;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | DISTINCT | IMMUTABLE | characteristics;
+        }
+
+        @Override
+        public Spliterator<R> copy() {
+            return new NodeSpliterator<>(origin, originIndex, originFence, originSize, fn, characteristics);
+        }
+    }
+
+    /*
+     * The entries inline in a single node
+     */
+    static final class DataSpliterator<K, V, R> implements CopyableSpliterator<R> {
+        private final Node<K, V> node;
+        private final EntryFunction<K, V, R> fn;
+        private final int characteristics;
+        private int index;
+
+        DataSpliterator(Node<K, V> node, EntryFunction<K, V, R> fn, int characteristics) {
+            this.node = node;
+            this.fn = fn;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (index >= node.payloadArity())
+                return false;
+            action.accept(fn.apply(node, index++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return node.payloadArity() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | DISTINCT | IMMUTABLE | characteristics;
+        }
+
+        @Override
+        public Spliterator<R> copy() {
+            return new DataSpliterator<>(node, fn, characteristics);
+        }
+    }
+
+
+    /**
+     * Mutable, single-threaded view of a CHAMP used for bulk construction. Interior nodes are copied at most once
+     * (on first write) into mutable 32 slot branches that are updated in place, untouched sub-trees are shared with the
+     * persistent representation. Calling persistent() converts the touched branches back into compact, canonical nodes
+     * in a single pass, after which the Transient can no longer be used.
+     */
+    public static final class Transient<K, V> {
+        private Object root;
+        private int size;
+        private boolean done;
+        private final Details details = new Details();
+
+        private Transient(CHAMP<K, V> champ) {
+            this.root = champ.root;
+            this.size = champ.size();
+        }
+
+        public static <K, V> Transient<K, V> of(CHAMP<K, V> champ) {
+            return new Transient<>(champ);
+        }
+
+        public Transient<K, V> put(K key, V value) {
+            checkEditable();
+            reset();
+            root = put(root, 0, hash(key), key, value);
+            if (details.modified && !details.replaced)
+                size++;
+            return this;
+        }
+
+        public Transient<K, V> remove(K key) {
+            checkEditable();
+            reset();
+            root = remove(root, 0, hash(key), key);
+            if (details.modified)
+                size--;
+            return this;
+        }
+
+        public V getOrElse(K key, V alt) {
+            checkEditable();
+            int hash = hash(key);
+            Object node = root;
+            int shift = 0;
+            while (node instanceof Branch) {
+                Branch branch = (Branch) node;
+                int mask = mask(hash, shift);
+                int bit = 1 << mask;
+                if ((branch.dataMap & bit) != 0)
+                    return Objects.equals(key, branch.slots[mask]) ? (V) branch.values[mask] : alt;
+                if ((branch.nodeMap & bit) == 0)
+                    return alt;
+                node = branch.slots[mask];
+                shift += BITS;
+            }
+            Object value = find((Node<?, ?>) node, key, hash, shift);
+            return value == NOT_FOUND ? alt : (V) value;
+        }
+
+        public boolean containsKey(K key) {
+            return getOrElse(key, (V) NOT_FOUND) != NOT_FOUND;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CHAMP<K, V> persistent() {
+            checkEditable();
+            done = true;
+            Node<K, V> res = freeze(root, 0);
+            return res == null || res.size() == 0 ? empty() : new CHAMP<>((BitmapNode<K, V>) res, 0, 0);
+        }
+
+        private void reset() {
+            details.modified = false;
+            details.replaced = false;
+            details.old = null;
+        }
+
+        private void checkEditable() {
+            if (done)
+                throw new IllegalStateException("Transient can not be used after persistent() has been called");
+        }
+
+        private Object put(Object node, int shift, int hash, K key, V value) {
+            if (node instanceof CollisionNode)
+                return ((CollisionNode<K, V>) node).put(key, value, hash, shift, details);
+            Branch branch = node instanceof Branch ? (Branch) node : thaw((BitmapNode<?, ?>) node);
+            int mask = mask(hash, shift);
+            int bit = 1 << mask;
+            if ((branch.dataMap & bit) != 0) {
+                K current = (K) branch.slots[mask];
+                if (Objects.equals(current, key)) {
+                    details.replaced(branch.values[mask]);
+                    branch.slots[mask] = key;
+                    branch.values[mask] = value;
+                } else {
+                    details.added();
+                    branch.slots[mask] = mergeTwo(current, (V) branch.values[mask], hash(current), key, value, hash,
+                                                  shift + BITS);
+                    branch.values[mask] = null;
+                    branch.dataMap ^= bit;
+                    branch.nodeMap |= bit;
+                }
+            } else if ((branch.nodeMap & bit) != 0) {
+                branch.slots[mask] = put(branch.slots[mask], shift + BITS, hash, key, value);
+            } else {
+                details.added();
+                branch.slots[mask] = key;
+                branch.values[mask] = value;
+                branch.dataMap |= bit;
+            }
+            return branch;
+        }
+
+        private Object remove(Object node, int shift, int hash, K key) {
+            if (node instanceof CollisionNode)
+                return ((CollisionNode<K, V>) node).remove(key, hash, shift, details);
+            if (node instanceof BitmapNode) {
+                if (find((BitmapNode<?, ?>) node, key, hash, shift) == NOT_FOUND)
+                    return node;
+                node = thaw((BitmapNode<?, ?>) node);
+            }
+            Branch branch = (Branch) node;
+            int mask = mask(hash, shift);
+            int bit = 1 << mask;
+            if ((branch.dataMap & bit) != 0) {
+                if (Objects.equals(key, branch.slots[mask])) {
+                    details.removed(branch.values[mask]);
+                    branch.slots[mask] = null;
+                    branch.values[mask] = null;
+                    branch.dataMap ^= bit;
+                }
+            } else if ((branch.nodeMap & bit) != 0) {
+                Object child = remove(branch.slots[mask], shift + BITS, hash, key);
+                if (child instanceof Node && ((Node<K, V>) child).size() == 1) {
+                    //a single entry is always held inline
+                    Node<K, V> single = (Node<K, V>) child;
+                    branch.slots[mask] = single.keyAt(0);
+                    branch.values[mask] = single.valueAt(0);
+                    branch.nodeMap ^= bit;
+                    branch.dataMap |= bit;
+                } else {
+                    branch.slots[mask] = child;
+                }
+            }
+            return branch;
+        }
+
+        private static Branch thaw(BitmapNode<?, ?> node) {
+            Branch branch = new Branch();
+            branch.dataMap = node.dataMap;
+            branch.nodeMap = node.nodeMap;
+            int data = 0;
+            int nodes = 0;
+            for (int mask = 0; mask < WIDTH; mask++) {
+                int bit = 1 << mask;
+                if ((node.dataMap & bit) != 0) {
+                    branch.slots[mask] = node.keyAt(data);
+                    branch.values[mask] = node.valueAt(data++);
+                } else if ((node.nodeMap & bit) != 0) {
+                    branch.slots[mask] = node.nodeAt(nodes++);
+                }
+            }
+            return branch;
+        }
+
+        private static <K, V> Node<K, V> freeze(Object node, int shift) {
+            if (!(node instanceof Branch))
+                return (Node<K, V>) node;
+            Branch branch = (Branch) node;
+            Assembler<K, V> res = new Assembler<>(shift);
+            for (int mask = 0; mask < WIDTH; mask++) {
+                int bit = 1 << mask;
+                if ((branch.dataMap & bit) != 0)
+                    res.entry(bit, branch.slots[mask], branch.values[mask]);
+                else if ((branch.nodeMap & bit) != 0)
+                    res.node(bit, freeze(branch.slots[mask], shift + BITS));
+            }
+            return res.build();
+        }
+
+        private static final class Branch {
+            int dataMap;
+            int nodeMap;
+            final Object[] slots = new Object[WIDTH];
+            final Object[] values = new Object[WIDTH];
+        }
+    }
+}
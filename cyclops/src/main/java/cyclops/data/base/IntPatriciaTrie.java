@@ -25,12 +25,20 @@ public interface IntPatriciaTrie<V>  {
     static <V> Node<V> empty(){
         return EmptyNode.Instance;
     }
+    /**
+     * @deprecated ArrayNodes are bitmap compressed and no longer allocate a full bucket of empty nodes
+     */
+    @Deprecated
     static Node[] createBaseEmptyArray() {
         Node[] emptyArray = new Node[BUCKET_SIZE];
         Arrays.fill(emptyArray, EmptyNode.Instance);
         return emptyArray;
     }
 
+    /**
+     * @deprecated ArrayNodes are bitmap compressed and no longer allocate a full bucket of empty nodes
+     */
+    @Deprecated
     static <V> Node<V>[] emptyArray() {
         return Arrays.copyOf((Node<V>[]) EMPTY_ARRAY, BUCKET_SIZE);
     }
@@ -93,21 +101,8 @@ public interface IntPatriciaTrie<V>  {
         public Node<V> put(int hash, int key, V value) {
             if (hash == 0) {
                 return new SingleNode<>(value);
-            } else {
-                int newHash = hash >>> BITS;
-                int index = hash & MASK;
-                Node<V>[] nodes = emptyArray();
-                if (newHash == 0) {
-                    nodes[0] = this;
-                    nodes[index] = new SingleNode<>(value);
-                } else {
-                    nodes[index] = Instance.put(newHash, key, value);
-                    if (index != 0) {
-                        nodes[0] = this;
-                    }
-                }
-                return new ArrayNode<>(nodes);
             }
+            return ArrayNode.single(hash & MASK, this.put(hash >>> BITS, key, value));
         }
 
         @Override
@@ -164,23 +159,13 @@ public interface IntPatriciaTrie<V>  {
         public Node<V> put(int hash, int key, V value) {
             if (hash == 0) {
                 return new SingleNode<>(value);
-            } else {
-                int newHash = hash >>> BITS;
-                int index = hash & MASK;
-                Node<V>[] nodes = emptyArray();
-                if (newHash == 0) {
-                    nodes[0] = this;
-                    nodes[index] = new SingleNode<>(value);
-                } else {
-                    nodes[index] = EmptyNode.Instance.put(newHash, key, value);
-                    if (index != 0) {
-                        nodes[0] = this;
-                    } else {
-                        nodes[0] = nodes[0].put(0, key, this.value);
-                    }
-                }
-                return new ArrayNode<>(nodes);
             }
+            int index = hash & MASK;
+            Node<V> child = IntPatriciaTrie.<V>empty().put(hash >>> BITS, key, value);
+            if (index == 0) {
+                return ArrayNode.single(0, child.put(0, key, this.value));
+            }
+            return ArrayNode.pair(0, this, index, child);
         }
 
         @Override
@@ -227,88 +212,120 @@ public interface IntPatriciaTrie<V>  {
     }
 
 
-
+    /**
+     * Branch keyed by the next 5 bits of the key. Only non-empty children are stored, bitmap records which of the 32
+     * possible slots are present and a child's position in nodes is the number of lower slots present. The size of
+     * the sub-trie is cached.
+     */
     static class ArrayNode<V> implements Node<V>, Deconstruct1<Node<V>[]> {
+        private static final Node[] NO_NODES = new Node[0];
+
+        private final int bitmap;
         private final Node<V>[] nodes;
+        private final Object owner;
+        private int size;
 
-        private ArrayNode(Node<V>[] nodes) {
+        private ArrayNode(int bitmap, Node<V>[] nodes, int size) {
+            this(bitmap,nodes,size,null);
+        }
+        private ArrayNode(int bitmap, Node<V>[] nodes, int size, Object owner) {
+            this.bitmap = bitmap;
             this.nodes = nodes;
+            this.size = size;
+            this.owner = owner;
+        }
+
+        static <V> ArrayNode<V> single(int index, Node<V> node) {
+            return new ArrayNode<>(1 << index, new Node[]{node}, node.size());
+        }
+
+        static <V> ArrayNode<V> pair(int index1, Node<V> node1, int index2, Node<V> node2) {
+            Node<V>[] nodes = index1 < index2 ? new Node[]{node1, node2} : new Node[]{node2, node1};
+            return new ArrayNode<>((1 << index1) | (1 << index2), nodes, node1.size() + node2.size());
+        }
+
+        private int position(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node<V> child(int index) {
+            int bit = 1 << index;
+            return (bitmap & bit) == 0 ? EmptyNode.Instance : nodes[position(bit)];
+        }
+
+        private ArrayNode<V> insert(int bit, Node<V> node, Object owner) {
+            int pos = position(bit);
+            Node<V>[] newNodes = new Node[nodes.length + 1];
+            System.arraycopy(nodes, 0, newNodes, 0, pos);
+            newNodes[pos] = node;
+            System.arraycopy(nodes, pos, newNodes, pos + 1, nodes.length - pos);
+            return new ArrayNode<>(bitmap | bit, newNodes, size + node.size(), owner);
+        }
+
+        private Node<V> replace(int bit, Node<V> oldNode, Node<V> newNode) {
+            int pos = position(bit);
+            int newSize = size - oldNode.size() + newNode.size();
+            if (newNode.isEmpty()) {
+                if (nodes.length == 1)
+                    return EmptyNode.Instance;
+                Node<V>[] newNodes = new Node[nodes.length - 1];
+                System.arraycopy(nodes, 0, newNodes, 0, pos);
+                System.arraycopy(nodes, pos + 1, newNodes, pos, newNodes.length - pos);
+                int newBitmap = bitmap & ~bit;
+                if (newBitmap == 1 && newNodes[0] instanceof SingleNode)
+                    return newNodes[0];
+                return new ArrayNode<>(newBitmap, newNodes, newSize);
+            }
+            Node<V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
+            newNodes[pos] = newNode;
+            return new ArrayNode<>(bitmap, newNodes, newSize);
         }
 
         @Override
         public Node<V> put(int hash, int key, V value) {
-            int newHash = hash >>> BITS;
             int index = hash & MASK;
-            Node<V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
-            newNodes[index] = nodes[index].put(newHash, key, value);
-            return new ArrayNode<>(newNodes);
+            int bit = 1 << index;
+            if ((bitmap & bit) == 0)
+                return insert(bit, IntPatriciaTrie.<V>empty().put(hash >>> BITS, key, value), null);
+            Node<V> node = nodes[position(bit)];
+            return replace(bit, node, node.put(hash >>> BITS, key, value));
         }
 
         @Override
         public Option<V> get(int hash, int key) {
-            int newHash = hash >>> BITS;
-            int index = hash & MASK;
-            return nodes[index].get(newHash, key);
+            return child(hash & MASK).get(hash >>> BITS, key);
         }
 
         @Override
         public V getOrElse(int hash, int pos, V value) {
-            int newHash = hash >>> BITS;
-            int index = hash & MASK;
-            return nodes[index].getOrElse(newHash, pos,value);
+            return child(hash & MASK).getOrElse(hash >>> BITS, pos, value);
         }
 
         @Override
         public V getOrElseGet(int hash, int pos, Supplier<? extends V> value) {
-            int newHash = hash >>> BITS;
-            int index = hash & MASK;
-            return nodes[index].getOrElseGet(newHash, pos,value);
+            return child(hash & MASK).getOrElseGet(hash >>> BITS, pos, value);
         }
 
         @Override
         public Node<V> minus(int hash, int key) {
-            int newHash = hash >>> BITS;
-            int index = hash & MASK;
-            Node<V> node = nodes[index];
-            if (node.isEmpty()) {
+            int bit = 1 << (hash & MASK);
+            if ((bitmap & bit) == 0)
                 return this;
-            } else {
-                Node<V> newNode = node.minus(newHash, key);
-                if (newNode == node) {
-                    return this;
-                } else if(newNode instanceof EmptyNode){
-                    Node<V>[] newNodes = new Node[nodes.length-1];
-                    int firstLength = Math.min(index,nodes.length);
-                    System.arraycopy(nodes,0,newNodes,0,firstLength);
-
-                    System.arraycopy(nodes,firstLength+1,newNodes,index,nodes.length-(firstLength+1));
-
-                    Node<V> branch = new ArrayNode<>(newNodes);
-                    return branch.isEmpty() ? EmptyNode.Instance : branch;
-
-                } else{
-                    Node<V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
-                    newNodes[index] = newNode;
-                    Node<V> branch = new ArrayNode<>(newNodes);
-                    return branch.isEmpty() ? EmptyNode.Instance : branch;
-                }
-            }
-
-        }
-/**
-        @Override
-        public ReactiveSeq<V> stream() {
-            return ReactiveSeq.of(nodes).flatMap(n->n.stream());
+            Node<V> node = nodes[position(bit)];
+            Node<V> newNode = node.minus(hash >>> BITS, key);
+            if (newNode == node)
+                return this;
+            return replace(bit, node, newNode);
         }
-**/
+
         @Override
         public boolean isEmpty() {
-            return ReactiveSeq.of(nodes).allMatch(Node::isEmpty);
+            return size == 0;
         }
 
         @Override
         public int size() {
-            return ReactiveSeq.of(nodes).sumInt(Node::size);
+            return size;
         }
 
 
@@ -325,4 +342,63 @@ public interface IntPatriciaTrie<V>  {
     }
 
 
+    /**
+     * Mutable, single-threaded view of a trie used for bulk construction. ArrayNodes created (or copied once) by a
+     * Transient are tagged with it as their owner and subsequently updated in place. Calling persistent() ends
+     * ownership, so the tree can be handed out as is and the Transient can no longer be used.
+     */
+    final class Transient<V> {
+        private Node<V> root;
+        private boolean done;
+
+        private Transient(Node<V> root) {
+            this.root = root;
+        }
+
+        public static <V> Transient<V> of(Node<V> root) {
+            return new Transient<>(root);
+        }
+
+        public Transient<V> put(int key, V value) {
+            if (done)
+                throw new IllegalStateException("Transient can not be used after persistent() has been called");
+            root = put(root, key, key, value);
+            return this;
+        }
+
+        public Node<V> persistent() {
+            if (done)
+                throw new IllegalStateException("Transient can not be used after persistent() has been called");
+            done = true;
+            return root;
+        }
+
+        private Node<V> put(Node<V> node, int hash, int key, V value) {
+            if (node instanceof ArrayNode) {
+                ArrayNode<V> branch = (ArrayNode<V>) node;
+                int bit = 1 << (hash & MASK);
+                if ((branch.bitmap & bit) == 0)
+                    return branch.insert(bit, put(EmptyNode.Instance, hash >>> BITS, key, value), this);
+                int pos = branch.position(bit);
+                Node<V> old = branch.nodes[pos];
+                int oldSize = old.size();
+                Node<V> child = put(old, hash >>> BITS, key, value);
+                int size = branch.size - oldSize + child.size();
+                if (branch.owner == this) {
+                    branch.nodes[pos] = child;
+                    branch.size = size;
+                    return branch;
+                }
+                Node<V>[] newNodes = Arrays.copyOf(branch.nodes, branch.nodes.length);
+                newNodes[pos] = child;
+                return new ArrayNode<>(branch.bitmap, newNodes, size, this);
+            }
+            if (hash == 0)
+                return node.put(hash, key, value);
+            ArrayNode<V> branch = node.isEmpty() ? new ArrayNode<>(0, ArrayNode.NO_NODES, 0, this)
+                                                 : new ArrayNode<>(1, new Node[]{node}, node.size(), this);
+            return put(branch, hash, key, value);
+        }
+    }
+
 }
@@ -0,0 +1,521 @@
+package cyclops.data.base;
+
+import com.oath.cyclops.internal.stream.spliterators.CopyableSpliterator;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A persistent big-endian Patricia trie keyed by primitive longs (Okasaki and Gill, "Fast Mergeable Integer Maps").
+ * Branches split on the highest bit in which their two sub-tries differ, so the shape of the trie depends only on the
+ * keys it holds, lookups never box the key and an in-order walk visits keys in ascending order. Keys are compared with
+ * the sign bit flipped, so the order is that of signed longs.
+ *
+ * Each branch caches the size of its sub-trie. Range views (head / tail / sub tries) and floor / ceiling searches walk
+ * a single path from the root.
+ *
+ * @param <V> Value type
+ */
+public final class LongPatriciaTrie<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final LongPatriciaTrie EMPTY = new LongPatriciaTrie<>(null);
+
+    private final Node<V> root;
+
+    private LongPatriciaTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    public static <V> LongPatriciaTrie<V> empty() {
+        return EMPTY;
+    }
+
+    private LongPatriciaTrie<V> withRoot(Node<V> newRoot) {
+        if (newRoot == root)
+            return this;
+        return newRoot == null ? empty() : new LongPatriciaTrie<>(newRoot);
+    }
+
+    public int size() {
+        return root == null ? 0 : root.size();
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) != null;
+    }
+
+    public Option<V> get(long key) {
+        Leaf<V> leaf = find(key);
+        return leaf == null ? Option.none() : Option.some(leaf.value);
+    }
+
+    public V getOrElse(long key, V alt) {
+        Leaf<V> leaf = find(key);
+        return leaf == null ? alt : leaf.value;
+    }
+
+    public V getOrElseGet(long key, Supplier<? extends V> alt) {
+        Leaf<V> leaf = find(key);
+        return leaf == null ? alt.get() : leaf.value;
+    }
+
+    private Leaf<V> find(long key) {
+        long bits = bits(key);
+        Node<V> node = root;
+        while (node instanceof Branch) {
+            Branch<V> branch = (Branch<V>) node;
+            if (prefix(bits, branch.mask) != branch.prefix)
+                return null;
+            node = zero(bits, branch.mask) ? branch.left : branch.right;
+        }
+        Leaf<V> leaf = (Leaf<V>) node;
+        return leaf != null && leaf.key == key ? leaf : null;
+    }
+
+    public LongPatriciaTrie<V> put(long key, V value) {
+        return withRoot(put(root, key, bits(key), value));
+    }
+
+    public LongPatriciaTrie<V> remove(long key) {
+        return withRoot(remove(root, key, bits(key)));
+    }
+
+    public Option<Tuple2<Long, V>> first() {
+        return option(root == null ? null : first(root));
+    }
+
+    public Option<Tuple2<Long, V>> last() {
+        return option(root == null ? null : last(root));
+    }
+
+    /**
+     * @return Greatest entry with a key less than or equal to key
+     */
+    public Option<Tuple2<Long, V>> floor(long key) {
+        return option(floor(root, bits(key), true));
+    }
+
+    /**
+     * @return Greatest entry with a key strictly less than key
+     */
+    public Option<Tuple2<Long, V>> lower(long key) {
+        return option(floor(root, bits(key), false));
+    }
+
+    /**
+     * @return Least entry with a key greater than or equal to key
+     */
+    public Option<Tuple2<Long, V>> ceiling(long key) {
+        return option(ceiling(root, bits(key), true));
+    }
+
+    /**
+     * @return Least entry with a key strictly greater than key
+     */
+    public Option<Tuple2<Long, V>> higher(long key) {
+        return option(ceiling(root, bits(key), false));
+    }
+
+    /**
+     * @return Trie containing the entries with keys less than (or equal to, if inclusive) to
+     */
+    public LongPatriciaTrie<V> head(long to, boolean inclusive) {
+        return withRoot(head(root, bits(to), inclusive));
+    }
+
+    /**
+     * @return Trie containing the entries with keys greater than (or equal to, if inclusive) from
+     */
+    public LongPatriciaTrie<V> tail(long from, boolean inclusive) {
+        return withRoot(tail(root, bits(from), inclusive));
+    }
+
+    public LongPatriciaTrie<V> sub(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        return withRoot(head(tail(root, bits(from), fromInclusive), bits(to), toInclusive));
+    }
+
+    public Iterator<Tuple2<Long, V>> iterator() {
+        return new NodeIterator<>(root, LongPatriciaTrie::entry);
+    }
+
+    public PrimitiveIterator.OfLong keyIterator() {
+        NodeIterator<V, Leaf<V>> leaves = new NodeIterator<>(root, Function.identity());
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return leaves.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return leaves.next().key;
+            }
+        };
+    }
+
+    public Spliterator<Tuple2<Long, V>> spliterator() {
+        return new NodeSpliterator<>(root, LongPatriciaTrie::entry);
+    }
+
+    public ReactiveSeq<Tuple2<Long, V>> stream() {
+        return ReactiveSeq.fromSpliterator(spliterator());
+    }
+
+    public ReactiveSeq<Long> keys() {
+        return ReactiveSeq.fromSpliterator(new NodeSpliterator<>(root, l -> l.key));
+    }
+
+    /**
+     * As the shape of a trie is determined by its keys alone, equal tries have the same shape and are compared node by
+     * node, sub-tries shared by reference are skipped.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LongPatriciaTrie))
+            return false;
+        LongPatriciaTrie<?> other = (LongPatriciaTrie<?>) o;
+        return size() == other.size() && equalNodes(root, other.root);
+    }
+
+    private static boolean equalNodes(Node<?> a, Node<?> b) {
+        if (a == b)
+            return true;
+        if (a instanceof Leaf && b instanceof Leaf) {
+            Leaf<?> l1 = (Leaf<?>) a;
+            Leaf<?> l2 = (Leaf<?>) b;
+            return l1.key == l2.key && Objects.equals(l1.value, l2.value);
+        }
+        if (a instanceof Branch && b instanceof Branch) {
+            Branch<?> b1 = (Branch<?>) a;
+            Branch<?> b2 = (Branch<?>) b;
+            return b1.prefix == b2.prefix && b1.mask == b2.mask && b1.size == b2.size
+                && equalNodes(b1.left, b2.left) && equalNodes(b1.right, b2.right);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (Iterator<Tuple2<Long, V>> it = iterator(); it.hasNext(); )
+            hash += it.next().hashCode();
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return root == null ? "{}" : root.toString();
+    }
+
+    private static long bits(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * @return The bits of key above the branching bit mask
+     */
+    private static long prefix(long bits, long mask) {
+        return bits & (~(mask - 1) ^ mask);
+    }
+
+    private static boolean zero(long bits, long mask) {
+        return (bits & mask) == 0;
+    }
+
+    private static <V> Node<V> join(long prefix1, Node<V> node1, long prefix2, Node<V> node2) {
+        long mask = Long.highestOneBit(prefix1 ^ prefix2);
+        long prefix = prefix(prefix1, mask);
+        return zero(prefix1, mask) ? new Branch<>(prefix, mask, node1, node2) : new Branch<>(prefix, mask, node2, node1);
+    }
+
+    private static <V> Node<V> branch(Branch<V> node, Node<V> left, Node<V> right) {
+        if (left == node.left && right == node.right)
+            return node;
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        return new Branch<>(node.prefix, node.mask, left, right);
+    }
+
+    private static <V> Node<V> put(Node<V> node, long key, long bits, V value) {
+        if (node == null)
+            return new Leaf<>(key, value);
+        if (node instanceof Leaf) {
+            Leaf<V> leaf = (Leaf<V>) node;
+            if (leaf.key == key)
+                return leaf.value == value ? leaf : new Leaf<>(key, value);
+            return join(bits, new Leaf<>(key, value), bits(leaf.key), leaf);
+        }
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return join(bits, new Leaf<>(key, value), branch.prefix, branch);
+        if (zero(bits, branch.mask))
+            return branch(branch, put(branch.left, key, bits, value), branch.right);
+        return branch(branch, branch.left, put(branch.right, key, bits, value));
+    }
+
+    private static <V> Node<V> remove(Node<V> node, long key, long bits) {
+        if (node == null)
+            return null;
+        if (node instanceof Leaf)
+            return ((Leaf<V>) node).key == key ? null : node;
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return node;
+        if (zero(bits, branch.mask))
+            return branch(branch, remove(branch.left, key, bits), branch.right);
+        return branch(branch, branch.left, remove(branch.right, key, bits));
+    }
+
+    private static <V> Leaf<V> first(Node<V> node) {
+        while (node instanceof Branch)
+            node = ((Branch<V>) node).left;
+        return (Leaf<V>) node;
+    }
+
+    private static <V> Leaf<V> last(Node<V> node) {
+        while (node instanceof Branch)
+            node = ((Branch<V>) node).right;
+        return (Leaf<V>) node;
+    }
+
+    private static <V> Leaf<V> floor(Node<V> node, long bits, boolean inclusive) {
+        if (node == null)
+            return null;
+        if (node instanceof Leaf) {
+            int c = Long.compareUnsigned(bits(((Leaf<V>) node).key), bits);
+            return c < 0 || (inclusive && c == 0) ? (Leaf<V>) node : null;
+        }
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return Long.compareUnsigned(bits, branch.prefix) > 0 ? last(branch) : null;
+        if (zero(bits, branch.mask))
+            return floor(branch.left, bits, inclusive);
+        Leaf<V> res = floor(branch.right, bits, inclusive);
+        return res != null ? res : last(branch.left);
+    }
+
+    private static <V> Leaf<V> ceiling(Node<V> node, long bits, boolean inclusive) {
+        if (node == null)
+            return null;
+        if (node instanceof Leaf) {
+            int c = Long.compareUnsigned(bits(((Leaf<V>) node).key), bits);
+            return c > 0 || (inclusive && c == 0) ? (Leaf<V>) node : null;
+        }
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return Long.compareUnsigned(bits, branch.prefix) < 0 ? first(branch) : null;
+        if (!zero(bits, branch.mask))
+            return ceiling(branch.right, bits, inclusive);
+        Leaf<V> res = ceiling(branch.left, bits, inclusive);
+        return res != null ? res : first(branch.right);
+    }
+
+    private static <V> Node<V> head(Node<V> node, long bits, boolean inclusive) {
+        if (node == null)
+            return null;
+        if (node instanceof Leaf)
+            return floor(node, bits, inclusive);
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return Long.compareUnsigned(bits, branch.prefix) > 0 ? node : null;
+        if (zero(bits, branch.mask))
+            return head(branch.left, bits, inclusive);
+        return branch(branch, branch.left, head(branch.right, bits, inclusive));
+    }
+
+    private static <V> Node<V> tail(Node<V> node, long bits, boolean inclusive) {
+        if (node == null)
+            return null;
+        if (node instanceof Leaf)
+            return ceiling(node, bits, inclusive);
+        Branch<V> branch = (Branch<V>) node;
+        if (prefix(bits, branch.mask) != branch.prefix)
+            return Long.compareUnsigned(bits, branch.prefix) < 0 ? node : null;
+        if (!zero(bits, branch.mask))
+            return tail(branch.right, bits, inclusive);
+        return branch(branch, tail(branch.left, bits, inclusive), branch.right);
+    }
+
+    private static <V> Tuple2<Long, V> entry(Leaf<V> leaf) {
+        return Tuple.tuple(leaf.key, leaf.value);
+    }
+
+    private static <V> Option<Tuple2<Long, V>> option(Leaf<V> leaf) {
+        return leaf == null ? Option.none() : Option.some(entry(leaf));
+    }
+
+    private interface Node<V> extends Serializable {
+        int size();
+    }
+
+    private static final class Leaf<V> implements Node<V> {
+        private static final long serialVersionUID = 1L;
+        private final long key;
+        private final V value;
+
+        Leaf(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + key + "=" + value + "]";
+        }
+    }
+
+    private static final class Branch<V> implements Node<V> {
+        private static final long serialVersionUID = 1L;
+        private final long prefix;
+        private final long mask;
+        private final Node<V> left;
+        private final Node<V> right;
+        private final int size;
+
+        Branch(long prefix, long mask, Node<V> left, Node<V> right) {
+            this.prefix = prefix;
+            this.mask = mask;
+            this.left = left;
+            this.right = right;
+            this.size = left.size() + right.size();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + left + "," + right + "}";
+        }
+    }
+
+    /**
+     * In-order walk of the leaves, the pending right hand sub-tries are held on an explicit stack (at most 64 deep)
+     */
+    private static final class NodeIterator<V, R> implements Iterator<R> {
+        private final Function<? super Leaf<V>, ? extends R> fn;
+        private final Node<V>[] stack = new Node[65];
+        private int depth;
+
+        NodeIterator(Node<V> root, Function<? super Leaf<V>, ? extends R> fn) {
+            this.fn = fn;
+            if (root != null)
+                stack[depth++] = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        Leaf<V> nextLeaf() {
+            if (depth == 0)
+                throw new NoSuchElementException();
+            Node<V> node = stack[--depth];
+            while (node instanceof Branch) {
+                Branch<V> branch = (Branch<V>) node;
+                stack[depth++] = branch.right;
+                node = branch.left;
+            }
+            return (Leaf<V>) node;
+        }
+
+        @Override
+        public R next() {
+            return fn.apply(nextLeaf());
+        }
+    }
+
+    private static final class NodeSpliterator<V, R> implements CopyableSpliterator<R> {
+        private final Function<? super Leaf<V>, ? extends R> fn;
+        private Node<V> root;
+        private int remaining;
+        private NodeIterator<V, R> it;
+
+        NodeSpliterator(Node<V> root, Function<? super Leaf<V>, ? extends R> fn) {
+            this.root = root;
+            this.remaining = root == null ? 0 : root.size();
+            this.fn = fn;
+        }
+
+        private NodeIterator<V, R> iterator() {
+            if (it == null)
+                it = new NodeIterator<>(root, fn);
+            return it;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (remaining == 0)
+                return false;
+            remaining--;
+            action.accept(iterator().next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (remaining == 0)
+                return;
+            NodeIterator<V, R> local = iterator();
+            remaining = 0;
+            while (local.hasNext())
+                action.accept(local.next());
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            if (it != null || !(root instanceof Branch))
+                return null;
+            Branch<V> branch = (Branch<V>) root;
+            root = branch.right;
+            remaining = root.size();
+            return new NodeSpliterator<>(branch.left, fn);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public Spliterator<R> copy() {
+            return new NodeSpliterator<>(root, fn);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.SIZED
+                | Spliterator.SUBSIZED;
+        }
+    }
+}
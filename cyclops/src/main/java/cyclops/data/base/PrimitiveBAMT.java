@@ -0,0 +1,144 @@
+package cyclops.data.base;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 32-way bit mapped array trie whose leaves are primitive arrays (int[], long[] or double[]) rather than Object[].
+ * Interior nodes are Object[] of exact length, every leaf stored in the trie holds exactly 32 elements - partially
+ * filled tails are kept by the owning vector (see IntVector, LongVector and DoubleVector).
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PrimitiveBAMT implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int BITS = 5;
+    private static final int MASK = 31;
+    private static final PrimitiveBAMT EMPTY = new PrimitiveBAMT(null, 0, 0);
+
+    private final Object root;
+    private final int shift;
+    private final int size;
+
+    public static PrimitiveBAMT empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param leaves Full (32 element) primitive leaf arrays, in order
+     * @return Trie containing all leaves
+     */
+    public static PrimitiveBAMT fromLeaves(Object[] leaves) {
+        if (leaves.length == 0)
+            return EMPTY;
+        Object[] level = leaves;
+        int shift = 0;
+        while (level.length > 1) {
+            Object[] parent = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parent.length; i++) {
+                int from = i << BITS;
+                parent[i] = Arrays.copyOfRange(level, from, Math.min(from + 32, level.length));
+            }
+            level = parent;
+            shift += BITS;
+        }
+        return new PrimitiveBAMT(level[0], shift, leaves.length << BITS);
+    }
+
+    /**
+     * @return Number of elements stored in the trie (always a multiple of 32)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index Element index, must be less than size()
+     * @return The leaf array holding the element at index (at position index &amp; 31)
+     */
+    public Object leafAt(int index) {
+        Object node = root;
+        for (int s = shift; s > 0; s -= BITS) {
+            node = ((Object[]) node)[(index >>> s) & MASK];
+        }
+        return node;
+    }
+
+    public PrimitiveBAMT appendLeaf(Object leaf) {
+        if (root == null)
+            return new PrimitiveBAMT(leaf, 0, 32);
+        if (size == 1 << (shift + BITS))
+            return new PrimitiveBAMT(new Object[]{root, path(shift, leaf)}, shift + BITS, size + 32);
+        return new PrimitiveBAMT(push(root, shift, leaf), shift, size + 32);
+    }
+
+    private Object push(Object node, int s, Object leaf) {
+        Object[] children = (Object[]) node;
+        int sub = (size >>> s) & MASK;
+        Object[] updated = Arrays.copyOf(children, Math.max(children.length, sub + 1));
+        if (s == BITS)
+            updated[sub] = leaf;
+        else
+            updated[sub] = sub < children.length ? push(children[sub], s - BITS, leaf) : path(s - BITS, leaf);
+        return updated;
+    }
+
+    private static Object path(int s, Object leaf) {
+        return s == 0 ? leaf : new Object[]{path(s - BITS, leaf)};
+    }
+
+    /**
+     * @param index Index of any element in the leaf to replace
+     * @param leaf Replacement leaf
+     * @return Trie with the leaf replaced, sharing all other leaves
+     */
+    public PrimitiveBAMT setLeaf(int index, Object leaf) {
+        return new PrimitiveBAMT(set(root, shift, index, leaf), shift, size);
+    }
+
+    private static Object set(Object node, int s, int index, Object leaf) {
+        if (s == 0)
+            return leaf;
+        Object[] children = ((Object[]) node).clone();
+        int sub = (index >>> s) & MASK;
+        children[sub] = set(children[sub], s - BITS, index, leaf);
+        return children;
+    }
+
+    public PrimitiveBAMT mapLeaves(UnaryOperator<Object> fn) {
+        if (root == null)
+            return this;
+        return new PrimitiveBAMT(map(root, shift, fn), shift, size);
+    }
+
+    private static Object map(Object node, int s, UnaryOperator<Object> fn) {
+        if (s == 0)
+            return fn.apply(node);
+        Object[] children = (Object[]) node;
+        Object[] mapped = new Object[children.length];
+        for (int i = 0; i < children.length; i++) {
+            mapped[i] = map(children[i], s - BITS, fn);
+        }
+        return mapped;
+    }
+
+    public void forEachLeaf(Consumer<Object> consumer) {
+        if (root != null)
+            forEach(root, shift, consumer);
+    }
+
+    private static void forEach(Object node, int s, Consumer<Object> consumer) {
+        if (s == 0) {
+            consumer.accept(node);
+            return;
+        }
+        for (Object next : (Object[]) node) {
+            forEach(next, s - BITS, consumer);
+        }
+    }
+}
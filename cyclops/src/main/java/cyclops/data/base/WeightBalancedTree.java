@@ -0,0 +1,684 @@
+package cyclops.data.base;
+
+import com.oath.cyclops.internal.stream.spliterators.CopyableSpliterator;
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A persistent, weight balanced (bounded balance) binary search tree. Each node caches the size of its sub-tree, so
+ * size is O(1) and entries can be found by their index (select) or index found by key (rank) in O(log n). The Comparator
+ * is held once, here at the root, rather than by each node.
+ *
+ * Range views (head / tail / sub trees, take and drop) are built by splitting and re-linking the tree in O(log n) rather
+ * than by filtering a Stream, and iteration walks the tree with an explicit stack.
+ *
+ * Balancing follows Adams' trees with the (delta = 3, gamma = 2) parameters from "Balancing weight-balanced trees"
+ * (Hirai and Yamamoto), as also used by Haskell's Data.Map.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class WeightBalancedTree<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int DELTA = 3;
+    private static final int GAMMA = 2;
+
+    private final Comparator<? super K> comp;
+    private final Node<K, V> root;
+
+    private WeightBalancedTree(Comparator<? super K> comp, Node<K, V> root) {
+        this.comp = comp;
+        this.root = root;
+    }
+
+    public static <K, V> WeightBalancedTree<K, V> empty(Comparator<? super K> comp) {
+        return new WeightBalancedTree<>(comp, null);
+    }
+
+    public static <K, V> WeightBalancedTree<K, V> fromStream(Comparator<? super K> comp,
+                                                             Stream<? extends Tuple2<? extends K, ? extends V>> stream) {
+        Node<K, V>[] tree = new Node[1];
+        stream.forEach(t -> tree[0] = put(tree[0], t._1(), t._2(), comp));
+        return new WeightBalancedTree<>(comp, tree[0]);
+    }
+
+    private WeightBalancedTree<K, V> withRoot(Node<K, V> root) {
+        return root == this.root ? this : new WeightBalancedTree<>(comp, root);
+    }
+
+    public Comparator<? super K> comparator() {
+        return comp;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public Option<V> get(K key) {
+        Node<K, V> node = find(key);
+        return node == null ? Option.none() : Option.some(node.value);
+    }
+
+    public V getOrElse(K key, V alt) {
+        Node<K, V> node = find(key);
+        return node == null ? alt : node.value;
+    }
+
+    public V getOrElseGet(K key, Supplier<? extends V> alt) {
+        Node<K, V> node = find(key);
+        return node == null ? alt.get() : node.value;
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    private Node<K, V> find(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int c = comp.compare(key, node.key);
+            if (c == 0)
+                return node;
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    public WeightBalancedTree<K, V> plus(K key, V value) {
+        return withRoot(put(root, key, value, comp));
+    }
+
+    public WeightBalancedTree<K, V> minus(K key) {
+        return withRoot(remove(root, key, comp));
+    }
+
+    /**
+     * @return The entry with the greatest key less than or equal to the provided key
+     */
+    public Option<Tuple2<K, V>> floor(K key) {
+        return option(floorNode(key, true));
+    }
+
+    /**
+     * @return The entry with the greatest key strictly less than the provided key
+     */
+    public Option<Tuple2<K, V>> lower(K key) {
+        return option(floorNode(key, false));
+    }
+
+    /**
+     * @return The entry with the least key greater than or equal to the provided key
+     */
+    public Option<Tuple2<K, V>> ceiling(K key) {
+        return option(ceilingNode(key, true));
+    }
+
+    /**
+     * @return The entry with the least key strictly greater than the provided key
+     */
+    public Option<Tuple2<K, V>> higher(K key) {
+        return option(ceilingNode(key, false));
+    }
+
+    private Node<K, V> floorNode(K key, boolean inclusive) {
+        Node<K, V> node = root;
+        Node<K, V> result = null;
+        while (node != null) {
+            int c = comp.compare(key, node.key);
+            if (c > 0 || (c == 0 && inclusive)) {
+                result = node;
+                if (c == 0)
+                    return result;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private Node<K, V> ceilingNode(K key, boolean inclusive) {
+        Node<K, V> node = root;
+        Node<K, V> result = null;
+        while (node != null) {
+            int c = comp.compare(key, node.key);
+            if (c < 0 || (c == 0 && inclusive)) {
+                result = node;
+                if (c == 0)
+                    return result;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    public Option<Tuple2<K, V>> first() {
+        Node<K, V> node = root;
+        if (node == null)
+            return Option.none();
+        while (node.left != null)
+            node = node.left;
+        return option(node);
+    }
+
+    public Option<Tuple2<K, V>> last() {
+        Node<K, V> node = root;
+        if (node == null)
+            return Option.none();
+        while (node.right != null)
+            node = node.right;
+        return option(node);
+    }
+
+    /**
+     * @return The number of keys strictly less than the provided key (the index the key has, or would be inserted at)
+     */
+    public int rank(K key) {
+        int rank = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            int c = comp.compare(key, node.key);
+            if (c < 0) {
+                node = node.left;
+            } else {
+                int left = size(node.left);
+                if (c == 0)
+                    return rank + left;
+                rank += left + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @return The entry at the provided index in key order
+     */
+    public Option<Tuple2<K, V>> getAt(int index) {
+        return option(select(root, index));
+    }
+
+    private static <K, V> Node<K, V> select(Node<K, V> node, int index) {
+        if (index < 0 || index >= size(node))
+            return null;
+        for (;;) {
+            int left = size(node.left);
+            if (index < left) {
+                node = node.left;
+            } else if (index == left) {
+                return node;
+            } else {
+                index -= left + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * @return Tree of the entries with keys less than (or equal to, if inclusive) the provided key
+     */
+    public WeightBalancedTree<K, V> head(K to, boolean inclusive) {
+        return withRoot(lessThan(root, to, inclusive, comp));
+    }
+
+    /**
+     * @return Tree of the entries with keys greater than (or equal to, if inclusive) the provided key
+     */
+    public WeightBalancedTree<K, V> tail(K from, boolean inclusive) {
+        return withRoot(greaterThan(root, from, inclusive, comp));
+    }
+
+    /**
+     * @return Tree of the entries with keys between from and to
+     */
+    public WeightBalancedTree<K, V> sub(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (comp.compare(from, to) > 0)
+            return withRoot(null);
+        return withRoot(lessThan(greaterThan(root, from, fromInclusive, comp), to, toInclusive, comp));
+    }
+
+    /**
+     * @return Tree of the first n entries
+     */
+    public WeightBalancedTree<K, V> take(int n) {
+        return withRoot(take(root, n));
+    }
+
+    /**
+     * @return Tree without the first n entries
+     */
+    public WeightBalancedTree<K, V> drop(int n) {
+        return withRoot(drop(root, n));
+    }
+
+    public Iterator<Tuple2<K, V>> iterator() {
+        return new NodeIterator<>(root, 0, WeightBalancedTree::entry);
+    }
+
+    public Iterator<K> keyIterator() {
+        return new NodeIterator<>(root, 0, n -> n.key);
+    }
+
+    public Spliterator<Tuple2<K, V>> spliterator() {
+        return new NodeSpliterator<>(root, 0, size(root), WeightBalancedTree::entry);
+    }
+
+    public Spliterator<K> keySpliterator() {
+        return new NodeSpliterator<>(root, 0, size(root), n -> n.key);
+    }
+
+    public ReactiveSeq<Tuple2<K, V>> stream() {
+        return ReactiveSeq.fromSpliterator(spliterator());
+    }
+
+    public ReactiveSeq<K> keys() {
+        return ReactiveSeq.fromSpliterator(keySpliterator());
+    }
+
+    public String tree() {
+        return tree(root);
+    }
+
+    private static String tree(Node<?, ?> node) {
+        if (node == null)
+            return "{}";
+        String left = node.left == null ? "" : " " + tree(node.left);
+        String right = node.right == null ? "" : " " + tree(node.right);
+        return "{" + node.size + ":" + node.value + left + right + "}";
+    }
+
+    /*
+     * Checks the ordering, cached sizes and balance of every node
+     */
+    boolean valid() {
+        return valid(root, null, null);
+    }
+
+    private boolean valid(Node<K, V> node, K lo, K hi) {
+        if (node == null)
+            return true;
+        if (lo != null && comp.compare(node.key, lo) <= 0)
+            return false;
+        if (hi != null && comp.compare(node.key, hi) >= 0)
+            return false;
+        if (node.size != size(node.left) + size(node.right) + 1)
+            return false;
+        if (weight(node.left) > DELTA * weight(node.right) || weight(node.right) > DELTA * weight(node.left))
+            return false;
+        return valid(node.left, lo, node.key) && valid(node.right, node.key, hi);
+    }
+
+    private static <K, V> Option<Tuple2<K, V>> option(Node<K, V> node) {
+        return node == null ? Option.none() : Option.some(entry(node));
+    }
+
+    private static <K, V> Tuple2<K, V> entry(Node<K, V> node) {
+        return Tuple.tuple(node.key, node.value);
+    }
+
+    static final class Node<K, V> implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int size;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int weight(Node<?, ?> node) {
+        return size(node) + 1;
+    }
+
+    private static <K, V> Node<K, V> put(Node<K, V> node, K key, V value, Comparator<? super K> comp) {
+        if (node == null)
+            return new Node<>(key, value, null, null);
+        int c = comp.compare(key, node.key);
+        if (c < 0) {
+            Node<K, V> left = put(node.left, key, value, comp);
+            return balance(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            Node<K, V> right = put(node.right, key, value, comp);
+            return balance(node.key, node.value, node.left, right);
+        }
+        if (key == node.key && value == node.value)
+            return node;
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    private static <K, V> Node<K, V> remove(Node<K, V> node, K key, Comparator<? super K> comp) {
+        if (node == null)
+            return null;
+        int c = comp.compare(key, node.key);
+        if (c < 0) {
+            Node<K, V> left = remove(node.left, key, comp);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            Node<K, V> right = remove(node.right, key, comp);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        return glue(node.left, node.right);
+    }
+
+    /*
+     * Rebalance after a single insertion or removal has changed the weight of one side
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int wl = weight(left);
+        int wr = weight(right);
+        if (wr > DELTA * wl)
+            return rotateLeft(key, value, left, right);
+        if (wl > DELTA * wr)
+            return rotateRight(key, value, left, right);
+        return new Node<>(key, value, left, right);
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+        Node<K, V> rl = right.left;
+        if (weight(rl) < GAMMA * weight(right.right))
+            return new Node<>(right.key, right.value, new Node<>(key, value, left, rl), right.right);
+        return new Node<>(rl.key, rl.value, new Node<>(key, value, left, rl.left),
+                          new Node<>(right.key, right.value, rl.right, right.right));
+    }
+
+    private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+        Node<K, V> lr = left.right;
+        if (weight(lr) < GAMMA * weight(left.left))
+            return new Node<>(left.key, left.value, left.left, new Node<>(key, value, lr, right));
+        return new Node<>(lr.key, lr.value, new Node<>(left.key, left.value, left.left, lr.left),
+                          new Node<>(key, value, lr.right, right));
+    }
+
+    private static <K, V> Node<K, V> min(Node<K, V> node) {
+        while (node.left != null)
+            node = node.left;
+        return node;
+    }
+
+    private static <K, V> Node<K, V> max(Node<K, V> node) {
+        while (node.right != null)
+            node = node.right;
+        return node;
+    }
+
+    private static <K, V> Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null)
+            return node.right;
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    private static <K, V> Node<K, V> removeMax(Node<K, V> node) {
+        if (node.right == null)
+            return node.left;
+        return balance(node.key, node.value, node.left, removeMax(node.right));
+    }
+
+    /*
+     * Join two trees, that are balanced with respect to each other, where all keys in left are less than those in right
+     */
+    private static <K, V> Node<K, V> glue(Node<K, V> left, Node<K, V> right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (left.size > right.size) {
+            Node<K, V> max = max(left);
+            return balance(max.key, max.value, removeMax(left), right);
+        }
+        Node<K, V> min = min(right);
+        return balance(min.key, min.value, left, removeMin(right));
+    }
+
+    /*
+     * Join two trees of any size, with an entry that sits between them
+     */
+    private static <K, V> Node<K, V> link(Node<K, V> left, K key, V value, Node<K, V> right) {
+        if (left == null)
+            return insertMin(key, value, right);
+        if (right == null)
+            return insertMax(key, value, left);
+        if (DELTA * weight(left) < weight(right))
+            return balance(right.key, right.value, link(left, key, value, right.left), right.right);
+        if (DELTA * weight(right) < weight(left))
+            return balance(left.key, left.value, left.left, link(left.right, key, value, right));
+        return new Node<>(key, value, left, right);
+    }
+
+    /*
+     * Join two trees of any size, where all keys in left are less than those in right
+     */
+    private static <K, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (DELTA * weight(left) < weight(right))
+            return balance(right.key, right.value, merge(left, right.left), right.right);
+        if (DELTA * weight(right) < weight(left))
+            return balance(left.key, left.value, left.left, merge(left.right, right));
+        return glue(left, right);
+    }
+
+    private static <K, V> Node<K, V> insertMin(K key, V value, Node<K, V> node) {
+        if (node == null)
+            return new Node<>(key, value, null, null);
+        return balance(node.key, node.value, insertMin(key, value, node.left), node.right);
+    }
+
+    private static <K, V> Node<K, V> insertMax(K key, V value, Node<K, V> node) {
+        if (node == null)
+            return new Node<>(key, value, null, null);
+        return balance(node.key, node.value, node.left, insertMax(key, value, node.right));
+    }
+
+    private static <K, V> Node<K, V> lessThan(Node<K, V> node, K to, boolean inclusive, Comparator<? super K> comp) {
+        if (node == null)
+            return null;
+        int c = comp.compare(to, node.key);
+        if (c < 0)
+            return lessThan(node.left, to, inclusive, comp);
+        if (c == 0)
+            return inclusive ? insertMax(node.key, node.value, node.left) : node.left;
+        Node<K, V> right = lessThan(node.right, to, inclusive, comp);
+        return right == node.right ? node : link(node.left, node.key, node.value, right);
+    }
+
+    private static <K, V> Node<K, V> greaterThan(Node<K, V> node, K from, boolean inclusive,
+                                                 Comparator<? super K> comp) {
+        if (node == null)
+            return null;
+        int c = comp.compare(from, node.key);
+        if (c > 0)
+            return greaterThan(node.right, from, inclusive, comp);
+        if (c == 0)
+            return inclusive ? insertMin(node.key, node.value, node.right) : node.right;
+        Node<K, V> left = greaterThan(node.left, from, inclusive, comp);
+        return left == node.left ? node : link(left, node.key, node.value, node.right);
+    }
+
+    private static <K, V> Node<K, V> take(Node<K, V> node, int n) {
+        if (node == null || n <= 0)
+            return null;
+        if (n >= node.size)
+            return node;
+        int left = size(node.left);
+        if (n <= left)
+            return take(node.left, n);
+        return link(node.left, node.key, node.value, take(node.right, n - left - 1));
+    }
+
+    private static <K, V> Node<K, V> drop(Node<K, V> node, int n) {
+        if (node == null || n >= node.size)
+            return null;
+        if (n <= 0)
+            return node;
+        int left = size(node.left);
+        if (n > left)
+            return drop(node.right, n - left - 1);
+        return link(drop(node.left, n), node.key, node.value, node.right);
+    }
+
+    /*
+     * In order iterator, the stack holds the nodes whose own entry (and right sub-tree) are still to be visited
+     */
+    private static final class NodeIterator<K, V, R> implements Iterator<R> {
+        private final Function<? super Node<K, V>, ? extends R> fn;
+        private Node<K, V>[] stack = new Node[8];
+        private int depth;
+
+        NodeIterator(Node<K, V> root, int index, Function<? super Node<K, V>, ? extends R> fn) {
+            this.fn = fn;
+            Node<K, V> node = root;
+            while (node != null) {
+                int left = size(node.left);
+                if (index < left) {
+                    push(node);
+                    node = node.left;
+                } else if (index == left) {
+                    push(node);
+                    node = null;
+                } else {
+                    index -= left + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        private void push(Node<K, V> node) {
+            if (depth == stack.length)
+                stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = node;
+        }
+
+        private void pushLeft(Node<K, V> node) {
+            while (node != null) {
+                push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public R next() {
+            if (depth == 0)
+                throw new NoSuchElementException();
+            Node<K, V> node = stack[--depth];
+            stack[depth] = null;
+            pushLeft(node.right);
+            return fn.apply(node);
+        }
+    }
+
+    /*
+     * Splits by index, each half seeks to its first index in O(log n) when traversal starts
+     */
+    private static final class NodeSpliterator<K, V, R> implements CopyableSpliterator<R> {
+        private final Node<K, V> root;
+        private final Function<? super Node<K, V>, ? extends R> fn;
+        private final int origin;
+        private int index;
+        private final int fence;
+        private NodeIterator<K, V, R> it;
+
+        NodeSpliterator(Node<K, V> root, int index, int fence, Function<? super Node<K, V>, ? extends R> fn) {
+            this.root = root;
+            this.origin = index;
+            this.index = index;
+            this.fence = fence;
+            this.fn = fn;
+        }
+
+        private NodeIterator<K, V, R> iterator() {
+            if (it == null)
+                it = new NodeIterator<>(root, index, fn);
+            return it;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+            R next = iterator().next();
+            index++;
+            action.accept(next);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return;
+            NodeIterator<K, V, R> local = iterator();
+            int remaining = fence - index;
+            index = fence;
+            for (int i = 0; i < remaining; i++)
+                action.accept(local.next());
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            if (it != null || fence - index < 2)
+                return null;
+            int mid = (index + fence) >>> 1;
+            NodeSpliterator<K, V, R> prefix = new NodeSpliterator<>(root, index, mid, fn);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public Spliterator<R> copy() {
+            return new NodeSpliterator<>(root, origin, fence, fn);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.SIZED
+                | Spliterator.SUBSIZED;
+        }
+    }
+}
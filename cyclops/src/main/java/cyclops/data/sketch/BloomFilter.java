@@ -0,0 +1,262 @@
+package cyclops.data.sketch;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * An immutable Bloom filter, a set membership test without false negatives. Sized for an expected number of
+ * insertions and a false positive probability it needs about 1.44 * log2(1 / fpp) bits per element, beyond the
+ * expected insertions the false positive rate degrades. Filters of the same size merge losslessly.
+ *
+ * plus copies the bit set when an element sets a new bit, bulk additions should go through a {@link Builder},
+ * {@link #collector} or {@link cyclops.companion.Reducers#toBloomFilter(long, double)}.
+ */
+public final class BloomFilter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long[] bits;
+    private final int hashes;
+
+    private BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedInsertions Number of distinct elements the filter is sized for
+     * @param fpp False positive probability at expectedInsertions elements
+     */
+    public static BloomFilter empty(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("Expected insertions must be positive, was " + expectedInsertions);
+        if (fpp <= 0 || fpp >= 1)
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1, was " + fpp);
+        double ln2 = Math.log(2);
+        long numBits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (ln2 * ln2)));
+        long words = (numBits + 63) / 64;
+        if (words > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A filter for " + expectedInsertions + " elements at " + fpp
+                                                   + " is too large");
+        int hashes = Math.max(1, (int) Math.round((double) words * 64 / expectedInsertions * ln2));
+        return new BloomFilter(new long[(int) words], hashes);
+    }
+
+    public static Builder builder(long expectedInsertions, double fpp) {
+        return empty(expectedInsertions, fpp).toBuilder();
+    }
+
+    /**
+     * @return Collector that builds a filter in place, partial filters of parallel Streams are merged
+     */
+    public static Collector<Object, ?, BloomFilter> collector(long expectedInsertions, double fpp) {
+        BloomFilter empty = empty(expectedInsertions, fpp);
+        return Collector.of(empty::toBuilder, Builder::add, Builder::merge, Builder::build,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    public BloomFilter plus(Object value) {
+        return plusHash(Hashing.hash(value));
+    }
+
+    /**
+     * @param hash A 64 bit hash of the element, see {@link Hashing}
+     */
+    public BloomFilter plusHash(long hash) {
+        if (contains(bits, hashes, hash))
+            return this;
+        long[] updated = bits.clone();
+        set(updated, hashes, hash);
+        return new BloomFilter(updated, hashes);
+    }
+
+    /**
+     * @return false if value was definitely never added, true if it probably was
+     */
+    public boolean mightContain(Object value) {
+        return contains(bits, hashes, Hashing.hash(value));
+    }
+
+    public boolean mightContainHash(long hash) {
+        return contains(bits, hashes, hash);
+    }
+
+    /**
+     * @return Filter of the union of the elements added to this filter and other
+     */
+    public BloomFilter merge(BloomFilter other) {
+        checkCompatible(other.bits.length, other.hashes);
+        long[] merged = bits.clone();
+        for (int i = 0; i < merged.length; i++)
+            merged[i] |= other.bits[i];
+        return new BloomFilter(merged, hashes);
+    }
+
+    /**
+     * @return Probability that mightContain returns true for an element that was not added, given the bits set so far
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / bitSize(), hashes);
+    }
+
+    /**
+     * @return Estimated number of distinct elements added, from the fraction of bits set
+     */
+    public long approximateCount() {
+        double size = bitSize();
+        double set = bitCount();
+        if (set == size)
+            return Long.MAX_VALUE;
+        return Math.round(-size / hashes * Math.log(1 - set / size));
+    }
+
+    public long bitSize() {
+        return (long) bits.length * 64;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    public boolean isEmpty() {
+        return bitCount() == 0;
+    }
+
+    /**
+     * @return Builder starting from a copy of this filter
+     */
+    public Builder toBuilder() {
+        return new Builder(bits.clone(), hashes);
+    }
+
+    private long bitCount() {
+        long count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    private void checkCompatible(int otherWords, int otherHashes) {
+        if (otherWords != bits.length || otherHashes != hashes)
+            throw new IllegalArgumentException("Can not merge Bloom filters of different sizes");
+    }
+
+    private static long bit(long hash, long second, int i, long numBits) {
+        return Long.remainderUnsigned(hash + i * second, numBits);
+    }
+
+    private static boolean contains(long[] bits, int hashes, long hash) {
+        long second = Hashing.second(hash);
+        long numBits = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = bit(hash, second, i, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean set(long[] bits, int hashes, long hash) {
+        long second = Hashing.second(hash);
+        long numBits = (long) bits.length * 64;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = bit(hash, second, i, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof BloomFilter))
+            return false;
+        BloomFilter other = (BloomFilter) o;
+        return hashes == other.hashes && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * hashes + Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter[bits=" + bitSize() + ", hashes=" + hashes + ", approximateCount=" + approximateCount() + "]";
+    }
+
+    /**
+     * Mutable, single-threaded filter for bulk additions. build() hands the bit set over to the filter it returns,
+     * after which the Builder can no longer be used.
+     */
+    public static final class Builder {
+        private final int hashes;
+        private long[] bits;
+
+        private Builder(long[] bits, int hashes) {
+            this.bits = bits;
+            this.hashes = hashes;
+        }
+
+        public Builder add(Object value) {
+            put(value);
+            return this;
+        }
+
+        /**
+         * @return true if a bit changed, in which case value had definitely not been added before
+         */
+        public boolean put(Object value) {
+            return putHash(Hashing.hash(value));
+        }
+
+        public boolean putHash(long hash) {
+            return set(bits(), hashes, hash);
+        }
+
+        public boolean mightContain(Object value) {
+            return contains(bits(), hashes, Hashing.hash(value));
+        }
+
+        public boolean mightContainHash(long hash) {
+            return contains(bits(), hashes, hash);
+        }
+
+        public Builder addAll(BloomFilter filter) {
+            return merge(filter.bits, filter.hashes);
+        }
+
+        public Builder merge(Builder other) {
+            return merge(other.bits(), other.hashes);
+        }
+
+        private Builder merge(long[] other, int otherHashes) {
+            long[] bits = bits();
+            if (other.length != bits.length || otherHashes != hashes)
+                throw new IllegalArgumentException("Can not merge Bloom filters of different sizes");
+            for (int i = 0; i < bits.length; i++)
+                bits[i] |= other[i];
+            return this;
+        }
+
+        public BloomFilter build() {
+            BloomFilter result = new BloomFilter(bits(), hashes);
+            bits = null;
+            return result;
+        }
+
+        private long[] bits() {
+            if (bits == null)
+                throw new IllegalStateException("Builder can not be used after build() has been called");
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package cyclops.data.sketch;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * An immutable Count-Min sketch estimating how often each element was added. Estimates never undercount, and with
+ * probability confidence overcount by at most epsilon * {@link #size()}. Sketches of the same dimensions merge
+ * losslessly.
+ *
+ * Every plus copies the counter table, bulk additions should go through a {@link Builder}, {@link #collector}
+ * or {@link cyclops.companion.Reducers#toCountMinSketch(double, double)}.
+ *
+ * <pre>
+ * {@code
+ *  CountMinSketch hits = ReactiveSeq.fromIterable(requests)
+ *                                   .map(Request::path)
+ *                                   .foldMap(Reducers.toCountMinSketch(0.001, 0.99));
+ *  long approx = hits.estimateCount("/index.html");
+ * }
+ * </pre>
+ */
+public final class CountMinSketch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;
+    private final long size;
+
+    private CountMinSketch(int width, int depth, long[] counts, long size) {
+        this.width = width;
+        this.depth = depth;
+        this.counts = counts;
+        this.size = size;
+    }
+
+    /**
+     * @param epsilon Maximum overcount as a fraction of the total count
+     * @param confidence Probability that an estimate is within the epsilon bound
+     * @return Empty sketch sized for the error bounds
+     */
+    public static CountMinSketch empty(double epsilon, double confidence) {
+        if (epsilon <= 0 || epsilon >= 1)
+            throw new IllegalArgumentException("Epsilon must be between 0 and 1, was " + epsilon);
+        if (confidence <= 0 || confidence >= 1)
+            throw new IllegalArgumentException("Confidence must be between 0 and 1, was " + confidence);
+        return empty((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / (1 - confidence))));
+    }
+
+    /**
+     * @param width Counters per row
+     * @param depth Number of rows, each hashed independently
+     */
+    public static CountMinSketch empty(int width, int depth) {
+        if (width < 1 || depth < 1)
+            throw new IllegalArgumentException("Width and depth must be positive, were " + width + " and " + depth);
+        if ((long) width * depth > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A " + width + " by " + depth + " sketch is too large");
+        return new CountMinSketch(width, depth, new long[width * depth], 0);
+    }
+
+    public static Builder builder(double epsilon, double confidence) {
+        return empty(epsilon, confidence).toBuilder();
+    }
+
+    public static Builder builder(int width, int depth) {
+        return empty(width, depth).toBuilder();
+    }
+
+    /**
+     * @return Collector that builds a sketch in place, partial sketches of parallel Streams are merged
+     */
+    public static Collector<Object, ?, CountMinSketch> collector(double epsilon, double confidence) {
+        CountMinSketch empty = empty(epsilon, confidence);
+        return Collector.of(empty::toBuilder, Builder::add, Builder::merge, Builder::build,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    public CountMinSketch plus(Object value) {
+        return plusHash(Hashing.hash(value), 1);
+    }
+
+    public CountMinSketch plus(Object value, long count) {
+        return plusHash(Hashing.hash(value), count);
+    }
+
+    /**
+     * @param hash A 64 bit hash of the element, see {@link Hashing}
+     * @param count Number of occurrences to add
+     */
+    public CountMinSketch plusHash(long hash, long count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count can not be negative, was " + count);
+        long[] updated = counts.clone();
+        increment(updated, width, depth, hash, count);
+        return new CountMinSketch(width, depth, updated, size + count);
+    }
+
+    public CountMinSketch merge(CountMinSketch other) {
+        checkCompatible(other.width, other.depth);
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++)
+            merged[i] += other.counts[i];
+        return new CountMinSketch(width, depth, merged, size + other.size);
+    }
+
+    /**
+     * @return Estimated number of times value was added, never less than the true count
+     */
+    public long estimateCount(Object value) {
+        return estimateCountHash(Hashing.hash(value));
+    }
+
+    public long estimateCountHash(long hash) {
+        return estimate(counts, width, depth, hash);
+    }
+
+    /**
+     * @param value Candidate element
+     * @param fraction Share of the total count, between 0 and 1
+     * @return true if the estimated count of value is at least fraction of all additions
+     */
+    public boolean isHeavyHitter(Object value, double fraction) {
+        return size > 0 && estimateCount(value) >= fraction * size;
+    }
+
+    /**
+     * @return Total of all counts added
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return Builder starting from a copy of this sketch
+     */
+    public Builder toBuilder() {
+        return new Builder(width, depth, counts.clone(), size);
+    }
+
+    private void checkCompatible(int otherWidth, int otherDepth) {
+        if (otherWidth != width || otherDepth != depth)
+            throw new IllegalArgumentException("Can not merge a " + width + "x" + depth + " Count-Min sketch with a "
+                                                   + otherWidth + "x" + otherDepth + " sketch");
+    }
+
+    private static int column(long hash, long second, int row, int width) {
+        return (int) Long.remainderUnsigned(hash + row * second, width);
+    }
+
+    private static void increment(long[] counts, int width, int depth, long hash, long count) {
+        long second = Hashing.second(hash);
+        for (int row = 0; row < depth; row++)
+            counts[row * width + column(hash, second, row, width)] += count;
+    }
+
+    private static long estimate(long[] counts, int width, int depth, long hash) {
+        long second = Hashing.second(hash);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++)
+            min = Math.min(min, counts[row * width + column(hash, second, row, width)]);
+        return min;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CountMinSketch))
+            return false;
+        CountMinSketch other = (CountMinSketch) o;
+        return width == other.width && depth == other.depth && size == other.size
+            && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + depth) + Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch[width=" + width + ", depth=" + depth + ", size=" + size + "]";
+    }
+
+    /**
+     * Mutable, single-threaded sketch for bulk additions. build() hands the counters over to the sketch it returns,
+     * after which the Builder can no longer be used.
+     */
+    public static final class Builder {
+        private final int width;
+        private final int depth;
+        private long[] counts;
+        private long size;
+
+        private Builder(int width, int depth, long[] counts, long size) {
+            this.width = width;
+            this.depth = depth;
+            this.counts = counts;
+            this.size = size;
+        }
+
+        public Builder add(Object value) {
+            return addHash(Hashing.hash(value), 1);
+        }
+
+        public Builder add(Object value, long count) {
+            return addHash(Hashing.hash(value), count);
+        }
+
+        public Builder addHash(long hash, long count) {
+            if (count < 0)
+                throw new IllegalArgumentException("Count can not be negative, was " + count);
+            increment(counts(), width, depth, hash, count);
+            size += count;
+            return this;
+        }
+
+        public Builder addAll(CountMinSketch sketch) {
+            return merge(sketch.counts, sketch.width, sketch.depth, sketch.size);
+        }
+
+        public Builder merge(Builder other) {
+            return merge(other.counts(), other.width, other.depth, other.size);
+        }
+
+        private Builder merge(long[] other, int otherWidth, int otherDepth, long otherSize) {
+            if (otherWidth != width || otherDepth != depth)
+                throw new IllegalArgumentException("Can not merge a " + width + "x" + depth
+                                                       + " Count-Min sketch with a " + otherWidth + "x" + otherDepth
+                                                       + " sketch");
+            long[] counts = counts();
+            for (int i = 0; i < counts.length; i++)
+                counts[i] += other[i];
+            size += otherSize;
+            return this;
+        }
+
+        public long estimateCount(Object value) {
+            return estimate(counts(), width, depth, Hashing.hash(value));
+        }
+
+        public CountMinSketch build() {
+            CountMinSketch result = new CountMinSketch(width, depth, counts(), size);
+            counts = null;
+            return result;
+        }
+
+        private long[] counts() {
+            if (counts == null)
+                throw new IllegalStateException("Builder can not be used after build() has been called");
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cyclops.data.sketch;
+
+/**
+ * The 64 bit hash the sketches use for their elements. Integral numbers, floating point numbers and CharSequences are
+ * hashed from their full value, any other Object from its 32 bit hashCode. Above a few hundred million distinct
+ * Objects of other types 32 bit hashes start to collide, map them to Strings or longs first or add precomputed hashes
+ * with the plusHash methods.
+ */
+public final class Hashing {
+
+    private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    public static long hash(Object value) {
+        if (value == null)
+            return NULL_HASH;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return mix(((Number) value).longValue());
+        if (value instanceof Double || value instanceof Float)
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()));
+        if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            long hash = FNV_OFFSET;
+            for (int i = 0; i < chars.length(); i++) {
+                hash ^= chars.charAt(i);
+                hash *= FNV_PRIME;
+            }
+            return mix(hash);
+        }
+        return mix(value.hashCode());
+    }
+
+    /**
+     * The murmur3 64 bit finaliser, spreads every input bit over the whole hash
+     */
+    public static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Second, independent hash for double hashing, always odd so successive probes never repeat
+     */
+    static long second(long hash) {
+        return mix(hash ^ NULL_HASH) | 1L;
+    }
+}
@@ -0,0 +1,276 @@
+package cyclops.data.sketch;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * An immutable HyperLogLog sketch estimating the number of distinct elements added to it in 2^precision bytes,
+ * with a relative standard error of 1.04 / sqrt(2^precision) (0.8% at the default precision of 14).
+ * Sketches of the same precision merge losslessly, so partial sketches built on separate threads or nodes can be
+ * combined.
+ *
+ * plus copies the registers when an element raises one of them, which becomes rare once the sketch has seen a few
+ * times 2^precision elements. Bulk additions should go through a {@link Builder}, {@link #collector()} or
+ * {@link cyclops.companion.Reducers#toHyperLogLog()} which update a single set of registers in place.
+ *
+ * <pre>
+ * {@code
+ *  long users = ReactiveSeq.fromIterable(events)
+ *                          .map(Event::userId)
+ *                          .foldMap(Reducers.toHyperLogLog())
+ *                          .estimate();
+ * }
+ * </pre>
+ */
+public final class HyperLogLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_PRECISION = 14;
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static HyperLogLog empty() {
+        return empty(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision Number of hash bits used to select a register, between 4 and 18
+     * @return Empty sketch with 2^precision registers
+     */
+    public static HyperLogLog empty(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION
+                                                   + ", was " + precision);
+        return new HyperLogLog(precision, new byte[1 << precision]);
+    }
+
+    public static HyperLogLog of(Object... values) {
+        Builder builder = builder();
+        for (Object value : values)
+            builder.add(value);
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return builder(DEFAULT_PRECISION);
+    }
+
+    public static Builder builder(int precision) {
+        return new Builder(empty(precision).registers, precision);
+    }
+
+    public static Collector<Object, ?, HyperLogLog> collector() {
+        return collector(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @return Collector that builds a sketch in place, partial sketches of parallel Streams are merged
+     */
+    public static Collector<Object, ?, HyperLogLog> collector(int precision) {
+        return Collector.of(() -> builder(precision), Builder::add, Builder::merge, Builder::build,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    public HyperLogLog plus(Object value) {
+        return plusHash(Hashing.hash(value));
+    }
+
+    /**
+     * @param hash A 64 bit hash of the element, see {@link Hashing}
+     */
+    public HyperLogLog plusHash(long hash) {
+        int index = index(hash, precision);
+        byte rank = rank(hash, precision);
+        if (registers[index] >= rank)
+            return this;
+        byte[] updated = registers.clone();
+        updated[index] = rank;
+        return new HyperLogLog(precision, updated);
+    }
+
+    public HyperLogLog plusAll(Iterable<?> values) {
+        Builder builder = toBuilder();
+        for (Object value : values)
+            builder.add(value);
+        return builder.build();
+    }
+
+    /**
+     * @return Sketch of the union of the elements added to this sketch and other
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        checkCompatible(other);
+        byte[] merged = null;
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                if (merged == null)
+                    merged = registers.clone();
+                merged[i] = other.registers[i];
+            }
+        }
+        return merged == null ? this : new HyperLogLog(precision, merged);
+    }
+
+    /**
+     * @return Estimated number of distinct elements
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0)
+                zeros++;
+        }
+        double m = registers.length;
+        double estimate = alpha(registers.length) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0)
+            estimate = m * Math.log(m / zeros);
+        return Math.round(estimate);
+    }
+
+    /**
+     * @return Relative standard error of {@link #estimate()}
+     */
+    public double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Builder starting from a copy of this sketch
+     */
+    public Builder toBuilder() {
+        return new Builder(registers.clone(), precision);
+    }
+
+    private void checkCompatible(HyperLogLog other) {
+        if (other.precision != precision)
+            throw new IllegalArgumentException("Can not merge HyperLogLog sketches of precision " + precision + " and "
+                                                   + other.precision);
+    }
+
+    private static int index(long hash, int precision) {
+        return (int) (hash >>> (64 - precision));
+    }
+
+    private static byte rank(long hash, int precision) {
+        return (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof HyperLogLog))
+            return false;
+        HyperLogLog other = (HyperLogLog) o;
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog[precision=" + precision + ", estimate=" + estimate() + "]";
+    }
+
+    /**
+     * Mutable, single-threaded sketch for bulk additions. build() hands the registers over to the sketch it returns,
+     * after which the Builder can no longer be used.
+     */
+    public static final class Builder {
+        private final int precision;
+        private byte[] registers;
+
+        private Builder(byte[] registers, int precision) {
+            this.registers = registers;
+            this.precision = precision;
+        }
+
+        public Builder add(Object value) {
+            return addHash(Hashing.hash(value));
+        }
+
+        public Builder addHash(long hash) {
+            byte[] registers = registers();
+            int index = index(hash, precision);
+            byte rank = rank(hash, precision);
+            if (registers[index] < rank)
+                registers[index] = rank;
+            return this;
+        }
+
+        public Builder addAll(HyperLogLog sketch) {
+            return merge(sketch.registers, sketch.precision);
+        }
+
+        public Builder merge(Builder other) {
+            return merge(other.registers(), other.precision);
+        }
+
+        private Builder merge(byte[] other, int otherPrecision) {
+            if (otherPrecision != precision)
+                throw new IllegalArgumentException("Can not merge HyperLogLog sketches of precision " + precision
+                                                       + " and " + otherPrecision);
+            byte[] registers = registers();
+            for (int i = 0; i < registers.length; i++) {
+                if (other[i] > registers[i])
+                    registers[i] = other[i];
+            }
+            return this;
+        }
+
+        public long estimate() {
+            return new HyperLogLog(precision, registers()).estimate();
+        }
+
+        public HyperLogLog build() {
+            HyperLogLog result = new HyperLogLog(precision, registers());
+            registers = null;
+            return result;
+        }
+
+        private byte[] registers() {
+            if (registers == null)
+                throw new IllegalStateException("Builder can not be used after build() has been called");
+            return registers;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package cyclops.data.sketch;
+
+import cyclops.control.Option;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collector;
+
+/**
+ * An immutable KLL quantile sketch over doubles. Values are kept in levels of compactors, a value at level h stands
+ * for 2^h of the values added. When a level exceeds its capacity it is sorted and every other value (starting at a
+ * random offset) is promoted to the next level, the capacities shrink geometrically towards the lower levels so the
+ * sketch holds O(k) values however many are added. The rank error is about 1.65 / k (under 1% for the default k of
+ * 200), sketches of the same k merge into a sketch with the same guarantee.
+ *
+ * The exact minimum and maximum are tracked alongside. plus copies the lowest level, bulk additions should go
+ * through a {@link Builder}, {@link #collector()} or {@link cyclops.companion.Reducers#toQuantileSketch()}.
+ *
+ * <pre>
+ * {@code
+ *  QuantileSketch latencies = ReactiveSeq.fromIterable(requests)
+ *                                        .map(Request::millis)
+ *                                        .foldMap(Reducers.toQuantileSketch());
+ *  Option<Double> p99 = latencies.quantile(0.99);
+ * }
+ * </pre>
+ */
+public final class QuantileSketch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_CAPACITY = 8;
+    private static final double[] NO_VALUES = new double[0];
+
+    private final int k;
+    private final double[][] levels;
+    private final long size;
+    private final double min;
+    private final double max;
+
+    private QuantileSketch(int k, double[][] levels, long size, double min, double max) {
+        this.k = k;
+        this.levels = levels;
+        this.size = size;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static QuantileSketch empty() {
+        return empty(DEFAULT_K);
+    }
+
+    /**
+     * @param k Capacity of the top level, larger values trade memory for accuracy
+     */
+    public static QuantileSketch empty(int k) {
+        if (k < MIN_CAPACITY)
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY + ", was " + k);
+        return new QuantileSketch(k, new double[][]{NO_VALUES}, 0, Double.NaN, Double.NaN);
+    }
+
+    public static QuantileSketch of(double... values) {
+        Builder builder = builder();
+        for (double value : values)
+            builder.add(value);
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return builder(DEFAULT_K);
+    }
+
+    public static Builder builder(int k) {
+        return empty(k).toBuilder();
+    }
+
+    public static Collector<Number, ?, QuantileSketch> collector() {
+        return collector(DEFAULT_K);
+    }
+
+    /**
+     * @return Collector that builds a sketch in place, partial sketches of parallel Streams are merged
+     */
+    public static Collector<Number, ?, QuantileSketch> collector(int k) {
+        return Collector.of(() -> builder(k), Builder::add, Builder::merge, Builder::build,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    public QuantileSketch plus(double value) {
+        if (Double.isNaN(value))
+            return this;
+        double[][] updated = levels.clone();
+        updated[0] = Arrays.copyOf(levels[0], levels[0].length + 1);
+        updated[0][levels[0].length] = value;
+        return new QuantileSketch(k, compress(updated, k), size + 1, lower(min, value), upper(max, value));
+    }
+
+    public QuantileSketch plus(Number value) {
+        return plus(value.doubleValue());
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.k != k)
+            throw new IllegalArgumentException("Can not merge quantile sketches with k " + k + " and " + other.k);
+        if (other.isEmpty())
+            return this;
+        if (isEmpty())
+            return other;
+        return new QuantileSketch(k, compress(concat(levels, other.levels), k), size + other.size,
+                                  lower(min, other.min), upper(max, other.max));
+    }
+
+    /**
+     * @param fraction Between 0 and 1, 0.5 for the median
+     * @return Approximate value at the fraction of the sorted input, none if the sketch is empty
+     */
+    public Option<Double> quantile(double fraction) {
+        if (fraction < 0 || fraction > 1)
+            throw new IllegalArgumentException("Fraction must be between 0 and 1, was " + fraction);
+        if (isEmpty())
+            return Option.none();
+        if (fraction == 0)
+            return Option.some(min);
+        if (fraction == 1)
+            return Option.some(max);
+        Weighted sorted = sorted();
+        double target = fraction * size;
+        long cumulative = 0;
+        for (int i = 0; i < sorted.values.length; i++) {
+            cumulative += sorted.weights[i];
+            if (cumulative >= target)
+                return Option.some(sorted.values[i]);
+        }
+        return Option.some(max);
+    }
+
+    /**
+     * @return Approximate values at each of the fractions
+     */
+    public double[] quantiles(double... fractions) {
+        double[] result = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i++)
+            result[i] = quantile(fractions[i]).orElse(Double.NaN);
+        return result;
+    }
+
+    /**
+     * @return Approximate fraction of the added values less than or equal to value, 0 if the sketch is empty
+     */
+    public double rank(double value) {
+        if (isEmpty())
+            return 0;
+        long weight = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (double next : levels[h]) {
+                if (next <= value)
+                    weight += 1L << h;
+            }
+        }
+        return (double) weight / size;
+    }
+
+    public Option<Double> min() {
+        return isEmpty() ? Option.none() : Option.some(min);
+    }
+
+    public Option<Double> max() {
+        return isEmpty() ? Option.none() : Option.some(max);
+    }
+
+    /**
+     * @return Number of values added
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Number of values retained
+     */
+    public int retained() {
+        int retained = 0;
+        for (double[] level : levels)
+            retained += level.length;
+        return retained;
+    }
+
+    /**
+     * @return Builder starting from this sketch
+     */
+    public Builder toBuilder() {
+        return new Builder(k, levels.clone(), size, min, max);
+    }
+
+    private static final class Weighted {
+        final double[] values;
+        final long[] weights;
+
+        Weighted(double[] values, long[] weights) {
+            this.values = values;
+            this.weights = weights;
+        }
+    }
+
+    private Weighted sorted() {
+        int retained = retained();
+        double[] values = new double[retained];
+        int pos = 0;
+        for (double[] level : levels) {
+            for (double value : level)
+                values[pos++] = value;
+        }
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++)
+            order[i] = i;
+        int[] heights = new int[retained];
+        pos = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < levels[h].length; i++)
+                heights[pos++] = h;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[retained];
+        long[] weights = new long[retained];
+        for (int i = 0; i < retained; i++) {
+            sortedValues[i] = values[order[i]];
+            weights[i] = 1L << heights[order[i]];
+        }
+        return new Weighted(sortedValues, weights);
+    }
+
+    private static double lower(double current, double value) {
+        return Double.isNaN(current) || value < current ? value : current;
+    }
+
+    private static double upper(double current, double value) {
+        return Double.isNaN(current) || value > current ? value : current;
+    }
+
+    private static int capacity(int k, int level, int height) {
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(2.0 / 3.0, height - 1 - level)));
+    }
+
+    private static double[][] concat(double[][] a, double[][] b) {
+        double[][] result = new double[Math.max(a.length, b.length)][];
+        for (int h = 0; h < result.length; h++) {
+            double[] left = h < a.length ? a[h] : NO_VALUES;
+            double[] right = h < b.length ? b[h] : NO_VALUES;
+            result[h] = concat(left, right);
+        }
+        return result;
+    }
+
+    private static double[] concat(double[] a, double[] b) {
+        if (b.length == 0)
+            return a;
+        if (a.length == 0)
+            return b;
+        double[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * Compacts levels until every level is within its capacity. The level arrays are treated as immutable, only the
+     * outer array (which callers pass a copy of) is updated.
+     */
+    private static double[][] compress(double[][] levels, int k) {
+        int level = 0;
+        while (level < levels.length) {
+            if (levels[level].length <= capacity(k, level, levels.length)) {
+                level++;
+                continue;
+            }
+            double[] sorted = levels[level].clone();
+            Arrays.sort(sorted);
+            int kept = sorted.length & 1;
+            int offset = kept + (ThreadLocalRandom.current().nextBoolean() ? 1 : 0);
+            double[] promoted = new double[sorted.length / 2];
+            for (int i = 0; i < promoted.length; i++)
+                promoted[i] = sorted[offset + 2 * i];
+            if (level + 1 == levels.length) {
+                levels = Arrays.copyOf(levels, levels.length + 1);
+                levels[level + 1] = NO_VALUES;
+            }
+            levels[level + 1] = concat(levels[level + 1], promoted);
+            levels[level] = kept == 1 ? new double[]{sorted[0]} : NO_VALUES;
+            level = 0;
+        }
+        return levels;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof QuantileSketch))
+            return false;
+        QuantileSketch other = (QuantileSketch) o;
+        if (k != other.k || size != other.size || levels.length != other.levels.length)
+            return false;
+        for (int h = 0; h < levels.length; h++) {
+            double[] left = levels[h].clone();
+            double[] right = other.levels[h].clone();
+            Arrays.sort(left);
+            Arrays.sort(right);
+            if (!Arrays.equals(left, right))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * k + Long.hashCode(size);
+        for (double[] level : levels) {
+            double[] sorted = level.clone();
+            Arrays.sort(sorted);
+            hash = 31 * hash + Arrays.hashCode(sorted);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[k=" + k + ", size=" + size + ", retained=" + retained() + "]";
+    }
+
+    /**
+     * Mutable, single-threaded sketch for bulk additions. Values are appended to a buffer for the lowest level, which
+     * is compacted each time it fills up.
+     */
+    public static final class Builder {
+        private final int k;
+        private double[][] levels;
+        private double[] buffer;
+        private int buffered;
+        private long size;
+        private double min;
+        private double max;
+        private boolean built;
+
+        private Builder(int k, double[][] levels, long size, double min, double max) {
+            this.k = k;
+            this.levels = levels;
+            this.size = size;
+            this.min = min;
+            this.max = max;
+            refill();
+        }
+
+        public Builder add(double value) {
+            check();
+            if (Double.isNaN(value))
+                return this;
+            if (buffered == buffer.length) {
+                levels[0] = Arrays.copyOf(buffer, buffered);
+                levels = compress(levels, k);
+                refill();
+            }
+            buffer[buffered++] = value;
+            size++;
+            min = lower(min, value);
+            max = upper(max, value);
+            return this;
+        }
+
+        public Builder add(Number value) {
+            return add(value.doubleValue());
+        }
+
+        public Builder addAll(QuantileSketch sketch) {
+            return merge(sketch);
+        }
+
+        public Builder merge(Builder other) {
+            return merge(other.build());
+        }
+
+        private Builder merge(QuantileSketch other) {
+            check();
+            QuantileSketch merged = build(false).merge(other);
+            levels = merged.levels.clone();
+            size = merged.size;
+            min = merged.min;
+            max = merged.max;
+            refill();
+            return this;
+        }
+
+        public QuantileSketch build() {
+            return build(true);
+        }
+
+        private QuantileSketch build(boolean last) {
+            check();
+            double[][] result = levels.clone();
+            result[0] = Arrays.copyOf(buffer, buffered);
+            built = last;
+            return new QuantileSketch(k, compress(result, k), size, min, max);
+        }
+
+        private void refill() {
+            buffer = Arrays.copyOf(levels[0], capacity(k, 0, levels.length) + 1);
+            buffered = levels[0].length;
+        }
+
+        private void check() {
+            if (built)
+                throw new IllegalStateException("Builder can not be used after build() has been called");
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package cyclops.function;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A size bounded {@link Cacheable} for use with {@link Memoize}, with optional expiry and refresh after write.
+ *
+ * Entries are evicted either in least recently used order, or using a W-TinyLFU policy : new entries enter a small
+ * LRU window, and entries leaving the window are only admitted to the main LRU region if they have been requested
+ * more frequently than the entry they would displace (frequencies are tracked in a compact, periodically aged
+ * count-min sketch).
+ *
+ * Values are computed outside of any lock, so concurrent misses on the same key may both compute a value (the first
+ * to be stored wins) and memoised functions may safely call themselves recursively.
+ *
+ * <pre>
+ * {@code
+ *   BoundedCache<Integer> cache = BoundedCache.<Integer>builder()
+ *                                             .maximumSize(10_000)
+ *                                             .tinyLfu()
+ *                                             .expireAfterWrite(10, TimeUnit.MINUTES)
+ *                                             .build();
+ *   Function2<Integer,Integer,Integer> fn = Memoize.memoizeBiFunction(this::expensive, cache);
+ *   long hits = cache.hitCount();
+ * }
+ * </pre>
+ *
+ * @param <OUT> Type of cached values
+ */
+public final class BoundedCache<OUT> implements Cacheable<OUT> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, Node<OUT>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final Region<OUT> window = new Region<>();
+    private final Region<OUT> main = new Region<>();
+    private final FrequencySketch sketch;
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private BoundedCache(Builder<OUT> builder) {
+        if (builder.tinyLfu && builder.maximumSize > 1) {
+            windowMaximum = Math.max(1, builder.maximumSize / 100);
+            sketch = new FrequencySketch(builder.maximumSize);
+        } else {
+            windowMaximum = builder.maximumSize;
+            sketch = null;
+        }
+        mainMaximum = builder.maximumSize - windowMaximum;
+        expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        refreshAfterWriteNanos = builder.refreshAfterWriteNanos;
+        refreshExecutor = builder.refreshExecutor;
+        ticker = builder.ticker;
+    }
+
+    /**
+     * @param maximumSize Maximum number of entries
+     * @return Cache that evicts the least recently used entry once maximumSize is exceeded
+     */
+    public static <OUT> BoundedCache<OUT> lru(int maximumSize) {
+        return BoundedCache.<OUT>builder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * @param maximumSize Maximum number of entries
+     * @return Cache that uses a W-TinyLFU admission and eviction policy once maximumSize is exceeded
+     */
+    public static <OUT> BoundedCache<OUT> tinyLfu(int maximumSize) {
+        return BoundedCache.<OUT>builder().maximumSize(maximumSize).tinyLfu().build();
+    }
+
+    public static <OUT> Builder<OUT> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public OUT computeIfAbsent(Object key, Function<Object, OUT> fn) {
+        Object mapKey = key == null ? NULL_KEY : key;
+        Node<OUT> node = map.get(mapKey);
+        if (node != null) {
+            long now = ticker.getAsLong();
+            if (expireAfterWriteNanos <= 0 || now - node.writeTime < expireAfterWriteNanos) {
+                hits.increment();
+                onRead(node);
+                OUT value = node.value;
+                if (refreshAfterWriteNanos > 0 && now - node.writeTime >= refreshAfterWriteNanos)
+                    refresh(node, fn);
+                return value;
+            }
+            remove(node);
+        }
+        misses.increment();
+        Object frozen = key instanceof CompositeKey ? ((CompositeKey) key).freeze() : key;
+        OUT value = fn.apply(frozen);
+        Node<OUT> created = new Node<>(frozen == null ? NULL_KEY : frozen, frozen, value, ticker.getAsLong());
+        Node<OUT> existing = map.putIfAbsent(created.mapKey, created);
+        if (existing != null)
+            return existing.value;
+        onWrite(created);
+        return value;
+    }
+
+    /**
+     * @return Number of entries currently held
+     */
+    public int size() {
+        return map.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Remove all entries, counters are not reset
+     */
+    public void clear() {
+        policyLock.lock();
+        try {
+            map.clear();
+            window.clear();
+            main.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void refresh(Node<OUT> node, Function<Object, OUT> fn) {
+        if (node.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                try {
+                    node.value = fn.apply(node.key);
+                    node.writeTime = ticker.getAsLong();
+                } finally {
+                    node.refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    /*
+     * Reordering on a hit is skipped when the policy lock is contended, ordering is then only approximately LRU
+     */
+    private void onRead(Node<OUT> node) {
+        if (!policyLock.tryLock())
+            return;
+        try {
+            if (sketch != null)
+                sketch.increment(node.mapKey);
+            if (node.region != null)
+                node.region.moveToHead(node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void onWrite(Node<OUT> node) {
+        policyLock.lock();
+        try {
+            if (map.get(node.mapKey) != node)
+                return;
+            if (sketch != null)
+                sketch.increment(node.mapKey);
+            window.addToHead(node);
+            while (window.size > windowMaximum) {
+                Node<OUT> candidate = window.tail;
+                window.remove(candidate);
+                if (mainMaximum == 0) {
+                    evict(candidate);
+                    continue;
+                }
+                main.addToHead(candidate);
+                if (main.size > mainMaximum) {
+                    Node<OUT> victim = main.tail;
+                    if (sketch != null && sketch.frequency(candidate.mapKey) <= sketch.frequency(victim.mapKey))
+                        victim = candidate;
+                    main.remove(victim);
+                    evict(victim);
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void evict(Node<OUT> node) {
+        if (map.remove(node.mapKey, node))
+            evictions.increment();
+    }
+
+    private void remove(Node<OUT> node) {
+        policyLock.lock();
+        try {
+            if (map.remove(node.mapKey, node) && node.region != null)
+                node.region.remove(node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public static final class Builder<OUT> {
+        private int maximumSize = 1000;
+        private boolean tinyLfu = false;
+        private long expireAfterWriteNanos = 0;
+        private long refreshAfterWriteNanos = 0;
+        private Executor refreshExecutor = ForkJoinPool.commonPool();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder<OUT> maximumSize(int maximumSize) {
+            if (maximumSize < 1)
+                throw new IllegalArgumentException("maximumSize must be at least 1 but was " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder<OUT> lru() {
+            this.tinyLfu = false;
+            return this;
+        }
+
+        public Builder<OUT> tinyLfu() {
+            this.tinyLfu = true;
+            return this;
+        }
+
+        /**
+         * Entries older than the supplied duration are treated as absent and recomputed
+         */
+        public Builder<OUT> expireAfterWrite(long duration, TimeUnit unit) {
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Entries older than the supplied duration are still returned, but trigger an asynchronous recomputation
+         */
+        public Builder<OUT> refreshAfterWrite(long duration, TimeUnit unit) {
+            this.refreshAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public Builder<OUT> refreshAfterWrite(long duration, TimeUnit unit, Executor executor) {
+            this.refreshExecutor = executor;
+            return refreshAfterWrite(duration, unit);
+        }
+
+        Builder<OUT> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public BoundedCache<OUT> build() {
+            return new BoundedCache<>(this);
+        }
+    }
+
+    private static final class Node<OUT> {
+        final Object mapKey;
+        final Object key;
+        volatile OUT value;
+        volatile long writeTime;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+        Region<OUT> region;
+        Node<OUT> prev;
+        Node<OUT> next;
+
+        Node(Object mapKey, Object key, OUT value, long writeTime) {
+            this.mapKey = mapKey;
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /*
+     * Doubly linked access ordered list, guarded by the policy lock
+     */
+    private static final class Region<OUT> {
+        Node<OUT> head;
+        Node<OUT> tail;
+        int size;
+
+        void addToHead(Node<OUT> node) {
+            node.region = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null)
+                head.prev = node;
+            head = node;
+            if (tail == null)
+                tail = node;
+            size++;
+        }
+
+        void remove(Node<OUT> node) {
+            if (node.prev != null)
+                node.prev.next = node.next;
+            else
+                head = node.next;
+            if (node.next != null)
+                node.next.prev = node.prev;
+            else
+                tail = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.region = null;
+            size--;
+        }
+
+        void moveToHead(Node<OUT> node) {
+            if (head == node)
+                return;
+            remove(node);
+            addToHead(node);
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /*
+     * Count-min sketch of 4 bit counters (packed 16 to a long), halved once the number of increments reaches
+     * ten times the cache size so that old popularity decays.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int length = Integer.highestOneBit(Math.max(4, maximumSize / 4) - 1) << 1;
+            table = new long[length];
+            tableMask = length - 1;
+            sampleSize = 10 * maximumSize;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = counterOffset(hash, i);
+                frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = counterOffset(hash, i);
+                if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize)
+                reset();
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = additions / 2;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private static int counterOffset(int hash, int i) {
+            return (((hash >>> (i << 3)) & 0xf)) << 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
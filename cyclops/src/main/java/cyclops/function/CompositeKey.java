@@ -0,0 +1,78 @@
+package cyclops.function;
+
+import java.util.Objects;
+
+/**
+ * Cache key for memoised functions of more than one argument. Lookups reuse a per-thread probe instance, a
+ * frozen copy is only allocated when a new entry is stored.
+ */
+final class CompositeKey {
+
+    private static final ThreadLocal<CompositeKey> probe = ThreadLocal.withInitial(CompositeKey::new);
+
+    private Object a;
+    private Object b;
+    private Object c;
+    private Object d;
+    private int hash;
+
+    private CompositeKey() {
+    }
+
+    private CompositeKey(Object a, Object b, Object c, Object d, int hash) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.hash = hash;
+    }
+
+    static CompositeKey probe(Object a, Object b, Object c, Object d) {
+        return probe.get().set(a, b, c, d);
+    }
+
+    private CompositeKey set(Object a, Object b, Object c, Object d) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.hash = ((Objects.hashCode(a) * 31 + Objects.hashCode(b)) * 31 + Objects.hashCode(c)) * 31 + Objects.hashCode(d);
+        return this;
+    }
+
+    CompositeKey freeze() {
+        return new CompositeKey(a, b, c, d, hash);
+    }
+
+    <T> T _1() {
+        return (T) a;
+    }
+
+    <T> T _2() {
+        return (T) b;
+    }
+
+    <T> T _3() {
+        return (T) c;
+    }
+
+    <T> T _4() {
+        return (T) d;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof CompositeKey))
+            return false;
+        CompositeKey other = (CompositeKey) o;
+        return hash == other.hash && Objects.equals(a, other.a) && Objects.equals(b, other.b)
+            && Objects.equals(c, other.c) && Objects.equals(d, other.d);
+    }
+}
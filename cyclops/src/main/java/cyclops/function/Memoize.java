@@ -19,6 +19,7 @@ import cyclops.data.tuple.Tuple4;
 
 import com.oath.cyclops.util.box.LazyImmutable;
 import com.oath.cyclops.util.ExceptionSoftener;
+import com.oath.cyclops.util.stream.scheduling.cron.CronDispatcher;
 
 import lombok.val;
 
@@ -91,8 +92,8 @@ public class Memoize {
      * @return Memoized asynchronously updating function
      */
     public static <R> Function0<R> memoizeSupplierAsync(final Supplier<R> fn, ScheduledExecutorService ex, String cron){
-        return ()-> Memoize.memoizeFunctionAsync(a-> fn.get(),ex,cron)
-                .apply("k");
+        val memoizeFn = memoizeFunctionAsync((a) -> fn.get(), ex, cron);
+        return () -> memoizeFn.apply("k");
     }
 
     /**
@@ -196,14 +197,14 @@ public class Memoize {
     public static <T, R> Function1<T, R> memoizeFunctionAsync(final Function<T, R> fn, ScheduledExecutorService ex, String cron) {
         final Map<T, R> lazy = new ConcurrentHashMap<>();
 
-        ReactiveSeq.generate(()->{
+        CronDispatcher.shared().schedule(cron,ex,()->{
 
             lazy.forEach((k,v)->{
 
                 lazy.put(k,fn.apply(k));
             });
-            return null;
-        }).schedule(cron,ex);
+            return true;
+        });
 
         return t -> lazy.computeIfAbsent(t, fn);
     }
@@ -222,6 +223,24 @@ public class Memoize {
                          .computeIfAbsent(t, (Function) fn);
     }
 
+    /**
+     * Convert a Function into one that caches it's result in a size bounded cache
+     *
+     * <pre>
+     * {@code
+     *  BoundedCache<String> cache = BoundedCache.tinyLfu(10_000);
+     *  Function1<Integer,String> fn = Memoize.memoizeFunction(this::lookup, cache);
+     * }
+     * </pre>
+     *
+     * @param fn Function to memoise
+     * @param cache Bounded cache to store the results
+     * @return Memoised Function
+     */
+    public static <T, R> Function1<T, R> memoizeFunction(final Function<T, R> fn, final BoundedCache<R> cache) {
+        return t -> (R) cache.computeIfAbsent(t, (Function) fn);
+    }
+
     /**
      * Memoize a function and update the cached values asynchronously using the provided Scheduled Executor Service
      * Does not support null keys
@@ -272,6 +291,19 @@ public class Memoize {
         return (t1, t2) -> memoise2.apply(tuple(t1, t2));
     }
 
+    /**
+     * Convert a BiFunction into one that caches it's result in a size bounded cache.
+     * Argument pairs are looked up without allocating a key, a key is only allocated when a new result is stored.
+     *
+     * @param fn BiFunction to memoise
+     * @param cache Bounded cache to store the results
+     * @return Memoised BiFunction
+     */
+    public static <T1, T2, R> Function2<T1, T2, R> memoizeBiFunction(final BiFunction<T1, T2, R> fn, final BoundedCache<R> cache) {
+        Function<Object, R> keyed = key -> fn.apply(((CompositeKey) key)._1(), ((CompositeKey) key)._2());
+        return (t1, t2) -> cache.computeIfAbsent(CompositeKey.probe(t1, t2, null, null), keyed);
+    }
+
     /**
      * Convert a TriFunction into one that caches it's result
      *
@@ -307,6 +339,21 @@ public class Memoize {
       Function1<Tuple3<T1, T2, T3>, R> memoise2 = memoizeFunction((final Tuple3<T1, T2, T3> triple) -> fn.apply(triple._1(), triple._2(), triple._3()), cache);
         return (t1, t2, t3) -> memoise2.apply(tuple(t1, t2, t3));
     }
+
+    /**
+     * Convert a TriFunction into one that caches it's result in a size bounded cache
+     *
+     * @param fn TriFunction to memoise
+     * @param cache Bounded cache to store the results
+     * @return Memoised TriFunction
+     */
+    public static <T1, T2, T3, R> Function3<T1, T2, T3, R> memoizeTriFunction(final Function3<T1, T2, T3, R> fn, final BoundedCache<R> cache) {
+        Function<Object, R> keyed = key -> {
+            CompositeKey k = (CompositeKey) key;
+            return fn.apply(k._1(), k._2(), k._3());
+        };
+        return (t1, t2, t3) -> cache.computeIfAbsent(CompositeKey.probe(t1, t2, t3, null), keyed);
+    }
     /**
      * Memoize a function and update the cached values asynchronously using the provided Scheduled Executor Service
      * Does not support null keys
@@ -357,6 +404,22 @@ public class Memoize {
       Function1<Tuple4<T1, T2, T3, T4>, R> memoise2 = memoizeFunction((final Tuple4<T1, T2, T3, T4> quad) -> fn.apply(quad._1(), quad._2(), quad._3(), quad._4()), cache);
         return (t1, t2, t3, t4) -> memoise2.apply(tuple(t1, t2, t3, t4));
     }
+
+    /**
+     * Convert a QuadFunction into one that caches it's result in a size bounded cache
+     *
+     * @param fn QuadFunction to memoise
+     * @param cache Bounded cache to store the results
+     * @return Memoised QuadFunction
+     */
+    public static <T1, T2, T3, T4, R> Function4<T1, T2, T3, T4, R> memoizeQuadFunction(final Function4<T1, T2, T3, T4, R> fn,
+                                                                                       final BoundedCache<R> cache) {
+        Function<Object, R> keyed = key -> {
+            CompositeKey k = (CompositeKey) key;
+            return fn.apply(k._1(), k._2(), k._3(), k._4());
+        };
+        return (t1, t2, t3, t4) -> cache.computeIfAbsent(CompositeKey.probe(t1, t2, t3, t4), keyed);
+    }
     /**
      * Memoize a function and update the cached values asynchronously using the provided Scheduled Executor Service
      * Does not support null keys
@@ -123,6 +123,26 @@ public  abstract class Managed<T> implements Higher<managed,T>,To<Managed<T>>, P
         return of(acquire,ExceptionSoftener.softenConsumer(c->c.close()));
     }
 
+    /**
+     * Borrow a resource from the supplied pool on each run, and return it to the pool (rather than closing it) afterwards
+     *
+     * <pre>
+     * {@code
+     *   ResourcePool<Connection> pool = ResourcePool.of(this::connect, this::close, 20);
+     *   Managed<Connection> connection = Managed.pooled(pool);
+     *
+     *   Try<Integer,Throwable> rows = connection.map(this::deleteExpired)
+     *                                           .run();
+     * }
+     * </pre>
+     *
+     * @param pool Pool to borrow from
+     * @return Managed pooled resource
+     */
+    public static <T> Managed<T> pooled(ResourcePool<T> pool){
+        return of(pool.io(),pool::release);
+    }
+
     public static  <T> Managed<Seq<T>> sequence(Iterable<? extends Managed<T>> all) {
 
         Managed<Seq<T>> acc =null;
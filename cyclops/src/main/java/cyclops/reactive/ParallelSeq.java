@@ -0,0 +1,227 @@
+package cyclops.reactive;
+
+import com.oath.cyclops.internal.stream.spliterators.push.ParallelRails;
+import com.oath.cyclops.internal.stream.spliterators.push.ParallelRails.Merge;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A ReactiveSeq split across a fixed number of rails, each rail is processed by its own task on the provided Executor.
+ *
+ * Elements are dispatched onto rails round robin (skipping rails that are full), or by the hash of a key so that all
+ * elements with the same key are processed on the same rail in order. Each rail has bounded input and output queues and
+ * upstream demand is only signalled as rails free space, so a fast source can not flood slow rails.
+ *
+ * map / filter / peek operations are fused and applied per rail, the rails are then merged back into a single
+ * ReactiveSeq either unordered (fastest), in source order or sorted.
+ *
+ * <pre>
+ * {@code
+ *  ReactiveSeq<Result> results = Spouts.of(requests)
+ *                                      .parallel(4, executor)
+ *                                      .map(this::expensive)
+ *                                      .filter(Result::isValid)
+ *                                      .sequentialOrdered();
+ *
+ *  Optional<Integer> total = ReactiveSeq.range(0, 1_000_000)
+ *                                       .parallel(4, executor)
+ *                                       .reduce(Integer::sum);
+ * }
+ * </pre>
+ *
+ * @param <T> Data type of elements on the rails
+ */
+public final class ParallelSeq<T> {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final ReactiveSeq<?> source;
+    private final int rails;
+    private final int capacity;
+    private final Executor ex;
+    private final Function<Object, ?> key;
+    private final Function<Object, Object> fn;
+
+    private ParallelSeq(ReactiveSeq<?> source, int rails, int capacity, Executor ex, Function<Object, ?> key,
+                        Function<Object, Object> fn) {
+        if (rails < 1)
+            throw new IllegalArgumentException("At least one rail is required, but was " + rails);
+        if (capacity < 1)
+            throw new IllegalArgumentException("Rail capacity must be positive, but was " + capacity);
+        this.source = source;
+        this.rails = rails;
+        this.capacity = capacity;
+        this.ex = ex;
+        this.key = key;
+        this.fn = fn;
+    }
+
+    /**
+     * Split a ReactiveSeq round robin across rails
+     *
+     * @param source ReactiveSeq to split
+     * @param rails Number of rails
+     * @param ex Executor to process rails on
+     * @return ParallelSeq
+     */
+    public static <T> ParallelSeq<T> parallel(ReactiveSeq<T> source, int rails, Executor ex) {
+        return parallel(source, rails, DEFAULT_CAPACITY, ex);
+    }
+
+    /**
+     * Split a ReactiveSeq round robin across rails
+     *
+     * @param source ReactiveSeq to split
+     * @param rails Number of rails
+     * @param capacity Capacity of each rail's input and output queues
+     * @param ex Executor to process rails on
+     * @return ParallelSeq
+     */
+    public static <T> ParallelSeq<T> parallel(ReactiveSeq<T> source, int rails, int capacity, Executor ex) {
+        return new ParallelSeq<>(source, rails, capacity, ex, null, null);
+    }
+
+    /**
+     * Split a ReactiveSeq across rails by the hash of a key, elements with equal keys are processed in order on the
+     * same rail
+     *
+     * @param source ReactiveSeq to split
+     * @param rails Number of rails
+     * @param ex Executor to process rails on
+     * @param key Function to extract the key to hash elements by
+     * @return ParallelSeq
+     */
+    public static <T> ParallelSeq<T> parallel(ReactiveSeq<T> source, int rails, Executor ex,
+                                              Function<? super T, ?> key) {
+        return parallel(source, rails, DEFAULT_CAPACITY, ex, key);
+    }
+
+    /**
+     * Split a ReactiveSeq across rails by the hash of a key, elements with equal keys are processed in order on the
+     * same rail
+     *
+     * @param source ReactiveSeq to split
+     * @param rails Number of rails
+     * @param capacity Capacity of each rail's input and output queues
+     * @param ex Executor to process rails on
+     * @param key Function to extract the key to hash elements by
+     * @return ParallelSeq
+     */
+    public static <T> ParallelSeq<T> parallel(ReactiveSeq<T> source, int rails, int capacity, Executor ex,
+                                              Function<? super T, ?> key) {
+        return new ParallelSeq<>(source, rails, capacity, ex, (Function<Object, ?>) key, null);
+    }
+
+    /**
+     * @return Number of rails
+     */
+    public int rails() {
+        return rails;
+    }
+
+    public <R> ParallelSeq<R> map(Function<? super T, ? extends R> mapper) {
+        Function<Object, Object> next = v -> mapper.apply((T) v);
+        return new ParallelSeq<>(source, rails, capacity, ex, key, ParallelRails.andThen(fn, next));
+    }
+
+    public ParallelSeq<T> filter(Predicate<? super T> predicate) {
+        Function<Object, Object> next = v -> predicate.test((T) v) ? v : ParallelRails.NONE;
+        return new ParallelSeq<>(source, rails, capacity, ex, key, ParallelRails.andThen(fn, next));
+    }
+
+    public ParallelSeq<T> peek(Consumer<? super T> consumer) {
+        Function<Object, Object> next = v -> {
+            consumer.accept((T) v);
+            return v;
+        };
+        return new ParallelSeq<>(source, rails, capacity, ex, key, ParallelRails.andThen(fn, next));
+    }
+
+    /**
+     * Merge the rails back into a single ReactiveSeq, emitting elements as soon as any rail produces them
+     *
+     * @return Merged ReactiveSeq
+     */
+    public ReactiveSeq<T> sequential() {
+        return merge(Merge.UNORDERED, null, null, null);
+    }
+
+    /**
+     * Merge the rails back into a single ReactiveSeq, in the order elements were emitted by the source
+     *
+     * @return Merged ReactiveSeq
+     */
+    public ReactiveSeq<T> sequentialOrdered() {
+        return merge(Merge.ORDERED, null, null, null);
+    }
+
+    /**
+     * Sort each rail and merge the sorted rails into a single sorted ReactiveSeq. Each rail is buffered until the source
+     * completes.
+     *
+     * @param comparator Comparator to sort by
+     * @return Sorted ReactiveSeq
+     */
+    public ReactiveSeq<T> sorted(Comparator<? super T> comparator) {
+        return merge(Merge.SORTED, (Comparator<Object>) comparator, null, null);
+    }
+
+    /**
+     * Sort each rail by natural order and merge the sorted rails into a single sorted ReactiveSeq.
+     *
+     * @return Sorted ReactiveSeq
+     * @see #sorted(Comparator)
+     */
+    public ReactiveSeq<T> sorted() {
+        return sorted((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Reduce each rail, the result of each rail is emitted (unordered) once the source completes
+     *
+     * @param seed Supplies the initial value for each rail
+     * @param accumulator Accumulates the elements of a rail
+     * @return ReactiveSeq with one result per rail
+     */
+    public <R> ReactiveSeq<R> reduce(Supplier<? extends R> seed, BiFunction<R, ? super T, R> accumulator) {
+        return merge(Merge.UNORDERED, null, (Supplier<Object>) seed, (BiFunction<Object, Object, Object>) accumulator);
+    }
+
+    /**
+     * Reduce each rail then combine the rail results, blocking until the source completes
+     *
+     * @param identity Identity value for the accumulator
+     * @param accumulator Associative function to combine elements
+     * @return Reduced value
+     */
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        return this.<T>reduce(() -> identity, accumulator)
+                   .reduce(identity, accumulator);
+    }
+
+    /**
+     * Reduce each rail then combine the rail results, blocking until the source completes
+     *
+     * @param accumulator Associative function to combine elements
+     * @return Reduced value, or Optional.empty() if there were no elements
+     */
+    public Optional<T> reduce(BinaryOperator<T> accumulator) {
+        BiFunction<Object, Object, Object> partial = (a, b) -> a == ParallelRails.NONE ? b
+                : accumulator.apply((T) a, (T) b);
+        return this.<T>merge(Merge.UNORDERED, null, () -> ParallelRails.NONE, partial)
+                   .reduce(accumulator);
+    }
+
+    private <R> ReactiveSeq<R> merge(Merge merge, Comparator<Object> comparator, Supplier<Object> seed,
+                                     BiFunction<Object, Object, Object> reducer) {
+        return Spouts.from(new ParallelRails<R>(source, rails, capacity, ex, key, fn, merge, comparator, seed, reducer));
+    }
+}
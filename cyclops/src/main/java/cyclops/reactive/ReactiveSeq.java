@@ -14,6 +14,7 @@ import cyclops.control.*;
 
 import cyclops.data.Enumeration;
 
+import com.oath.cyclops.internal.stream.DistinctPredicates;
 import com.oath.cyclops.internal.stream.OneShotStreamX;
 import com.oath.cyclops.internal.stream.spliterators.doubles.ReversingDoubleArraySpliterator;
 import com.oath.cyclops.internal.stream.spliterators.ints.ReversingIntArraySpliterator;
@@ -28,6 +29,9 @@ import com.oath.cyclops.types.reactive.QueueBasedSubscriber;
 import com.oath.cyclops.types.reactive.QueueBasedSubscriber.Counter;
 import com.oath.cyclops.types.traversable.IterableX;
 import com.oath.cyclops.util.ExceptionSoftener;
+import com.oath.cyclops.async.wait.WaitStrategy;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import com.oath.cyclops.util.stream.scheduling.RateLimiter;
 import cyclops.companion.Streams;
 import com.oath.cyclops.async.*;
 import com.oath.cyclops.async.adapters.*;
@@ -58,11 +62,13 @@ import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -952,6 +958,41 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         });
 
 
+    }
+    /**
+     * Split this ReactiveSeq round robin across a fixed number of rails, each processed by its own task on the provided
+     * Executor with bounded queues between the source, the rails and the merged output.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.range(0, 1000)
+     *             .parallel(4, executor)
+     *             .map(i -> i * 2)
+     *             .sequentialOrdered();
+     * }
+     * </pre>
+     *
+     * @see ParallelSeq
+     * @param rails Number of rails
+     * @param ex Executor to process rails on
+     * @return ParallelSeq
+     */
+    default ParallelSeq<T> parallel(int rails, Executor ex){
+        return ParallelSeq.parallel(this, rails, ex);
+    }
+
+    /**
+     * Split this ReactiveSeq across a fixed number of rails by the hash of a key, so that all elements with the same key
+     * are processed in order on the same rail.
+     *
+     * @see ParallelSeq
+     * @param rails Number of rails
+     * @param ex Executor to process rails on
+     * @param key Function to extract the key to hash elements by
+     * @return ParallelSeq
+     */
+    default ParallelSeq<T> parallel(int rails, Executor ex, Function<? super T, ?> key){
+        return ParallelSeq.parallel(this, rails, ex, key);
     }
     default <R> R foldParallel(Function<? super Stream<T>,? extends R> fn){
 
@@ -1557,6 +1598,111 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
      */
     <C extends PersistentCollection<? super T>> ReactiveSeq<C> groupedByTime(long time, TimeUnit unit, Supplier<C> factory);
 
+    /**
+     * Batch elements by size and time, using the supplied timer to flush a partially filled batch once its time period
+     * has elapsed - even if no further elements arrive. A batch's time period starts with its first element. Batches
+     * are only emitted when there is demand, upstream is not requested from while a completed batch is waiting.
+     *
+     * <pre>
+     * {@code
+     * Spouts.from(kafkaPublisher)
+     *       .groupedBySizeAndTime(500,50,TimeUnit.MILLISECONDS,HashedWheelTimer.shared())
+     *       .forEach(this::send);
+     *
+     * //batches of up to 500 elements, none waiting longer than ~50ms
+     * }
+     * </pre>
+     *
+     * Non-reactive Streams are converted to a reactive Stream first, and batches may be emitted on the timer's thread.
+     *
+     * @param size Max size of a batch
+     * @param time Max time period to build a single batch in
+     * @param t time unit for batch
+     * @param timer Timer used to flush batches
+     * @return ReactiveSeq batched by size and time
+     */
+    default ReactiveSeq<Vector<T>> groupedBySizeAndTime(int size, long time, TimeUnit t, HashedWheelTimer timer){
+        return Spouts.fromIterable(this).groupedBySizeAndTime(size,time,t,timer);
+    }
+
+    /**
+     * Batch elements by time, using the supplied timer to flush a batch once its time period has elapsed - even if no
+     * further elements arrive. See {@link ReactiveSeq#groupedBySizeAndTime(int, long, TimeUnit, HashedWheelTimer)}
+     *
+     * @param time Time period to build a single batch in
+     * @param t time unit for batch
+     * @param timer Timer used to flush batches
+     * @return ReactiveSeq batched by time
+     */
+    default ReactiveSeq<Vector<T>> groupedByTime(long time, TimeUnit t, HashedWheelTimer timer){
+        return groupedBySizeAndTime(Integer.MAX_VALUE,time,t,timer);
+    }
+
+    /**
+     * Sliding time windows : every slide period, emit the elements that arrived during the last window period (if any)
+     *
+     * <pre>
+     * {@code
+     *  //the last 10 seconds of readings, every second
+     *  readings.slidingByTime(10,1,TimeUnit.SECONDS)
+     *          .map(w->w.foldLeft(0d,(a,b)->a+b)/w.size());
+     * }
+     * </pre>
+     *
+     * @param window Duration of each window
+     * @param slide Period between windows
+     * @param t time unit for window and slide
+     * @return ReactiveSeq of sliding time windows
+     */
+    default ReactiveSeq<Vector<T>> slidingByTime(long window, long slide, TimeUnit t){
+        return slidingByTime(window,slide,t,HashedWheelTimer.shared());
+    }
+
+    /**
+     * Sliding time windows driven by the supplied timer, see {@link ReactiveSeq#slidingByTime(long, long, TimeUnit)}
+     *
+     * @param window Duration of each window
+     * @param slide Period between windows
+     * @param t time unit for window and slide
+     * @param timer Timer used to emit windows
+     * @return ReactiveSeq of sliding time windows
+     */
+    default ReactiveSeq<Vector<T>> slidingByTime(long window, long slide, TimeUnit t, HashedWheelTimer timer){
+        return Spouts.fromIterable(this).slidingByTime(window,slide,t,timer);
+    }
+
+    /**
+     * Session windows : group elements until no element has arrived for the gap period
+     *
+     * <pre>
+     * {@code
+     *  clicks.groupedBySession(30,TimeUnit.SECONDS)
+     *        .forEach(this::recordSession);
+     * }
+     * </pre>
+     *
+     * @param gap Period of inactivity that closes a session
+     * @param t time unit for the gap
+     * @return ReactiveSeq of session windows
+     */
+    default ReactiveSeq<Vector<T>> groupedBySession(long gap, TimeUnit t){
+        return groupedBySession(Integer.MAX_VALUE,gap,t,HashedWheelTimer.shared());
+    }
+
+    /**
+     * Session windows of at most size elements, driven by the supplied timer
+     * see {@link ReactiveSeq#groupedBySession(long, TimeUnit)}
+     *
+     * @param size Max size of a session window
+     * @param gap Period of inactivity that closes a session
+     * @param t time unit for the gap
+     * @param timer Timer used to close sessions
+     * @return ReactiveSeq of session windows
+     */
+    default ReactiveSeq<Vector<T>> groupedBySession(int size, long gap, TimeUnit t, HashedWheelTimer timer){
+        return Spouts.fromIterable(this).groupedBySession(size,gap,t,timer);
+    }
+
     /**
      * Batch elements in a Stream by size into a toX created by the
      * supplied factory
@@ -3548,6 +3694,72 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
 
     <U> ReactiveSeq<T> distinct(Function<? super T, ? extends U> keyExtractor);
 
+    /**
+     * Approximately distinct elements in bounded memory. Seen elements are recorded in a Bloom filter rather than a
+     * Set, a new element is dropped with probability at most fpp when the filter mistakes it for one already seen.
+     * Duplicates are always removed. The filter grows in steps as more distinct elements pass, needing around
+     * 1.44 * log2(1 / fpp) bits per distinct element.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1,2,2,3,1).distinctApprox(0.01)
+     *  //[1,2,3] (with probability > 0.99)
+     * }
+     * </pre>
+     *
+     * @param fpp Probability that a new element is dropped
+     * @return Stream with duplicate elements removed
+     */
+    default ReactiveSeq<T> distinctApprox(double fpp){
+        Supplier<Predicate<? super T>> predicate = DistinctPredicates.approximate(fpp);
+        return defer(()->filter(predicate.get()));
+    }
+
+    /**
+     * Approximately distinct elements in fixed memory, a single Bloom filter sized for expectedDistinct elements. Once
+     * more distinct elements than expected have passed the probability of dropping a new element rises above fpp.
+     *
+     * @param expectedDistinct Number of distinct elements the filter is sized for
+     * @param fpp Probability that a new element is dropped, up to expectedDistinct elements
+     * @return Stream with duplicate elements removed
+     */
+    default ReactiveSeq<T> distinctApprox(long expectedDistinct, double fpp){
+        Supplier<Predicate<? super T>> predicate = DistinctPredicates.approximate(expectedDistinct,fpp);
+        return defer(()->filter(predicate.get()));
+    }
+
+    /**
+     * Remove elements equal to one of the last size distinct elements seen, older elements are forgotten and may be
+     * emitted again.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1,2,1,3,4,1).distinctWindow(2)
+     *  //[1,2,3,4,1]
+     * }
+     * </pre>
+     *
+     * @param size Number of recent distinct elements to remember
+     * @return Stream with recent duplicates removed
+     */
+    default ReactiveSeq<T> distinctWindow(int size){
+        Supplier<Predicate<? super T>> predicate = DistinctPredicates.window(size);
+        return defer(()->filter(predicate.get()));
+    }
+
+    /**
+     * Remove elements equal to an element emitted within the last time period, after which the element can be
+     * emitted again.
+     *
+     * @param time Length of the period
+     * @param unit Time unit of the period
+     * @return Stream with duplicates within the period removed
+     */
+    default ReactiveSeq<T> distinct(long time, TimeUnit unit){
+        Supplier<Predicate<? super T>> predicate = DistinctPredicates.within(time,unit);
+        return defer(()->filter(predicate.get()));
+    }
+
 
 
 
@@ -3581,7 +3793,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     ReactiveSeq<T> xPer(int x, long time, TimeUnit t);
 
     /**
-     * emit one element per time period
+     * emit one element per time period, the first element is emitted one time period after the Stream starts
      *
      * <pre>
      * {@code
@@ -3663,6 +3875,56 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
      */
     ReactiveSeq<T> jitter(long maxJitterPeriodInNanos);
 
+    /**
+     * Configure the WaitStrategy used when a thread consuming this Stream (e.g. via iterator, stream or zip) must wait
+     * for a value to be pushed from another thread. By default {@link WaitStrategy#global()} is used.
+     *
+     * Pull based Streams never wait for values from other threads, and are returned unchanged.
+     *
+     * <pre>
+     * {@code
+     *  Spouts.async(ReactiveSeq.of(1,2,3), executor)
+     *        .withWaitStrategy(WaitStrategy.noWaitRetry())
+     *        .iterator();
+     * }
+     * </pre>
+     *
+     * @param waitStrategy WaitStrategy to use
+     * @return ReactiveSeq that waits using the provided WaitStrategy
+     */
+    default ReactiveSeq<T> withWaitStrategy(WaitStrategy<?> waitStrategy) {
+        return this;
+    }
+
+    /**
+     * Emit elements at the rate allowed by a (potentially shared) RateLimiter. A RateLimiter shared across Streams
+     * enforces a combined rate over all of them.
+     *
+     * Push based Streams (e.g. Spouts) wait for permits on a timer without blocking the emitting thread, pull based
+     * Streams park the consuming thread until a permit is available.
+     *
+     * <pre>
+     * {@code
+     *  RateLimiter limiter = RateLimiter.of(10, 1, TimeUnit.SECONDS);
+     *  Spouts.of(1, 2, 3).xPer(limiter);
+     *  ReactiveSeq.of(4, 5, 6).xPer(limiter);
+     *
+     *  //at most 10 elements per second across both Streams
+     * }
+     * </pre>
+     *
+     * @param limiter RateLimiter to acquire a permit from for each element
+     * @return ReactiveSeq that emits elements at the rate allowed by the RateLimiter
+     */
+    default ReactiveSeq<T> xPer(RateLimiter limiter) {
+        return map(a -> {
+            long wait = limiter.reserve();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            return a;
+        });
+    }
+
 
     /**
      * Provide a simpler method to handle stream or async operations.
@@ -3802,6 +4064,55 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return (ReactiveSeq) ReactiveTransformable.super.retry(fn, retries, delay, timeUnit);
     }
 
+    /**
+     * Retry a transformation if it fails. Retries up to <b>retries</b>
+     * times, with an doubling backoff period starting @ <b>delay</b> TimeUnits delay before
+     * retry. Each backoff period is randomised by up to +/- jitter (as a fraction of the period), so that
+     * failures across many Streams do not retry in lockstep.
+     *
+     * Push based Streams (e.g. Spouts) schedule retries on a timer without blocking the emitting thread.
+     *
+     * <pre>
+     * {@code
+     *
+     * 		String result = Spouts.of( 1,  2, 3)
+     * 				.retry(this::makeIOCall, 7, 2, TimeUnit.SECONDS, 0.5)
+     * 				.firstValue();
+     *
+     * 		//result = [service call result]
+     * }
+     * </pre>
+     *
+     * @param fn
+     *            Function to retry if fails
+     * @param retries
+     *            Number of retries
+     * @param delay
+     *            Delay in TimeUnits
+     * @param timeUnit
+     *            TimeUnit to use for delay
+     * @param jitter
+     *            Fraction (between 0 and 1) each backoff period may be randomised by
+     */
+    default <R> ReactiveSeq<R> retry(final Function<? super T, ? extends R> fn, final int retries, final long delay,
+                                     final TimeUnit timeUnit, final double jitter) {
+        if (jitter < 0 || jitter > 1)
+            throw new IllegalArgumentException("Jitter must be between 0 and 1 " + jitter);
+        return map(t -> {
+            long sleep = timeUnit.toNanos(delay);
+            for (int count = retries; ; count--) {
+                try {
+                    return fn.apply(t);
+                } catch (final Throwable e) {
+                    if (count <= 0)
+                        throw ExceptionSoftener.throwSoftenedException(e);
+                    LockSupport.parkNanos((long) (sleep * (1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1))));
+                    sleep = sleep * 2;
+                }
+            }
+        });
+    }
+
     /**
      * Remove first occurance of the specified element from the ReactiveSeq
      *
@@ -4573,7 +4884,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
      * @return List of Streams that recieve data from this Stream
      */
     default Seq<ReactiveSeq<T>> multicast(int num){
-        return Streams.toBufferingCopier(() -> iterator(),num,()->new ArrayDeque<T>(100))
+        return Streams.toBufferingCopier(() -> iterator(),num)
                 .map(ReactiveSeq::fromIterable);
     }
     default <R1,R2,R3> ReactiveSeq<R3> fanOutZipIn(Function<? super ReactiveSeq<T>, ? extends ReactiveSeq<? extends R1>> path1,
@@ -4589,7 +4900,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
                                                    Function<? super Stream<T>, ? extends Stream<? extends R2>> path2,
                                                    BiFunction<? super R1, ? super R2, ? extends R3> zipFn){
         return defer(()->{
-            Tuple2<ReactiveSeq<T>, ReactiveSeq<T>> d = duplicate(()->new ArrayDeque<T>(100));
+            Tuple2<ReactiveSeq<T>, ReactiveSeq<T>> d = duplicate();
             Tuple2<? extends Stream<? extends R1>, ? extends Stream<? extends R2>> d2 = d.map1(path1).map2(path2);
 
             ReactiveSeq<R1> res1 = d._1().parallel(fj, path1);
@@ -4613,7 +4924,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
                                       Function<? super Stream<T>, ? extends Stream<? extends R>> path2){
 
         return defer(()-> {
-            Tuple2<ReactiveSeq<T>, ReactiveSeq<T>> d = duplicate(() -> new ArrayDeque<T>(100));
+            Tuple2<ReactiveSeq<T>, ReactiveSeq<T>> d = duplicate();
             Tuple2<? extends Stream<? extends R>, ? extends Stream<? extends R>> d2 = d.map1(path1).map2(path2);
 
             ReactiveSeq<R> res1 = d._1().parallel(fj, path1);
@@ -4645,7 +4956,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
 
 
         return defer(()-> {
-            Tuple3<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> d = triplicate(() -> new ArrayDeque<T>(100));
+            Tuple3<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> d = triplicate();
             val res = d.map1(path1).map2(path2).map3(path3);
 
             ReactiveSeq<R> res1 = d._1().parallel(fj, path1);
@@ -4663,7 +4974,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
                                                       Function3<? super R1, ? super R2, ? super R3, ? extends R4> zipFn){
 
         return defer(()-> {
-            Tuple3<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> d = triplicate(() -> new ArrayDeque<T>(100));
+            Tuple3<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> d = triplicate();
             ReactiveSeq<R1> res1 = d._1().parallel(fj, path1);
             ReactiveSeq<R2> res2 = d._2().parallel(fj, path2);
             ReactiveSeq<R3> res3 = d._3().parallel(fj, path3);
@@ -4705,7 +5016,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
                                       Function<? super Stream<T>, ? extends Stream<? extends R>> path4){
 
         return defer(()-> {
-            val d = quadruplicate(() -> new ArrayDeque<T>(100));
+            val d = quadruplicate();
             ReactiveSeq<R> res1 = d._1().parallel(fj, path1);
             ReactiveSeq<R> res2 = d._2().parallel(fj, path2);
             ReactiveSeq<R> res3 = d._3().parallel(fj, path3);
@@ -4739,7 +5050,7 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
                                                          Function4<? super R1, ? super R2, ? super R3, ? super R4, ? extends R5> zipFn){
 
         return defer(()-> {
-            val d = quadruplicate(() -> new ArrayDeque<T>(100));
+            val d = quadruplicate();
 
             ReactiveSeq<R1> res1 = d._1().parallel(fj, path1);
             ReactiveSeq<R2> res2 = d._2().parallel(fj, path2);
@@ -0,0 +1,607 @@
+package cyclops.reactive;
+
+import com.oath.cyclops.util.ExceptionSoftener;
+import cyclops.control.Future;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of reusable resources (connections, sockets, buffers), for use with {@link Managed#pooled(ResourcePool)}.
+ *
+ * Idle resources are held in a lock-free deque and reused most recently returned first, so that resources which are
+ * no longer needed age out and can be evicted. Resources are validated before they are borrowed, and once the pool
+ * has reached its maximum size, borrowers queue (without blocking a thread in the asynchronous case) until a resource is
+ * released or the acquisition timeout passes.
+ *
+ * <pre>
+ * {@code
+ *   ResourcePool<Connection> pool = ResourcePool.<Connection>builder(this::connect, this::close)
+ *                                               .maximumSize(20)
+ *                                               .validateOnBorrow(c -> isValid(c))
+ *                                               .expireAfterIdle(5, TimeUnit.MINUTES)
+ *                                               .acquireTimeout(2, TimeUnit.SECONDS)
+ *                                               .build();
+ *
+ *   Try<Integer,Throwable> rows = Managed.pooled(pool)
+ *                                        .map(this::deleteExpired)
+ *                                        .run();
+ *   long waiting = pool.pendingCount();
+ * }
+ * </pre>
+ *
+ * @param <T> Type of pooled resource
+ */
+public final class ResourcePool<T> implements AutoCloseable {
+
+    private final Supplier<? extends T> create;
+    private final Consumer<? super T> destroy;
+    private final Predicate<? super T> validate;
+    private final int maximumSize;
+    private final long expireAfterIdleNanos;
+    private final long acquireTimeoutNanos;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier ticker;
+    private final ScheduledFuture<?> eviction;
+
+    private final ConcurrentLinkedDeque<Idle<T>> idle = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedQueue<Waiter<T>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicInteger idleCount = new AtomicInteger(0);
+    private final AtomicInteger borrowed = new AtomicInteger(0);
+    private final AtomicInteger pending = new AtomicInteger(0);
+    private volatile boolean closed = false;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong(0);
+
+    private ResourcePool(Builder<T> builder) {
+        create = builder.create;
+        destroy = builder.destroy;
+        validate = builder.validate;
+        maximumSize = builder.maximumSize;
+        expireAfterIdleNanos = builder.expireAfterIdleNanos;
+        acquireTimeoutNanos = builder.acquireTimeoutNanos;
+        executor = builder.executor;
+        scheduler = builder.scheduler != null ? builder.scheduler : DefaultScheduler.INSTANCE;
+        ticker = builder.ticker;
+        eviction = expireAfterIdleNanos > 0
+                        ? scheduler.scheduleWithFixedDelay(this::evictIdle, expireAfterIdleNanos, expireAfterIdleNanos, TimeUnit.NANOSECONDS)
+                        : null;
+    }
+
+    /**
+     * @param create Creates a new resource
+     * @param destroy Releases a resource that is evicted, fails validation or is returned to a closed pool
+     * @param maximumSize Maximum number of resources (borrowed and idle)
+     * @return Pool with no validation, idle expiry or acquisition timeout
+     */
+    public static <T> ResourcePool<T> of(Supplier<? extends T> create, Consumer<? super T> destroy, int maximumSize) {
+        return ResourcePool.<T>builder(create, destroy).maximumSize(maximumSize).build();
+    }
+
+    public static <T> Builder<T> builder(Supplier<? extends T> create, Consumer<? super T> destroy) {
+        return new Builder<>(create, destroy);
+    }
+
+    /**
+     * Borrow a resource, blocking the calling thread while the pool is exhausted. A new resource is created on the
+     * calling thread if there is no idle resource and the pool is below its maximum size.
+     *
+     * @return Borrowed resource, to be returned via {@link #release(Object)}
+     * @throws TimeoutException (softened) if no resource became available within the acquisition timeout
+     */
+    public T borrow() {
+        checkOpen();
+        long start = ticker.getAsLong();
+        T resource = pollIdle();
+        if (resource == null && reserve())
+            resource = createReserved();
+        if (resource != null) {
+            onBorrow(start);
+            return resource;
+        }
+        Waiter<T> waiter = enqueue(new Waiter<>(start, false));
+        try {
+            if (acquireTimeoutNanos > 0)
+                return waiter.future.get(Math.max(0, acquireTimeoutNanos - (ticker.getAsLong() - start)), TimeUnit.NANOSECONDS);
+            return waiter.future.get();
+        } catch (TimeoutException e) {
+            if (timedOut(waiter))
+                throw ExceptionSoftener.throwSoftenedException(e);
+            return waiter.future.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (cancelled(waiter, e))
+                throw ExceptionSoftener.throwSoftenedException(e);
+            return waiter.future.join();
+        } catch (ExecutionException e) {
+            throw ExceptionSoftener.throwSoftenedException(e.getCause());
+        }
+    }
+
+    /**
+     * Borrow a resource without blocking the calling thread. New resources are created on the pool's Executor, and
+     * while the pool is exhausted the returned Future completes once a resource is released (or fails with a
+     * TimeoutException once the acquisition timeout has passed).
+     *
+     * @return Future borrowed resource, to be returned via {@link #release(Object)}
+     */
+    public Future<T> acquire() {
+        if (closed)
+            return Future.ofError(new IllegalStateException("ResourcePool is closed"));
+        long start = ticker.getAsLong();
+        T resource = pollIdle();
+        if (resource != null) {
+            onBorrow(start);
+            return Future.ofResult(resource);
+        }
+        if (reserve()) {
+            Waiter<T> waiter = new Waiter<>(start, true);
+            executor.execute(() -> createFor(waiter));
+            return Future.of(waiter.future);
+        }
+        Waiter<T> waiter = enqueue(new Waiter<>(start, true));
+        if (acquireTimeoutNanos > 0 && !waiter.future.isDone()) {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> timedOut(waiter), acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            waiter.future.whenComplete((r, e) -> timeout.cancel(false));
+        }
+        return Future.of(waiter.future);
+    }
+
+    /**
+     * @return IO that borrows a resource (asynchronously) each time it is run
+     */
+    public IO<T> io() {
+        return IO.fromPublisher(Spouts.defer(this::acquire));
+    }
+
+    /**
+     * Return a borrowed resource to the pool, handing it directly to the longest waiting borrower if there is one
+     *
+     * @param resource Resource previously obtained from this pool
+     */
+    public void release(T resource) {
+        borrowed.decrementAndGet();
+        if (closed) {
+            destroy(resource);
+            return;
+        }
+        returnIdle(resource);
+        evictExpiredTail(ticker.getAsLong());
+        dispatch();
+    }
+
+    /**
+     * Destroy a borrowed resource that is known to be broken, rather than returning it to the pool
+     *
+     * @param resource Resource previously obtained from this pool
+     */
+    public void invalidate(T resource) {
+        borrowed.decrementAndGet();
+        destroy(resource);
+        dispatch();
+    }
+
+    /**
+     * Destroy resources that have been idle for longer than the configured expiry. Called periodically by the pool
+     * when an expiry is set, and on release.
+     *
+     * @return Number of resources evicted
+     */
+    public int evictIdle() {
+        int evicted = evictExpiredTail(ticker.getAsLong());
+        if (evicted > 0)
+            dispatch();
+        return evicted;
+    }
+
+    /**
+     * Close the pool : idle resources are destroyed, borrowed resources are destroyed as they are released and queued
+     * or subsequent borrowers fail with an IllegalStateException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (eviction != null)
+            eviction.cancel(false);
+        Idle<T> next;
+        while ((next = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            destroy(next.resource);
+        }
+        Waiter<T> waiter;
+        while ((waiter = pollWaiter()) != null)
+            waiter.future.completeExceptionally(new IllegalStateException("ResourcePool is closed"));
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return Number of resources currently allocated, borrowed or idle
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public int borrowedCount() {
+        return borrowed.get();
+    }
+
+    public int idleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return Number of borrowers waiting for a resource
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * @return Total number of successful borrows
+     */
+    public long acquiredCount() {
+        return acquired.sum();
+    }
+
+    public long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long createdCount() {
+        return created.sum();
+    }
+
+    public long destroyedCount() {
+        return destroyed.sum();
+    }
+
+    /**
+     * @return Total time successful borrowers spent waiting for a resource
+     */
+    public long totalWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Longest time a successful borrower spent waiting for a resource
+     */
+    public long maxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ResourcePool[size=" + size() + ", borrowed=" + borrowedCount() + ", idle=" + idleCount()
+                + ", pending=" + pendingCount() + ", max=" + maximumSize + "]";
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("ResourcePool is closed");
+    }
+
+    /*
+     * Most recently returned valid, unexpired idle resource (or null), expired or invalid resources are destroyed
+     */
+    private T pollIdle() {
+        Idle<T> next;
+        while ((next = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (expired(next, ticker.getAsLong()) || !valid(next.resource)) {
+                destroy(next.resource);
+                continue;
+            }
+            return next.resource;
+        }
+        return null;
+    }
+
+    private void returnIdle(T resource) {
+        idle.offerFirst(new Idle<>(resource, ticker.getAsLong()));
+        idleCount.incrementAndGet();
+        if (closed)
+            close();
+    }
+
+    /*
+     * Idle resources are returned at the head, so the longest idle are at the tail
+     */
+    private int evictExpiredTail(long now) {
+        if (expireAfterIdleNanos <= 0)
+            return 0;
+        int evicted = 0;
+        Idle<T> last;
+        while ((last = idle.peekLast()) != null && expired(last, now)) {
+            if (idle.removeLastOccurrence(last)) {
+                idleCount.decrementAndGet();
+                destroy(last.resource);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private boolean expired(Idle<T> entry, long now) {
+        return expireAfterIdleNanos > 0 && now - entry.returned >= expireAfterIdleNanos;
+    }
+
+    private boolean valid(T resource) {
+        try {
+            return validate.test(resource);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maximumSize || closed)
+                return false;
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private T createReserved() {
+        try {
+            T resource = create.get();
+            created.increment();
+            return resource;
+        } catch (Throwable t) {
+            size.decrementAndGet();
+            dispatch();
+            throw ExceptionSoftener.throwSoftenedException(t);
+        }
+    }
+
+    private void destroy(T resource) {
+        size.decrementAndGet();
+        destroyed.increment();
+        try {
+            destroy.accept(resource);
+        } catch (Throwable t) {
+            //the resource is discarded either way
+        }
+    }
+
+    private void onBorrow(long start) {
+        borrowed.incrementAndGet();
+        onAcquired(start);
+    }
+
+    private void onAcquired(long start) {
+        acquired.increment();
+        long waited = ticker.getAsLong() - start;
+        waitNanos.add(waited);
+        long max;
+        while (waited > (max = maxWaitNanos.get()) && !maxWaitNanos.compareAndSet(max, waited)) {
+        }
+    }
+
+    private Waiter<T> enqueue(Waiter<T> waiter) {
+        pending.incrementAndGet();
+        waiters.offer(waiter);
+        dispatch();
+        return waiter;
+    }
+
+    private Waiter<T> pollWaiter() {
+        Waiter<T> waiter = waiters.poll();
+        if (waiter != null)
+            pending.decrementAndGet();
+        return waiter;
+    }
+
+    private boolean timedOut(Waiter<T> waiter) {
+        if (!waiter.future.completeExceptionally(new TimeoutException("No resource available within " + acquireTimeoutNanos + "ns")))
+            return false;
+        timeouts.increment();
+        if (waiters.remove(waiter))
+            pending.decrementAndGet();
+        return true;
+    }
+
+    private boolean cancelled(Waiter<T> waiter, Throwable cause) {
+        if (!waiter.future.completeExceptionally(cause))
+            return false;
+        if (waiters.remove(waiter))
+            pending.decrementAndGet();
+        return true;
+    }
+
+    /*
+     * Serve queued borrowers from the idle resources, or from new resources while below the maximum size. Called after
+     * every change that could free a resource or capacity, so a borrower that queues either finds it here or is
+     * served by a later call.
+     */
+    private void dispatch() {
+        while (!waiters.isEmpty()) {
+            T resource = pollIdle();
+            if (resource == null && !reserve())
+                return;
+            Waiter<T> waiter = pollWaiter();
+            if (waiter == null) {
+                if (resource == null)
+                    size.decrementAndGet();
+                else
+                    returnIdle(resource);
+                continue;
+            }
+            if (resource == null) {
+                executor.execute(() -> createFor(waiter));
+            } else if (waiter.async) {
+                T handOff = resource;
+                executor.execute(() -> complete(waiter, handOff));
+            } else {
+                complete(waiter, resource);
+            }
+        }
+    }
+
+    private void createFor(Waiter<T> waiter) {
+        T resource;
+        try {
+            resource = create.get();
+            created.increment();
+        } catch (Throwable t) {
+            size.decrementAndGet();
+            waiter.future.completeExceptionally(t);
+            dispatch();
+            return;
+        }
+        complete(waiter, resource);
+    }
+
+    private void complete(Waiter<T> waiter, T resource) {
+        borrowed.incrementAndGet(); //before completing, as completion may run the borrower (and its release)
+        if (waiter.future.complete(resource)) {
+            onAcquired(waiter.start);
+            return;
+        }
+        //timed out or cancelled in the meantime
+        borrowed.decrementAndGet();
+        if (closed) {
+            destroy(resource);
+            return;
+        }
+        returnIdle(resource);
+        dispatch();
+    }
+
+    public static final class Builder<T> {
+        private final Supplier<? extends T> create;
+        private final Consumer<? super T> destroy;
+        private Predicate<? super T> validate = r -> true;
+        private int maximumSize = 10;
+        private long expireAfterIdleNanos = 0;
+        private long acquireTimeoutNanos = 0;
+        private Executor executor = ForkJoinPool.commonPool();
+        private ScheduledExecutorService scheduler;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(Supplier<? extends T> create, Consumer<? super T> destroy) {
+            this.create = create;
+            this.destroy = destroy;
+        }
+
+        public Builder<T> maximumSize(int maximumSize) {
+            if (maximumSize < 1)
+                throw new IllegalArgumentException("maximumSize must be at least 1 but was " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Idle resources that fail the supplied check are destroyed rather than borrowed
+         */
+        public Builder<T> validateOnBorrow(Predicate<? super T> validate) {
+            this.validate = validate;
+            return this;
+        }
+
+        /**
+         * Resources idle for longer than the supplied duration are destroyed, by a periodic task on the pool's
+         * scheduler as well as when they are next encountered
+         */
+        public Builder<T> expireAfterIdle(long duration, TimeUnit unit) {
+            this.expireAfterIdleNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Borrowers waiting longer than the supplied duration for a resource fail with a TimeoutException, by default
+         * borrowers wait indefinitely
+         */
+        public Builder<T> acquireTimeout(long duration, TimeUnit unit) {
+            this.acquireTimeoutNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Executor used to create resources and complete asynchronous borrowers (defaults to the common ForkJoinPool)
+         */
+        public Builder<T> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Scheduler for acquisition timeouts and idle eviction (defaults to a single shared daemon thread)
+         */
+        public Builder<T> scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        Builder<T> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public ResourcePool<T> build() {
+            return new ResourcePool<>(this);
+        }
+    }
+
+    private static final class Idle<T> {
+        final T resource;
+        final long returned;
+
+        Idle(T resource, long returned) {
+            this.resource = resource;
+            this.returned = returned;
+        }
+    }
+
+    private static final class Waiter<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long start;
+        final boolean async;
+
+        Waiter(long start, boolean async) {
+            this.start = start;
+            this.async = async;
+        }
+    }
+
+    private static final class DefaultScheduler {
+        static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "cyclops-resource-pool");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
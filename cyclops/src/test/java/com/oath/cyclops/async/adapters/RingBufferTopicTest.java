@@ -0,0 +1,152 @@
+package com.oath.cyclops.async.adapters;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.oath.cyclops.async.adapters.RingBufferTopic.OverflowPolicy;
+import com.oath.cyclops.types.futurestream.Continuation;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+public class RingBufferTopicTest {
+
+    @Test
+    public void multipleSubscribersGetSameMessages() {
+        RingBufferTopic<String> topic = new RingBufferTopic<>(8, OverflowPolicy.BLOCK);
+
+        Stream<String> data1 = topic.stream();
+        Stream<String> data2 = topic.stream();
+        topic.fromStream(Stream.of("hello", "world"));
+
+        assertThat(data1.limit(1).findFirst().get(), is("hello"));
+        assertThat(data2.limit(2).reduce("", (acc, next) -> acc + ' ' + next), is(" hello world"));
+    }
+
+    @Test
+    public void firstSubscriberReceivesEarlierMessages() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(8, OverflowPolicy.BLOCK);
+        topic.offer(1);
+        ReactiveSeq<Integer> first = topic.stream();
+        ReactiveSeq<Integer> second = topic.stream();
+        topic.offer(2);
+        topic.close();
+
+        assertThat(first.toList(), equalTo(ReactiveSeq.of(1, 2).toList()));
+        assertThat(second.toList(), equalTo(ReactiveSeq.of(2).toList()));
+    }
+
+    @Test
+    public void blockGatesOnSlowestSubscriber() throws Exception {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(4, OverflowPolicy.BLOCK);
+        ReactiveSeq<Integer> fast = topic.stream();
+        ReactiveSeq<Integer> slow = topic.stream();
+
+        CompletableFuture<List<Integer>> fastResult = CompletableFuture.supplyAsync(() -> fast.toList());
+        CompletableFuture<List<Integer>> slowResult = CompletableFuture.supplyAsync(() -> slow.peek(i -> {
+            if (i % 100 == 0)
+                Thread.yield();
+        }).toList());
+        IntStream.range(0, 10_000).forEach(topic::offer);
+        topic.close();
+
+        List<Integer> expected = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        assertThat(fastResult.get(), equalTo(expected));
+        assertThat(slowResult.get(), equalTo(expected));
+    }
+
+    @Test
+    public void dropRejectsWhenFull() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(2, OverflowPolicy.DROP);
+        ReactiveSeq<Integer> stream = topic.stream();
+        assertThat(topic.offer(1), is(true));
+        assertThat(topic.offer(2), is(true));
+        assertThat(topic.offer(3), is(false));
+        topic.close();
+        assertThat(stream.toList(), equalTo(ReactiveSeq.of(1, 2).toList()));
+    }
+
+    @Test
+    public void overwriteSkipsLappedSubscribers() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(4, OverflowPolicy.OVERWRITE);
+        ReactiveSeq<Integer> stream = topic.stream();
+        IntStream.range(0, 10).forEach(topic::offer);
+        topic.close();
+        assertThat(stream.toList(), equalTo(ReactiveSeq.of(6, 7, 8, 9).toList()));
+    }
+
+    @Test
+    public void disconnectReleasesPublishers() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(2, OverflowPolicy.DROP);
+        ReactiveSeq<Integer> stream = topic.stream();
+        topic.offer(1);
+        topic.offer(2);
+        assertThat(topic.offer(3), is(false));
+        topic.disconnect(stream);
+        assertThat(topic.offer(3), is(true));
+    }
+
+    @Test
+    public void offerAfterClose() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(2, OverflowPolicy.BLOCK);
+        topic.close();
+        assertThat(topic.offer(1), is(false));
+        assertThat(topic.capacity(), is(2));
+    }
+
+    @Test
+    public void continuationDrivesIdleSubscriber() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(8, OverflowPolicy.BLOCK);
+        AtomicInteger count = new AtomicInteger();
+        Continuation[] cont = new Continuation[1];
+        cont[0] = new Continuation(() -> {
+            int next = count.incrementAndGet();
+            if (next <= 3)
+                topic.offer(next);
+            else
+                topic.close();
+            return cont[0];
+        });
+        topic.addContinuation(cont[0]);
+        assertThat(topic.stream().toList(), equalTo(ReactiveSeq.of(1, 2, 3).toList()));
+    }
+
+    @Test
+    public void sizeSignalTracksUnreadMessages() {
+        RingBufferTopic<Integer> topic = new RingBufferTopic<>(8, OverflowPolicy.BLOCK);
+        Signal<Integer> signal = Signal.queueBackedSignal();
+        topic.setSizeSignal(0, signal);
+        assertThat(topic.getSizeSignal(0), is(signal));
+
+        ReactiveSeq<Integer> stream = topic.stream();
+        topic.offer(1);
+        topic.offer(2);
+        assertThat(stream.limit(1).toList(), equalTo(ReactiveSeq.of(1).toList()));
+        assertThat(signal.getContinuous().stream().limit(3).toList(), equalTo(ReactiveSeq.of(1, 2, 1).toList()));
+    }
+
+    @Test
+    public void acceptedOffersAreReadWhenClosedConcurrently() throws Exception {
+        for (int run = 0; run < 200; run++) {
+            RingBufferTopic<Integer> topic = new RingBufferTopic<>(1024, OverflowPolicy.BLOCK);
+            ReactiveSeq<Integer> stream = topic.stream();
+            CompletableFuture<Integer> accepted = CompletableFuture.supplyAsync(() -> {
+                int count = 0;
+                while (topic.offer(count))
+                    count++;
+                return count;
+            });
+            CompletableFuture<List<Integer>> read = CompletableFuture.supplyAsync(() -> stream.toList());
+            Thread.yield();
+            topic.close();
+            assertThat(read.get().size(), equalTo(accepted.get()));
+        }
+    }
+}
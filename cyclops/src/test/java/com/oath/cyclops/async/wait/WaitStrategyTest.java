@@ -0,0 +1,161 @@
+package com.oath.cyclops.async.wait;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class WaitStrategyTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void teardown() {
+        WaitStrategy.setGlobal(ExponentialBackofWaitStrategy.DEFAULT_IDLE);
+        executor.shutdownNow();
+    }
+
+    private static <T> WaitStrategy<T> counting(AtomicInteger idles) {
+        return new YieldWait<T>() {
+            @Override
+            public void idle(int iteration) {
+                idles.incrementAndGet();
+                super.idle(iteration);
+            }
+        };
+    }
+
+    @Test
+    public void backoffParkPeriodsDoubleUpToMax() {
+        ExponentialBackofWaitStrategy<Object> strategy = new ExponentialBackofWaitStrategy<>(0, 0, 1000, 8000);
+        assertThat(strategy.parkNanos(0), equalTo(1000l));
+        assertThat(strategy.parkNanos(1), equalTo(2000l));
+        assertThat(strategy.parkNanos(3), equalTo(8000l));
+        assertThat(strategy.parkNanos(4), equalTo(8000l));
+        assertThat(strategy.parkNanos(Integer.MAX_VALUE), equalTo(8000l));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backoffRejectsMaxBelowMin() {
+        WaitStrategy.exponentialBackOff(1, 1, 1000, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parkingRejectsNonPositive() {
+        WaitStrategy.parkWait(0);
+    }
+
+    @Test
+    public void awaitIdlesUntilConditionHolds() {
+        for (WaitStrategy<?> strategy : Arrays.asList(WaitStrategy.noWaitRetry(), WaitStrategy.yieldWait(),
+                                                      WaitStrategy.spinWait(), WaitStrategy.direct(),
+                                                      WaitStrategy.parkWait(1000),
+                                                      WaitStrategy.exponentialBackOff(100, 10, 1000, 8000))) {
+            AtomicInteger checks = new AtomicInteger(0);
+            strategy.await(() -> checks.incrementAndGet() == 300);
+            assertThat(checks.get(), equalTo(300));
+        }
+    }
+
+    @Test
+    public void queueTakeUsesIdle() throws InterruptedException {
+        AtomicInteger idles = new AtomicInteger(0);
+        AtomicInteger attempts = new AtomicInteger(0);
+        WaitStrategy<Integer> strategy = WaitStrategy.exponentialBackOff(2, 2, 1000, 8000);
+        assertThat(strategy.take(() -> attempts.incrementAndGet() == 10 ? 10 : null), equalTo(10));
+        assertTrue(strategy.offer(() -> attempts.incrementAndGet() == 15));
+        assertThat(WaitStrategyTest.<Integer>counting(idles).take(() -> idles.get() == 3 ? 3 : null), equalTo(3));
+    }
+
+    @Test
+    public void signalWakesParkedWaiter() throws InterruptedException {
+        IdleSignal signal = new IdleSignal();
+        AtomicBoolean ready = new AtomicBoolean(false);
+        AtomicBoolean woken = new AtomicBoolean(false);
+        Thread waiter = new Thread(() -> {
+            signal.await(ready::get, WaitStrategy.parkWait(TimeUnit.SECONDS.toNanos(30)));
+            woken.set(true);
+        });
+        waiter.start();
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        ready.set(true);
+        signal.signal();
+        waiter.join(5000);
+        assertTrue(woken.get());
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(5)));
+    }
+
+    @Test
+    public void globalStrategyIsUsedByDefault() {
+        AtomicInteger idles = new AtomicInteger(0);
+        WaitStrategy.setGlobal(counting(idles));
+        List<Integer> result = new ArrayList<>();
+        Spouts.reactive(ReactiveSeq.range(0, 1000), executor)
+              .iterator()
+              .forEachRemaining(result::add);
+
+        assertThat(result, equalTo(ReactiveSeq.range(0, 1000).toList()));
+        assertTrue(idles.get() > 0);
+    }
+
+    @Test
+    public void perStreamStrategyOverridesGlobal() {
+        AtomicInteger global = new AtomicInteger(0);
+        AtomicInteger local = new AtomicInteger(0);
+        WaitStrategy.setGlobal(counting(global));
+        Iterator<Integer> it = Spouts.reactive(ReactiveSeq.range(0, 1000), executor)
+                                     .withWaitStrategy(counting(local))
+                                     .map(i -> i * 2)
+                                     .iterator();
+        int count = 0;
+        while (it.hasNext()) {
+            assertThat(it.next(), equalTo(count * 2));
+            count++;
+        }
+        assertThat(count, equalTo(1000));
+        assertTrue(local.get() > 0);
+        assertThat(global.get(), equalTo(0));
+    }
+
+    @Test
+    public void zipWithStrategy() {
+        for (WaitStrategy<?> strategy : Arrays.asList(WaitStrategy.noWaitRetry(), WaitStrategy.yieldWait(),
+                                                      WaitStrategy.parkWait(10_000), WaitStrategy.global())) {
+            List<Integer> zipped = Spouts.async(ReactiveSeq.range(0, 500), executor)
+                                         .withWaitStrategy(strategy)
+                                         .zip(Spouts.async(ReactiveSeq.range(0, 500), executor), (a, b) -> a + b)
+                                         .toList();
+            assertThat(zipped, equalTo(ReactiveSeq.range(0, 500).map(i -> i * 2).toList()));
+        }
+    }
+
+    @Test
+    public void countWithStrategy() {
+        assertThat(Spouts.async(ReactiveSeq.range(0, 1000), executor)
+                         .withWaitStrategy(WaitStrategy.yieldWait())
+                         .count(), equalTo(1000l));
+    }
+
+    @Test
+    public void pullStreamsUnchanged() {
+        ReactiveSeq<Integer> seq = ReactiveSeq.of(1, 2, 3);
+        assertTrue(seq.withWaitStrategy(WaitStrategy.noWaitRetry()) == seq);
+    }
+}
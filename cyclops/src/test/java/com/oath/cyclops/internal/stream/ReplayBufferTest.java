@@ -0,0 +1,177 @@
+package com.oath.cyclops.internal.stream;
+
+import cyclops.reactive.ReactiveSeq;
+import cyclops.data.tuple.Tuple2;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class ReplayBufferTest {
+
+    static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    static <T> List<T> drain(Iterator<T> it) {
+        List<T> result = new ArrayList<>();
+        while (it.hasNext())
+            result.add(it.next());
+        return result;
+    }
+
+    static Iterator<Integer> counting(List<Integer> source, AtomicInteger pulled) {
+        Iterator<Integer> it = source.iterator();
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return it.next();
+            }
+        };
+    }
+
+    @Test
+    public void readersSeeEveryElementAndSourceIsPulledOnce() {
+        AtomicInteger pulled = new AtomicInteger();
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(counting(range(1000), pulled), 3,
+                                                          ReplayBuffer.Config.inMemory().withChunkSize(16));
+        Iterator<Integer> a = buffer.reader();
+        Iterator<Integer> b = buffer.reader();
+        Iterator<Integer> c = buffer.reader();
+        List<Integer> interleaved = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            interleaved.add(b.next());
+
+        assertThat(drain(a), equalTo(range(1000)));
+        interleaved.addAll(drain(b));
+        assertThat(interleaved, equalTo(range(1000)));
+        assertThat(drain(c), equalTo(range(1000)));
+        assertThat(pulled.get(), equalTo(1000));
+        assertThat(buffer.inMemory(), equalTo(0L));
+    }
+
+    @Test
+    public void chunksAreReleasedOnceEveryReaderHasPassed() {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(range(1000).iterator(), 2,
+                                                          ReplayBuffer.Config.inMemory().withChunkSize(10));
+        Iterator<Integer> leader = buffer.reader();
+        Iterator<Integer> follower = buffer.reader();
+        for (int i = 0; i < 500; i++)
+            leader.next();
+        assertThat(buffer.inMemory(), equalTo(500L));
+        for (int i = 0; i < 495; i++)
+            follower.next();
+        assertThat(buffer.inMemory(), lessThanOrEqualTo(10L));
+    }
+
+    @Test
+    public void laggingReaderSpillsToDisk() {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(range(10_000).iterator(), 2,
+                                                          ReplayBuffer.Config.spillAfter(100).withChunkSize(10));
+        Iterator<Integer> leader = buffer.reader();
+        Iterator<Integer> lagging = buffer.reader();
+        assertThat(lagging.next(), equalTo(0));
+
+        assertThat(drain(leader), equalTo(range(10_000)));
+        assertThat(buffer.inMemory(), lessThanOrEqualTo(110L));
+        assertThat(buffer.spilledChunks(), greaterThan(0L));
+
+        List<Integer> rest = drain(lagging);
+        assertThat(rest, equalTo(range(10_000).subList(1, 10_000)));
+        assertThat(buffer.inMemory(), equalTo(0L));
+    }
+
+    @Test
+    public void unserializableElementsStayInMemory() {
+        List<Object> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            source.add(new Object());
+        ReplayBuffer<Object> buffer = new ReplayBuffer<>(source.iterator(), 2,
+                                                         ReplayBuffer.Config.spillAfter(10).withChunkSize(5));
+        Iterator<Object> leader = buffer.reader();
+        Iterator<Object> lagging = buffer.reader();
+        assertThat(drain(leader), equalTo(source));
+        assertThat(buffer.spilledChunks(), equalTo(0L));
+        assertThat(buffer.inMemory(), equalTo(1000L));
+        assertThat(drain(lagging), equalTo(source));
+    }
+
+    @Test
+    public void readerCreatedAfterSourceIsExhaustedReplaysFromTheStart() {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(range(100).iterator(), 2);
+        assertThat(drain(buffer.reader()), equalTo(range(100)));
+        assertThat(drain(buffer.reader()), equalTo(range(100)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readersAreBounded() {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(range(10).iterator(), 1);
+        buffer.reader();
+        buffer.reader();
+    }
+
+    @Test
+    public void concurrentReaders() throws Exception {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(range(100_000).iterator(), 2,
+                                                          ReplayBuffer.Config.inMemory().withChunkSize(64));
+        Iterator<Integer> a = buffer.reader();
+        Iterator<Integer> b = buffer.reader();
+        CompletableFuture<List<Integer>> first = CompletableFuture.supplyAsync(() -> drain(a));
+        CompletableFuture<List<Integer>> second = CompletableFuture.supplyAsync(() -> drain(b));
+        assertThat(first.get(), equalTo(range(100_000)));
+        assertThat(second.get(), equalTo(range(100_000)));
+    }
+
+    @Test
+    public void copiesShareAPassUntilIteratedAgain() {
+        AtomicInteger passes = new AtomicInteger();
+        List<Iterable<Integer>> copies = ReplayBuffer.copies(() -> {
+            passes.incrementAndGet();
+            return range(50).iterator();
+        }, 2, ReplayBuffer.Config.defaultConfig());
+
+        assertThat(drain(copies.get(0).iterator()), equalTo(range(50)));
+        assertThat(drain(copies.get(1).iterator()), equalTo(range(50)));
+        assertThat(passes.get(), equalTo(1));
+
+        assertThat(drain(copies.get(0).iterator()), equalTo(range(50)));
+        assertThat(passes.get(), equalTo(2));
+        assertThat(drain(copies.get(1).iterator()), equalTo(range(50)));
+        assertThat(passes.get(), equalTo(2));
+    }
+
+    @Test
+    public void duplicateEvaluatesTheSourceOnce() {
+        AtomicInteger evaluated = new AtomicInteger();
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 100)
+                                                                               .peek(i -> evaluated.incrementAndGet())
+                                                                               .duplicate();
+        assertThat(copies._1().toList(), equalTo(range(100)));
+        assertThat(copies._2().toList(), equalTo(range(100)));
+        assertThat(evaluated.get(), equalTo(100));
+    }
+
+    @Test
+    public void fanOutZipInOverALargeStream() {
+        List<Integer> zipped = ReactiveSeq.range(0, 100_000)
+                                          .fanOutZipIn(s -> s.map(i -> i * 2), s -> s.map(i -> i + 1), (a, b) -> a - b)
+                                          .toList();
+        assertThat(zipped, equalTo(range(100_000).stream().map(i -> i - 1).collect(Collectors.toList())));
+    }
+}
@@ -0,0 +1,29 @@
+package com.oath.cyclops.internal.stream.spliterators.push;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RetryOperatorBackoffTest {
+
+    @Test
+    public void backoffDoublesWithinJitterBounds() {
+        RetryOperator<Integer, Integer> retry = new RetryOperator<>(new IterableSourceOperator<>(Arrays.asList(1)),
+                                                                    i -> i, 3, 100, TimeUnit.NANOSECONDS, 0.5,
+                                                                    HashedWheelTimer.shared());
+        for (int attempt = 0; attempt < 5; attempt++) {
+            long period = 100l << attempt;
+            for (int i = 0; i < 100; i++) {
+                long backoff = retry.backoff(attempt);
+                assertTrue(backoff >= period / 2 && backoff <= period + period / 2);
+            }
+        }
+        assertThat(retry.backoff(1000), lessThan(TimeUnit.DAYS.toNanos(2)));
+    }
+}
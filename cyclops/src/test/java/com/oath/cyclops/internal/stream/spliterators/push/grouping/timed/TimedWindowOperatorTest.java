@@ -0,0 +1,42 @@
+package com.oath.cyclops.internal.stream.spliterators.push.grouping.timed;
+
+import com.oath.cyclops.internal.stream.spliterators.push.*;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import cyclops.data.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TimedWindowOperatorTest extends AbstractOperatorTest {
+
+
+    public Operator<Integer> createEmpty(){
+        return new MapOperator<Vector<Integer>,Integer>(new TimedWindowOperator(new ArrayOfValuesOperator<>(),
+                ()->Vector.empty(),i->i,TimedWindowOperator.Mode.TUMBLING,2,1,0,TimeUnit.SECONDS,HashedWheelTimer.shared()),i->i.getOrElse(0,-1));
+    }
+    public Operator<Integer> createOne(){
+        return new MapOperator<Vector<Integer>,Integer>(new TimedWindowOperator(new ArrayOfValuesOperator<>(1),
+                ()->Vector.empty(),i->i,TimedWindowOperator.Mode.TUMBLING,2,1,0,TimeUnit.SECONDS,HashedWheelTimer.shared()),i->i.getOrElse(0,-1));
+
+    }
+
+    public Operator<Integer> createThree(){
+        List<Integer> list = Arrays.asList(1,2,3,4,5,6,7,8,9);
+        return new MapOperator<Vector<Integer>,Integer>(new TimedWindowOperator(new IterableSourceOperator(list),
+                ()->Vector.empty(),i->i,TimedWindowOperator.Mode.TUMBLING,3,3,0,TimeUnit.SECONDS,HashedWheelTimer.shared()),i->i.getOrElse(0,-1));
+    }
+    public Operator<Integer> createTwoAndError(){
+
+        return new MapOperator<Vector<Integer>,Integer>(new TimedWindowOperator(Fixtures.twoAndErrorSource,
+                ()->Vector.empty(),i->i,TimedWindowOperator.Mode.TUMBLING,1,1,0,TimeUnit.SECONDS,HashedWheelTimer.shared()),i->i.getOrElse(0,-1));
+    }
+    public Operator<Integer> createThreeErrors(){
+        return new MapOperator<Vector<Integer>,Integer>(new TimedWindowOperator(Fixtures.threeErrorsSource,
+                ()->Vector.empty(),i->i,TimedWindowOperator.Mode.TUMBLING,6,1,0,TimeUnit.SECONDS,HashedWheelTimer.shared()),i->i.getOrElse(0,-1));
+    }
+
+
+
+}
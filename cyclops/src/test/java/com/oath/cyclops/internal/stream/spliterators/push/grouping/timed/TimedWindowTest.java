@@ -0,0 +1,214 @@
+package com.oath.cyclops.internal.stream.spliterators.push.grouping.timed;
+
+import com.oath.cyclops.internal.stream.spliterators.push.Operator;
+import com.oath.cyclops.internal.stream.spliterators.push.StreamSubscription;
+import com.oath.cyclops.internal.stream.spliterators.push.TimedWindowOperator;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import cyclops.data.Vector;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TimedWindowTest {
+
+    static class ManualSource implements Operator<Integer> {
+        final AtomicLong upstreamRequests = new AtomicLong(0);
+        volatile Consumer<? super Integer> onNext;
+        volatile Runnable onComplete;
+
+        @Override
+        public StreamSubscription subscribe(Consumer<? super Integer> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onComplete = onComplete;
+            return new StreamSubscription() {
+                @Override
+                public void request(long n) {
+                    upstreamRequests.addAndGet(n);
+                }
+            };
+        }
+
+        @Override
+        public void subscribeAll(Consumer<? super Integer> onNext, Consumer<? super Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onComplete = onComplete;
+        }
+
+        void emit(Integer... values) {
+            for (Integer next : values)
+                onNext.accept(next);
+        }
+    }
+
+    HashedWheelTimer timer;
+    ManualSource source;
+    List<Vector<Integer>> windows;
+    volatile boolean complete;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64, Runnable::run);
+        source = new ManualSource();
+        windows = new CopyOnWriteArrayList<>();
+        complete = false;
+    }
+
+    @After
+    public void teardown() {
+        timer.close();
+    }
+
+    private Subscription subscribe(TimedWindowOperator.Mode mode, int size, long window, long slide) {
+        return new TimedWindowOperator<Integer, Vector<Integer>, Vector<Integer>>(source, Vector::empty, i -> i, mode,
+                                                                               size, window, slide, TimeUnit.MILLISECONDS, timer)
+                        .subscribe(windows::add, Throwable::printStackTrace, () -> complete = true);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() - start < 5000)
+            Thread.sleep(1);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void partialWindowFlushedWithoutFurtherElements() throws InterruptedException {
+        subscribe(TimedWindowOperator.Mode.TUMBLING, Integer.MAX_VALUE, 50, 0).request(Long.MAX_VALUE);
+        source.emit(1, 2);
+        assertThat(windows.size(), equalTo(0));
+
+        await(() -> windows.size() == 1);
+        assertThat(windows.get(0), equalTo(Vector.of(1, 2)));
+        assertFalse(complete);
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+    }
+
+    @Test
+    public void fullWindowCancelsItsTimer() {
+        subscribe(TimedWindowOperator.Mode.TUMBLING, 2, 10_000, 0).request(Long.MAX_VALUE);
+        source.emit(1);
+        assertThat(timer.pendingTimeouts(), equalTo(1));
+        source.emit(2);
+        assertThat(windows, equalTo(Arrays.asList(Vector.of(1, 2))));
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+    }
+
+    @Test
+    public void expiredWindowWaitsForDemand() throws InterruptedException {
+        Subscription sub = subscribe(TimedWindowOperator.Mode.TUMBLING, 10, 20, 0);
+        sub.request(1);
+        source.emit(1);
+        await(() -> windows.size() == 1);
+        long requested = source.upstreamRequests.get();
+
+        source.emit(2);
+        Thread.sleep(100);
+        assertThat(windows.size(), equalTo(1));
+        assertThat(source.upstreamRequests.get(), equalTo(requested));
+
+        sub.request(2);
+        assertThat(windows, equalTo(Arrays.asList(Vector.of(1), Vector.of(2))));
+        assertTrue(source.upstreamRequests.get() > requested);
+    }
+
+    @Test
+    public void completeFlushesPartialWindow() {
+        subscribe(TimedWindowOperator.Mode.TUMBLING, 10, 10_000, 0).request(Long.MAX_VALUE);
+        source.emit(1, 2, 3);
+        source.onComplete.run();
+        assertThat(windows, equalTo(Arrays.asList(Vector.of(1, 2, 3))));
+        assertTrue(complete);
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+    }
+
+    @Test
+    public void sessionClosesAfterGap() throws InterruptedException {
+        subscribe(TimedWindowOperator.Mode.SESSION, Integer.MAX_VALUE, 200, 0).request(Long.MAX_VALUE);
+        source.emit(1);
+        Thread.sleep(20);
+        source.emit(2);
+        Thread.sleep(20);
+        source.emit(3);
+        assertThat(windows.size(), equalTo(0));
+        await(() -> windows.size() == 1);
+        assertThat(windows.get(0), equalTo(Vector.of(1, 2, 3)));
+
+        source.emit(4);
+        await(() -> windows.size() == 2);
+        assertThat(windows.get(1), equalTo(Vector.of(4)));
+    }
+
+    @Test
+    public void slidingWindowsOverlap() throws InterruptedException {
+        subscribe(TimedWindowOperator.Mode.SLIDING, Integer.MAX_VALUE, 300, 50).request(Long.MAX_VALUE);
+        source.emit(1);
+        await(() -> windows.size() >= 1);
+        assertThat(windows.get(0), equalTo(Vector.of(1)));
+
+        source.emit(2);
+        await(() -> windows.stream().anyMatch(w -> w.equals(Vector.of(1, 2))));
+        await(() -> windows.stream().anyMatch(w -> w.equals(Vector.of(2))));
+
+        await(() -> timer.pendingTimeouts() == 0);
+        int emitted = windows.size();
+        Thread.sleep(150);
+        assertThat(windows.size(), equalTo(emitted));
+    }
+
+    @Test
+    public void slidingWindowEvictsExpiredElementsOnCompletion() throws InterruptedException {
+        subscribe(TimedWindowOperator.Mode.SLIDING, Integer.MAX_VALUE, 100, 1000).request(Long.MAX_VALUE);
+        source.emit(1, 2);
+        Thread.sleep(150);
+        source.emit(3);
+        source.onComplete.run();
+        await(() -> complete);
+        assertThat(windows, equalTo(Arrays.asList(Vector.of(3))));
+    }
+
+    @Test
+    public void reactiveSeqApi() throws InterruptedException {
+        assertThat(Spouts.of(1, 2, 3, 4, 5).groupedBySizeAndTime(2, 1, TimeUnit.SECONDS, timer).toList(),
+                   equalTo(Arrays.asList(Vector.of(1, 2), Vector.of(3, 4), Vector.of(5))));
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5).groupedByTime(1, TimeUnit.SECONDS, timer).toList(),
+                   equalTo(Arrays.asList(Vector.of(1, 2, 3, 4, 5))));
+        assertThat(Spouts.of(1, 2, 3).groupedBySession(10, TimeUnit.SECONDS).toList(),
+                   equalTo(Arrays.asList(Vector.of(1, 2, 3))));
+
+        List<Vector<Long>> ticks = new CopyOnWriteArrayList<>();
+        Spouts.iterate(0l, i -> i + 1)
+              .peek(i -> {
+                  if (i == 3)
+                      sleep(200);
+              })
+              .limit(4)
+              .groupedByTime(50, TimeUnit.MILLISECONDS, timer)
+              .forEach(ticks::add);
+        await(() -> ticks.size() == 2);
+        assertThat(ticks, equalTo(Arrays.asList(Vector.of(0l, 1l, 2l), Vector.of(3l))));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.oath.cyclops.internal.stream.spliterators.push.scheduled;
+
+import com.oath.cyclops.internal.stream.spliterators.push.*;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class DelayOperatorTest extends AbstractOperatorTest {
+
+
+    public Operator<Integer> createEmpty(){
+        return new DelayOperator<>(new ArrayOfValuesOperator<>(), () -> i -> 0, HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createOne(){
+        return new DelayOperator<>(new ArrayOfValuesOperator<>(1), () -> i -> 0, HashedWheelTimer.shared());
+    }
+
+    public Operator<Integer> createThree(){
+        List<Integer> list = Arrays.asList(1,2,3);
+        return new DelayOperator<>(new IterableSourceOperator<>(list), () -> i -> 0, HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createTwoAndError(){
+        return new DelayOperator<>(Fixtures.twoAndErrorSource, () -> i -> 0, HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createThreeErrors(){
+        return new DelayOperator<>(Fixtures.threeErrorsSource, () -> i -> 0, HashedWheelTimer.shared());
+    }
+
+
+
+}
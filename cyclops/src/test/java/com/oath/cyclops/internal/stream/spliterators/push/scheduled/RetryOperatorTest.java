@@ -0,0 +1,38 @@
+package com.oath.cyclops.internal.stream.spliterators.push.scheduled;
+
+import com.oath.cyclops.internal.stream.spliterators.push.*;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RetryOperatorTest extends AbstractOperatorTest {
+
+
+    public Operator<Integer> createEmpty(){
+        return new RetryOperator<Integer,Integer>(new ArrayOfValuesOperator<>(), i -> i, 3, 1, TimeUnit.SECONDS, 0,
+                                                  HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createOne(){
+        return new RetryOperator<Integer,Integer>(new ArrayOfValuesOperator<>(1), i -> i, 3, 1, TimeUnit.SECONDS, 0,
+                                                  HashedWheelTimer.shared());
+    }
+
+    public Operator<Integer> createThree(){
+        List<Integer> list = Arrays.asList(1,2,3);
+        return new RetryOperator<Integer,Integer>(new IterableSourceOperator<>(list), i -> i, 3, 1, TimeUnit.SECONDS, 0,
+                                                  HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createTwoAndError(){
+        return new RetryOperator<Integer,Integer>(Fixtures.twoAndErrorSource, i -> i, 3, 1, TimeUnit.SECONDS, 0.5,
+                                                  HashedWheelTimer.shared());
+    }
+    public Operator<Integer> createThreeErrors(){
+        return new RetryOperator<Integer,Integer>(Fixtures.threeErrorsSource, i -> i, 3, 1, TimeUnit.SECONDS, 0.5,
+                                                  HashedWheelTimer.shared());
+    }
+
+
+
+}
@@ -0,0 +1,191 @@
+package com.oath.cyclops.internal.stream.spliterators.push.scheduled;
+
+import com.oath.cyclops.internal.stream.spliterators.push.DelayOperator;
+import com.oath.cyclops.internal.stream.spliterators.push.IterableSourceOperator;
+import com.oath.cyclops.internal.stream.spliterators.push.RetryOperator;
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import com.oath.cyclops.util.stream.scheduling.RateLimiter;
+import cyclops.reactive.ReactiveSeq;
+import cyclops.reactive.Spouts;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduledEmissionTest {
+
+    HashedWheelTimer timer;
+    List<Integer> values;
+    List<Throwable> errors;
+    volatile boolean complete;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64, Runnable::run);
+        values = new CopyOnWriteArrayList<>();
+        errors = new CopyOnWriteArrayList<>();
+        complete = false;
+    }
+
+    @After
+    public void teardown() {
+        timer.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() - start < 5000)
+            Thread.sleep(1);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private DelayOperator<Integer> delayed(long millis, Integer... values) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return new DelayOperator<>(new IterableSourceOperator<>(Arrays.asList(values)), () -> i -> nanos, timer);
+    }
+
+    @Test
+    public void delayDoesNotBlockSubscriber() throws InterruptedException {
+        long start = System.nanoTime();
+        delayed(50, 1, 2, 3).subscribe(values::add, errors::add, () -> complete = true).request(Long.MAX_VALUE);
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertThat(values.size(), equalTo(0));
+
+        await(() -> complete);
+        assertThat(System.nanoTime() - start, greaterThan(TimeUnit.MILLISECONDS.toNanos(150)));
+        assertThat(values, equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(errors.size(), equalTo(0));
+    }
+
+    @Test
+    public void delayedElementsWaitForDemand() throws InterruptedException {
+        Subscription sub = delayed(10, 1, 2, 3).subscribe(values::add, errors::add, () -> complete = true);
+        sub.request(1);
+        await(() -> values.size() == 1);
+        Thread.sleep(50);
+        assertThat(values, equalTo(Arrays.asList(1)));
+
+        sub.request(2);
+        await(() -> complete);
+        assertThat(values, equalTo(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void cancelStopsPendingEmission() throws InterruptedException {
+        Subscription sub = delayed(50, 1, 2, 3).subscribe(values::add, errors::add, () -> complete = true);
+        sub.request(Long.MAX_VALUE);
+        sub.cancel();
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+        Thread.sleep(100);
+        assertThat(values.size(), equalTo(0));
+        assertFalse(complete);
+    }
+
+    @Test
+    public void manyDelayedStreamsShareOneThread() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(100 * 4);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++)
+            delayed(50, 1, 2, 3, 4).subscribe(e -> latch.countDown(), errors::add, () -> {})
+                                   .request(Long.MAX_VALUE);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(2)));
+        assertThat(errors.size(), equalTo(0));
+    }
+
+    @Test
+    public void queuesElementsFromSourcesThatIgnoreBackpressure() {
+        ReactiveSeq<Integer> async = Spouts.async(s -> {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < 100; i++)
+                    s.onNext(i);
+                s.onComplete();
+            });
+            t.start();
+        });
+        assertThat(async.fixedDelay(10, TimeUnit.MICROSECONDS).toList(),
+                   equalTo(ReactiveSeq.range(0, 100).toList()));
+    }
+
+    @Test
+    public void retryBacksOffWithoutBlocking() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger(0);
+        RetryOperator<Integer, Integer> retry = new RetryOperator<>(new IterableSourceOperator<>(Arrays.asList(1, 2)), i -> {
+            if (calls.incrementAndGet() < 3)
+                throw new RuntimeException("failed");
+            return i * 10;
+        }, 7, 20, TimeUnit.MILLISECONDS, 0, timer);
+
+        long start = System.nanoTime();
+        retry.subscribe(values::add, errors::add, () -> complete = true).request(Long.MAX_VALUE);
+        assertThat(values.size(), equalTo(0));
+
+        await(() -> complete);
+        assertThat(System.nanoTime() - start, greaterThan(TimeUnit.MILLISECONDS.toNanos(60)));
+        assertThat(values, equalTo(Arrays.asList(10, 20)));
+        assertThat(calls.get(), equalTo(4));
+        assertThat(errors.size(), equalTo(0));
+    }
+
+    @Test
+    public void exhaustedRetriesEmitErrorAndContinue() throws InterruptedException {
+        RetryOperator<Integer, Integer> retry = new RetryOperator<>(new IterableSourceOperator<>(Arrays.asList(1, 2, 3)), i -> {
+            if (i == 2)
+                throw new IllegalStateException("always");
+            return i;
+        }, 2, 5, TimeUnit.MILLISECONDS, 0.5, timer);
+
+        retry.subscribe(values::add, errors::add, () -> complete = true).request(Long.MAX_VALUE);
+        await(() -> complete);
+        assertThat(values, equalTo(Arrays.asList(1, 3)));
+        assertThat(errors.size(), equalTo(1));
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void sharedRateLimiterAcrossStreams() throws InterruptedException {
+        RateLimiter limiter = RateLimiter.of(10, 500, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        Spouts.range(0, 10).xPer(limiter).forEach(values::add, errors::add, latch::countDown);
+        Spouts.range(10, 20).xPer(limiter).forEach(values::add, errors::add, latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(System.nanoTime() - start, greaterThan(TimeUnit.MILLISECONDS.toNanos(400)));
+        assertThat(values.size(), equalTo(20));
+    }
+
+    @Test
+    public void onePerDelaysFirstElementByAPeriod() {
+        long start = System.nanoTime();
+        assertThat(Spouts.of(1, 2).onePer(100, TimeUnit.MILLISECONDS).toList(), equalTo(Arrays.asList(1, 2)));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThan(190L));
+    }
+
+    @Test
+    public void reactiveSeqApi() {
+        assertThat(Spouts.of(1, 2, 3).xPer(2, 10, TimeUnit.MILLISECONDS).toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(Spouts.of(1, 2, 3).onePer(1, TimeUnit.MILLISECONDS).toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(Spouts.of(1, 2, 3).jitter(1000).toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(Spouts.of(1, 2, 3).retry(i -> i * 2, 3, 1, TimeUnit.MILLISECONDS, 0.5).toList(),
+                   equalTo(Arrays.asList(2, 4, 6)));
+        assertThat(ReactiveSeq.of(1, 2, 3).xPer(RateLimiter.of(1, 1, TimeUnit.MILLISECONDS)).toList(),
+                   equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(ReactiveSeq.of(1, 2, 3).retry(i -> i * 2, 3, 1, TimeUnit.MILLISECONDS, 0.5).toList(),
+                   equalTo(Arrays.asList(2, 4, 6)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.oath.cyclops.util.stream.scheduling;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.*;
+
+public class HashedWheelTimerTest {
+
+    HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8, Runnable::run);
+    }
+
+    @After
+    public void teardown() {
+        timer.close();
+    }
+
+    @Test
+    public void firesAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] end = {0};
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> {
+            end[0] = System.nanoTime();
+            fired.countDown();
+        }, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(timer.pendingTimeouts(), equalTo(1));
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(end[0] - start), greaterThanOrEqualTo(30L));
+        assertTrue(timeout.isExpired());
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+    }
+
+    @Test
+    public void firesInDeadlineOrderAcrossRounds() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(4);
+        for (int delay : new int[]{45, 5, 25, 13}) {
+            timer.schedule(() -> {
+                order.add(delay);
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertThat(order.toString(), equalTo("[5, 13, 25, 45]"));
+    }
+
+    @Test
+    public void cancelledTimeoutsDoNotFire() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.Timeout cancelled = timer.schedule(() -> fail("cancelled"), 10, TimeUnit.MILLISECONDS);
+        timer.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertFalse(cancelled.isExpired());
+    }
+
+    @Test
+    public void failingTasksDoNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        timer.schedule(() -> { throw new IllegalStateException("boom"); }, 1, TimeUnit.MILLISECONDS);
+        timer.schedule(fired::countDown, 5, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void closedTimerRejectsTasks() {
+        timer.schedule(() -> { }, 1, TimeUnit.SECONDS);
+        timer.close();
+        timer.schedule(() -> { }, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void closingSharedTimerHasNoEffect() throws InterruptedException {
+        HashedWheelTimer.shared().close();
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.shared().schedule(fired::countDown, 1, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void resumesOnScheduleAfterIdling() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        timer.schedule(first::countDown, 1, TimeUnit.MILLISECONDS);
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+        Thread.sleep(100);
+
+        CountDownLatch second = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] end = {0};
+        timer.schedule(() -> {
+            end[0] = System.nanoTime();
+            second.countDown();
+        }, 20, TimeUnit.MILLISECONDS);
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(end[0] - start), greaterThanOrEqualTo(20L));
+    }
+}
@@ -0,0 +1,86 @@
+package com.oath.cyclops.util.stream.scheduling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    @Test
+    public void burstUpToPermits() {
+        RateLimiter limiter = RateLimiter.of(5, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 5; i++)
+            assertThat(limiter.reserve(), equalTo(0l));
+        assertThat(limiter.reserve(), greaterThan(TimeUnit.MINUTES.toNanos(11)));
+    }
+
+    @Test
+    public void reservationsAreSpacedByInterval() {
+        RateLimiter limiter = RateLimiter.of(10, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 10; i++)
+            limiter.reserve();
+        long first = limiter.reserve();
+        long second = limiter.reserve();
+        long interval = TimeUnit.MINUTES.toNanos(6);
+        assertTrue(second - first > interval - TimeUnit.SECONDS.toNanos(1));
+        assertTrue(second - first <= interval);
+    }
+
+    @Test
+    public void tryAcquireDoesNotReserve() {
+        RateLimiter limiter = RateLimiter.of(2, 1, TimeUnit.HOURS);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertThat(limiter.reserve(), greaterThan(TimeUnit.MINUTES.toNanos(29)));
+    }
+
+    @Test
+    public void permitsRefill() throws InterruptedException {
+        RateLimiter limiter = RateLimiter.of(1, 20, TimeUnit.MILLISECONDS);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        Thread.sleep(30);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void concurrentAcquisitionsShareTheLimit() throws InterruptedException {
+        RateLimiter limiter = RateLimiter.of(100, 1, TimeUnit.HOURS);
+        AtomicInteger acquired = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                    if (limiter.tryAcquire())
+                        acquired.incrementAndGet();
+                latch.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+        latch.await();
+        assertThat(acquired.get(), equalTo(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void permitsMustBePositive() {
+        RateLimiter.of(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void periodMustBePositive() {
+        RateLimiter.of(1, 0, TimeUnit.SECONDS);
+    }
+}
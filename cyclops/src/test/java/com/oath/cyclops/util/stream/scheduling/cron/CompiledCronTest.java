@@ -0,0 +1,156 @@
+package com.oath.cyclops.util.stream.scheduling.cron;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CompiledCronTest {
+
+    static final List<String> EXPRESSIONS = Arrays.asList("* * * * * ?",
+                                                          "0/5 * * * * ?",
+                                                          "0 0/15 9-17 ? * MON-FRI",
+                                                          "30 10 22-2 * * ?",
+                                                          "0 0 12 1,15,31 * ?",
+                                                          "0 0 0 29 2 ?",
+                                                          "0 15 10 L * ?",
+                                                          "0 15 10 L-3 * ?",
+                                                          "0 15 10 LW * ?",
+                                                          "0 15 10 15W * ?",
+                                                          "0 15 10 1W * ?",
+                                                          "0 15 10 29W * ?",
+                                                          "0 15 10 30W * ?",
+                                                          "0 15 10 31W * ?",
+                                                          "0 30 1 * * ?",
+                                                          "0 0/20 1-2 * * ?",
+                                                          "0 15 10 ? * 6L",
+                                                          "0 15 10 ? * 6#3",
+                                                          "0 15 10 ? * 2#5",
+                                                          "0 0 8 ? * L",
+                                                          "0 0 8 ? * SAT-MON",
+                                                          "0 0 0 ? NOV-FEB SUN",
+                                                          "0 0/30 * * JAN,JUL ? 2030-2040",
+                                                          "59 59 23 31 12 ?");
+
+    private static void assertMatchesCronExpression(ZoneId zone) throws ParseException {
+        Random random = new Random(7);
+        long from = Instant.parse("2019-01-01T00:00:00Z").toEpochMilli();
+        long range = Instant.parse("2040-01-01T00:00:00Z").toEpochMilli() - from;
+        for (String expression : EXPRESSIONS) {
+            CronExpression expected = new CronExpression(expression);
+            expected.setTimeZone(TimeZone.getTimeZone(zone));
+            CompiledCron compiled = CompiledCron.compile(expression, zone);
+            for (int i = 0; i < 200; i++) {
+                Instant after = Instant.ofEpochMilli(from + (long) (random.nextDouble() * range));
+                Date next = expected.getNextValidTimeAfter(Date.from(after));
+                assertThat(expression + " after " + after, compiled.nextFireAfter(after),
+                           equalTo(next == null ? null : next.toInstant()));
+            }
+        }
+    }
+
+    @Test
+    public void matchesCronExpressionUTC() throws ParseException {
+        assertMatchesCronExpression(ZoneId.of("UTC"));
+    }
+
+    @Test
+    public void matchesCronExpressionWithOffset() throws ParseException {
+        assertMatchesCronExpression(ZoneId.of("Asia/Kolkata"));
+    }
+
+    @Test
+    public void matchesCronExpressionWithDaylightSavings() throws ParseException {
+        assertMatchesCronExpression(ZoneId.of("Europe/London"));
+        assertMatchesCronExpression(ZoneId.of("Australia/Lord_Howe"));
+    }
+
+    @Test
+    public void nextIsStrictlyAfter() {
+        CompiledCron cron = CompiledCron.compile("0 * * * * ?", ZoneId.of("UTC"));
+        Instant minute = Instant.parse("2020-05-05T10:15:00Z");
+        assertThat(cron.nextFireAfter(minute), equalTo(Instant.parse("2020-05-05T10:16:00Z")));
+        assertThat(cron.nextFireAfter(minute.minusMillis(1)), equalTo(minute));
+    }
+
+    @Test
+    public void fireTimes() {
+        Iterator<Instant> it = CompiledCron.compile("0 0 12 ? * MON", ZoneId.of("UTC"))
+                                           .fireTimesAfter(Instant.parse("2020-05-01T00:00:00Z"));
+        assertThat(it.next(), equalTo(Instant.parse("2020-05-04T12:00:00Z")));
+        assertThat(it.next(), equalTo(Instant.parse("2020-05-11T12:00:00Z")));
+        assertThat(it.next(), equalTo(Instant.parse("2020-05-18T12:00:00Z")));
+    }
+
+    @Test
+    public void noFurtherFireTimes() {
+        CompiledCron cron = CompiledCron.compile("0 0 0 1 1 ? 2020", ZoneId.of("UTC"));
+        assertThat(cron.nextFireAfter(Instant.parse("2019-06-01T00:00:00Z")),
+                   equalTo(Instant.parse("2020-01-01T00:00:00Z")));
+        assertThat(cron.nextFireAfter(Instant.parse("2020-06-01T00:00:00Z")), nullValue());
+        assertThat(cron.fireTimesAfter(Instant.parse("2020-06-01T00:00:00Z")).hasNext(), equalTo(false));
+    }
+
+    @Test
+    public void daylightSavingsGapIsSkipped() {
+        ZoneId london = ZoneId.of("Europe/London");
+        CompiledCron cron = CompiledCron.compile("0 30 1 * * ?", london);
+        Instant next = cron.nextFireAfter(ZonedDateTime.of(LocalDateTime.parse("2020-03-29T00:00:00"), london)
+                                                       .toInstant());
+        assertThat(next, equalTo(ZonedDateTime.of(LocalDateTime.parse("2020-03-30T01:30:00"), london).toInstant()));
+    }
+
+    @Test
+    public void daylightSavingsOverlapFiresOnceOnTheLaterOccurrence() {
+        ZoneId london = ZoneId.of("Europe/London");
+        Iterator<Instant> it = CompiledCron.compile("0 30 1 * * ?", london)
+                                           .fireTimesAfter(Instant.parse("2020-10-24T12:00:00Z"));
+        assertThat(it.next(), equalTo(Instant.parse("2020-10-25T01:30:00Z")));
+        assertThat(it.next(), equalTo(Instant.parse("2020-10-26T01:30:00Z")));
+    }
+
+    @Test
+    public void nearestWeekday() {
+        ZoneId utc = ZoneId.of("UTC");
+        //the 15th of August 2020 is a Saturday, and the 1st of November 2020 a Sunday
+        assertThat(CompiledCron.compile("0 0 9 15W * ?", utc).nextFireAfter(Instant.parse("2020-08-01T00:00:00Z")),
+                   equalTo(Instant.parse("2020-08-14T09:00:00Z")));
+        assertThat(CompiledCron.compile("0 0 9 1W * ?", utc).nextFireAfter(Instant.parse("2020-10-31T00:00:00Z")),
+                   equalTo(Instant.parse("2020-11-02T09:00:00Z")));
+    }
+
+    @Test
+    public void nearestWeekdayPastTheEndOfTheMonth() {
+        ZoneId utc = ZoneId.of("UTC");
+        //the 1st of March 2036 (February 30th) is a Saturday
+        assertThat(CompiledCron.compile("0 0 0 30W 2 ?", utc).nextFireAfter(Instant.parse("2020-01-01T00:00:00Z")),
+                   equalTo(Instant.parse("2036-02-29T00:00:00Z")));
+        //the 1st of May 2021 (April 31st) is a Saturday
+        assertThat(CompiledCron.compile("0 0 0 31W * ?", utc).nextFireAfter(Instant.parse("2021-04-01T00:00:00Z")),
+                   equalTo(Instant.parse("2021-04-30T00:00:00Z")));
+    }
+
+    @Test
+    public void compiledExpressionsAreCached() {
+        assertThat(CompiledCron.compile("0 0 3 * * ?"), sameInstance(CompiledCron.compile("0 0 3 * * ?")));
+    }
+
+    @Test(expected = ParseException.class)
+    public void invalidExpression() {
+        CompiledCron.compile("0 0 25 * * ?");
+    }
+}
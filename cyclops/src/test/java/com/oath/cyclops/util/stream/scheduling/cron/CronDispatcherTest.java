@@ -0,0 +1,110 @@
+package com.oath.cyclops.util.stream.scheduling.cron;
+
+import com.oath.cyclops.util.stream.scheduling.HashedWheelTimer;
+import cyclops.control.Future;
+import cyclops.function.Function1;
+import cyclops.function.Memoize;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CronDispatcherTest {
+
+    HashedWheelTimer timer;
+    CronDispatcher dispatcher;
+    ScheduledExecutorService ex;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64, Runnable::run);
+        dispatcher = new CronDispatcher(timer);
+        ex = Executors.newScheduledThreadPool(1);
+    }
+
+    @After
+    public void teardown() {
+        timer.close();
+        ex.shutdownNow();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() - start < 10_000)
+            Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void runsEachSecondUntilJobStops() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger(0);
+        long start = System.currentTimeMillis();
+        CronDispatcher.Job job = dispatcher.schedule("* * * * * ?", ex, () -> runs.incrementAndGet() < 2);
+        await(job::isDone);
+        assertThat(runs.get(), equalTo(2));
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(1000l));
+        assertThat(timer.pendingTimeouts(), equalTo(0));
+    }
+
+    @Test
+    public void cancelStopsFurtherRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger(0);
+        CronDispatcher.Job job = dispatcher.schedule("* * * * * ?", ex, () -> {
+            runs.incrementAndGet();
+            return true;
+        });
+        await(() -> runs.get() == 1);
+        job.cancel();
+        await(() -> timer.pendingTimeouts() == 0);
+        Thread.sleep(1500);
+        assertThat(runs.get(), equalTo(1));
+        assertTrue(job.isCancelled());
+    }
+
+    @Test
+    public void failingJobKeepsRunning() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger(0);
+        CronDispatcher.Job job = dispatcher.schedule("* * * * * ?", ex, () -> {
+            if (runs.incrementAndGet() == 1)
+                throw new RuntimeException("boom");
+            return false;
+        });
+        await(job::isDone);
+        assertThat(runs.get(), equalTo(2));
+    }
+
+    @Test
+    public void runsOnTheProvidedExecutor() throws Exception {
+        Thread[] thread = {null};
+        CronDispatcher.Job job = dispatcher.schedule("* * * * * ?", ex, () -> {
+            thread[0] = Thread.currentThread();
+            return false;
+        });
+        await(job::isDone);
+        assertThat(ex.submit(Thread::currentThread).get(), equalTo(thread[0]));
+    }
+
+    @Test
+    public void futureSchedule() {
+        assertThat(Future.schedule("* * * * * ?", ex, () -> "hello").get().orElse(null), equalTo("hello"));
+    }
+
+    @Test
+    public void memoizeFunctionAsyncRefreshes() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger(0);
+        Function1<Integer, Integer> fn = Memoize.memoizeFunctionAsync(i -> i + calls.incrementAndGet(), ex, "* * * * * ?");
+        assertThat(fn.apply(10), equalTo(11));
+        assertThat(fn.apply(10), equalTo(11));
+        await(() -> fn.apply(10) > 11);
+    }
+}
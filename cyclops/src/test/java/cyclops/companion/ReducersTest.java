@@ -1,12 +1,19 @@
 package cyclops.companion;
 
 import cyclops.data.Bag;
+import cyclops.data.sketch.BloomFilter;
+import cyclops.data.sketch.CountMinSketch;
+import cyclops.data.sketch.HyperLogLog;
+import cyclops.data.sketch.QuantileSketch;
+import cyclops.function.Reducer;
+import cyclops.reactive.ReactiveSeq;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.*;
 
 public class ReducersTest {
@@ -18,4 +25,42 @@ public class ReducersTest {
         assertThat(Bag.empty().plus(5).plusAll(Arrays.asList(10,20)),equalTo(Bag.of(5,10,20)));
     }
 
+    @Test
+    public void toHyperLogLog() {
+        HyperLogLog sequential = ReactiveSeq.range(0, 10_000).foldMap(Reducers.toHyperLogLog());
+        HyperLogLog parallel = ReactiveSeq.range(0, 10_000)
+                                          .foldParallel(s -> Reducers.<Integer>toHyperLogLog().foldMap(s));
+        assertThat(parallel, equalTo(sequential));
+        assertThat(Math.abs(sequential.estimate() - 10_000) / 10_000.0, lessThan(0.04));
+        HyperLogLog reduced = ReactiveSeq.of(1, 2, 2, 3)
+                                         .reduceAll(HyperLogLog.empty(), HyperLogLog::plus)
+                                         .singleOrElse(null);
+        assertThat(reduced.estimate(), equalTo(3L));
+    }
+
+    @Test
+    public void toCountMinSketch() {
+        Reducer<CountMinSketch, String> reducer = Reducers.toCountMinSketch(0.01, 0.99);
+        CountMinSketch sketch = reducer.foldMap(Stream.of("a", "b", "a", "a"));
+        assertThat(sketch.estimateCount("a"), equalTo(3L));
+        assertThat(sketch, equalTo(reducer.foldMap(Stream.of("a", "b", "a", "a").parallel())));
+        assertThat(reducer.mapToType(Stream.of("a", "b", "a", "a")).reduce(reducer.zero(), reducer),
+                   equalTo(sketch));
+    }
+
+    @Test
+    public void toBloomFilter() {
+        BloomFilter filter = ReactiveSeq.range(0, 10_000)
+                                        .foldParallel(s -> Reducers.<Integer>toBloomFilter(10_000, 0.01).foldMap(s));
+        assertTrue(ReactiveSeq.range(0, 10_000).allMatch(filter::mightContain));
+    }
+
+    @Test
+    public void toQuantileSketch() {
+        QuantileSketch sketch = ReactiveSeq.range(0, 10_000)
+                                           .foldParallel(s -> Reducers.<Integer>toQuantileSketch().foldMap(s));
+        assertThat(sketch.size(), equalTo(10_000L));
+        assertThat(Math.abs(sketch.quantile(0.9).orElse(0.0) - 9_000) / 10_000, lessThan(0.02));
+    }
+
 }
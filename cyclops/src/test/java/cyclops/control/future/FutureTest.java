@@ -38,6 +38,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -662,4 +663,99 @@ public class FutureTest {
         assertThat(f.get(), equalTo(Try.success(100)));
     }
 
+    @Test
+    public void sequenceManyInOrder() {
+        CompletableFuture<Integer>[] pending = new CompletableFuture[100_000];
+        Seq<Future<Integer>> futures = Seq.empty();
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = new CompletableFuture<>();
+            futures = futures.prepend(Future.of(pending[i]));
+        }
+        Future<ReactiveSeq<Integer>> result = Future.sequence(futures.reverse());
+        for (int i = pending.length - 1; i >= 0; i--)
+            pending[i].complete(i);
+        assertThat(result.orElse(ReactiveSeq.empty()).toList(), equalTo(ReactiveSeq.range(0, 100_000).toList()));
+    }
+
+    @Test
+    public void sequenceEmpty() {
+        assertThat(Future.sequence(Seq.<Future<Integer>>empty()).orElse(null).toList(), equalTo(Arrays.asList()));
+    }
+
+    @Test
+    public void sequenceFailsOnFirstError() {
+        Future<Integer> pending = Future.future();
+        Future<ReactiveSeq<Integer>> result = Future.sequence(Arrays.asList(pending, none));
+        assertTrue(result.isFailed());
+        assertThat(result.get(), equalTo(Try.failure(exception)));
+    }
+
+    @Test
+    public void traverseTransforms() {
+        assertThat(Future.traverse(i -> i * 2, ReactiveSeq.of(just, Future.ofResult(1))).orElse(null).toList(),
+                   equalTo(Arrays.asList(20, 2)));
+        assertThat(CompletableFutures.traverse(i -> i * 2, ReactiveSeq.of(just.getFuture(), none.getFuture()))
+                                     .isCompletedExceptionally(), equalTo(true));
+    }
+
+    @Test
+    public void traverseBoundsConcurrency() {
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicInteger maxActive = new AtomicInteger(0);
+        Future<ReactiveSeq<Integer>> result = Future.traverse(4, i -> Future.of(() -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(1);
+            active.decrementAndGet();
+            return i * 2;
+        }, ex), ReactiveSeq.range(0, 200));
+        assertThat(result.orElse(null).toList(), equalTo(ReactiveSeq.range(0, 200).map(i -> i * 2).toList()));
+        assertThat(maxActive.get(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    public void traverseSynchronousFuturesIsStackSafe() {
+        assertThat(Future.traverse(1, i -> Future.ofResult(i + 1), ReactiveSeq.range(0, 100_000))
+                         .orElse(null)
+                         .count(), equalTo(100_000l));
+    }
+
+    @Test
+    public void traverseStopsOnError() {
+        AtomicInteger started = new AtomicInteger(0);
+        Future<ReactiveSeq<Integer>> result = Future.traverse(1, i -> {
+            started.incrementAndGet();
+            return i == 3 ? Future.<Integer>ofError(exception) : Future.ofResult(i);
+        }, ReactiveSeq.range(0, 100));
+        assertThat(result.get(), equalTo(Try.failure(exception)));
+        assertThat(started.get(), equalTo(4));
+    }
+
+    @Test
+    public void accumulateMany() {
+        Seq<Future<Integer>> futures = ReactiveSeq.range(0, 10_000).map(Future::ofResult).seq();
+        assertThat(Future.accumulate(futures, i -> i, Monoid.of(0, Integer::sum)).orElse(-1),
+                   equalTo(ReactiveSeq.range(0, 10_000).sumInt(i -> i)));
+    }
+
+    @Test
+    public void tailRecSynchronousIsStackSafe() {
+        Future<Integer> result = Future.tailRec(0, i -> Future.ofResult(i < 1_000_000 ? Either.left(i + 1) : Either.right(i)));
+        assertThat(result.orElse(-1), equalTo(1_000_000));
+    }
+
+    @Test
+    public void tailRecAsync() {
+        Future<Integer> result = Future.tailRec(0, i -> Future.of(() -> i < 10_000 ? Either.left(i + 1) : Either.right(i), ex));
+        assertThat(result.orElse(-1), equalTo(10_000));
+    }
+
+    @Test
+    public void tailRecError() {
+        assertThat(Future.tailRec(0, i -> i < 10 ? Future.ofResult(Either.left(i + 1)) : Future.<Either<Integer, Integer>>ofError(exception))
+                         .get(), equalTo(Try.failure(exception)));
+        assertThat(Future.tailRec(0, i -> {
+            throw exception;
+        }).get(), equalTo(Try.failure(exception)));
+    }
+
 }
@@ -0,0 +1,33 @@
+package cyclops.data;
+
+import org.junit.Test;
+
+import java.util.stream.DoubleStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DoubleVectorTest {
+
+    @Test
+    public void ofMatchesPlus(){
+        for(int size : new int[]{1,32,33,1025}){
+            double[] values = DoubleStream.iterate(0.5,d->d+1).limit(size).toArray();
+            DoubleVector pushed = DoubleVector.empty();
+            for(double d : values)
+                pushed = pushed.plus(d);
+            assertThat(DoubleVector.of(values),equalTo(pushed));
+            assertThat(pushed.getOrElse(size-1,-1),equalTo(values[size-1]));
+        }
+    }
+
+    @Test
+    public void mapStreamAndSum(){
+        DoubleVector v = DoubleVector.of(1.5,2.5,3.5).map(d->d*2);
+        assertThat(v.sum(),equalTo(15.0));
+        assertThat(v.stream().parallel().sum(),equalTo(15.0));
+        assertThat(v.updateAt(0,7).getOrElse(0,-1),equalTo(7.0));
+        assertThat(DoubleVector.fromVector(v.toVector()),equalTo(v));
+        assertThat(DoubleVector.of(Double.NaN),equalTo(DoubleVector.of(Double.NaN)));
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.Test;
 
 
 import java.util.ArrayList;
+import java.util.Spliterator;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.*;
@@ -112,5 +113,50 @@ public class HashMapTest {
 
 
 
+  @Test
+  public void transientOf(){
+    HashMap.Builder<Integer,String> builder = HashMap.transientOf();
+    for(int i=0;i<1000;i++){
+      builder.put(i,""+i);
+    }
+    builder.remove(10);
+    MatcherAssert.assertThat(builder.size(),equalTo(999));
+    MatcherAssert.assertThat(builder.getOrElse(20,null),equalTo("20"));
+    HashMap<Integer,String> map = builder.persistent();
+    HashMap<Integer,String> expected = HashMap.empty();
+    for(int i=0;i<1000;i++){
+      if(i!=10)
+        expected = expected.put(i,""+i);
+    }
+    MatcherAssert.assertThat(map,equalTo(expected));
+    MatcherAssert.assertThat(map.hashCode(),equalTo(expected.hashCode()));
+  }
+  @Test
+  public void transientOfExisting(){
+    HashMap<Integer,String> map = HashMap.of(1,"a",2,"b");
+    HashMap<Integer,String> updated = HashMap.transientOf(map).put(3,"c").remove(1).persistent();
+    MatcherAssert.assertThat(map,equalTo(HashMap.of(1,"a",2,"b")));
+    MatcherAssert.assertThat(updated,equalTo(HashMap.of(2,"b",3,"c")));
+  }
+
+  @Test
+  public void spliteratorReportsExactSizes(){
+    HashMap<Integer,Integer> map = HashMap.empty();
+    for(int i=0;i<10000;i++){
+      map = map.put(i,i);
+    }
+    Spliterator<Tuple2<Integer,Integer>> right = map.spliterator();
+    Spliterator<Tuple2<Integer,Integer>> left = right.trySplit();
+    Spliterator<Tuple2<Integer,Integer>> leftLeft = left.trySplit();
+    long[] estimates = {leftLeft.estimateSize(),left.estimateSize(),right.estimateSize()};
+    long[] counts = new long[3];
+    leftLeft.forEachRemaining(t->counts[0]++);
+    left.forEachRemaining(t->counts[1]++);
+    right.forEachRemaining(t->counts[2]++);
+    MatcherAssert.assertThat(counts,equalTo(estimates));
+    MatcherAssert.assertThat(counts[0]+counts[1]+counts[2],equalTo(10000L));
+    MatcherAssert.assertThat(counts[0]>0 && counts[1]>0 && counts[2]>0,equalTo(true));
+  }
+
 }
 
@@ -105,4 +105,19 @@ public class HashSetTest extends BaseImmutableSetTest{
         assertThat(of(1).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.nothing()));
         assertThat(of(0,1,2,3,4,5,6,1,2,3).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.just(1l)));
     }
+    @Test
+    public void transientOf(){
+        HashSet.Builder<Integer> builder = HashSet.transientOf(HashSet.of(1,2,3));
+        builder.add(4).add(1).remove(2);
+        assertThat(builder.size(),equalTo(3));
+        assertThat(builder.contains(4),equalTo(true));
+        assertThat(builder.persistent(),equalTo(HashSet.of(1,3,4)));
+    }
+    @Test
+    public void collectorLarge(){
+        HashSet<Integer> set = Stream.iterate(0,i->i+1).limit(10000).collect(HashSet.collector());
+        assertThat(set.size(),equalTo(10000));
+        assertThat(set,equalTo(HashSet.range(0,10000)));
+    }
+
 }
@@ -4,6 +4,7 @@ package cyclops.data;
 
 import cyclops.data.tuple.Tuple2;
 import cyclops.control.Option;
+import cyclops.data.base.IntPatriciaTrie;
 import cyclops.data.basetests.BaseImmutableListTest;
 import org.junit.Test;
 
@@ -146,4 +147,61 @@ public class IntMapTest extends BaseImmutableListTest{
     }
 **/
 
-}
\ No newline at end of file
+    @Test
+    public void builder(){
+        IntMap.Builder<Integer> builder = IntMap.builder();
+        for(int i=0;i<5000;i++){
+            builder.add(i);
+        }
+        IntMap<Integer> map = builder.persistent();
+        assertThat(map.size(),equalTo(5000));
+        for(int i=0;i<5000;i++){
+            assertThat(map.getOrElse(i,-1),equalTo(i));
+        }
+        IntMap<Integer> appended = map.appendAll(IntMap.of(-1,-2));
+        assertThat(map.size(),equalTo(5000));
+        assertThat(appended.size(),equalTo(5002));
+        assertThat(appended.getOrElse(5001,null),equalTo(-2));
+        assertThat(map.getOrElse(4999,null),equalTo(4999));
+    }
+
+
+    @Test
+    public void removeAtAcrossLevels(){
+        IntMap<Integer> map = IntMap.range(0,1000);
+        IntMap<Integer> removed = map.removeAt(40);
+        assertThat(removed.size(),equalTo(999));
+        assertThat(removed.calcSize(),equalTo(999));
+        assertThat(removed.getOrElse(39,null),equalTo(39));
+        assertThat(removed.getOrElse(40,null),equalTo(41));
+        assertThat(removed.getOrElse(998,null),equalTo(999));
+        assertThat(map.removeAt(999).calcSize(),equalTo(999));
+        assertThat(map.removeAt(999).get(999),equalTo(Option.none()));
+    }
+
+    @Test
+    public void sparseKeys(){
+        IntPatriciaTrie.Node<Integer> trie = IntPatriciaTrie.empty();
+        java.util.Map<Integer,Integer> expected = new java.util.HashMap<>();
+        java.util.Random random = new java.util.Random(5);
+        for(int i=0;i<10_000;i++){
+            int key = random.nextInt() & Integer.MAX_VALUE;
+            if(random.nextInt(4)==0 && !expected.isEmpty()){
+                Integer existing = expected.keySet().iterator().next();
+                expected.remove(existing);
+                trie = trie.minus(existing,existing);
+            }else {
+                expected.put(key, i);
+                trie = trie.put(key, key, i);
+            }
+            assertThat(trie.size(),equalTo(expected.size()));
+        }
+        for(java.util.Map.Entry<Integer,Integer> e : expected.entrySet()){
+            assertThat(trie.get(e.getKey(),e.getKey()),equalTo(Option.some(e.getValue())));
+        }
+        for(Integer key : expected.keySet()){
+            trie = trie.minus(key,key);
+        }
+        assertThat(trie.isEmpty(),equalTo(true));
+    }
+}
@@ -0,0 +1,108 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IntVectorTest {
+
+    @Test
+    public void empty(){
+        assertThat(IntVector.empty().size(),equalTo(0));
+        assertThat(IntVector.empty().isEmpty(),equalTo(true));
+        assertThat(IntVector.empty().get(0),equalTo(Option.none()));
+        assertThat(IntVector.of(),equalTo(IntVector.empty()));
+    }
+
+    @Test
+    public void ofMatchesPlus(){
+        for(int size : new int[]{1,31,32,33,1024,1025,32*32*32+1}){
+            int[] values = IntStream.range(0,size).toArray();
+            IntVector built = IntVector.of(values);
+            IntVector pushed = IntVector.empty();
+            for(int i : values)
+                pushed = pushed.plus(i);
+            assertThat(built,equalTo(pushed));
+            assertThat(built.hashCode(),equalTo(pushed.hashCode()));
+            assertThat(pushed.size(),equalTo(size));
+            assertThat(Arrays.equals(pushed.toArray(),values),equalTo(true));
+            for(int i=0;i<size;i++)
+                assertThat(pushed.getOrElse(i,-1),equalTo(i));
+        }
+    }
+
+    @Test
+    public void getOutOfRange(){
+        IntVector v = IntVector.of(1,2,3);
+        assertThat(v.getOrElse(-1,-1),equalTo(-1));
+        assertThat(v.getOrElse(3,-1),equalTo(-1));
+        assertThat(v.get(2),equalTo(Option.some(3)));
+    }
+
+    @Test
+    public void updateAt(){
+        IntVector v = IntVector.range(0,100);
+        IntVector updated = v.updateAt(5,-5).updateAt(99,-99);
+        assertThat(updated.getOrElse(5,0),equalTo(-5));
+        assertThat(updated.getOrElse(99,0),equalTo(-99));
+        assertThat(v.getOrElse(5,0),equalTo(5));
+        assertThat(v.updateAt(100,1),equalTo(v));
+    }
+
+    @Test
+    public void mapAndSum(){
+        IntVector v = IntVector.range(0,1000).map(i->i*2);
+        assertThat(v.sum(),equalTo(999000L));
+        assertThat(v.foldLeft(0,Math::max),equalTo(1998));
+        assertThat(IntVector.of(Integer.MAX_VALUE,Integer.MAX_VALUE).sum(),equalTo(2L*Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void stream(){
+        IntVector v = IntVector.range(0,10000);
+        assertThat(v.stream().sum(),equalTo(IntStream.range(0,10000).sum()));
+        assertThat(v.stream().parallel().map(i->i+1).toArray(),equalTo(IntStream.range(1,10001).toArray()));
+        assertThat(v.stream().spliterator().trySplit().estimateSize()%32,equalTo(0L));
+    }
+
+    @Test
+    public void iterator(){
+        PrimitiveIterator.OfInt it = IntVector.of(1,2,3).iterator();
+        assertThat(it.nextInt(),equalTo(1));
+        assertThat(it.nextInt(),equalTo(2));
+        assertThat(it.nextInt(),equalTo(3));
+        assertThat(it.hasNext(),equalTo(false));
+    }
+
+    @Test
+    public void boxedConversions(){
+        Vector<Integer> boxed = Vector.range(0,100);
+        assertThat(IntVector.fromVector(boxed).toVector(),equalTo(boxed));
+        assertThat(IntVector.fromIterable(boxed),equalTo(IntVector.range(0,100)));
+        assertThat(IntVector.of(1,2).mapToObj(i->"x"+i),equalTo(Vector.of("x1","x2")));
+    }
+
+    @Test
+    public void serialization() throws Exception {
+        IntVector v = IntVector.range(0,100);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ObjectOutputStream(bytes).writeObject(v);
+        Object read = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertThat(read,equalTo(v));
+    }
+
+    @Test
+    public void string(){
+        assertThat(IntVector.of(1,2,3).toString(),equalTo("IntVector[1,2,3]"));
+    }
+}
@@ -325,4 +325,81 @@ public class LazySeqTest extends BaseImmutableListTest {
 
 
 
+    @Test
+    public void chunkedMapEvaluatesAChunkAtATime(){
+        LazySeq<Integer> mapped = LazySeq.range(0, 100).map(i -> {
+            count++;
+            return i * 2;
+        });
+        assertThat(count,equalTo(0));
+        assertThat(mapped.headOrElse(-1),equalTo(0));
+        assertThat(count,equalTo(32));
+        assertThat(mapped.getOrElse(40,-1),equalTo(80));
+        assertThat(count,equalTo(64));
+        assertThat(mapped.size(),equalTo(100));
+        assertThat(count,equalTo(100));
+    }
+
+    @Test
+    public void unchunkedMapEvaluatesAnElementAtATime(){
+        LazySeq<Integer> mapped = LazySeq.range(0, 100).unchunked().map(i -> {
+            count++;
+            return i * 2;
+        });
+        assertThat(mapped.headOrElse(-1),equalTo(0));
+        assertThat(count,equalTo(1));
+    }
+
+    @Test
+    public void iteratorSourcesAreNotChunked(){
+        LazySeq<Integer> seq = LazySeq.fromIterator(ReactiveSeq.range(0, 100).peek(i -> count++).iterator());
+        assertThat(seq.headOrElse(-1),equalTo(0));
+        assertThat(count,equalTo(1));
+        assertThat(seq.chunked().map(i->i).getOrElse(1,-1),equalTo(1));
+        assertThat(count,equalTo(32));
+    }
+
+    @Test
+    public void chunkedOperationsAcrossChunkBoundaries(){
+        LazySeq<Integer> seq = LazySeq.range(0, 100);
+        assertThat(seq.filter(i -> i % 3 == 0).toList(),equalTo(ReactiveSeq.range(0, 100).filter(i -> i % 3 == 0).toList()));
+        assertThat(seq.filter(i -> i > 70).toList(),equalTo(ReactiveSeq.range(71, 100).toList()));
+        assertThat(seq.take(40).toList(),equalTo(ReactiveSeq.range(0, 40).toList()));
+        assertThat(seq.drop(40).toList(),equalTo(ReactiveSeq.range(40, 100).toList()));
+        assertThat(seq.drop(33).take(31).toList(),equalTo(ReactiveSeq.range(33, 64).toList()));
+        assertThat(seq.drop(200).isEmpty(),equalTo(true));
+        assertThat(seq.zip(LazySeq.range(0, 50), (a, b) -> a + b).toList(),equalTo(ReactiveSeq.range(0, 50).map(i -> i * 2).toList()));
+        assertThat(LazySeq.range(0, 50).zip(seq, (a, b) -> a + b).toList(),equalTo(ReactiveSeq.range(0, 50).map(i -> i * 2).toList()));
+        assertThat(seq.concatMap(i -> i % 2 == 0 ? LazySeq.of(i, i) : LazySeq.empty()).size(),equalTo(100));
+        assertThat(seq.appendAll(LazySeq.of(100, 101)).size(),equalTo(102));
+        assertThat(seq.map(i -> i + 1).tailOrElse(LazySeq.empty()).headOrElse(-1),equalTo(2));
+        assertThat(seq.foldLeft(0, (a, b) -> a + b),equalTo(4950));
+    }
+
+    @Test
+    public void chunkedHeadAndTailNavigation(){
+        LazySeq<Integer> seq = LazySeq.of(ReactiveSeq.range(0, 70).toArray(Integer[]::new));
+        int total = 0;
+        LazySeq<Integer> current = seq;
+        while (!current.isEmpty()) {
+            total += current.headOrElse(0);
+            current = current.tailOrElse(LazySeq.empty());
+        }
+        assertThat(total,equalTo(ReactiveSeq.range(0, 70).foldLeft(0, (a, b) -> a + b)));
+        assertThat(seq.reverse().headOrElse(-1),equalTo(69));
+    }
+
+    @Test
+    public void chunkedOfIsNotAffectedByArrayChanges(){
+        Integer[] values = {1, 2, 3};
+        LazySeq<Integer> seq = LazySeq.of(values);
+        values[0] = 10;
+        assertThat(seq.headOrElse(-1),equalTo(1));
+    }
+
+    @Test
+    public void largeChunkedRange(){
+        assertThat(LazySeq.range(0, 1_000_000).map(i -> i + 1).filter(i -> i % 2 == 0).size(),equalTo(500_000));
+    }
+
 }
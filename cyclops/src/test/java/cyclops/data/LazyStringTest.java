@@ -741,4 +741,58 @@ public class LazyStringTest {
         assertThat(empty.toString(),equalTo(""));
         assertThat(str.toString(),equalTo("hello world"));
     }
+
+    @Test
+    public void largeStringsAcrossChunks() {
+        StringBuilder b = new StringBuilder();
+        for(int i=0;i<2000;i++)
+            b.append("word").append(i).append(i%10==0 ? '\n' : ' ');
+        String text = b.toString();
+        LazyString large = LazyString.of(text);
+
+        assertThat(large.toString(),equalTo(text));
+        assertThat(large.length(),equalTo(text.length()));
+        assertThat(large.substring(1000,3000).toString(),equalTo(text.substring(1000,3000)));
+        assertThat(large.getOrElse(2047,'x'),equalTo(text.charAt(2047)));
+        assertThat(large.words().map(LazyString::toString).toList(),equalTo(Arrays.asList(text.split(" "))));
+        assertThat(large.lines().map(LazyString::toString).toList(),equalTo(Arrays.asList(text.split("\n"))));
+        assertThat(large.toUpperCase().toString(),equalTo(text.toUpperCase()));
+        assertThat(large.append("!").toString(),equalTo(text+"!"));
+        assertThat(large.reverse().toString(),equalTo(b.reverse().toString()));
+        assertThat(large,equalTo(LazyString.fromLazySeq(LazySeq.fromIterable(large))));
+        assertThat(large.hashCode(),equalTo(LazySeq.fromIterable(large).hashCode()));
+    }
+
+    @Test
+    public void separatorOnChunkBoundary() {
+        StringBuilder a = new StringBuilder();
+        StringBuilder b = new StringBuilder();
+        for(int i=0;i<1024;i++)
+            a.append('a');
+        for(int i=0;i<1023;i++)
+            b.append('b');
+        LazyString text = LazyString.of(a+" "+b);
+        LazySeq<LazyString> words = text.words();
+
+        assertThat(words.size(),equalTo(2));
+        assertThat(words.getOrElse(0,null),equalTo(LazyString.of(a)));
+        assertThat(words.getOrElse(1,null),equalTo(LazyString.of(b)));
+        assertThat(LazyString.of(a),equalTo(words.getOrElse(0,null)));
+        assertThat(text.lines().getOrElse(0,null),equalTo(text));
+    }
+
+    @Test
+    public void nonLatin1() {
+        LazyString mixed = LazyString.of("caf\u00e9 \u03bb\u03bc x");
+        assertThat(mixed.toUpperCase().toString(),equalTo("CAF\u00c9 \u039b\u039c X"));
+        assertThat(mixed.words().map(LazyString::toString),equalTo(LazySeq.of("caf\u00e9","\u03bb\u03bc","x")));
+        assertThat(mixed.get(5),equalTo(Option.some('\u03bb')));
+    }
+
+    @Test
+    public void infiniteSource() {
+        LazyString infinite = LazyString.fromLazySeq(LazySeq.generate(()->'a'));
+        assertThat(infinite.take(5000).length(),equalTo(5000));
+        assertThat(infinite.mapChar(c->'b').substring(10,13).toString(),equalTo("bbb"));
+    }
 }
@@ -0,0 +1,176 @@
+package cyclops.data;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LongMapTest {
+
+    static Option<Tuple2<Long, String>> entry(Map.Entry<Long, String> e) {
+        return e == null ? Option.none() : Option.some(Tuple.tuple(e.getKey(), e.getValue()));
+    }
+
+    static List<Tuple2<Long, String>> entries(NavigableMap<Long, String> map) {
+        return map.entrySet().stream().map(e -> Tuple.tuple(e.getKey(), e.getValue())).collect(Collectors.toList());
+    }
+
+    static long randomKey(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextLong();
+            case 1:
+                return random.nextInt(1000) - 500;
+            case 2:
+                return Long.MAX_VALUE - random.nextInt(100);
+            default:
+                return Long.MIN_VALUE + random.nextInt(100);
+        }
+    }
+
+    @Test
+    public void empty() {
+        LongMap<String> empty = LongMap.empty();
+        assertTrue(empty.isEmpty());
+        assertThat(empty.size(), equalTo(0));
+        assertThat(empty.get(1L), equalTo(Option.none()));
+        assertThat(empty.first(), equalTo(Option.none()));
+        assertThat(empty.floor(0L), equalTo(Option.none()));
+        assertThat(empty.remove(1L), sameInstance(empty));
+        assertFalse(empty.iterator().hasNext());
+    }
+
+    @Test
+    public void putGetRemove() {
+        LongMap<String> map = LongMap.of(1L, "one", -1L, "minus one");
+        assertThat(map.get(1L), equalTo(Option.some("one")));
+        assertThat(map.get(Long.valueOf(-1L)), equalTo(Option.some("minus one")));
+        assertThat(map.getOrElse(2L, "none"), equalTo("none"));
+        assertTrue(map.containsKey(-1L));
+        assertThat(map.put(1L, "uno").get(1L), equalTo(Option.some("uno")));
+        assertThat(map.remove(1L).size(), equalTo(1));
+        assertThat(map.remove(5L), sameInstance(map));
+    }
+
+    @Test
+    public void signedOrder() {
+        LongMap<String> map = LongMap.empty();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 42L, -42L, 1L << 40, -(1L << 40)};
+        for (long key : keys)
+            map = map.put(key, "" + key);
+        List<Long> ordered = new ArrayList<>();
+        PrimitiveIterator.OfLong it = map.keyIterator();
+        while (it.hasNext())
+            ordered.add(it.nextLong());
+        assertThat(ordered, equalTo(java.util.Arrays.asList(Long.MIN_VALUE, -(1L << 40), -42L, -1L, 0L, 42L,
+                                                             1L << 40, Long.MAX_VALUE)));
+        assertThat(map.stream().map(Tuple2::_1).toList(), equalTo(ordered));
+        assertThat(map.first(), equalTo(Option.some(Tuple.tuple(Long.MIN_VALUE, "" + Long.MIN_VALUE))));
+        assertThat(map.last(), equalTo(Option.some(Tuple.tuple(Long.MAX_VALUE, "" + Long.MAX_VALUE))));
+    }
+
+    @Test
+    public void randomisedAgainstJavaTreeMap() {
+        Random random = new Random(17);
+        java.util.TreeMap<Long, String> expected = new java.util.TreeMap<>();
+        LongMap<String> map = LongMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            long key = randomKey(random);
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                Long existing = expected.ceilingKey(key);
+                if (existing != null)
+                    key = existing;
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, "" + i);
+                map = map.put(key, "" + i);
+            }
+            assertThat(map.size(), equalTo(expected.size()));
+        }
+        assertThat(map.stream().toList(), equalTo(entries(expected)));
+
+        for (int i = 0; i < 2000; i++) {
+            long key = randomKey(random);
+            assertThat(map.get(key), equalTo(Option.ofNullable(expected.get(key))));
+            assertThat(map.floor(key), equalTo(entry(expected.floorEntry(key))));
+            assertThat(map.ceiling(key), equalTo(entry(expected.ceilingEntry(key))));
+            assertThat(map.lower(key), equalTo(entry(expected.lowerEntry(key))));
+            assertThat(map.higher(key), equalTo(entry(expected.higherEntry(key))));
+        }
+        for (Long key : expected.keySet()) {
+            assertThat(map.lower(key), equalTo(entry(expected.lowerEntry(key))));
+            assertThat(map.higher(key), equalTo(entry(expected.higherEntry(key))));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            long a = randomKey(random);
+            long b = randomKey(random);
+            long from = Math.min(a, b);
+            long to = Math.max(a, b);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            LongMap<String> sub = map.subMap(from, fromInclusive, to, toInclusive);
+            NavigableMap<Long, String> expectedSub = expected.subMap(from, fromInclusive, to, toInclusive);
+            assertThat(sub.stream().toList(), equalTo(entries(expectedSub)));
+            assertThat(sub.size(), equalTo(expectedSub.size()));
+            assertThat(map.headMap(to, toInclusive).stream().toList(), equalTo(entries(expected.headMap(to, toInclusive))));
+            assertThat(map.tailMap(from, fromInclusive).stream().toList(),
+                       equalTo(entries(expected.tailMap(from, fromInclusive))));
+        }
+    }
+
+    @Test
+    public void equalityIsIndependentOfInsertionOrder() {
+        LongMap<Integer> ascending = LongMap.empty();
+        LongMap<Integer> descending = LongMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            ascending = ascending.put(i * 7919L, i);
+            descending = descending.put((999 - i) * 7919L, 999 - i);
+        }
+        assertThat(ascending, equalTo(descending));
+        assertThat(ascending.hashCode(), equalTo(descending.hashCode()));
+        assertThat(ascending, equalTo(HashMap.fromStream(ascending.stream())));
+        assertFalse(ascending.equals(descending.put(0L, -1)));
+    }
+
+    @Test
+    public void spliteratorSplitsExactly() {
+        LongMap<Integer> map = LongMap.empty();
+        for (int i = 0; i < 10_000; i++)
+            map = map.put(i * 31L, i);
+        Spliterator<Tuple2<Long, Integer>> split = map.spliterator();
+        Spliterator<Tuple2<Long, Integer>> prefix = split.trySplit();
+        assertThat(prefix.estimateSize() + split.estimateSize(), equalTo(10_000L));
+        List<Long> keys = StreamSupport.stream(prefix, false).map(Tuple2::_1).collect(Collectors.toList());
+        keys.addAll(StreamSupport.stream(split, false).map(Tuple2::_1).collect(Collectors.toList()));
+        assertThat(keys, equalTo(map.keys().toList()));
+        assertThat(StreamSupport.stream(map.spliterator(), true).count(), equalTo(10_000L));
+        assertThat(map.stream().cycle(2).count(), equalTo(20_000L));
+    }
+
+    @Test
+    public void boxedOperations() {
+        LongMap<String> map = LongMap.fromMap(java.util.Collections.singletonMap(5L, "five"));
+        assertThat(map.filterKeys(k -> k > 3).size(), equalTo(1));
+        assertThat(map.mapValues(String::length).get(5L), equalTo(Option.some(4)));
+        assertThat(map.mapKeys(k -> "" + k).get("5"), equalTo(Option.some("five")));
+        assertThat(map.putAll(HashMap.of(6L, "six")).keys().toList(), equalTo(java.util.Arrays.asList(5L, 6L)));
+    }
+}
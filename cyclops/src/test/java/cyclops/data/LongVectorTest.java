@@ -0,0 +1,32 @@
+package cyclops.data;
+
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LongVectorTest {
+
+    @Test
+    public void ofMatchesPlus(){
+        for(int size : new int[]{1,32,33,1025}){
+            long[] values = LongStream.range(0,size).map(i->i*Integer.MAX_VALUE).toArray();
+            LongVector pushed = LongVector.empty();
+            for(long i : values)
+                pushed = pushed.plus(i);
+            assertThat(LongVector.of(values),equalTo(pushed));
+            assertThat(pushed.getOrElse(size-1,-1),equalTo(values[size-1]));
+        }
+    }
+
+    @Test
+    public void mapStreamAndSum(){
+        LongVector v = LongVector.range(0,1000).map(i->i*2);
+        assertThat(v.sum(),equalTo(999000L));
+        assertThat(v.stream().parallel().sum(),equalTo(999000L));
+        assertThat(v.updateAt(0,7).getOrElse(0,-1),equalTo(7L));
+        assertThat(LongVector.fromVector(v.toVector()),equalTo(v));
+    }
+}
@@ -1,10 +1,16 @@
 package cyclops.data;
 
 
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
 import org.junit.Test;
 
 import java.util.Comparator;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
 /**
  * Created by johnmcclean on 02/09/2017.
  */
@@ -22,4 +28,32 @@ public class TreeMapTest {
 
         System.out.println(map.put(10,"boo!").elementAt(10).orElse(null));
     }
+
+    @Test
+    public void navigation(){
+        TreeMap<Integer,Integer> map = TreeMap.fromStream(ReactiveSeq.range(0,100).map(i->Tuple2.of(i*2,i)),Comparator.<Integer>naturalOrder());
+        assertThat(map.size(),equalTo(100));
+        assertThat(map.floor(11).map(Tuple2::_1),equalTo(Option.some(10)));
+        assertThat(map.ceiling(11).map(Tuple2::_1),equalTo(Option.some(12)));
+        assertThat(map.lower(10).map(Tuple2::_1),equalTo(Option.some(8)));
+        assertThat(map.higher(10).map(Tuple2::_1),equalTo(Option.some(12)));
+        assertThat(map.floor(-1),equalTo(Option.none()));
+        assertThat(map.first().map(Tuple2::_1),equalTo(Option.some(0)));
+        assertThat(map.last().map(Tuple2::_1),equalTo(Option.some(198)));
+        assertThat(map.rank(11),equalTo(6));
+        assertThat(map.getAt(6).map(Tuple2::_1),equalTo(Option.some(12)));
+    }
+
+    @Test
+    public void rangeViews(){
+        TreeMap<Integer,Integer> map = TreeMap.fromStream(ReactiveSeq.range(0,100).map(i->Tuple2.of(i,i)),Comparator.<Integer>naturalOrder());
+        assertThat(map.headMap(10).stream().map(Tuple2::_1).toList(),equalTo(ReactiveSeq.range(0,10).toList()));
+        assertThat(map.headMap(10,true).size(),equalTo(11));
+        assertThat(map.tailMap(90).stream().map(Tuple2::_1).toList(),equalTo(ReactiveSeq.range(90,100).toList()));
+        assertThat(map.tailMap(90,false).size(),equalTo(9));
+        assertThat(map.subMap(20,30).stream().map(Tuple2::_1).toList(),equalTo(ReactiveSeq.range(20,30).toList()));
+        assertThat(map.take(5).size(),equalTo(5));
+        assertThat(map.drop(95).stream().map(Tuple2::_1).toList(),equalTo(ReactiveSeq.range(95,100).toList()));
+        assertThat(map.subMap(20,30).put(100,100).size(),equalTo(11));
+    }
 }
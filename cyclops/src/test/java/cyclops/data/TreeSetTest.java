@@ -12,6 +12,7 @@ import org.hamcrest.MatcherAssert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -132,4 +133,17 @@ public class TreeSetTest extends BaseImmutableSortedSetTest{
         MatcherAssert.assertThat(of(1).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.nothing()));
         MatcherAssert.assertThat(of(0,1,2,3,4,5,6,1,2,3).lastIndexOfSlice(Seq.of(1,2,3)),equalTo(Maybe.just(1l)));
     }
+    @Test
+    public void navigation(){
+        TreeSet<Integer> set = TreeSet.fromStream(Stream.of(0,2,4,6,8),Comparator.naturalOrder());
+        assertThat(set.floor(5),equalTo(Option.some(4)));
+        assertThat(set.ceiling(5),equalTo(Option.some(6)));
+        assertThat(set.lower(4),equalTo(Option.some(2)));
+        assertThat(set.higher(8),equalTo(Option.none()));
+        assertThat(set.rank(5),equalTo(3));
+        assertThat(set.get(3),equalTo(Option.some(6)));
+        assertThat(set.subSet(1,6).toList(),equalTo(Arrays.asList(2,4)));
+        assertThat(set.headSet(4).toList(),equalTo(Arrays.asList(0,2)));
+        assertThat(set.tailSet(4).toList(),equalTo(Arrays.asList(4,6,8)));
+    }
 }
@@ -13,11 +13,15 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -463,4 +467,124 @@ public class VectorTest extends BaseImmutableListTest {
         assertThat(ints.delete(2),equalTo(Either.right(Vector.of(1,2))));
     }
 
+    @Test
+    public void prependLarge(){
+        Vector<Integer> v = Vector.empty();
+        for(int i=0;i<5000;i++){
+            v = v.prepend(i);
+        }
+        assertThat(v.size(),equalTo(5000));
+        assertThat(v.toList(),equalTo(ReactiveSeq.range(0,5000).reverse().toList()));
+        assertThat(v.append(-1).getOrElse(5000,null),equalTo(-1));
+    }
+    @Test
+    public void appendAllVectors(){
+        Vector<Integer> a = Vector.range(0,1000);
+        Vector<Integer> b = Vector.range(1000,2500);
+        Vector<Integer> joined = a.appendAll(b);
+        assertThat(joined.size(),equalTo(2500));
+        assertThat(joined.toList(),equalTo(ReactiveSeq.range(0,2500).toList()));
+        assertThat(joined.plus(2500).plus(2501).toList(),equalTo(ReactiveSeq.range(0,2502).toList()));
+        assertThat(joined.updateAt(1500,-1).getOrElse(1500,null),equalTo(-1));
+        assertThat(joined.map(i->i*2).getOrElse(1999,null),equalTo(3998));
+    }
+    @Test
+    public void sliceLarge(){
+        Vector<Integer> v = Vector.range(0,10000);
+        assertThat(v.slice(1234,5678).toList(),equalTo(ReactiveSeq.range(1234,5678).toList()));
+        assertThat(v.subList(33,9999).toList(),equalTo(ReactiveSeq.range(33,9999).toList()));
+        assertThat(v.drop(1000).take(50).toList(),equalTo(ReactiveSeq.range(1000,1050).toList()));
+        assertThat(v.dropRight(10).takeRight(5).toList(),equalTo(ReactiveSeq.range(9985,9990).toList()));
+        assertThat(v.deleteBetween(100,9900).toList(),equalTo(ReactiveSeq.range(0,100).appendStream(ReactiveSeq.range(9900,10000)).toList()));
+    }
+    @Test
+    public void insertAndRemoveAtLarge(){
+        java.util.Random r = new java.util.Random(7);
+        java.util.List<Integer> model = new ArrayList<>(ReactiveSeq.range(0,3000).toList());
+        Vector<Integer> v = Vector.range(0,3000);
+        for(int i=0;i<500;i++){
+            int pos = r.nextInt(model.size());
+            if(r.nextBoolean()){
+                model.add(pos,-i);
+                v = v.insertAt(pos,-i);
+            }else{
+                model.remove(pos);
+                v = v.removeAt(pos);
+            }
+            assertThat(v.size(),equalTo(model.size()));
+        }
+        assertThat(v.toList(),equalTo(model));
+        assertThat(v,equalTo(Vector.fromIterable(model)));
+    }
+
+    @Test
+    public void builder(){
+        for(int size : new int[]{0,1,31,32,33,64,1024,1025,32*32*32+7}){
+            Vector.Builder<Integer> builder = Vector.builder();
+            Vector<Integer> appended = Vector.empty();
+            for(int i=0;i<size;i++){
+                builder.add(i);
+                appended = appended.plus(i);
+            }
+            Vector<Integer> built = builder.persistent();
+            assertThat(built.size(),equalTo(size));
+            assertThat(built,equalTo(appended));
+            assertThat(built.plus(-1).getOrElse(size,null),equalTo(-1));
+        }
+    }
+    @Test(expected = IllegalStateException.class)
+    public void builderClosedAfterPersistent(){
+        Vector.Builder<Integer> builder = Vector.builder();
+        builder.persistent();
+        builder.add(1);
+    }
+    @Test
+    public void collectorLarge(){
+        Vector<Integer> vec = Stream.iterate(0,i->i+1).limit(10000).collect(Vector.collector());
+        assertThat(vec,equalTo(Vector.range(0,10000)));
+    }
+
+    @Test
+    public void spliteratorSplitsOnLeafBoundaries(){
+        Vector<Integer> vec = Vector.range(0,100000);
+        Spliterator<Integer> right = vec.spliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED|Spliterator.SUBSIZED));
+        Spliterator<Integer> left = right.trySplit();
+        assertThat(left.estimateSize()%32,equalTo(0L));
+        assertThat(left.estimateSize()+right.estimateSize(),equalTo(100000L));
+        List<Integer> all = new ArrayList<>();
+        left.forEachRemaining(all::add);
+        right.forEachRemaining(all::add);
+        assertThat(all,equalTo(vec.toList()));
+    }
+    @Test
+    public void spliteratorSplitsRelaxedVectorsWithExactSizes(){
+        Vector<Integer> relaxed = Vector.range(0,5000).drop(7)
+                                        .appendAll(Vector.range(5000,12345))
+                                        .prependAll(Vector.range(-100,0))
+                                        .take(12000);
+        assertThat(splitAndCollect(relaxed.spliterator(),0),equalTo(relaxed.toList()));
+        assertThat(splitAndCollect(Vector.range(0,1000).spliterator(),0),equalTo(Vector.range(0,1000).toList()));
+        assertThat(splitAndCollect(Vector.range(0,20).spliterator(),0),equalTo(Vector.range(0,20).toList()));
+        assertThat(splitAndCollect(Vector.<Integer>empty().spliterator(),0),equalTo(Arrays.asList()));
+        assertThat(relaxed.parallelStream().map(i->i).collect(Collectors.toList()),equalTo(relaxed.toList()));
+    }
+    private List<Integer> splitAndCollect(Spliterator<Integer> right, int depth){
+        long size = right.estimateSize();
+        List<Integer> all = new ArrayList<>();
+        Spliterator<Integer> left = depth<12 ? right.trySplit() : null;
+        if(left!=null){
+            assertThat(left.estimateSize()+right.estimateSize(),equalTo(size));
+            all.addAll(splitAndCollect(left,depth+1));
+            all.addAll(splitAndCollect(right,depth+1));
+        }else{
+            if(depth%2==0)
+                right.tryAdvance(all::add);
+            right.forEachRemaining(all::add);
+            assertThat(right.trySplit(),equalTo(null));
+        }
+        assertThat((long)all.size(),equalTo(size));
+        return all;
+    }
+
 }
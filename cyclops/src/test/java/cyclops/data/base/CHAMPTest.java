@@ -0,0 +1,335 @@
+package cyclops.data.base;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CHAMPTest {
+
+    /**
+     * Key with a controllable hash code, so that tests can force partial and full hash collisions
+     */
+    static final class Key implements Serializable {
+        final int value;
+        final int hash;
+
+        Key(int value, int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public String toString() {
+            return "K" + value;
+        }
+    }
+
+    static Key key(int value) {
+        //only a handful of distinct hashes, so many keys fully collide
+        return new Key(value, value % 7 == 0 ? 42 : value * 31);
+    }
+
+    static <K, V> Map<K, V> toMap(CHAMP<K, V> champ) {
+        Map<K, V> res = new HashMap<>();
+        Iterator<Tuple2<K, V>> it = champ.iterator();
+        while (it.hasNext()) {
+            Tuple2<K, V> next = it.next();
+            res.put(next._1(), next._2());
+        }
+        return res;
+    }
+
+    static <K, V> CHAMP<K, V> fromMap(Map<K, V> map) {
+        CHAMP<K, V> res = CHAMP.empty();
+        for (Map.Entry<K, V> e : map.entrySet())
+            res = res.put(e.getKey(), e.getValue());
+        return res;
+    }
+
+    static int expectedHash(Map<?, ?> map) {
+        int h = 0;
+        for (Map.Entry<?, ?> e : map.entrySet())
+            h += Tuple.tuple(e.getKey(), e.getValue()).hashCode();
+        return h;
+    }
+
+    @Test
+    public void empty() {
+        CHAMP<Integer, Integer> empty = CHAMP.empty();
+        assertThat(empty.size(), equalTo(0));
+        assertTrue(empty.isEmpty());
+        assertThat(empty.get(1), equalTo(Option.none()));
+        assertThat(empty.remove(1), sameInstance(empty));
+        assertFalse(empty.iterator().hasNext());
+        assertThat(empty.hashCode(), equalTo(0));
+    }
+
+    @Test
+    public void putGetRemove() {
+        CHAMP<Integer, String> champ = CHAMP.empty();
+        for (int i = 0; i < 10_000; i++)
+            champ = champ.put(i, "" + i);
+        assertThat(champ.size(), equalTo(10_000));
+        for (int i = 0; i < 10_000; i++)
+            assertThat(champ.getOrElse(i, null), equalTo("" + i));
+        assertThat(champ.get(10_000), equalTo(Option.none()));
+        for (int i = 0; i < 10_000; i += 2)
+            champ = champ.remove(i);
+        assertThat(champ.size(), equalTo(5_000));
+        assertFalse(champ.containsKey(0));
+        assertTrue(champ.containsKey(1));
+    }
+
+    @Test
+    public void unchangedReturnsSameInstance() {
+        String value = "one";
+        CHAMP<Integer, String> champ = CHAMP.<Integer, String>empty().put(1, value).put(2, "two");
+        assertThat(champ.put(1, value), sameInstance(champ));
+        assertThat(champ.remove(3), sameInstance(champ));
+    }
+
+    @Test
+    public void nullKeysAndValues() {
+        CHAMP<Integer, String> champ = CHAMP.<Integer, String>empty().put(null, "null").put(1, null);
+        assertThat(champ.get(null), equalTo(Option.some("null")));
+        assertThat(champ.get(1), equalTo(Option.some(null)));
+        assertThat(champ.remove(null).size(), equalTo(1));
+    }
+
+    @Test
+    public void randomisedAgainstHashMap() {
+        Random random = new Random(7);
+        Map<Key, Integer> expected = new HashMap<>();
+        CHAMP<Key, Integer> champ = CHAMP.empty();
+        for (int i = 0; i < 50_000; i++) {
+            Key key = key(random.nextInt(3000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                champ = champ.remove(key);
+            } else {
+                expected.put(key, i);
+                champ = champ.put(key, i);
+            }
+            assertThat(champ.size(), equalTo(expected.size()));
+        }
+        assertThat(toMap(champ), equalTo(expected));
+        assertThat(champ.hashCode(), equalTo(expectedHash(expected)));
+        for (int i = 0; i < 3000; i++)
+            assertThat(champ.get(key(i)), equalTo(Option.ofNullable(expected.get(key(i)))));
+    }
+
+    @Test
+    public void canonicalAfterRemoval() {
+        CHAMP<Integer, Integer> small = CHAMP.empty();
+        CHAMP<Integer, Integer> large = CHAMP.empty();
+        for (int i = 0; i < 2000; i++) {
+            large = large.put(i, i);
+            if (i % 3 == 0)
+                small = small.put(i, i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            if (i % 3 != 0)
+                large = large.remove(i);
+        }
+        assertThat(large.toString(), equalTo(small.toString()));
+        assertThat(large, equalTo(small));
+        assertThat(large.hashCode(), equalTo(small.hashCode()));
+    }
+
+    @Test
+    public void collisions() {
+        CHAMP<Key, Integer> champ = CHAMP.empty();
+        for (int i = 0; i < 100; i++)
+            champ = champ.put(new Key(i, 5), i);
+        assertThat(champ.size(), equalTo(100));
+        for (int i = 0; i < 100; i++)
+            assertThat(champ.get(new Key(i, 5)), equalTo(Option.some(i)));
+        CHAMP<Key, Integer> reversed = CHAMP.empty();
+        for (int i = 99; i >= 0; i--)
+            reversed = reversed.put(new Key(i, 5), i);
+        assertThat(champ, equalTo(reversed));
+        for (int i = 0; i < 99; i++)
+            champ = champ.remove(new Key(i, 5));
+        assertThat(champ, equalTo(CHAMP.<Key, Integer>empty().put(new Key(99, 5), 99)));
+    }
+
+    @Test
+    public void equalsComparesValues() {
+        CHAMP<Integer, Integer> a = CHAMP.<Integer, Integer>empty().put(1, 1).put(2, 2);
+        assertThat(a, equalTo(CHAMP.<Integer, Integer>empty().put(2, 2).put(1, 1)));
+        assertThat(a, not(equalTo(a.put(2, 3))));
+        assertThat(a, not(equalTo(a.remove(2))));
+    }
+
+    @Test
+    public void setOperations() {
+        Random random = new Random(11);
+        for (int run = 0; run < 50; run++) {
+            Map<Key, Integer> left = new HashMap<>();
+            Map<Key, Integer> right = new HashMap<>();
+            int range = 1 + random.nextInt(2000);
+            for (int i = 0; i < random.nextInt(1000); i++)
+                left.put(key(random.nextInt(range)), i);
+            for (int i = 0; i < random.nextInt(1000); i++)
+                right.put(key(random.nextInt(range)), -i);
+            CHAMP<Key, Integer> a = fromMap(left);
+            CHAMP<Key, Integer> b = fromMap(right);
+
+            Map<Key, Integer> union = new HashMap<>(left);
+            union.putAll(right);
+            Map<Key, Integer> intersect = new HashMap<>(left);
+            intersect.keySet().retainAll(right.keySet());
+            Map<Key, Integer> diff = new HashMap<>(left);
+            diff.keySet().removeAll(right.keySet());
+
+            CHAMP<Key, Integer> u = a.union(b);
+            CHAMP<Key, Integer> i = a.intersect(b);
+            CHAMP<Key, Integer> d = a.diff(b);
+            assertThat(toMap(u), equalTo(union));
+            assertThat(toMap(i), equalTo(intersect));
+            assertThat(toMap(d), equalTo(diff));
+            assertThat(u.size(), equalTo(union.size()));
+            assertThat(i.size(), equalTo(intersect.size()));
+            assertThat(d.size(), equalTo(diff.size()));
+            //results are canonical
+            assertThat(u, equalTo(fromMap(union)));
+            assertThat(i, equalTo(fromMap(intersect)));
+            assertThat(d, equalTo(fromMap(diff)));
+            assertThat(u.hashCode(), equalTo(expectedHash(union)));
+        }
+    }
+
+    @Test
+    public void setOperationsShareStructure() {
+        CHAMP<Integer, Integer> a = CHAMP.empty();
+        for (int i = 0; i < 1000; i++)
+            a = a.put(i, i);
+        assertThat(a.union(a), sameInstance(a));
+        assertThat(a.intersect(a), sameInstance(a));
+        assertTrue(a.diff(a).isEmpty());
+        assertThat(a.union(CHAMP.empty()), sameInstance(a));
+        assertThat(a.diff(CHAMP.<Integer, Integer>empty().put(5000, 1)), sameInstance(a));
+        CHAMP<Integer, Integer> b = a.put(5000, 5000);
+        assertThat(a.union(b), equalTo(b));
+        assertThat(b.intersect(a), equalTo(a));
+        assertThat(b.diff(a), equalTo(CHAMP.<Integer, Integer>empty().put(5000, 5000)));
+    }
+
+    @Test
+    public void transientMatchesPersistent() {
+        Random random = new Random(3);
+        CHAMP<Key, Integer> persistent = CHAMP.empty();
+        for (int i = 0; i < 500; i++)
+            persistent = persistent.put(key(random.nextInt(1000)), i);
+        CHAMP.Transient<Key, Integer> t = CHAMP.Transient.of(persistent);
+        CHAMP<Key, Integer> expected = persistent;
+        for (int i = 0; i < 20_000; i++) {
+            Key key = key(random.nextInt(1000));
+            if (random.nextBoolean()) {
+                t.put(key, i);
+                expected = expected.put(key, i);
+            } else {
+                t.remove(key);
+                expected = expected.remove(key);
+            }
+            assertThat(t.size(), equalTo(expected.size()));
+            assertThat(t.getOrElse(key, null), equalTo(expected.getOrElse(key, null)));
+        }
+        CHAMP<Key, Integer> built = t.persistent();
+        assertThat(built, equalTo(expected));
+        assertThat(built.toString(), equalTo(expected.toString()));
+        assertThat(toMap(persistent).size(), equalTo(persistent.size()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void transientClosed() {
+        CHAMP.Transient<Integer, Integer> t = CHAMP.Transient.of(CHAMP.empty());
+        t.persistent();
+        t.put(1, 1);
+    }
+
+    @Test
+    public void spliteratorSplitsExactly() {
+        CHAMP<Integer, Integer> champ = CHAMP.empty();
+        for (int i = 0; i < 10_000; i++)
+            champ = champ.put(i, i);
+        List<Spliterator<Integer>> parts = new ArrayList<>();
+        parts.add(champ.keySpliterator());
+        for (int round = 0; round < 6; round++) {
+            List<Spliterator<Integer>> next = new ArrayList<>();
+            for (Spliterator<Integer> part : parts) {
+                Spliterator<Integer> prefix = part.trySplit();
+                if (prefix != null)
+                    next.add(prefix);
+                next.add(part);
+            }
+            parts = next;
+        }
+        assertTrue(parts.size() > 16);
+        Set<Integer> seen = new HashSet<>();
+        long total = 0;
+        for (Spliterator<Integer> part : parts) {
+            long size = part.estimateSize();
+            List<Integer> values = StreamSupport.stream(part, false).collect(Collectors.toList());
+            assertThat((long) values.size(), equalTo(size));
+            total += size;
+            seen.addAll(values);
+        }
+        assertThat(total, equalTo(10_000L));
+        assertThat(seen.size(), equalTo(10_000));
+        assertThat(StreamSupport.stream(champ.spliterator(), true).count(), equalTo(10_000L));
+        assertThat(champ.keys().cycle(2).count(), equalTo(20_000L));
+    }
+
+    @Test
+    public void serializes() throws Exception {
+        CHAMP<Key, Integer> champ = CHAMP.empty();
+        for (int i = 0; i < 200; i++)
+            champ = champ.put(key(i), i);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(champ);
+        }
+        CHAMP<Key, Integer> read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (CHAMP<Key, Integer>) in.readObject();
+        }
+        assertThat(read, equalTo(champ));
+        assertThat(read.hashCode(), equalTo(champ.hashCode()));
+    }
+}
@@ -0,0 +1,108 @@
+package cyclops.data.base;
+
+import cyclops.data.base.BAMT.RRB;
+import cyclops.data.base.BAMT.Two;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class RRBTest {
+
+    @Test
+    public void fromTwo(){
+        Two<Integer> two = new TwoTest().create(4,32);
+        RRB<Integer> rrb = RRB.fromNestedArray(two,128);
+        assertThat(rrb.stream().toList(),equalTo(ReactiveSeq.range(0,128).toList()));
+        for(int i=0;i<128;i++){
+            assertThat(rrb.getOrElse(i,-1),equalTo(i));
+        }
+    }
+    @Test
+    public void concatLeaves(){
+        RRB<Integer> rrb = RRB.concat(RRB.leaf(new Integer[]{1,2}),RRB.leaf(new Integer[]{3}));
+        assertThat(rrb.height,equalTo(0));
+        assertThat(rrb.stream().toList(),equalTo(Arrays.asList(1,2,3)));
+    }
+    @Test
+    public void concatUneven(){
+        for(int l=1;l<2000;l+=97){
+            for(int r=1;r<2000;r+=89){
+                RRB<Integer> rrb = RRB.concat(create(0,l),create(l,r));
+                assertThat(rrb.size(),equalTo(l+r));
+                assertThat(rrb.stream().toList(),equalTo(ReactiveSeq.range(0,l+r).toList()));
+                for(int i=0;i<l+r;i++){
+                    assertThat(rrb.getOrElse(i,-1),equalTo(i));
+                }
+            }
+        }
+    }
+    @Test
+    public void takeDrop(){
+        RRB<Integer> rrb = RRB.concat(create(0,1000),create(1000,3000));
+        for(int i=1;i<4000;i+=37){
+            assertThat(rrb.take(i).stream().toList(),equalTo(ReactiveSeq.range(0,i).toList()));
+            assertThat(rrb.drop(i).stream().toList(),equalTo(ReactiveSeq.range(i,4000).toList()));
+            assertThat(rrb.drop(i).getOrElse(0,-1),equalTo(i));
+        }
+    }
+    @Test
+    public void setAndMap(){
+        RRB<Integer> rrb = RRB.concat(create(0,77),create(77,2000));
+        RRB<Integer> updated = rrb.set(1000,-1);
+        assertThat(updated.getOrElse(1000,null),equalTo(-1));
+        assertThat(rrb.getOrElse(1000,null),equalTo(1000));
+        assertThat(rrb.map(i->i*2).stream().toList(),equalTo(ReactiveSeq.range(0,2077).map(i->i*2).toList()));
+    }
+    @Test
+    public void repeatedPrependStaysShallow(){
+        RRB<Integer> rrb = create(0,1);
+        for(int i=1;i<100000;i++){
+            rrb = RRB.concat(create(-i,1),rrb);
+        }
+        assertThat(rrb.size(),equalTo(100000));
+        assertThat(rrb.height<=4,equalTo(true));
+        assertThat(rrb.getOrElse(0,null),equalTo(-99999));
+        assertThat(rrb.getOrElse(99999,null),equalTo(0));
+    }
+    @Test
+    public void randomSplitsAndJoins(){
+        Random r = new Random(42);
+        List<Integer> model = new ArrayList<>();
+        for(int i=0;i<5000;i++){
+            model.add(i);
+        }
+        RRB<Integer> rrb = create(0,5000);
+        for(int round=0;round<300;round++){
+            int cut = 1+r.nextInt(model.size()-1);
+            List<Integer> front = new ArrayList<>(model.subList(0,cut));
+            List<Integer> back = new ArrayList<>(model.subList(cut,model.size()));
+            model = new ArrayList<>(back);
+            model.addAll(front);
+            rrb = RRB.concat(rrb.drop(cut),rrb.take(cut));
+            assertThat(rrb.size(),equalTo(model.size()));
+            int probe = r.nextInt(model.size());
+            assertThat(rrb.getOrElse(probe,null),equalTo(model.get(probe)));
+        }
+        assertThat(rrb.stream().toList(),equalTo(model));
+    }
+
+    private RRB<Integer> create(int start, int count){
+        RRB<Integer> res = null;
+        for(int i=0;i<count;i+=32){
+            int len = Math.min(32,count-i);
+            Integer[] leaf = new Integer[len];
+            for(int j=0;j<len;j++){
+                leaf[j]=start+i+j;
+            }
+            res = res==null ? RRB.leaf(leaf) : RRB.concat(res,RRB.leaf(leaf));
+        }
+        return res;
+    }
+}
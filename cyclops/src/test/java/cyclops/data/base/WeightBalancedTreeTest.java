@@ -0,0 +1,186 @@
+package cyclops.data.base;
+
+import cyclops.control.Option;
+import cyclops.data.tuple.Tuple;
+import cyclops.data.tuple.Tuple2;
+import cyclops.reactive.ReactiveSeq;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WeightBalancedTreeTest {
+
+    WeightBalancedTree<Integer, String> empty() {
+        return WeightBalancedTree.empty(Comparator.naturalOrder());
+    }
+
+    WeightBalancedTree<Integer, String> range(int start, int end) {
+        WeightBalancedTree<Integer, String> tree = empty();
+        for (int i = start; i < end; i++)
+            tree = tree.plus(i, "" + i);
+        return tree;
+    }
+
+    static <K, V> Option<Tuple2<K, V>> entry(Map.Entry<K, V> e) {
+        return e == null ? Option.none() : Option.some(Tuple.tuple(e.getKey(), e.getValue()));
+    }
+
+    static <K, V> List<Tuple2<K, V>> entries(NavigableMap<K, V> map) {
+        return map.entrySet().stream().map(e -> Tuple.tuple(e.getKey(), e.getValue())).collect(Collectors.toList());
+    }
+
+    @Test
+    public void emptyProperties() {
+        assertTrue(empty().isEmpty());
+        assertThat(empty().size(), equalTo(0));
+        assertThat(empty().first(), equalTo(Option.none()));
+        assertThat(empty().floor(1), equalTo(Option.none()));
+        assertThat(empty().rank(1), equalTo(0));
+        assertThat(empty().getAt(0), equalTo(Option.none()));
+        assertFalse(empty().iterator().hasNext());
+        assertThat(empty().stream().count(), equalTo(0L));
+    }
+
+    @Test
+    public void sequentialInsertsStayBalanced() {
+        WeightBalancedTree<Integer, String> tree = empty();
+        for (int i = 0; i < 10_000; i++) {
+            tree = tree.plus(i, "" + i);
+        }
+        assertTrue(tree.valid());
+        assertThat(tree.size(), equalTo(10_000));
+        for (int i = 0; i < 10_000; i += 2) {
+            tree = tree.minus(i);
+        }
+        assertTrue(tree.valid());
+        assertThat(tree.size(), equalTo(5_000));
+        assertThat(tree.keys().toList(), equalTo(ReactiveSeq.range(0, 10_000).filter(i -> i % 2 == 1).toList()));
+    }
+
+    @Test
+    public void unchangedReturnsSameInstance() {
+        WeightBalancedTree<Integer, String> tree = range(0, 10);
+        assertThat(tree.minus(100), sameInstance(tree));
+        assertThat(tree.take(10), sameInstance(tree));
+        assertThat(tree.drop(0), sameInstance(tree));
+    }
+
+    @Test
+    public void rankAndSelect() {
+        WeightBalancedTree<Integer, String> tree = empty();
+        for (int i = 0; i < 1000; i++)
+            tree = tree.plus(i * 2, "" + i * 2);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(tree.rank(i * 2), equalTo(i));
+            assertThat(tree.rank(i * 2 + 1), equalTo(i + 1));
+            assertThat(tree.getAt(i), equalTo(Option.some(Tuple.tuple(i * 2, "" + i * 2))));
+        }
+        assertThat(tree.rank(-1), equalTo(0));
+        assertThat(tree.getAt(-1), equalTo(Option.none()));
+        assertThat(tree.getAt(1000), equalTo(Option.none()));
+    }
+
+    @Test
+    public void takeAndDrop() {
+        WeightBalancedTree<Integer, String> tree = range(0, 100);
+        for (int n = -1; n <= 101; n++) {
+            int count = n;
+            WeightBalancedTree<Integer, String> taken = tree.take(n);
+            WeightBalancedTree<Integer, String> dropped = tree.drop(n);
+            assertTrue(taken.valid());
+            assertTrue(dropped.valid());
+            assertThat(taken.keys().toList(), equalTo(ReactiveSeq.range(0, 100).take(count).toList()));
+            assertThat(dropped.keys().toList(), equalTo(ReactiveSeq.range(0, 100).drop(count).toList()));
+        }
+    }
+
+    @Test
+    public void iteratorAndSpliterator() {
+        WeightBalancedTree<Integer, String> tree = range(0, 1000);
+        List<Integer> keys = new ArrayList<>();
+        Iterator<Integer> it = tree.keyIterator();
+        while (it.hasNext())
+            keys.add(it.next());
+        assertThat(keys, equalTo(ReactiveSeq.range(0, 1000).toList()));
+
+        Spliterator<Integer> split = tree.keySpliterator();
+        assertThat(split.estimateSize(), equalTo(1000L));
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = split.trySplit();
+        assertThat(prefix.estimateSize(), equalTo(500L));
+        assertThat(StreamSupport.stream(prefix, false).collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 500).toList()));
+        assertThat(StreamSupport.stream(split, false).collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(500, 1000).toList()));
+
+        assertThat(StreamSupport.stream(tree.keySpliterator(), true).collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 1000).toList()));
+    }
+
+    @Test
+    public void randomisedAgainstJavaTreeMap() {
+        Random random = new Random(42);
+        java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+        WeightBalancedTree<Integer, String> tree = empty();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                tree = tree.minus(key);
+            } else {
+                expected.put(key, "" + i);
+                tree = tree.plus(key, "" + i);
+            }
+        }
+        assertTrue(tree.valid());
+        assertThat(tree.size(), equalTo(expected.size()));
+        assertThat(tree.stream().toList(), equalTo(entries(expected)));
+        assertThat(tree.first(), equalTo(entry(expected.firstEntry())));
+        assertThat(tree.last(), equalTo(entry(expected.lastEntry())));
+
+        for (int key = -1; key <= 2001; key++) {
+            assertThat(tree.get(key), equalTo(Option.ofNullable(expected.get(key))));
+            assertThat(tree.floor(key), equalTo(entry(expected.floorEntry(key))));
+            assertThat(tree.ceiling(key), equalTo(entry(expected.ceilingEntry(key))));
+            assertThat(tree.lower(key), equalTo(entry(expected.lowerEntry(key))));
+            assertThat(tree.higher(key), equalTo(entry(expected.higherEntry(key))));
+            assertThat(tree.rank(key), equalTo(expected.headMap(key).size()));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(2100) - 50;
+            int to = from + random.nextInt(500);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            WeightBalancedTree<Integer, String> sub = tree.sub(from, fromInclusive, to, toInclusive);
+            assertTrue(sub.valid());
+            assertThat(sub.stream().toList(), equalTo(entries(expected.subMap(from, fromInclusive, to, toInclusive))));
+            assertThat(tree.head(to, toInclusive).stream().toList(), equalTo(entries(expected.headMap(to, toInclusive))));
+            assertThat(tree.tail(from, fromInclusive).stream().toList(),
+                       equalTo(entries(expected.tailMap(from, fromInclusive))));
+        }
+    }
+
+    @Test
+    public void emptyRange() {
+        WeightBalancedTree<Integer, String> tree = range(0, 100);
+        assertTrue(tree.sub(50, true, 10, true).isEmpty());
+        assertTrue(tree.sub(50, false, 50, false).isEmpty());
+        assertThat(tree.sub(50, true, 50, true).size(), equalTo(1));
+    }
+}
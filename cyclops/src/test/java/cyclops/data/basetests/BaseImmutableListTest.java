@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -335,4 +336,13 @@ public abstract class BaseImmutableListTest extends AbstractIterableXTest {
 
     }
   }
+    @Test
+    public void parallelStream(){
+        ImmutableList<Integer> list = fromStream(ReactiveSeq.range(0,10000));
+        assertThat(list.parallelStream().map(i->i*2).collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0,10000).map(i->i*2).toList()));
+        assertThat(list.parallelStream().mapToLong(i->i).sum(),equalTo(49995000L));
+        assertThat(empty().parallelStream().count(),equalTo(0L));
+    }
+
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -524,4 +525,16 @@ public abstract  class BaseImmutableMapTest {
         assertThat(this.of("hello2",100).getOrElse("hello",10),equalTo(10));
 
     }
+    @Test
+    public void parallelStream(){
+        Map<String,Integer> source = new HashMap<>();
+        for(int i=0;i<10000;i++){
+            source.put("key"+i,i);
+        }
+        ImmutableMap<String,Integer> map = fromMap(source);
+        assertThat(map.parallelStream().mapToLong(t->t._2()).sum(),equalTo(49995000L));
+        assertThat(map.parallelStream().map(t->t._1()).collect(Collectors.toSet()),equalTo(source.keySet()));
+        assertThat(empty().parallelStream().count(),equalTo(0L));
+    }
+
 }
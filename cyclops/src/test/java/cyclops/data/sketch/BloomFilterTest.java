@@ -0,0 +1,59 @@
+package cyclops.data.sketch;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterTest {
+
+    @Test
+    public void noFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = IntStream.range(0, 100_000).boxed().collect(BloomFilter.collector(100_000, 0.01));
+        for (int i = 0; i < 100_000; i++)
+            assertTrue(filter.mightContain(i));
+        long falsePositives = IntStream.range(100_000, 200_000).filter(filter::mightContain).count();
+        assertThat(falsePositives / 100_000.0, lessThan(0.02));
+        assertThat(filter.expectedFpp(), lessThan(0.02));
+        assertThat(Math.abs(filter.approximateCount() - 100_000) / 100_000.0, lessThan(0.05));
+    }
+
+    @Test
+    public void plusIsPersistent() {
+        BloomFilter empty = BloomFilter.empty(100, 0.01);
+        BloomFilter one = empty.plus("one");
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.mightContain("one"));
+        assertTrue(one.mightContain("one"));
+        assertThat(one.plus("one"), sameInstance(one));
+    }
+
+    @Test
+    public void mergeIsUnion() {
+        BloomFilter left = BloomFilter.empty(1000, 0.01).plus("a").plus("b");
+        BloomFilter right = BloomFilter.empty(1000, 0.01).plus("c");
+        BloomFilter merged = left.merge(right);
+        assertTrue(merged.mightContain("a"));
+        assertTrue(merged.mightContain("c"));
+        assertThat(merged, equalTo(BloomFilter.empty(1000, 0.01).plus("c").plus("b").plus("a")));
+    }
+
+    @Test
+    public void builderPutReportsNewElements() {
+        BloomFilter.Builder builder = BloomFilter.builder(1000, 0.001);
+        assertTrue(builder.put("x"));
+        assertFalse(builder.put("x"));
+        assertTrue(builder.mightContain("x"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeRejectsDifferentSizes() {
+        BloomFilter.empty(1000, 0.01).merge(BloomFilter.empty(10_000, 0.01));
+    }
+}
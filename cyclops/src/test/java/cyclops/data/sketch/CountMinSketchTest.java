@@ -0,0 +1,75 @@
+package cyclops.data.sketch;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void estimatesNeverUndercount() {
+        Random random = new Random(7);
+        Map<Integer, Long> exact = new HashMap<>();
+        CountMinSketch.Builder builder = CountMinSketch.builder(0.001, 0.99);
+        for (int i = 0; i < 200_000; i++) {
+            int value = (int) Math.abs(random.nextGaussian() * 1000);
+            exact.merge(value, 1L, Long::sum);
+            builder.add(value);
+        }
+        CountMinSketch sketch = builder.build();
+        assertThat(sketch.size(), equalTo(200_000L));
+        int withinBound = 0;
+        for (Map.Entry<Integer, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimateCount(entry.getKey());
+            assertThat(estimate, greaterThanOrEqualTo(entry.getValue()));
+            if (estimate - entry.getValue() <= 0.001 * sketch.size())
+                withinBound++;
+        }
+        assertThat((double) withinBound / exact.size(), greaterThanOrEqualTo(0.99));
+    }
+
+    @Test
+    public void heavyHitters() {
+        CountMinSketch sketch = IntStream.range(0, 100_000)
+                                         .mapToObj(i -> i % 10 == 0 ? "hot" : "cold-" + i)
+                                         .collect(CountMinSketch.collector(0.001, 0.99));
+        assertTrue(sketch.isHeavyHitter("hot", 0.05));
+        assertFalse(sketch.isHeavyHitter("cold-1", 0.05));
+        assertThat(sketch.estimateCount("hot"), lessThan(10_000L + 100));
+    }
+
+    @Test
+    public void mergeAddsCounts() {
+        CountMinSketch left = CountMinSketch.empty(100, 4).plus("a", 3).plus("b");
+        CountMinSketch right = CountMinSketch.empty(100, 4).plus("a", 2);
+        CountMinSketch merged = left.merge(right);
+        assertThat(merged.estimateCount("a"), greaterThanOrEqualTo(5L));
+        assertThat(merged.estimateCount("a"), lessThanOrEqualTo(6L));
+        assertThat(merged.size(), equalTo(6L));
+        assertThat(merged, equalTo(CountMinSketch.empty(100, 4).plus("a", 5).plus("b")));
+    }
+
+    @Test
+    public void parallelCollectMatchesSequential() {
+        CountMinSketch sequential = IntStream.range(0, 100_000).boxed().collect(CountMinSketch.collector(0.01, 0.9));
+        CountMinSketch parallel = IntStream.range(0, 100_000).boxed().parallel()
+                                           .collect(CountMinSketch.collector(0.01, 0.9));
+        assertThat(parallel, equalTo(sequential));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeRejectsDifferentDimensions() {
+        CountMinSketch.empty(100, 4).merge(CountMinSketch.empty(100, 5));
+    }
+}
@@ -0,0 +1,97 @@
+package cyclops.data.sketch;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class HyperLogLogTest {
+
+    static double error(long estimate, long actual) {
+        return Math.abs(estimate - actual) / (double) actual;
+    }
+
+    @Test
+    public void emptyAndSmall() {
+        assertThat(HyperLogLog.empty().estimate(), equalTo(0L));
+        assertTrue(HyperLogLog.empty().isEmpty());
+        assertThat(HyperLogLog.of("a", "b", "c", "a").estimate(), equalTo(3L));
+    }
+
+    @Test
+    public void estimatesWithinErrorBounds() {
+        for (long actual : new long[]{1_000, 50_000, 1_000_000}) {
+            HyperLogLog sketch = LongStream.range(0, actual).boxed().collect(HyperLogLog.collector());
+            assertThat(error(sketch.estimate(), actual), lessThan(4 * sketch.relativeError()));
+        }
+    }
+
+    @Test
+    public void duplicatesDoNotCount() {
+        HyperLogLog.Builder builder = HyperLogLog.builder();
+        for (int repeat = 0; repeat < 10; repeat++)
+            IntStream.range(0, 10_000).forEach(i -> builder.add("user-" + i));
+        assertThat(error(builder.estimate(), 10_000), lessThan(0.04));
+    }
+
+    @Test
+    public void mergeIsUnion() {
+        HyperLogLog left = IntStream.range(0, 60_000).boxed().collect(HyperLogLog.collector());
+        HyperLogLog right = IntStream.range(40_000, 100_000).boxed().collect(HyperLogLog.collector());
+        HyperLogLog all = IntStream.range(0, 100_000).boxed().collect(HyperLogLog.collector());
+        assertThat(left.merge(right), equalTo(all));
+        assertThat(right.merge(left), equalTo(all));
+        assertThat(all.merge(left), sameInstance(all));
+    }
+
+    @Test
+    public void parallelCollectMatchesSequential() {
+        HyperLogLog sequential = IntStream.range(0, 200_000).boxed().collect(HyperLogLog.collector());
+        HyperLogLog parallel = IntStream.range(0, 200_000).boxed().parallel().collect(HyperLogLog.collector());
+        assertThat(parallel, equalTo(sequential));
+    }
+
+    @Test
+    public void plusIsPersistent() {
+        HyperLogLog empty = HyperLogLog.empty(10);
+        HyperLogLog one = empty.plus("one");
+        assertTrue(empty.isEmpty());
+        assertThat(one.estimate(), equalTo(1L));
+        assertThat(one.plus("one"), sameInstance(one));
+        assertThat(one.plusAll(java.util.Arrays.asList("two", "three")).estimate(), equalTo(3L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeRejectsDifferentPrecision() {
+        HyperLogLog.empty(10).merge(HyperLogLog.empty(12));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void builderCanNotBeReusedAfterBuild() {
+        HyperLogLog.Builder builder = HyperLogLog.builder();
+        builder.build();
+        builder.add(1);
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        HyperLogLog sketch = HyperLogLog.of(1, 2, 3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sketch);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject(), equalTo(sketch));
+        }
+    }
+}
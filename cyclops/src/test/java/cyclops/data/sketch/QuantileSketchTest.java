@@ -0,0 +1,83 @@
+package cyclops.data.sketch;
+
+import cyclops.control.Option;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void empty() {
+        QuantileSketch empty = QuantileSketch.empty();
+        assertTrue(empty.isEmpty());
+        assertThat(empty.quantile(0.5), equalTo(Option.none()));
+        assertThat(empty.min(), equalTo(Option.none()));
+        assertThat(empty.rank(1), equalTo(0.0));
+    }
+
+    @Test
+    public void smallInputsAreExact() {
+        QuantileSketch sketch = QuantileSketch.of(5, 1, 4, 2, 3);
+        assertThat(sketch.quantile(0.5), equalTo(Option.some(3.0)));
+        assertThat(sketch.min(), equalTo(Option.some(1.0)));
+        assertThat(sketch.max(), equalTo(Option.some(5.0)));
+        assertThat(sketch.rank(2), equalTo(0.4));
+    }
+
+    @Test
+    public void rankErrorIsBounded() {
+        int size = 1_000_000;
+        Random random = new Random(3);
+        int[] permutation = IntStream.range(0, size).toArray();
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        QuantileSketch sketch = IntStream.of(permutation).boxed().collect(QuantileSketch.collector());
+        assertThat(sketch.size(), equalTo((long) size));
+        assertThat(sketch.retained(), lessThan(2000));
+        for (double fraction : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            double value = sketch.quantile(fraction).orElse(Double.NaN);
+            assertThat(Math.abs(value / size - fraction), lessThan(0.02));
+            assertThat(Math.abs(sketch.rank(fraction * size) - fraction), lessThan(0.02));
+        }
+        assertThat(sketch.quantile(0), equalTo(Option.some(0.0)));
+        assertThat(sketch.quantile(1), equalTo(Option.some((double) size - 1)));
+    }
+
+    @Test
+    public void mergedSketchesKeepTheirAccuracy() {
+        QuantileSketch merged = QuantileSketch.empty();
+        for (int part = 0; part < 10; part++) {
+            int from = part * 10_000;
+            merged = merged.merge(DoubleStream.iterate(from, d -> d + 1).limit(10_000).boxed()
+                                              .collect(QuantileSketch.collector()));
+        }
+        assertThat(merged.size(), equalTo(100_000L));
+        assertThat(Math.abs(merged.quantile(0.5).orElse(0.0) - 50_000) / 100_000, lessThan(0.02));
+        QuantileSketch parallel = IntStream.range(0, 100_000).boxed().parallel().collect(QuantileSketch.collector());
+        assertThat(Math.abs(parallel.quantile(0.5).orElse(0.0) - 50_000) / 100_000, lessThan(0.02));
+    }
+
+    @Test
+    public void plusIsPersistent() {
+        QuantileSketch sketch = QuantileSketch.empty(8);
+        for (int i = 0; i < 1000; i++)
+            sketch = sketch.plus(i);
+        QuantileSketch before = sketch;
+        sketch.plus(5000);
+        assertThat(before.size(), equalTo(1000L));
+        assertThat(Math.abs(sketch.quantile(0.5).orElse(0.0) - 500) / 1000, lessThan(0.2));
+        assertThat(sketch.plus(Double.NaN), equalTo(sketch));
+    }
+}
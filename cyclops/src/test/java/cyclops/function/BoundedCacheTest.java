@@ -0,0 +1,131 @@
+package cyclops.function;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class BoundedCacheTest {
+
+    AtomicInteger called = new AtomicInteger(0);
+
+    Function<Object, Integer> count = k -> {
+        called.incrementAndGet();
+        return (Integer) k * 2;
+    };
+
+    @Test
+    public void lruEvictsLeastRecentlyUsed() {
+        BoundedCache<Integer> cache = BoundedCache.lru(2);
+        cache.computeIfAbsent(1, count);
+        cache.computeIfAbsent(2, count);
+        cache.computeIfAbsent(1, count);
+        cache.computeIfAbsent(3, count);
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.evictionCount(), equalTo(1L));
+        cache.computeIfAbsent(1, count);
+        assertThat(called.get(), equalTo(3));
+        cache.computeIfAbsent(2, count);
+        assertThat(called.get(), equalTo(4));
+    }
+
+    @Test
+    public void counters() {
+        BoundedCache<Integer> cache = BoundedCache.lru(10);
+        for (int i = 0; i < 5; i++)
+            cache.computeIfAbsent(i % 2, count);
+        assertThat(cache.missCount(), equalTo(2L));
+        assertThat(cache.hitCount(), equalTo(3L));
+        assertThat(cache.evictionCount(), equalTo(0L));
+    }
+
+    @Test
+    public void tinyLfuKeepsFrequentEntries() {
+        BoundedCache<Integer> cache = BoundedCache.tinyLfu(100);
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++)
+                cache.computeIfAbsent(hot, count);
+        }
+        for (int scan = 1000; scan < 1500; scan++)
+            cache.computeIfAbsent(scan, count);
+
+        assertThat(cache.size(), lessThanOrEqualTo(100));
+        int before = called.get();
+        for (int hot = 0; hot < 50; hot++)
+            cache.computeIfAbsent(hot, count);
+        assertThat(called.get() - before, lessThanOrEqualTo(5));
+    }
+
+    @Test
+    public void nullKeys() {
+        BoundedCache<String> cache = BoundedCache.lru(2);
+        assertThat(cache.computeIfAbsent(null, k -> "null"), equalTo("null"));
+        assertThat(cache.computeIfAbsent(null, k -> "other"), equalTo("null"));
+    }
+
+    @Test
+    public void expireAfterWrite() {
+        AtomicLong time = new AtomicLong(0);
+        BoundedCache<Integer> cache = BoundedCache.<Integer>builder()
+                                                  .maximumSize(10)
+                                                  .expireAfterWrite(10, TimeUnit.NANOSECONDS)
+                                                  .ticker(time::get)
+                                                  .build();
+        cache.computeIfAbsent(1, count);
+        time.set(9);
+        cache.computeIfAbsent(1, count);
+        assertThat(called.get(), equalTo(1));
+        time.set(10);
+        cache.computeIfAbsent(1, count);
+        assertThat(called.get(), equalTo(2));
+    }
+
+    @Test
+    public void refreshAfterWrite() throws InterruptedException {
+        AtomicLong time = new AtomicLong(0);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        BoundedCache<Integer> cache = BoundedCache.<Integer>builder()
+                                                  .maximumSize(10)
+                                                  .refreshAfterWrite(10, TimeUnit.NANOSECONDS, r -> {
+                                                      r.run();
+                                                      refreshed.countDown();
+                                                  })
+                                                  .ticker(time::get)
+                                                  .build();
+        assertThat(cache.computeIfAbsent(1, k -> called.incrementAndGet()), equalTo(1));
+        time.set(20);
+        assertThat(cache.computeIfAbsent(1, k -> called.incrementAndGet()), equalTo(1));
+        refreshed.await();
+        assertThat(cache.computeIfAbsent(1, k -> called.incrementAndGet()), equalTo(2));
+    }
+
+    @Test
+    public void compositeKeysAreFrozen() {
+        BoundedCache<Integer> cache = BoundedCache.lru(10);
+        Function2<Integer, Integer, Integer> fn = Memoize.memoizeBiFunction((a, b) -> {
+            called.incrementAndGet();
+            return a + b;
+        }, cache);
+        assertThat(fn.apply(1, 2), equalTo(3));
+        assertThat(fn.apply(2, 1), equalTo(3));
+        assertThat(fn.apply(1, 2), equalTo(3));
+        assertThat(called.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    @Test
+    public void recursiveMemoisation() {
+        BoundedCache<Long> cache = BoundedCache.lru(100);
+        Function2<Integer, Integer, Long>[] paths = new Function2[1];
+        paths[0] = Memoize.memoizeBiFunction((x, y) -> x == 0 || y == 0 ? 1L : paths[0].apply(x - 1, y) + paths[0].apply(x, y - 1), cache);
+        assertThat(paths[0].apply(8, 8), equalTo(12870L));
+    }
+}
@@ -0,0 +1,90 @@
+package cyclops.reactive;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class BoundedDistinctTest {
+
+    static final List<Function<List<Integer>, ReactiveSeq<Integer>>> streams =
+        Arrays.asList(ReactiveSeq::fromIterable,
+                      l -> ReactiveSeq.fromIterator(l.iterator()),
+                      Spouts::fromIterable);
+
+    @Test
+    public void distinctApprox() {
+        for (Function<List<Integer>, ReactiveSeq<Integer>> stream : streams) {
+            assertThat(stream.apply(Arrays.asList(1, 2, 1, 3, 2, 4)).distinctApprox(0.001).toList(),
+                       equalTo(Arrays.asList(1, 2, 3, 4)));
+            assertThat(stream.apply(Arrays.asList(1, 2, 1, 3, 2, 4)).distinctApprox(10, 0.001).toList(),
+                       equalTo(Arrays.asList(1, 2, 3, 4)));
+        }
+    }
+
+    @Test
+    public void distinctApproxGrowsPastInitialCapacity() {
+        List<Integer> values = ReactiveSeq.range(0, 200_000).map(i -> i % 100_000).toList();
+        long count = ReactiveSeq.fromIterable(values).distinctApprox(0.01).count();
+        assertThat(count, greaterThan(99_000L));
+        assertThat(count <= 100_000, equalTo(true));
+    }
+
+    @Test
+    public void distinctApproxIsReplayable() {
+        ReactiveSeq<Integer> stream = ReactiveSeq.of(1, 1, 2).distinctApprox(0.01);
+        assertThat(stream.toList(), equalTo(Arrays.asList(1, 2)));
+        assertThat(stream.toList(), equalTo(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void distinctWindow() {
+        for (Function<List<Integer>, ReactiveSeq<Integer>> stream : streams) {
+            assertThat(stream.apply(Arrays.asList(1, 2, 1, 3, 4, 1, 4)).distinctWindow(2).toList(),
+                       equalTo(Arrays.asList(1, 2, 3, 4, 1)));
+        }
+    }
+
+    @Test
+    public void distinctWithinTime() throws InterruptedException {
+        for (Function<List<Integer>, ReactiveSeq<Integer>> stream : streams) {
+            assertThat(stream.apply(Arrays.asList(1, 2, 1, 2)).distinct(1, TimeUnit.HOURS).toList(),
+                       equalTo(Arrays.asList(1, 2)));
+            assertThat(stream.apply(Arrays.asList(1, 1, 1)).distinct(0, TimeUnit.MILLISECONDS).toList(),
+                       equalTo(Arrays.asList(1, 1, 1)));
+        }
+        List<Integer> emitted = ReactiveSeq.of(1, 1, 2, 1)
+                                           .peek(i -> {
+                                               if (i == 2)
+                                                   sleep(60);
+                                           })
+                                           .distinct(30, TimeUnit.MILLISECONDS)
+                                           .collect(Collectors.toList());
+        assertThat(emitted, equalTo(Arrays.asList(1, 2, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFpp() {
+        ReactiveSeq.of(1).distinctApprox(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWindow() {
+        ReactiveSeq.of(1).distinctWindow(0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package cyclops.reactive;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSeqTest {
+
+    ExecutorService ex;
+
+    @Before
+    public void setup() {
+        ex = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void teardown() {
+        ex.shutdownNow();
+    }
+
+    private static List<Integer> sorted(List<Integer> list) {
+        List<Integer> result = new ArrayList<>(list);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    public void unordered() {
+        List<Integer> result = ReactiveSeq.range(0, 10_000)
+                                          .parallel(4, ex)
+                                          .map(i -> i * 2)
+                                          .sequential()
+                                          .toList();
+        assertThat(sorted(result), equalTo(ReactiveSeq.range(0, 10_000).map(i -> i * 2).toList()));
+    }
+
+    @Test
+    public void ordered() {
+        List<Integer> result = ReactiveSeq.range(0, 10_000)
+                                          .parallel(4, ex)
+                                          .map(i -> i * 2)
+                                          .filter(i -> i % 3 != 0)
+                                          .sequentialOrdered()
+                                          .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 10_000).map(i -> i * 2).filter(i -> i % 3 != 0).toList()));
+    }
+
+    @Test
+    public void orderedSmallQueues() {
+        List<Integer> result = ParallelSeq.parallel(ReactiveSeq.range(0, 50_000), 3, 2, ex)
+                                          .map(i -> i + 1)
+                                          .sequentialOrdered()
+                                          .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(1, 50_001).toList()));
+    }
+
+    @Test
+    public void pushSource() {
+        List<Integer> result = Spouts.async(ReactiveSeq.range(0, 1000), Executors.newSingleThreadExecutor())
+                                     .parallel(2, ex)
+                                     .map(i -> i * 2)
+                                     .sequentialOrdered()
+                                     .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 1000).map(i -> i * 2).toList()));
+    }
+
+    @Test
+    public void emptySource() {
+        assertThat(ReactiveSeq.<Integer>empty().parallel(4, ex).sequential().toList(), equalTo(Arrays.asList()));
+        assertThat(ReactiveSeq.<Integer>empty().parallel(4, ex).sequentialOrdered().toList(), equalTo(Arrays.asList()));
+        assertThat(ReactiveSeq.<Integer>empty().parallel(4, ex).reduce(Integer::sum), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void nulls() {
+        List<Integer> result = ReactiveSeq.of(1, 2, 3)
+                                          .parallel(2, ex)
+                                          .map(i -> i == 2 ? null : i)
+                                          .sequentialOrdered()
+                                          .toList();
+        assertThat(result, equalTo(Arrays.asList(1, null, 3)));
+    }
+
+    @Test
+    public void railsRunOnExecutor() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        String current = Thread.currentThread().getName();
+        ReactiveSeq.range(0, 1000)
+                   .parallel(4, ex)
+                   .peek(i -> threads.add(Thread.currentThread().getName()))
+                   .sequential()
+                   .toList();
+        assertTrue(!threads.contains(current));
+        assertThat(threads.size(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    public void sorted() {
+        List<Integer> values = ReactiveSeq.range(0, 5000).map(i -> (i * 7919) % 5000).toList();
+        List<Integer> result = ReactiveSeq.fromIterable(values)
+                                          .parallel(4, ex)
+                                          .sorted()
+                                          .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 5000).toList()));
+    }
+
+    @Test
+    public void sortedReverse() {
+        List<Integer> result = ReactiveSeq.range(0, 100)
+                                          .parallel(3, ex)
+                                          .filter(i -> i % 2 == 0)
+                                          .sorted((a, b) -> b - a)
+                                          .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 100).filter(i -> i % 2 == 0).reverse().toList()));
+    }
+
+    @Test
+    public void reduce() {
+        assertThat(ReactiveSeq.range(0, 10_000).parallel(4, ex).reduce(Integer::sum),
+                   equalTo(Optional.of(ReactiveSeq.range(0, 10_000).reduce(0, Integer::sum))));
+        assertThat(ReactiveSeq.range(0, 10_000).parallel(4, ex).map(i -> 1).reduce(0, Integer::sum),
+                   equalTo(10_000));
+    }
+
+    @Test
+    public void reducePerRail() {
+        List<Integer> counts = ReactiveSeq.range(0, 1000)
+                                          .parallel(4, ex)
+                                          .reduce(() -> 0, (acc, i) -> acc + 1)
+                                          .toList();
+        assertThat(counts.size(), equalTo(4));
+        assertThat(counts.stream().mapToInt(i -> i).sum(), equalTo(1000));
+    }
+
+    @Test
+    public void hashedKeysStayOnOneRailInOrder() {
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        ReactiveSeq.range(0, 10_000)
+                   .parallel(4, ex, i -> i % 10)
+                   .peek(i -> seen.computeIfAbsent(i % 10, k -> Collections.synchronizedList(new ArrayList<>())).add(i))
+                   .sequential()
+                   .toList();
+        for (int k = 0; k < 10; k++) {
+            int key = k;
+            assertThat(seen.get(k), equalTo(ReactiveSeq.range(0, 10_000).filter(i -> i % 10 == key).toList()));
+        }
+    }
+
+    @Test
+    public void boundedDemand() {
+        AtomicInteger emitted = new AtomicInteger(0);
+        List<Integer> result = ParallelSeq.parallel(Spouts.iterate(0, i -> i + 1).peek(i -> emitted.incrementAndGet()),
+                                                    2, 16, ex)
+                                          .sequentialOrdered()
+                                          .take(10)
+                                          .toList();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 10).toList()));
+        //inbox plus the input and output queues of each rail
+        assertThat(emitted.get(), lessThanOrEqualTo(16 + 2 * 16 * 2 + 16));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void errorsPropagate() {
+        ReactiveSeq.range(0, 1000)
+                   .parallel(4, ex)
+                   .map(i -> {
+                       if (i == 500)
+                           throw new IllegalStateException("boom");
+                       return i;
+                   })
+                   .sequential()
+                   .toList();
+    }
+
+    @Test
+    public void collectsAll() {
+        assertThat(ReactiveSeq.range(0, 1000)
+                              .parallel(4, ex)
+                              .sequential()
+                              .collect(Collectors.toSet())
+                              .size(), equalTo(1000));
+    }
+}
@@ -0,0 +1,276 @@
+package cyclops.reactive;
+
+import cyclops.control.Future;
+import cyclops.control.Try;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.*;
+
+public class ResourcePoolTest {
+
+    static class Resource {
+        final int id;
+        volatile boolean open = true;
+        volatile boolean valid = true;
+
+        Resource(int id) {
+            this.id = id;
+        }
+    }
+
+    AtomicInteger ids;
+    List<Resource> destroyed;
+    AtomicLong time;
+    ExecutorService ex;
+
+    @Before
+    public void setup() {
+        ids = new AtomicInteger(0);
+        destroyed = new ArrayList<>();
+        time = new AtomicLong(0);
+        ex = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void teardown() {
+        ex.shutdown();
+    }
+
+    private ResourcePool.Builder<Resource> builder() {
+        return ResourcePool.<Resource>builder(() -> new Resource(ids.incrementAndGet()), r -> {
+            r.open = false;
+            synchronized (destroyed) {
+                destroyed.add(r);
+            }
+        }).executor(ex).ticker(time::get);
+    }
+
+    @Test
+    public void reusesReleasedResources() {
+        ResourcePool<Resource> pool = builder().maximumSize(2).build();
+        Resource first = pool.borrow();
+        pool.release(first);
+        Resource second = pool.borrow();
+
+        assertTrue(first == second);
+        assertThat(pool.createdCount(), equalTo(1L));
+        assertThat(pool.borrowedCount(), equalTo(1));
+        assertThat(pool.idleCount(), equalTo(0));
+        pool.release(second);
+        assertThat(pool.idleCount(), equalTo(1));
+        assertThat(pool.acquiredCount(), equalTo(2L));
+    }
+
+    @Test
+    public void mostRecentlyReleasedFirst() {
+        ResourcePool<Resource> pool = builder().maximumSize(2).build();
+        Resource a = pool.borrow();
+        Resource b = pool.borrow();
+        pool.release(a);
+        pool.release(b);
+        assertTrue(pool.borrow() == b);
+    }
+
+    @Test
+    public void invalidResourcesAreDestroyedOnBorrow() {
+        ResourcePool<Resource> pool = builder().maximumSize(2).validateOnBorrow(r -> r.valid).build();
+        Resource a = pool.borrow();
+        pool.release(a);
+        a.valid = false;
+
+        Resource b = pool.borrow();
+        assertTrue(a != b);
+        assertFalse(a.open);
+        assertThat(destroyed.size(), equalTo(1));
+        assertThat(pool.size(), equalTo(1));
+    }
+
+    @Test
+    public void idleResourcesExpire() {
+        ResourcePool<Resource> pool = builder().maximumSize(3).expireAfterIdle(10, TimeUnit.SECONDS).build();
+        Resource a = pool.borrow();
+        Resource b = pool.borrow();
+        pool.release(a);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        pool.release(b);
+        assertThat(pool.evictIdle(), equalTo(0));
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(pool.evictIdle(), equalTo(1));
+        assertFalse(a.open);
+        assertTrue(b.open);
+        assertThat(pool.idleCount(), equalTo(1));
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(pool.borrow() != b);
+        assertFalse(b.open);
+        assertThat(pool.destroyedCount(), equalTo(2L));
+    }
+
+    @Test
+    public void borrowTimesOut() {
+        ResourcePool<Resource> pool = ResourcePool.<Resource>builder(() -> new Resource(1), r -> { })
+                                                  .maximumSize(1)
+                                                  .acquireTimeout(20, TimeUnit.MILLISECONDS)
+                                                  .build();
+        pool.borrow();
+        try {
+            pool.borrow();
+            fail("TimeoutException expected");
+        } catch (Exception e) {
+            assertTrue(e instanceof TimeoutException);
+        }
+        assertThat(pool.timeoutCount(), equalTo(1L));
+        assertThat(pool.pendingCount(), equalTo(0));
+    }
+
+    @Test
+    public void acquireTimesOut() {
+        ResourcePool<Resource> pool = ResourcePool.<Resource>builder(() -> new Resource(1), r -> { })
+                                                  .maximumSize(1)
+                                                  .acquireTimeout(20, TimeUnit.MILLISECONDS)
+                                                  .build();
+        Resource held = pool.acquire().orElse(null);
+        assertNotNull(held);
+        Future<Resource> waiting = pool.acquire();
+        assertTrue(waiting.toTry().isFailure());
+        assertTrue(waiting.toTry().failureGet().orElse(null) instanceof TimeoutException);
+        assertThat(pool.timeoutCount(), equalTo(1L));
+
+        pool.release(held);
+        assertThat(pool.idleCount(), equalTo(1));
+        assertTrue(pool.acquire().orElse(null) == held);
+    }
+
+    @Test
+    public void waitingBorrowerIsHandedReleasedResource() throws InterruptedException {
+        ResourcePool<Resource> pool = ResourcePool.<Resource>builder(() -> new Resource(ids.incrementAndGet()), r -> { })
+                                                  .maximumSize(1)
+                                                  .build();
+        Resource held = pool.borrow();
+        Future<Resource> waiting = pool.acquire();
+        assertFalse(waiting.isDone());
+        assertThat(pool.pendingCount(), equalTo(1));
+
+        Thread.sleep(10);
+        pool.release(held);
+        assertTrue(waiting.orElse(null) == held);
+        assertThat(pool.pendingCount(), equalTo(0));
+        assertThat(pool.maxWaitTime(TimeUnit.NANOSECONDS), greaterThan(0L));
+        assertThat(pool.createdCount(), equalTo(1L));
+    }
+
+    @Test
+    public void invalidatedResourceFreesCapacity() {
+        ResourcePool<Resource> pool = builder().maximumSize(1).build();
+        Resource held = pool.borrow();
+        Future<Resource> waiting = pool.acquire();
+        pool.invalidate(held);
+
+        Resource next = waiting.orElse(null);
+        assertNotNull(next);
+        assertTrue(next != held);
+        assertFalse(held.open);
+        assertThat(pool.size(), equalTo(1));
+    }
+
+    @Test
+    public void creationFailureReleasesCapacity() {
+        AtomicInteger calls = new AtomicInteger(0);
+        ResourcePool<Resource> pool = ResourcePool.<Resource>builder(() -> {
+            if (calls.incrementAndGet() == 1)
+                throw new IllegalStateException("boom");
+            return new Resource(calls.get());
+        }, r -> { }).maximumSize(1).build();
+
+        assertTrue(pool.acquire().toTry().isFailure());
+        assertThat(pool.size(), equalTo(0));
+        assertNotNull(pool.borrow());
+    }
+
+    @Test
+    public void closeDestroysIdleAndReleasedResources() {
+        ResourcePool<Resource> pool = builder().maximumSize(2).build();
+        Resource a = pool.borrow();
+        Resource b = pool.borrow();
+        pool.release(a);
+        pool.close();
+        assertFalse(a.open);
+        assertTrue(b.open);
+        pool.release(b);
+        assertFalse(b.open);
+        assertThat(pool.size(), equalTo(0));
+        assertTrue(pool.acquire().toTry().isFailure());
+    }
+
+    @Test
+    public void neverExceedsMaximumSize() throws InterruptedException {
+        ResourcePool<Resource> pool = ResourcePool.<Resource>builder(() -> new Resource(ids.incrementAndGet()), r -> { })
+                                                  .maximumSize(3)
+                                                  .executor(ex)
+                                                  .build();
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicInteger maxActive = new AtomicInteger(0);
+        int tasks = 4000;
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Managed.pooled(pool)
+                   .map(r -> {
+                       maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                       active.decrementAndGet();
+                       return r.id;
+                   })
+                   .forEach(__ -> done.countDown(), e -> {
+                       e.printStackTrace();
+                       done.countDown();
+                   });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertThat(maxActive.get() <= 3, equalTo(true));
+        assertThat(pool.size() <= 3, equalTo(true));
+        assertThat(pool.createdCount() <= 3, equalTo(true));
+        assertThat(pool.acquiredCount(), equalTo((long) tasks));
+        assertThat(pool.borrowedCount(), equalTo(0));
+    }
+
+    @Test
+    public void managedReturnsResourceToPool() {
+        ResourcePool<Resource> pool = builder().maximumSize(1).build();
+        Managed<Resource> managed = Managed.pooled(pool);
+
+        Try<Integer, Throwable> first = managed.map(r -> r.id).run();
+        Try<Integer, Throwable> second = managed.map(r -> r.id).run();
+
+        assertThat(first.orElse(-1), equalTo(1));
+        assertThat(second.orElse(-1), equalTo(1));
+        assertThat(pool.createdCount(), equalTo(1L));
+        assertThat(pool.borrowedCount(), equalTo(0));
+        assertThat(pool.idleCount(), equalTo(1));
+        assertTrue(pool.borrow().open);
+    }
+
+    @Test
+    public void managedReturnsResourceAfterError() {
+        ResourcePool<Resource> pool = builder().maximumSize(1).build();
+        Try<Integer, Throwable> result = Managed.pooled(pool)
+                                                .<Integer>map(r -> { throw new RuntimeException("boom"); })
+                                                .run();
+        assertTrue(result.isFailure());
+        assertThat(pool.borrowedCount(), equalTo(0));
+        assertThat(pool.idleCount(), equalTo(1));
+    }
+}